@@ -0,0 +1,60 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+ 
+
+package bench;
+
+import util.Config;
+
+/**
+ * Benchmark is a microbenchmark of the harness in MiningBenchmarks. It is set up once
+ * per dataset, and each invocation is prepared by prepare(), which is not timed, and
+ * run by run(), which is timed.
+ * @author Thang Bui
+ */
+public abstract class Benchmark {
+    private final String name;
+    
+    protected Benchmark(String name){
+        this.name = name;
+    }
+    
+    public String getName(){
+        return this.name;
+    }
+    
+    /**
+     * This method sets up the benchmark on a parsed dataset
+     * @param datasetFile attribute data file of the dataset
+     * @param configFile improve-policy configuration of the dataset
+     * @param config configuration with the parsed dataset
+     */
+    public abstract void setUp(String datasetFile, String configFile, Config config);
+    
+    /**
+     * This method prepares an invocation. It is not timed.
+     */
+    public void prepare(){
+    }
+    
+    /**
+     * This method runs an invocation
+     * @return a value computed from the results, so that the work is not optimized away
+     */
+    public abstract long run();
+}
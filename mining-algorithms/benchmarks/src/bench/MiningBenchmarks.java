@@ -0,0 +1,865 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+ 
+
+package bench;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import algo.ReBACMiner;
+import core.ConditionOperator;
+import core.Pair;
+import core.Triple;
+import core.AtomicCondition;
+import core.AtomicConstraint;
+import util.Config;
+import core.Object1;
+import util.Parser;
+import core.Rule;
+
+/**
+ * MiningBenchmarks runs microbenchmarks of the hot paths of the second phase on a list of
+ * datasets, and compares the results with a stored baseline. Each benchmark is run for
+ * warmupIterations untimed iterations and measurementIterations timed iterations; an iteration
+ * runs invocations until it has lasted minIterationTime milliseconds. The time per invocation
+ * and the bytes allocated per invocation by the benchmark thread (the normalized allocation
+ * rate of a GC profiler) are reported. The workloads are derived from the datasets with a fixed
+ * seed, and the meaning caches are cleared before each invocation, so the invocations do the
+ * same work. Unless forks is 0, each benchmark is run on each dataset in forks fresh JVMs, so
+ * that the code compiled for one benchmark does not slow down the next one, and the iterations
+ * of all forks are aggregated.
+ * @author Thang Bui
+ */
+public class MiningBenchmarks {
+    private static final long SEED = 42;
+    // maximum number of objects of a class on which the paths are evaluated
+    private static final int PATH_OBJECT_NUM = 200;
+    // number of (subject, resource) pairs on which the constraints of a rule are checked
+    private static final int CONSTRAINT_PAIR_NUM = 500;
+    // number of subjects for which a rule is specialized with an id condition in the candidate rules
+    private static final int SPECIALIZED_SUBJECT_NUM = 2;
+    
+    // prefix of the lines by which a fork reports its measured iterations
+    private static final String ITERATION_PREFIX = "ITERATION ";
+    
+    public static void main(String[] args){
+        if (args.length != 1 && args.length != 3){
+            System.out.println("Missing config file argument");
+            System.exit(0);
+        }
+        Properties inputProperties = new Properties();
+        try{
+            FileInputStream in = new FileInputStream(args[0]);
+            try{
+                inputProperties.load(in);
+            }
+            finally{
+                in.close();
+            }
+        }
+        catch (FileNotFoundException e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
+        }
+        String[] datasets = readList(inputProperties.getProperty("datasets"));
+        String[] configFiles = readList(inputProperties.getProperty("improverConfigs"));
+        if (datasets.length != configFiles.length){
+            System.out.println("datasets and improverConfigs must have the same length");
+            System.exit(0);
+        }
+        Set<String> selected = null;
+        if (inputProperties.getProperty("benchmarks") != null){
+            selected = new LinkedHashSet<String>();
+            for (String name:readList(inputProperties.getProperty("benchmarks"))){
+                selected.add(name);
+            }
+        }
+        int warmupIterations = Integer.parseInt(inputProperties.getProperty("warmupIterations", "3").trim());
+        int measurementIterations = Integer.parseInt(inputProperties.getProperty("measurementIterations", "5").trim());
+        long minIterationTime = Long.parseLong(inputProperties.getProperty("minIterationTime", "500").trim()) * 1000000;
+        String resultFile = inputProperties.getProperty("resultFile");
+        String baselineFile = inputProperties.getProperty("baselineFile");
+        boolean recordBaseline = Boolean.parseBoolean(inputProperties.getProperty("recordBaseline", "false").trim());
+        double threshold = Double.parseDouble(inputProperties.getProperty("regressionThreshold", "0.25").trim());
+        int forks = Integer.parseInt(inputProperties.getProperty("forks", "2").trim());
+        
+        if (args.length == 3){
+            // run in a fork: measure one benchmark on one dataset and report the iterations
+            int d = Integer.parseInt(args[2]);
+            Benchmark b = getBenchmark(args[1]);
+            b.setUp(datasets[d], configFiles[d], parseDataset(datasets[d], configFiles[d]));
+            double[][] iterations = measure(b, warmupIterations, measurementIterations, minIterationTime);
+            for (int i = 0; i < measurementIterations; i++){
+                System.out.println(ITERATION_PREFIX + iterations[0][i] + " " + iterations[1][i]);
+            }
+            return;
+        }
+        
+        ArrayList<Result> results = new ArrayList<Result>();
+        for (int d = 0; d < datasets.length; d++){
+            String dataset = new File(datasets[d]).getName().replace(".abac_txt", "");
+            Config config = null;
+            if (forks == 0){
+                config = parseDataset(datasets[d], configFiles[d]);
+                System.out.println("Dataset " + dataset + ": " + config.getObjectModel().size() + " objects, "
+                        + config.getUPList().size() + " UP tuples");
+            }
+            for (Benchmark b:getBenchmarks()){
+                if (selected != null && !selected.contains(b.getName())){
+                    continue;
+                }
+                double[][] iterations;
+                if (forks == 0){
+                    b.setUp(datasets[d], configFiles[d], config);
+                    iterations = measure(b, warmupIterations, measurementIterations, minIterationTime);
+                }
+                else{
+                    iterations = measureInForks(args[0], b.getName(), d, forks);
+                }
+                Result r = new Result(b.getName(), dataset, mean(iterations[0]), standardDeviation(iterations[0]), mean(iterations[1]));
+                System.out.println(r);
+                results.add(r);
+            }
+        }
+        
+        if (resultFile != null){
+            writeResults(resultFile.trim(), results);
+        }
+        if (baselineFile != null){
+            if (recordBaseline){
+                writeResults(baselineFile.trim(), results);
+                System.out.println("Baseline recorded in " + baselineFile.trim());
+            }
+            else if (!new File(baselineFile.trim()).exists()){
+                System.out.println("No baseline in " + baselineFile.trim() + ", run with recordBaseline=true to record one");
+            }
+            else if (compareWithBaseline(results, readResults(baselineFile.trim()), threshold) > 0){
+                System.exit(1);
+            }
+        }
+    }
+    
+    /**
+     * @return all benchmarks, in the order they are run
+     */
+    public static List<Benchmark> getBenchmarks(){
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.add(new ParseInputFileBenchmark());
+        benchmarks.add(new AttributePathValuesBenchmark());
+        benchmarks.add(new ConditionMeaningBenchmark());
+        benchmarks.add(new CheckSatisfyConstraintsBenchmark());
+        benchmarks.add(new ComputeCoveredUPBenchmark());
+        benchmarks.add(new IsValidRuleBenchmark());
+        benchmarks.add(new MergeRulesBenchmark());
+        benchmarks.add(new SimplifyRulesBenchmark());
+        return benchmarks;
+    }
+    
+    /**
+     * @param name
+     * @return the benchmark with the given name
+     */
+    private static Benchmark getBenchmark(String name){
+        for (Benchmark b:getBenchmarks()){
+            if (b.getName().equals(name)){
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("Unknown benchmark " + name);
+    }
+    
+    /**
+     * This method runs a benchmark
+     * @param b
+     * @param warmupIterations
+     * @param measurementIterations
+     * @param minIterationTime in nanoseconds
+     * @return time and allocated bytes per invocation, averaged over the measurement iterations
+     */
+    private static double[][] measure(Benchmark b, int warmupIterations, int measurementIterations, long minIterationTime){
+        double[] times = new double[measurementIterations];
+        double[] allocations = new double[measurementIterations];
+        long sink = 0;
+        for (int i = 0; i < warmupIterations + measurementIterations; i++){
+            long time = 0;
+            long allocation = 0;
+            int invocations = 0;
+            while (invocations == 0 || time < minIterationTime){
+                b.prepare();
+                long startAllocation = getAllocatedBytes();
+                long start = System.nanoTime();
+                sink += b.run();
+                time += System.nanoTime() - start;
+                allocation += getAllocatedBytes() - startAllocation;
+                invocations++;
+            }
+            if (i >= warmupIterations){
+                times[i - warmupIterations] = (double) time / invocations;
+                allocations[i - warmupIterations] = (double) allocation / invocations;
+            }
+        }
+        if (sink == Long.MIN_VALUE){
+            System.out.println(sink);
+        }
+        return new double[][]{times, allocations};
+    }
+    
+    /**
+     * This method runs a benchmark on a dataset in fresh JVMs, started with the class path and
+     * the JVM arguments of the current JVM
+     * @param configFile
+     * @param benchmark
+     * @param datasetIndex
+     * @param forks
+     * @return the time per invocation and the bytes allocated per invocation of the measured iterations of all forks
+     */
+    private static double[][] measureInForks(String configFile, String benchmark, int datasetIndex, int forks){
+        List<Double> times = new ArrayList<Double>();
+        List<Double> allocations = new ArrayList<Double>();
+        List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MiningBenchmarks.class.getName());
+        command.add(configFile);
+        command.add(benchmark);
+        command.add(Integer.toString(datasetIndex));
+        for (int f = 0; f < forks; f++){
+            try{
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                BufferedReader outputReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                try{
+                    String line;
+                    while ((line = outputReader.readLine()) != null){
+                        if (line.startsWith(ITERATION_PREFIX)){
+                            String[] fields = line.substring(ITERATION_PREFIX.length()).split(" ");
+                            times.add(Double.parseDouble(fields[0]));
+                            allocations.add(Double.parseDouble(fields[1]));
+                        }
+                    }
+                }
+                finally{
+                    outputReader.close();
+                }
+                if (process.waitFor() != 0){
+                    System.out.println("Fork of " + benchmark + " exited with status " + process.exitValue());
+                }
+            }
+            catch (IOException e){
+                System.out.println(e.getMessage());
+                System.exit(0);
+            }
+            catch (InterruptedException e){
+                System.out.println(e.getMessage());
+                System.exit(0);
+            }
+        }
+        double[][] iterations = new double[2][times.size()];
+        for (int i = 0; i < times.size(); i++){
+            iterations[0][i] = times.get(i);
+            iterations[1][i] = allocations.get(i);
+        }
+        return iterations;
+    }
+    
+    /**
+     * @return number of bytes allocated by the current thread, or 0 if the JVM does not report it
+     */
+    private static long getAllocatedBytes(){
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean){
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+    
+    /**
+     * This method compares results with a baseline, and prints the regressions: the results whose
+     * time or allocation per invocation exceeds the baseline by more than threshold
+     * @param results
+     * @param baseline
+     * @param threshold fraction of the baseline
+     * @return number of regressions
+     */
+    private static int compareWithBaseline(List<Result> results, Map<String, Result> baseline, double threshold){
+        int regressionNum = 0;
+        System.out.println("============== COMPARISON WITH BASELINE ==============");
+        for (Result r:results){
+            Result base = baseline.get(r.getKey());
+            if (base == null){
+                System.out.println(r.getKey() + ": no baseline");
+                continue;
+            }
+            String change = String.format("time %+.1f%%, allocation %+.1f%%", 100 * (r.time / base.time - 1),
+                    base.allocation == 0 ? 0.0 : 100 * (r.allocation / base.allocation - 1));
+            // a slowdown within the standard deviations of the two runs, or allocations that differ
+            // by less than a kilobyte per invocation, are noise
+            if ((r.time > base.time * (1 + threshold) && r.time - base.time > r.error + base.error) || (r.allocation > base.allocation * (1 + threshold) && r.allocation - base.allocation > 1024)){
+                System.out.println("REGRESSION " + r.getKey() + ": " + change);
+                regressionNum++;
+            }
+            else{
+                System.out.println(r.getKey() + ": " + change);
+            }
+        }
+        System.out.println("Regressions: " + regressionNum);
+        return regressionNum;
+    }
+    
+    private static void writeResults(String fileName, List<Result> results){
+        try{
+            BufferedWriter outputWriter = new BufferedWriter(new FileWriter(fileName));
+            try{
+                outputWriter.write("Benchmark,Dataset,Time_ns_per_op,Error_ns,Alloc_bytes_per_op\n");
+                for (Result r:results){
+                    outputWriter.write(r.benchmark + "," + r.dataset + "," + String.format("%.0f,%.0f,%.0f", r.time, r.error, r.allocation) + "\n");
+                }
+            }
+            finally{
+                outputWriter.close();
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+        }
+    }
+    
+    private static Map<String, Result> readResults(String fileName){
+        Map<String, Result> results = new HashMap<String, Result>();
+        try{
+            BufferedReader inputReader = new BufferedReader(new FileReader(fileName));
+            try{
+                String line = inputReader.readLine();
+                while ((line = inputReader.readLine()) != null){
+                    String[] fields = line.split(",");
+                    if (fields.length == 5){
+                        Result r = new Result(fields[0], fields[1], Double.parseDouble(fields[2]), Double.parseDouble(fields[3]), Double.parseDouble(fields[4]));
+                        results.put(r.getKey(), r);
+                    }
+                }
+            }
+            finally{
+                inputReader.close();
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+        }
+        return results;
+    }
+    
+    private static String[] readList(String value){
+        if (value == null){
+            return new String[0];
+        }
+        value = value.trim();
+        if (value.startsWith("{") && value.endsWith("}")){
+            value = value.substring(1, value.length() - 1);
+        }
+        String[] results = value.split(",");
+        for (int i = 0; i < results.length; i++){
+            results[i] = results[i].trim();
+        }
+        return results;
+    }
+    
+    private static double mean(double[] values){
+        double sum = 0;
+        for (double v:values){
+            sum += v;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+    
+    private static double standardDeviation(double[] values){
+        double mean = mean(values);
+        double sum = 0;
+        for (double v:values){
+            sum += (v - mean) * (v - mean);
+        }
+        return values.length < 2 ? 0 : Math.sqrt(sum / (values.length - 1));
+    }
+    
+    /**
+     * This method parses a dataset as the second phase does before mining
+     * @param datasetFile
+     * @param configFile
+     * @return
+     */
+    static Config parseDataset(String datasetFile, String configFile){
+        Config config = new Config();
+        ReBACMiner.readConfiguration(configFile, config);
+        Parser.parseInputFile(datasetFile, config);
+        ReBACMiner.computeClassAttrDomainSizes(config);
+        return config;
+    }
+    
+    /**
+     * This method clears the meaning caches, so that an invocation recomputes the meanings
+     * @param config
+     */
+    static void clearCaches(Config config){
+        config.getConditionMeanings().clear();
+        config.getAtomicConditionMeanings().clear();
+        config.getConstraintMatrices().clear();
+        config.getRuleEvaluations().clear();
+    }
+    
+    /**
+     * This method computes the candidate rules of a dataset, as the rules of the first phase: the
+     * input rules, and for each input rule, the rule specialized to each of its first subjects with
+     * an id condition
+     * @param config
+     * @return
+     */
+    static LinkedList<Rule> getCandidateRules(Config config){
+        LinkedList<Rule> rules = new LinkedList<Rule>();
+        for (Rule r:config.getRuleModel()){
+            rules.add(new Rule(r));
+            TreeSet<String> subjects = new TreeSet<String>();
+            for (Triple<String, String, String> up:config.getUPRelation().get(r)){
+                subjects.add(up.getFirst());
+            }
+            int k = 0;
+            for (String subject:subjects){
+                if (k++ >= SPECIALIZED_SUBJECT_NUM){
+                    break;
+                }
+                Rule specialized = new Rule(r);
+                ArrayList<String> path = new ArrayList<String>();
+                path.add("id");
+                Set<String> constant = new LinkedHashSet<String>();
+                constant.add(subject);
+                specialized.getSubjectCondition().add(new AtomicCondition(path, constant, ConditionOperator.IN));
+                rules.add(specialized);
+            }
+        }
+        return rules;
+    }
+    
+    /**
+     * This method prepares candidate rules for merging and simplification, as ReBACMiner does
+     * @param config
+     * @return
+     */
+    static LinkedList<Rule> getEvaluatedCandidateRules(Config config){
+        LinkedList<Rule> rules = getCandidateRules(config);
+        for (Rule r:rules){
+            r.setCoveredUP(ReBACMiner.computeCoveredUP(r, config));
+        }
+        for (Rule r:rules){
+            r.setQuality(ReBACMiner.computeRuleQuality(r, config.getUPIndex(), config));
+        }
+        return rules;
+    }
+    
+    /**
+     * ParseInputFileBenchmark parses the attribute data file into a new configuration
+     */
+    static class ParseInputFileBenchmark extends Benchmark {
+        private String datasetFile;
+        private String configFile;
+        private Config config;
+        
+        ParseInputFileBenchmark(){
+            super("parseInputFile");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.datasetFile = datasetFile;
+            this.configFile = configFile;
+        }
+        
+        @Override
+        public void prepare(){
+            this.config = new Config();
+            ReBACMiner.readConfiguration(this.configFile, this.config);
+        }
+        
+        @Override
+        public long run(){
+            Parser.parseInputFile(this.datasetFile, this.config);
+            return this.config.getObjectModel().size();
+        }
+    }
+    
+    /**
+     * AttributePathValuesBenchmark evaluates the paths of the conditions and constraints of the
+     * input rules on a sample of the objects of their classes
+     */
+    static class AttributePathValuesBenchmark extends Benchmark {
+        private Config config;
+        private final ArrayList<Object1> objects = new ArrayList<Object1>();
+        private final ArrayList<ArrayList<String>> paths = new ArrayList<ArrayList<String>>();
+        
+        AttributePathValuesBenchmark(){
+            super("getAttributePathValues");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+            this.objects.clear();
+            this.paths.clear();
+            Map<String, Set<ArrayList<String>>> classPaths = new LinkedHashMap<String, Set<ArrayList<String>>>();
+            for (Rule r:config.getRuleModel()){
+                String subClass = r.getSubjectType().getClassName();
+                String resClass = r.getResourceType().getClassName();
+                for (AtomicCondition ac:r.getSubjectCondition()){
+                    addPath(classPaths, subClass, ac.getPath());
+                }
+                for (AtomicCondition ac:r.getResourceCondition()){
+                    addPath(classPaths, resClass, ac.getPath());
+                }
+                for (AtomicConstraint ac:r.getConstraint()){
+                    addPath(classPaths, subClass, ac.getSubPath());
+                    addPath(classPaths, resClass, ac.getResPath());
+                }
+            }
+            Random random = new Random(SEED);
+            for (Map.Entry<String, Set<ArrayList<String>>> entry:classPaths.entrySet()){
+                List<Object1> classObjects = config.getObjectList().get(entry.getKey());
+                if (classObjects == null){
+                    continue;
+                }
+                for (Object1 obj:sample(classObjects, PATH_OBJECT_NUM, random)){
+                    for (ArrayList<String> path:entry.getValue()){
+                        this.objects.add(obj);
+                        this.paths.add(path);
+                    }
+                }
+            }
+        }
+        
+        private static void addPath(Map<String, Set<ArrayList<String>>> classPaths, String className, ArrayList<String> path){
+            Set<ArrayList<String>> paths = classPaths.get(className);
+            if (paths == null){
+                paths = new LinkedHashSet<ArrayList<String>>();
+                classPaths.put(className, paths);
+            }
+            paths.add(path);
+        }
+        
+        @Override
+        public long run(){
+            long result = 0;
+            for (int i = 0; i < this.objects.size(); i++){
+                result += Parser.getAttributePathValues(this.objects.get(i), this.paths.get(i), this.config.getObjectModel(),
+                        this.config.getClassModel(), this.config).getSecond().size();
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * ConditionMeaningBenchmark computes the meanings of the conditions of the input rules, and of
+     * each of their atomic conditions
+     */
+    static class ConditionMeaningBenchmark extends Benchmark {
+        private Config config;
+        private final ArrayList<String> types = new ArrayList<String>();
+        private final ArrayList<List<AtomicCondition>> conditions = new ArrayList<List<AtomicCondition>>();
+        
+        ConditionMeaningBenchmark(){
+            super("getConditionMeaning");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+            this.types.clear();
+            this.conditions.clear();
+            for (Rule r:config.getRuleModel()){
+                addConditions(r.getSubjectType().getClassName(), r.getSubjectCondition());
+                addConditions(r.getResourceType().getClassName(), r.getResourceCondition());
+            }
+        }
+        
+        private void addConditions(String type, ArrayList<AtomicCondition> condition){
+            this.types.add(type);
+            this.conditions.add(condition);
+            for (AtomicCondition ac:condition){
+                ArrayList<AtomicCondition> atomic = new ArrayList<AtomicCondition>();
+                atomic.add(ac);
+                this.types.add(type);
+                this.conditions.add(atomic);
+            }
+        }
+        
+        @Override
+        public void prepare(){
+            clearCaches(this.config);
+        }
+        
+        @Override
+        public long run(){
+            long result = 0;
+            for (int i = 0; i < this.conditions.size(); i++){
+                Pair<BitSet, Integer> meaning = ReBACMiner.getConditionMeaning(this.types.get(i), this.conditions.get(i),
+                        this.config.getObjectModel(), this.config.getClassModel(), this.config);
+                result += meaning.getFirst().cardinality();
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * CheckSatisfyConstraintsBenchmark checks the constraints of the input rules on a sample of
+     * the (subject, resource) pairs of their classes
+     */
+    static class CheckSatisfyConstraintsBenchmark extends Benchmark {
+        private Config config;
+        private final ArrayList<Object1> subjects = new ArrayList<Object1>();
+        private final ArrayList<Object1> resources = new ArrayList<Object1>();
+        private final ArrayList<ArrayList<AtomicConstraint>> constraints = new ArrayList<ArrayList<AtomicConstraint>>();
+        
+        CheckSatisfyConstraintsBenchmark(){
+            super("checkSatisfyConstraints");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+            this.subjects.clear();
+            this.resources.clear();
+            this.constraints.clear();
+            Random random = new Random(SEED);
+            for (Rule r:config.getRuleModel()){
+                List<Object1> subObjects = config.getObjectList().get(r.getSubjectType().getClassName());
+                List<Object1> resObjects = config.getObjectList().get(r.getResourceType().getClassName());
+                if (r.getConstraint().isEmpty() || subObjects == null || resObjects == null){
+                    continue;
+                }
+                for (int i = 0; i < CONSTRAINT_PAIR_NUM; i++){
+                    this.subjects.add(subObjects.get(random.nextInt(subObjects.size())));
+                    this.resources.add(resObjects.get(random.nextInt(resObjects.size())));
+                    this.constraints.add(r.getConstraint());
+                }
+            }
+        }
+        
+        @Override
+        public void prepare(){
+            clearCaches(this.config);
+        }
+        
+        @Override
+        public long run(){
+            long result = 0;
+            for (int i = 0; i < this.constraints.size(); i++){
+                if (ReBACMiner.checkSatisfyConstraints(this.subjects.get(i), this.resources.get(i), this.constraints.get(i), this.config)){
+                    result++;
+                }
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * ComputeCoveredUPBenchmark computes the covered UP tuples of the candidate rules
+     */
+    static class ComputeCoveredUPBenchmark extends Benchmark {
+        private Config config;
+        private LinkedList<Rule> rules;
+        
+        ComputeCoveredUPBenchmark(){
+            super("computeCoveredUP");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+            this.rules = getCandidateRules(config);
+        }
+        
+        @Override
+        public void prepare(){
+            clearCaches(this.config);
+        }
+        
+        @Override
+        public long run(){
+            long result = 0;
+            for (Rule r:this.rules){
+                result += ReBACMiner.computeCoveredUP(r, this.config).size();
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * IsValidRuleBenchmark checks the validity of the candidate rules
+     */
+    static class IsValidRuleBenchmark extends Benchmark {
+        private Config config;
+        private LinkedList<Rule> rules;
+        
+        IsValidRuleBenchmark(){
+            super("isValidRule");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+            this.rules = getCandidateRules(config);
+        }
+        
+        @Override
+        public void prepare(){
+            clearCaches(this.config);
+        }
+        
+        @Override
+        public long run(){
+            long result = 0;
+            for (Rule r:this.rules){
+                if (ReBACMiner.isValidRule(r, this.config, false, 0.0)){
+                    result++;
+                }
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * MergeRulesBenchmark merges the evaluated candidate rules
+     */
+    static class MergeRulesBenchmark extends Benchmark {
+        private Config config;
+        private LinkedList<Rule> rules;
+        
+        MergeRulesBenchmark(){
+            super("mergeRules");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+        }
+        
+        @Override
+        public void prepare(){
+            clearCaches(this.config);
+            this.rules = getEvaluatedCandidateRules(this.config);
+        }
+        
+        @Override
+        public long run(){
+            ReBACMiner.mergeRules(this.rules, this.config, new int[2], 0.0);
+            return this.rules.size();
+        }
+    }
+    
+    /**
+     * SimplifyRulesBenchmark simplifies the evaluated candidate rules
+     */
+    static class SimplifyRulesBenchmark extends Benchmark {
+        private Config config;
+        private LinkedList<Rule> rules;
+        
+        SimplifyRulesBenchmark(){
+            super("simplifyRules");
+        }
+        
+        @Override
+        public void setUp(String datasetFile, String configFile, Config config){
+            this.config = config;
+        }
+        
+        @Override
+        public void prepare(){
+            clearCaches(this.config);
+            this.rules = getEvaluatedCandidateRules(this.config);
+        }
+        
+        @Override
+        public long run(){
+            ReBACMiner.simplifyRules(this.rules, this.config, false, this.config.getRemoveConditionThreshold(), new int[10], 0.0);
+            return this.rules.size();
+        }
+    }
+    
+    private static List<Object1> sample(List<Object1> objects, int num, Random random){
+        if (objects.size() <= num){
+            return objects;
+        }
+        List<Object1> results = new ArrayList<Object1>(objects);
+        for (int i = 0; i < num; i++){
+            int j = i + random.nextInt(results.size() - i);
+            Object1 obj = results.get(i);
+            results.set(i, results.get(j));
+            results.set(j, obj);
+        }
+        return results.subList(0, num);
+    }
+    
+    /**
+     * Result is the result of a benchmark on a dataset
+     */
+    static class Result {
+        final String benchmark;
+        final String dataset;
+        // nanoseconds per invocation, and its standard deviation over the iterations
+        final double time;
+        final double error;
+        // bytes allocated per invocation
+        final double allocation;
+        
+        Result(String benchmark, String dataset, double time, double error, double allocation){
+            this.benchmark = benchmark;
+            this.dataset = dataset;
+            this.time = time;
+            this.error = error;
+            this.allocation = allocation;
+        }
+        
+        String getKey(){
+            return this.benchmark + "/" + this.dataset;
+        }
+        
+        @Override
+        public String toString(){
+            return String.format("%-26s %-20s %14.0f ns/op (+- %.0f) %14.0f B/op", this.benchmark, this.dataset, this.time, this.error, this.allocation);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package bench;
+
+import java.util.HashSet;
+import java.util.Set;
+import core.Triple;
+import util.Config;
+import util.NoiseInjector;
+
+/**
+ * NoiseCheck checks that the noise injected by NoiseInjector is reproducible: it parses a
+ * dataset twice, injects over-assignment and under-assignment noise with the noiseSeed of the
+ * config into both parses, and compares the noise sets and the resulting UP lists. The order
+ * of the UP list differs between the two parses, so the check fails if the noise depends on it.
+ * @author Thang Bui
+ */
+public class NoiseCheck {
+    public static void main(String[] args){
+        if (args.length != 3){
+            System.out.println("Usage: NoiseCheck <dataset file> <config file> <noise level>");
+            System.exit(0);
+        }
+        double noiseLevel = Double.parseDouble(args[2]);
+        Config config1 = injectNoise(args[0], args[1], noiseLevel);
+        Config config2 = injectNoise(args[0], args[1], noiseLevel);
+        boolean same = true;
+        if (!config1.getOverassignmentUP().equals(config2.getOverassignmentUP())){
+            System.out.println("The over-assignment noise differs between the two parses");
+            same = false;
+        }
+        if (!config1.getUnderassignmentUP().equals(config2.getUnderassignmentUP())){
+            System.out.println("The under-assignment noise differs between the two parses");
+            same = false;
+        }
+        Set<Triple<String, String, String>> ups1 = new HashSet<Triple<String, String, String>>(config1.getUPList());
+        Set<Triple<String, String, String>> ups2 = new HashSet<Triple<String, String, String>>(config2.getUPList());
+        if (!ups1.equals(ups2)){
+            System.out.println("The UP lists with noise differ between the two parses");
+            same = false;
+        }
+        System.out.println("noiseSeed=" + config1.getNoiseSeed() + " under-assignment: " + config1.getUnderassignmentUP().size()
+                + " over-assignment: " + config1.getOverassignmentUP().size() + (same ? " SAME" : " DIFFERENT"));
+        if (!same){
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * This method parses a dataset and injects noise into its UP list, in the order of the
+     * commented-out noise experiments of ReBACMiner (under-assignment first)
+     * @param datasetFile
+     * @param configFile
+     * @param noiseLevel
+     * @return
+     */
+    private static Config injectNoise(String datasetFile, String configFile, double noiseLevel){
+        Config config = MiningBenchmarks.parseDataset(datasetFile, configFile);
+        NoiseInjector injector = new NoiseInjector(config, config.getNoiseSeed());
+        injector.addUnderassignmentNoise(noiseLevel);
+        injector.addOverassignmentNoise(noiseLevel);
+        return config;
+    }
+}
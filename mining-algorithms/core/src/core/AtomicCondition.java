@@ -16,20 +16,21 @@
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
  
-package learningdatagenerator;
+ 
+package core;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-//import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * This class represents an atomic condition defined in the policy language.
  * @author ThangBui
  */
-public class AtomicCondition implements Serializable {
+public class AtomicCondition implements Serializable, Comparable {
     private ArrayList<String> path;
     private Set<String> constant;
     private ConditionOperator op;
@@ -50,6 +51,7 @@ public class AtomicCondition implements Serializable {
         this.path = new ArrayList<String>(ac.getPath());
         this.constant = new HashSet<String>(ac.getConstant());
         this.op = ac.getConditionOperator();
+        this.isNegative = ac.getIsNegative();
     }
     
     // Accessor and mutator methods
@@ -93,6 +95,9 @@ public class AtomicCondition implements Serializable {
         if (!this.constant.containsAll(ac1.getConstant()) || !ac1.getConstant().containsAll(this.constant)){
             return false;
         }
+        if (this.isNegative != ac1.getIsNegative()){
+            return false;
+        }
         return true;
     }
     
@@ -106,11 +111,21 @@ public class AtomicCondition implements Serializable {
         for (String p:this.path){
             hashCode.append(p);
         }
+        hashCode.append(this.isNegative);
         return hashCode.hashCode();
     }
     
     @Override
     public String toString(){
+        return "=================\nCondition:\npath: " + this.path + " op: " + this.op + " constant(s): " + this.constant;
+    }
+    
+    /**
+     * This method returns the name of the condition as a feature of the learning data,
+     * e.g. <dept.id in {d1,d2}>
+     * @return
+     */
+    public String getFeatureName(){
         String s = "<";
         s = s + this.getPath().get(0);
         if (this.getPath().size() > 1){
@@ -137,4 +152,9 @@ public class AtomicCondition implements Serializable {
         s = s + "}";
         return s + ">";
     }
+    
+    @Override
+    public int compareTo(Object ac){
+        return this.toString().compareTo(ac.toString());
+    }
 }
@@ -17,7 +17,7 @@
  */
  
  
-package util;
+package core;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -113,6 +113,15 @@ public class AtomicConstraint implements Serializable, Comparable{
         return s;
     }
     
+    /**
+     * This method returns the name of the constraint as a feature of the learning data,
+     * e.g. <dept in dept>
+     * @return
+     */
+    public String getFeatureName(){
+        return "<" + this.toString() + ">";
+    }
+    
     @Override
     public boolean equals(Object ac){
             if (!(ac instanceof AtomicConstraint)){
@@ -0,0 +1,293 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package core;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * ConditionEvaluator checks atomic conditions and atomic constraints on the values of
+ * attribute paths, as computed by PathEvaluator. It is shared by the learning data
+ * generator and ReBACMiner, so both programs give conditions and constraints the same
+ * meaning, including when an unknown value is reached.
+ * @author Thang Bui
+ */
+public class ConditionEvaluator {
+    /**
+     * This method check if an object satisfy an a atomic conditions. It can be
+     * both subject conditions or resource conditions
+     * @param obj the object need to check
+     * @param rule the rule contains the atomic conditions
+     * @param isSubject true if checking with subject condition, false if checking 
+     * resource condition
+     * @param objects object model
+     * @param classes class model
+     * @param classAttributes field types of each class
+     * @return 
+     */
+    public static boolean checkSatisfyAtomicConditions(Object1 obj, Rule rule, boolean isSubject, Map<String, Object1> objects,
+            Map<String, Class1> classes, Map<String, Map<String, FieldType>> classAttributes){
+        // Note that in our current case study, we only have 1-level inheritance.
+        if (isSubject){
+            if (classes.get(obj.getClass1()).getParentClass() != null){
+                if (!obj.getClass1().equals(rule.getSubjectType().getClassName()) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(rule.getSubjectType().getClassName())){
+                    return false;
+                }
+            }
+            else {
+                if (!obj.getClass1().equals(rule.getSubjectType().getClassName())){
+                    return false;
+                }
+            }
+        }
+        else {
+            if (classes.get(obj.getClass1()).getParentClass() != null){
+                if (!obj.getClass1().equals(rule.getResourceType().getClassName()) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(rule.getResourceType().getClassName())){
+                    return false;
+                }
+            }
+            else { 
+                if (!obj.getClass1().equals(rule.getResourceType().getClassName())){
+                    return false;
+                }
+            }
+        }
+        ArrayList<AtomicCondition> conditions;
+        if (isSubject){
+            conditions = rule.getSubjectCondition();
+        }
+        else conditions = rule.getResourceCondition();
+        for (AtomicCondition ac:conditions){
+            if (!checkSatisfyAtomicCondition(obj, ac, objects, classAttributes)){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    
+    /**
+     * This method checks if an object satisfies an atomic condition
+     * @param obj
+     * @param ac
+     * @param objects object model, by id
+     * @param classAttributes field types of each class
+     * @return
+     */
+    public static boolean checkSatisfyAtomicCondition(Object1 obj, AtomicCondition ac, Map<String, Object1> objects,
+            Map<String, Map<String, FieldType>> classAttributes){
+        return checkSatisfyAtomicCondition(PathEvaluator.getAttributePathValues(obj, ac.getPath(), objects, classAttributes), ac);
+    }
+    
+    /**
+     * This method checks if an object satisfies an atomic condition, and if the value of the
+     * condition path is unknown
+     * @param obj
+     * @param ac
+     * @param objects object model, by id
+     * @param classAttributes field types of each class
+     * @return whether obj satisfies ac, and whether the evaluated value is unknown. Note that the
+     * first one can be true when the second one is true.
+     */
+    public static Pair<Boolean, Boolean> checkSatisfyAtomicConditionWithUnknown(Object1 obj, AtomicCondition ac,
+            Map<String, Object1> objects, Map<String, Map<String, FieldType>> classAttributes){
+        return checkSatisfyAtomicConditionWithUnknown(PathEvaluator.getAttributePathValues(obj, ac.getPath(), objects, classAttributes), ac);
+    }
+    
+    /**
+     * This method checks if 2 objects (subject and resource) satisfy an atomic constraint
+     * @param subObj
+     * @param resObj
+     * @param cc
+     * @param objects object model, by id
+     * @param classAttributes field types of each class
+     * @return
+     */
+    public static boolean checkSatisfyConstraint(Object1 subObj, Object1 resObj, AtomicConstraint cc, Map<String, Object1> objects,
+            Map<String, Map<String, FieldType>> classAttributes){
+        return checkSatisfyConstraint(PathEvaluator.getAttributePathValues(subObj, cc.getSubPath(), objects, classAttributes),
+                PathEvaluator.getAttributePathValues(resObj, cc.getResPath(), objects, classAttributes), cc);
+    }
+    
+    /**
+     * This method checks if 2 objects (subject and resource) satisfy an atomic constraint, and
+     * if the value of one of the constraint paths is unknown
+     * @param subObj
+     * @param resObj
+     * @param cc
+     * @param objects object model, by id
+     * @param classAttributes field types of each class
+     * @return whether the objects satisfy cc, and whether an evaluated value is unknown. Note that
+     * the first one can be true when the second one is true.
+     */
+    public static Pair<Boolean, Boolean> checkSatisfyConstraintWithUnknown(Object1 subObj, Object1 resObj, AtomicConstraint cc,
+            Map<String, Object1> objects, Map<String, Map<String, FieldType>> classAttributes){
+        return checkSatisfyConstraintWithUnknown(PathEvaluator.getAttributePathValues(subObj, cc.getSubPath(), objects, classAttributes),
+                PathEvaluator.getAttributePathValues(resObj, cc.getResPath(), objects, classAttributes), cc);
+    }
+    
+    /**
+     * This method checks if the values of a path satisfy an atomic condition
+     * @param attrs values of the condition path, from PathEvaluator.getAttributePathValues
+     * @param ac
+     * @return
+     */
+    public static boolean checkSatisfyAtomicCondition(Triple<Boolean, ArrayList<String>, Boolean> attrs, AtomicCondition ac){
+        if (attrs.getThird()){
+            // there is Unknown values
+            if (ac.getConditionOperator() == ConditionOperator.CONTAINS && attrs.getSecond().containsAll(ac.getConstant())){
+                return true;
+            }
+            return false;
+        }
+        if (attrs.getSecond().isEmpty()){
+            if (ac.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        if (attrs.getFirst()){
+            // boolean field
+            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
+                if (ac.getIsNegative()){
+                    return true;
+                }
+                return false;
+            }
+            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS){
+                if (!attrs.getSecond().contains((String)ac.getConstant().toArray()[0])){
+                    if (ac.getIsNegative()){
+                        return true;
+                    }
+                    return false;
+                }
+            }
+        }
+        else{
+            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
+                if (ac.getIsNegative()){
+                    return true;
+                }
+                return false;
+            }
+            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS && !attrs.getSecond().containsAll(ac.getConstant())){
+                if (ac.getIsNegative()){
+                    return true;
+                }
+                return false;
+            }
+        }
+        if (ac.getIsNegative()){
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * This method checks if the values of a path satisfy an atomic condition, and if they are unknown
+     * @param attrs values of the condition path, from PathEvaluator.getAttributePathValues
+     * @param ac
+     * @return whether the values satisfy ac, and whether they are unknown
+     */
+    public static Pair<Boolean, Boolean> checkSatisfyAtomicConditionWithUnknown(Triple<Boolean, ArrayList<String>, Boolean> attrs, AtomicCondition ac){
+        return new Pair<Boolean, Boolean>(checkSatisfyAtomicCondition(attrs, ac), attrs.getThird());
+    }
+    
+    /**
+     * This method checks if the values of a subject path and a resource path satisfy an atomic constraint
+     * @param subAttrs values of the subject path, from PathEvaluator.getAttributePathValues
+     * @param resAttrs values of the resource path, from PathEvaluator.getAttributePathValues
+     * @param cc
+     * @return
+     */
+    public static boolean checkSatisfyConstraint(Triple<Boolean, ArrayList<String>, Boolean> subAttrs,
+            Triple<Boolean, ArrayList<String>, Boolean> resAttrs, AtomicConstraint cc){
+        if (subAttrs.getThird() || resAttrs.getThird()){
+            // case that one of the subject path objects or resource path objects has Unknown value(s)
+            if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !resAttrs.getSecond().isEmpty() && subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
+                return true;
+            }
+            else if (cc.getConstraintOperator() == ConstraintOperator.IN && !subAttrs.getSecond().isEmpty() && resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
+                return true;
+            }
+            return false;
+        }
+        // Note that for now, our algorithm does not attempt to infer constraints on booleans
+        if (subAttrs.getSecond().isEmpty() || resAttrs.getSecond().isEmpty()){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        else if (cc.getConstraintOperator() == ConstraintOperator.IN && !resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_VALUE && !subAttrs.getSecond().get(0).equals(resAttrs.getSecond().get(0))){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        else if (cc.getConstraintOperator() == ConstraintOperator.SUPSETEQ && !subAttrs.getSecond().containsAll(resAttrs.getSecond())){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        else if (cc.getConstraintOperator() == ConstraintOperator.SUBSETEQ && !resAttrs.getSecond().containsAll(subAttrs.getSecond())){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_SET && !(subAttrs.getSecond().containsAll(resAttrs.getSecond())
+                && resAttrs.getSecond().containsAll(subAttrs.getSecond()))){
+            if (cc.getIsNegative()){
+                return true;
+            }
+            return false;
+        }
+        if (cc.getIsNegative()){
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * This method checks if the values of a subject path and a resource path satisfy an atomic
+     * constraint, and if the values of one of the paths are unknown
+     * @param subAttrs values of the subject path, from PathEvaluator.getAttributePathValues
+     * @param resAttrs values of the resource path, from PathEvaluator.getAttributePathValues
+     * @param cc
+     * @return whether the values satisfy cc, and whether the values of one of the paths are unknown
+     */
+    public static Pair<Boolean, Boolean> checkSatisfyConstraintWithUnknown(Triple<Boolean, ArrayList<String>, Boolean> subAttrs,
+            Triple<Boolean, ArrayList<String>, Boolean> resAttrs, AtomicConstraint cc){
+        return new Pair<Boolean, Boolean>(checkSatisfyConstraint(subAttrs, resAttrs, cc), subAttrs.getThird() || resAttrs.getThird());
+    }
+}
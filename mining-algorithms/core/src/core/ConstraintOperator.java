@@ -17,7 +17,7 @@
  */
  
  
-package util;
+package core;
 
 /**
  * This enum type represents operators in an atomic constraint
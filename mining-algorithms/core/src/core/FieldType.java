@@ -17,7 +17,7 @@
  */
  
  
-package util;
+package core;
 
 import java.io.Serializable;
 
@@ -17,13 +17,13 @@
  */
  
  
-package util;
+package core;
 
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import util.FieldType.Multiplicity;
+import core.FieldType.Multiplicity;
 
 /**
  * This class represents value of a field in attribute data
@@ -0,0 +1,681 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import core.FieldType.Multiplicity;
+
+/**
+ * ModelParser parses the lines of a .abac_txt file that define the class model, the
+ * objects and the rules. It is shared by the learning data generator and ReBACMiner,
+ * which read the files line by line and build the rest of their configuration from
+ * the parsed models.
+ * @author Thang Bui
+ */
+public class ModelParser {
+    /**
+     * This method used to process a line represent an object.
+     * It will create new Object1 and add to objects map.
+     * @param line line that represents an object
+     * @param objects map of parsed objects
+     * @param classAttributes all attributes of each class, computed once with computeClassAttributes
+     */
+    public static void processObject(String line, Map<String, Object1> objects, Map<String, Map<String, FieldType>> classAttributes){
+        Object1 obj = decodeObject(line, classAttributes);
+        objects.put(obj.getId(), obj);
+    }
+    
+    /**
+     * This method computes all attributes (including inherited ones) of each class, to
+     * decode the object lines that follow the class model
+     * @param classes map of all parsed classes
+     * @return
+     */
+    public static Map<String, Map<String, FieldType>> computeClassAttributes(Map<String, Class1> classes){
+        Map<String, Map<String, FieldType>> classAttributes = new HashMap<String, Map<String, FieldType>>();
+        for (Entry<String, Class1> entry:classes.entrySet()){
+            classAttributes.put(entry.getKey(), entry.getValue().getAllAttributes());
+        }
+        return classAttributes;
+    }
+    
+    /**
+     * This method decodes a line that represents an object, of the form
+     * object(class; id=value; field=value; field={value, value}; ...).
+     * The fields are scanned in place instead of being split into substrings.
+     * @param line line that represents an object
+     * @param classAttributes all attributes of each class
+     * @return
+     * @throws IllegalArgumentException if the line is not a valid object line
+     */
+    public static Object1 decodeObject(String line, Map<String, Map<String, FieldType>> classAttributes){
+        int contentEnd = trimEnd(line, line.indexOf('(') + 1, line.indexOf(')'));
+        int fieldStart = trimStart(line, line.indexOf('(') + 1, contentEnd);
+        // Get type and id of the object from first and second fields
+        int fieldEnd = fieldEnd(line, fieldStart, contentEnd);
+        String class1 = trimmed(line, fieldStart, fieldEnd);
+        if (fieldEnd == contentEnd){
+            throw parseError("ID for the object not found", line);
+        }
+        fieldStart = fieldEnd + 1;
+        fieldEnd = fieldEnd(line, fieldStart, contentEnd);
+        int equals = line.indexOf('=', fieldStart);
+        if (equals < 0 || equals >= fieldEnd || !trimmed(line, fieldStart, equals).equals("id")){
+            System.out.println("ID for the object not found");
+            System.exit(0);
+        }
+        String id = trimmed(line, equals + 1, valueEnd(line, equals + 1, fieldEnd));
+        Map<String, FieldType> attributes = classAttributes.get(class1);
+        Map<String, FieldValue> data = new HashMap<String, FieldValue>();
+        // fields of the object, ignoring empty fields at the end as String.split does
+        for (fieldStart = fieldEnd + 1; fieldStart < contentEnd; fieldStart = fieldEnd + 1){
+            fieldEnd = fieldEnd(line, fieldStart, contentEnd);
+            if (fieldEnd == fieldStart && isEmptyTail(line, fieldEnd, contentEnd)){
+                break;
+            }
+            equals = line.indexOf('=', fieldStart);
+            if (equals < 0 || equals >= fieldEnd){
+                throw parseError("Value of the field " + trimmed(line, fieldStart, fieldEnd) + " not found", line);
+            }
+            String fieldName = trimmed(line, fieldStart, equals);
+            int contentStart = trimStart(line, equals + 1, valueEnd(line, equals + 1, fieldEnd));
+            int valueEnd = trimEnd(line, contentStart, valueEnd(line, equals + 1, fieldEnd));
+            FieldValue value = new FieldValue();
+            if (line.regionMatches(contentStart, "unknown", 0, valueEnd - contentStart) && valueEnd - contentStart == 7){
+                value.setIsUnknown(true);
+            }
+            else if (!(line.regionMatches(contentStart, "null", 0, valueEnd - contentStart) && valueEnd - contentStart == 4)){
+                int brace = line.indexOf('{', contentStart);
+                if (brace < 0 || brace >= valueEnd){
+                    // Case that this field content is a single-valued attribute
+                    if (attributes == null || !attributes.containsKey(fieldName)){
+                        throw parseError("Field " + fieldName + " is not an attribute of class " + class1, line);
+                    }
+                    if (attributes.get(fieldName).getIsBoolean()){
+                        value.setBool(valueEnd - contentStart == 4 && line.regionMatches(contentStart, "true", 0, 4));
+                    }
+                    else{
+                        value.setObjId(line.substring(contentStart, valueEnd));
+                    }
+                }
+                else {
+                    // Case that this field content is a mul-valued  attribute
+                    value.setSetObjId(new HashSet<String>());
+                    int setStart = contentStart + 1;
+                    int setEnd = valueEnd - 1;
+                    if (setStart >= setEnd){
+                        value.addToSetObjId("");
+                    }
+                    else{
+                        // values of the set, ignoring empty values at the end as String.split does
+                        int last = setEnd;
+                        while (last > setStart && line.charAt(last - 1) == ','){
+                            last--;
+                        }
+                        int valueStart = setStart;
+                        while (valueStart <= last && last > setStart){
+                            int comma = line.indexOf(',', valueStart);
+                            if (comma < 0 || comma > last){
+                                comma = last;
+                            }
+                            value.addToSetObjId(trimmed(line, valueStart, comma));
+                            valueStart = comma + 1;
+                        }
+                    }
+                }
+            }
+            data.put(fieldName, value);
+        }
+        // Create new object
+        return new Object1(class1, id, data);
+    }
+    
+    /**
+     * @return the error of an invalid object line, which names the line
+     */
+    private static IllegalArgumentException parseError(String message, String line){
+        return new IllegalArgumentException("Invalid object line, " + message + ": " + line);
+    }
+    
+    /**
+     * @return end of the field starting at start, which is the next ';' or the end of the content
+     */
+    private static int fieldEnd(String line, int start, int contentEnd){
+        int end = line.indexOf(';', start);
+        return end < 0 || end > contentEnd ? contentEnd : end;
+    }
+    
+    /**
+     * @return end of the value starting at start, which is the next '=' or the end of the field
+     */
+    private static int valueEnd(String line, int start, int fieldEnd){
+        int end = line.indexOf('=', start);
+        return end < 0 || end > fieldEnd ? fieldEnd : end;
+    }
+    
+    /**
+     * @return true if the content from start to contentEnd only contains ';'
+     */
+    private static boolean isEmptyTail(String line, int start, int contentEnd){
+        for (int i = start; i < contentEnd; i++){
+            if (line.charAt(i) != ';'){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int trimStart(String line, int start, int end){
+        while (start < end && line.charAt(start) <= ' '){
+            start++;
+        }
+        return start;
+    }
+    
+    private static int trimEnd(String line, int start, int end){
+        while (end > start && line.charAt(end - 1) <= ' '){
+            end--;
+        }
+        return end;
+    }
+    
+    private static String trimmed(String line, int start, int end){
+        start = trimStart(line, start, end);
+        return line.substring(start, trimEnd(line, start, end));
+    }
+    
+    /**
+     * This method used to process a line represent a class.
+     * It will create new Class1 and add to classes map.
+     * @param line line that represents an object
+     * @param classes list of parsed objects
+     * @param classLines stores all content of class definition line
+     */
+    public static void processClass(String line, Map<String, Class1> classes, ArrayList<String[]> classLines){
+        // !! Check if this is consistent with class model
+        String content = line.substring(line.indexOf('(') + 1, line.indexOf(')'));
+        String[] fields = content.split(";");
+        classLines.add(fields);
+        // Get class name from the first element of fields
+        String className = fields[0].trim();
+        Class1 class1 = new Class1(className);
+        if (!fields[1].equals(" ")){
+            class1.setParentClass(classes.get(fields[1].trim()));
+        }
+        classes.put(className, class1);
+    }
+    
+    /**
+     * This method compute the attributes of each class
+     * @param classes map of all classes
+     * @param classLines content of class definition from input file
+     */
+    public static void ProcessClassAttributes(Map<String, Class1> classes, ArrayList<String[]> classLines){
+        for (String[] fields:classLines){
+            Map<String, FieldType> attributes = new HashMap<String, FieldType>();
+            if (fields.length > 2){
+                String className = fields[0].trim();
+                for (int i = 2; i < fields.length; i++){
+                    String[] pair = fields[i].split(":");
+                    String fieldName = pair[0].trim();
+                    String fieldContent = pair[1].trim();
+                    switch (fieldContent.charAt(fieldContent.length()-1)) {
+                        case '*':
+                        {
+                            // MANY multiplicity
+                            String type = fieldContent.substring(0, fieldContent.length() - 1);
+                            attributes.put(fieldName, new FieldType(false, classes.get(type), Multiplicity.MANY));
+                            break;
+                        }
+                        case '?':
+                        {
+                            // OPTIONAL multiplicity
+                            String type = fieldContent.substring(0, fieldContent.length() - 1);
+                            attributes.put(fieldName, new FieldType(false, classes.get(type), Multiplicity.OPTIONAL));
+                            break;
+                        }
+                        default:
+                        {
+                            // ONE multiplicity
+                            if (fieldContent.equals("boolean") || fieldContent.equals("Boolean")){
+                                attributes.put(fieldName, new FieldType(true, null, Multiplicity.ONE));
+                            }
+                            else{
+                                attributes.put(fieldName, new FieldType(false, classes.get(fieldContent), Multiplicity.ONE));
+                            }
+                            break;
+                        }
+                    }
+                }               
+                // add attributes to the corresponding class
+                classes.get(className).setAttributes(attributes);
+            }
+        }
+    }
+
+    /**
+     * This method process a line represent a rule definition
+     * @param line the string line
+     * @param rules list of rules
+     * @param classes map of all classes
+     */
+    public static void processRule(String line, List<Rule> rules, Map<String, Class1> classes){
+        String content = line.substring(line.indexOf('(') + 1, line.lastIndexOf(')'));
+        content = content.trim();
+        String[] fields = content.split(";");
+        // process subject type and resource type
+        String subjectType = fields[0].trim();
+        String resourceType = fields[2].trim();
+        // subject Condition
+        String[] subCondition = null;
+        if (!fields[1].equals(" ")){
+            String[] subConditions = fields[1].split("and");
+            subCondition = new String[subConditions.length];
+            for (int i = 0; i < subCondition.length; i++){
+                subCondition[i] = subConditions[i].trim();
+            }
+        }
+        // resource Condition
+        String[] resCondition = null;
+        if (!fields[3].equals(" ")){
+            String[] resConditions = fields[3].split("and");
+            resCondition = new String[resConditions.length];
+            for (int i = 0; i < resCondition.length; i++){
+                resCondition[i] = resConditions[i].trim();
+            }
+        }
+
+        // constraint
+        String[] constraint = null;
+        if (!fields[4].equals(" ")){
+            String[] constraints = fields[4].split("and");
+            constraint = new String[constraints.length];
+            for (int i = 0; i < constraint.length; i++){
+                constraint[i] = constraints[i].trim();
+            }
+        }
+
+        // actions
+        String[] action = null;
+        fields[5] = fields[5].trim();
+        String actionsContent = fields[5].substring(1, fields[5].length() - 1);
+        if (!actionsContent.equals("")){
+            String[] actions = actionsContent.split(",");
+            action = new String[actions.length];
+            for (int i = 0; i < action.length; i++){
+                action[i] = actions[i].trim();
+            }
+        }
+        rules.add(createRule(subjectType, subCondition, resourceType, resCondition, constraint, action, classes));
+    }
+    
+    public static Rule createRule(String subType, String[] subCondition, String resType, String[] resCondition, String[] constraint, String[] ops, Map<String, Class1> classes){
+        ArrayList<AtomicCondition> subjectCondition = new ArrayList<AtomicCondition>();
+        ArrayList<AtomicCondition> resourceCondition = new ArrayList<AtomicCondition>();
+        ArrayList<AtomicConstraint> constraints = new ArrayList<AtomicConstraint>();
+        Set<String> opsSet = new HashSet<String>();
+        if (subCondition != null){
+            for (String con:subCondition){
+                Boolean isNegativeCond = false;
+                if (con.indexOf('!') > -1){
+                    isNegativeCond = true;
+                }
+                String constantString = con.substring(con.indexOf('{') + 1, con.indexOf('}'));
+                String[] elements = con.split(" ");
+                ArrayList<String> path = new ArrayList<String>();
+                String[] pathElements = elements[0].split("\\.");
+                for (String pe:pathElements){
+                    path.add(pe);
+                }
+                Set<String> constant = new HashSet<String>();
+                String[] constants = constantString.split(",");
+                for (String c:constants){
+                    constant.add(c.trim());
+                }
+                if (elements[1].toLowerCase().equals("in")){
+                    AtomicCondition sc = new AtomicCondition(path, constant, ConditionOperator.IN);
+                    sc.setIsNegative(isNegativeCond);
+                    subjectCondition.add(sc);
+                }
+                else if (elements[1].toLowerCase().equals("contains")){
+                    AtomicCondition sc = new AtomicCondition(path, constant, ConditionOperator.CONTAINS);
+                    sc.setIsNegative(isNegativeCond);
+                    subjectCondition.add(sc);
+                }
+            }
+        }
+        if (resCondition != null){
+            for (String con:resCondition){
+                Boolean isNegativeCond = false;
+                if (con.indexOf('!') > -1){
+                    isNegativeCond = true;
+                }
+                String constantString = con.substring(con.indexOf('{') + 1, con.indexOf('}'));
+                String[] elements = con.split(" ");
+                ArrayList<String> path = new ArrayList<String>();
+                String[] pathElements = elements[0].split("\\.");
+                for (String pe:pathElements){
+                    path.add(pe);
+                }
+                Set<String> constant = new HashSet<String>();
+                String[] constants = constantString.split(",");
+                for (String c:constants){
+                    constant.add(c.trim());
+                }
+                if (elements[1].toLowerCase().equals("in")){
+                    AtomicCondition rc = new AtomicCondition(path, constant, ConditionOperator.IN);
+                    rc.setIsNegative(isNegativeCond);
+                    resourceCondition.add(rc);
+                }
+                else if (elements[1].toLowerCase().equals("contains")){
+                    AtomicCondition rc = new AtomicCondition(path, constant, ConditionOperator.CONTAINS);
+                    rc.setIsNegative(isNegativeCond);
+                    resourceCondition.add(rc);
+                }
+            }
+        }
+        if (constraint != null){
+            for (String con:constraint){
+                Boolean isNegativeCons = false;
+                if (con.indexOf('!') > -1){
+                    isNegativeCons = true;
+                }
+                String[] elements = con.split(" ");
+                ArrayList<String> subPath = new ArrayList<String>();
+                String[] path = elements[0].split("\\.");
+                for (String pathElement:path){
+                    subPath.add(pathElement);
+                }
+                ArrayList<String> resPath = new ArrayList<String>();
+                if (isNegativeCons){
+                    elements[2] = elements[2].substring(0, elements[2].length() - 4);
+                }
+                path = elements[2].split("\\.");
+                for (String pathElement:path){
+                    resPath.add(pathElement);
+                }
+                if (elements[1].toLowerCase().equals("in")){
+                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.IN);
+                    ac.setIsNegative(isNegativeCons);
+                    constraints.add(ac);
+                }
+                else if (elements[1].toLowerCase().equals("=")){
+                    if (checkValidPath(subType, subPath, classes).getSecond()){
+                        AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.EQUALS_SET);
+                        ac.setIsNegative(isNegativeCons);
+                        constraints.add(ac);
+                    }
+                    else{
+                        AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.EQUALS_VALUE);
+                        ac.setIsNegative(isNegativeCons);
+                        constraints.add(ac);
+                    }
+                }
+                else if (elements[1].toLowerCase().equals("contains")){
+                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.CONTAINS);
+                    ac.setIsNegative(isNegativeCons);
+                    constraints.add(ac);
+                }
+                else if (elements[1].toLowerCase().equals("supseteq")){
+                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.SUPSETEQ);
+                    ac.setIsNegative(isNegativeCons);
+                    constraints.add(ac);
+                }
+                else if (elements[1].toLowerCase().equals("subseteq")){
+                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.SUBSETEQ);
+                    ac.setIsNegative(isNegativeCons);
+                    constraints.add(ac);
+                }
+            }
+        }
+        for (String op:ops){
+            opsSet.add(op);
+        }
+        return new Rule(classes.get(subType),subjectCondition, classes.get(resType), resourceCondition, constraints, opsSet);
+    }
+    
+    /**
+     * This function check if object model and rule model consistent with class model
+     * @param classes class model
+     * @param objects object model
+     * @param rules rule model
+     * @return
+     */
+    public static boolean checkConsistency(Map<String, Class1> classes, Map<String, Object1> objects, List<Rule> rules){
+
+        // CHECK OBJECTS
+        for (Map.Entry<String, Object1> entry:objects.entrySet()){
+            String objectType = entry.getValue().getClass1();
+            // Check if class name is valid
+            if (!classes.containsKey(objectType)){
+                System.out.println("Invalid class name: " + objectType);
+                return false;
+            }
+            // Check attributes
+            Map<String, FieldType> classAttributes = classes.get(objectType).getAllAttributes();
+            // check size of data field, note that id field is not explicitly defined in class model
+            if (entry.getValue().getData().size()  != classAttributes.size()){
+                System.out.println("Invalid data in object: " + entry.getKey());
+                System.out.println("Object type: " + objectType);
+                System.out.println("entry data size: " + entry.getValue().getData().size());
+                System.out.println("class attributes size: " + classAttributes.size());
+                return false;
+            }
+            for (String key:entry.getValue().getData().keySet()){
+                if (!classAttributes.containsKey(key)){
+                    System.out.println("Invalid field " + key + " in object " + entry.getKey());
+                    return false;
+                }
+                FieldValue value = entry.getValue().getData().get(key);
+                // check if the value's type matches
+                if (classAttributes.get(key).getIsBoolean()){
+                    // check if correct type is Boolean
+                    if (value.getObjId() != null || value.getSetObjId() != null){
+                        System.out.println("Invalid value: Not a boolean. Field " + key + " in object " + entry.getKey());
+                        return false;
+                    }
+                }
+                else{
+                    String correctType = classAttributes.get(key).getType().getClassName();
+                    Multiplicity correctMul = classAttributes.get(key).getMultiplicity();
+                    if (correctMul == Multiplicity.ONE && value.getObjId() == null && !value.getIsUnknown()){
+                        System.out.println("Invalid value: Multiplicity is ONE. Field " + key + " in object " + entry.getKey());
+                        return false;
+                    }
+                    if (correctMul == Multiplicity.MANY && value.getObjId() != null){
+                        System.out.println("Invalid value: Multiplicity is MANY. Field " + key + " in object " + entry.getKey());
+                        return false;
+                    }
+                    if ((correctMul == Multiplicity.ONE || correctMul == Multiplicity.OPTIONAL) && value.getSetObjId() != null){
+                        System.out.println("Invalid value: Multiplicity is :" + correctMul+ ". Field " + key + " in object " + entry.getKey());
+                        return false;
+                    }
+                    if (value.getObjId() != null){
+                        if (!objects.containsKey(value.getObjId())){
+                            System.out.println("Invalid object id: " + value.getObjId() + ". Field " + key + " in object " + entry.getKey());
+                            return false;
+                        }
+                        String valueType = objects.get(value.getObjId()).getClass1();
+                        String parentClass = "";
+                        if (classes.get(valueType) != null && classes.get(valueType).getParentClass() != null){
+                            parentClass = classes.get(valueType).getParentClass().getClassName();
+                        }
+                        if (!correctType.equals(valueType) && !correctType.equals(parentClass)){
+                            System.out.println("Invalid value type: " + value.getObjId() + ". Field " + key + " in object " + entry.getKey());
+                            return false;
+                        }
+                    }
+                    else if (value.getSetObjId() != null){
+                        // setObjId != null means that setObjId has at least 1 element
+                        for (String element:value.getSetObjId()){
+                            if (!objects.containsKey(element)){
+                                System.out.println("Invalid object id: " + element + ". Field " + key + " in object " + entry.getKey());
+                                return false;
+                            }
+                            String valueType = objects.get(element).getClass1();
+                            String parentClass = "";
+                            if (classes.get(valueType) != null && classes.get(valueType).getParentClass() != null){
+                                parentClass = classes.get(valueType).getParentClass().getClassName();
+                            }
+                            if (!correctType.equals(valueType) && !correctType.equals(parentClass)){
+                                System.out.println("Invalid value type: " + element + ". Field " + key + " in object " + entry.getKey());
+                                return false;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        // CHECK RULES
+        for (Rule r:rules){
+            // Check subjectType and resourceType
+            if (!classes.containsKey(r.getSubjectType().getClassName()) || !classes.containsKey(r.getResourceType().getClassName())){
+                System.out.println("Rule Error: Invalid Type");
+                return false;
+            }
+            // Check subject and resrouce conditions
+            for (AtomicCondition sc:r.getSubjectCondition()){
+                Triple<Boolean, Boolean, String> validity = ModelParser.checkValidPath(r.getSubjectType().getClassName(), sc.getPath(), classes);
+                if (!validity.getFirst()){
+                    System.out.println("Rule Error: Invalid subject path " + sc.getPath());
+                    return false;
+                }
+                if (sc.getConditionOperator() != ConditionOperator.IN && sc.getConditionOperator() != ConditionOperator.CONTAINS){
+                    System.out.println("Invalid subject condition operator" + sc.getPath());
+                    return false;
+                }
+                if (sc.getConditionOperator() == ConditionOperator.IN && validity.getSecond()){
+                    System.out.println("Inconsistency in subject condition operator and multiplicity" + sc.getPath());
+                    return false;
+                }
+                if (sc.getConditionOperator() == ConditionOperator.CONTAINS && !validity.getSecond()){
+                    System.out.println("Inconsistency in subject condition operator and multiplicity" + sc.getPath());
+                    return false;
+                }
+            }
+            for (AtomicCondition rc:r.getResourceCondition()){
+                Triple<Boolean, Boolean, String> validity = ModelParser.checkValidPath(r.getResourceType().getClassName(), rc.getPath(), classes);
+                if (!validity.getFirst()){
+                    System.out.println("Rule Error: Invalid resource path");
+                    return false;
+                }
+                if (rc.getConditionOperator() != ConditionOperator.IN && rc.getConditionOperator() != ConditionOperator.CONTAINS){
+                    System.out.println("Invalid resource condition operator");
+                    return false;
+                }
+                if (rc.getConditionOperator() == ConditionOperator.IN && validity.getSecond()){
+                    System.out.println("Inconsistency in subject condition operator and multiplicity" + rc.getPath());
+                    return false;
+                }
+                if (rc.getConditionOperator() == ConditionOperator.CONTAINS && !validity.getSecond()){
+                    System.out.println("Inconsistency in subject condition operator and multiplicity" + rc.getPath());
+                    return false;
+                }
+            }
+            // Check constraints
+            for (AtomicConstraint c:r.getConstraint()){
+                Triple<Boolean, Boolean, String> validity = ModelParser.checkValidPath(r.getSubjectType().getClassName(), c.getSubPath(), classes);
+                if (!validity.getFirst()){
+                    System.out.println("Rule Error: Invalid subject path - constraint");
+                    return false;
+                }
+                Triple<Boolean, Boolean, String> validity1 = ModelParser.checkValidPath(r.getResourceType().getClassName(), c.getResPath(), classes);
+                if (!validity1.getFirst()){
+                    System.out.println("Rule Error: Invalid resource path - constraint");
+                    return false;
+                }
+                if (!validity.getSecond() && !validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.EQUALS_VALUE){
+                    System.out.println("Invalid constraint operator, it should be EQUALS_VALUE");
+                    System.out.println("Sub Type: " + r.getSubjectType().getClassName() + "\nRes Type: " + r.getResourceType().getClassName());
+                    System.out.println(c);
+                    return false;
+                }
+                if (!validity.getSecond() && validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.IN){
+                    System.out.println("Invalid constraint operator, it should be IN");
+                    return false;
+                }
+                if (validity.getSecond() && !validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.CONTAINS){
+                    System.out.println("Invalid constraint operator, it should be CONTAINS");
+                    return false;
+                }
+                if (validity.getSecond() && validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.SUPSETEQ
+                        && c.getConstraintOperator() != ConstraintOperator.SUBSETEQ && c.getConstraintOperator() != ConstraintOperator.EQUALS_SET){
+                    System.out.println(c);
+                    System.out.println("Invalid constraint operator");
+                    return false;
+                }
+                if (!validity.getThird().equals(validity1.getThird()) && 
+                        (classes.get(validity.getThird()).getParentClass() != null && !classes.get(validity.getThird()).getParentClass().equals(validity1.getThird())) &&
+                        (classes.get(validity1.getThird()).getParentClass() != null && !classes.get(validity1.getThird()).getParentClass().equals(validity.getThird()))
+                        ){
+                    System.out.println("Inconsistency constraint types");
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * this method check if a path in a atomic condition or atomic constraint is valid
+     * @param type
+     * @param path
+     * @param classes
+     * @return an triple value, consist of 2 boolean values and a string
+     * return value 1: boolean indicate if the path is valid
+     * return value 2: boolean indicate if the path has MULTIPLE multiplicity
+     * return value 3: string indicate the type of the path (type of last attribute other than id)
+     */
+    public static Triple<Boolean, Boolean, String> checkValidPath(String type, ArrayList<String> path, Map<String, Class1> classes){
+        boolean validPath = true; 
+        boolean isManyMultiplicity = false;
+        String currentClassName  = type;
+        for (int i = 0; i < path.size(); i++){
+            String attr = path.get(i);
+            if (i != path.size() - 1 && attr.equals("id")){
+                validPath = false;
+            }
+            if (attr.equals("id")){
+                continue;
+            }
+            if (!classes.get(currentClassName).getAllAttributes().containsKey(attr)){
+                validPath = false;
+            }
+            if (classes.get(currentClassName).getAllAttributes().get(attr) == null){
+                validPath = false;
+                return new Triple(validPath, null, null);
+            }
+            if (classes.get(currentClassName).getAllAttributes().get(attr).getMultiplicity() == Multiplicity.MANY){
+                isManyMultiplicity = true;
+            }
+            if (classes.get(currentClassName).getAllAttributes().get(attr).getIsBoolean()){
+                continue;
+            }
+            currentClassName = classes.get(currentClassName).getAllAttributes().get(attr).getType().getClassName();
+        }
+        return new Triple(validPath, isManyMultiplicity, currentClassName);
+    }
+    
+}
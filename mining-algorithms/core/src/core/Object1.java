@@ -16,7 +16,7 @@
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
  
-package util;
+package core;
 
 import java.io.Serializable;
 import java.util.Map;
@@ -32,6 +32,10 @@ public class Object1 implements Serializable{
     private String id;
     // map field name to field value, for all fields except id.
     private Map<String,FieldValue> data;
+    // ordinal of this object in the store, -1 before the store is built
+    private int ordinal = -1;
+    // once the store is built, field values are read from the store instead of data
+    private transient ObjectSource store;
     public Object1(String class1, String id, Map<String, FieldValue> data){
         this.class1 = class1;
         this.id = id;
@@ -51,9 +55,28 @@ public class Object1 implements Serializable{
         return this.id;
     }
     public Map<String, FieldValue> getData(){
+        if (this.data == null && this.store != null){
+            return this.store.getData(this.ordinal);
+        }
         return this.data;
     }
     public void setData(Map<String, FieldValue> data){
         this.data = data;
     }
+    public int getOrdinal(){
+        return this.ordinal;
+    }
+    public ObjectSource getStore(){
+        return this.store;
+    }
+    /**
+     * This method attaches the object to a store and releases its field value map.
+     * @param store the store built from the object model
+     * @param ordinal ordinal of this object in the store
+     */
+    public void setStore(ObjectSource store, int ordinal){
+        this.store = store;
+        this.ordinal = ordinal;
+        this.data = null;
+    }
 }
\ No newline at end of file
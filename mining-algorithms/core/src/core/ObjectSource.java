@@ -0,0 +1,47 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ObjectSource is a store of the field values of the objects, which the objects read
+ * their fields from once their field value maps are released. Objects are identified by
+ * their ordinal in the store.
+ * @author Thang Bui
+ */
+public interface ObjectSource {
+    /**
+     * This method recreates the field value map of an object
+     * @param obj object ordinal
+     * @return map field name to field value, for all fields except id.
+     */
+    public Map<String, FieldValue> getData(int obj);
+    
+    /**
+     * This method computes the values of an attribute path on an object. It has the same
+     * result as PathEvaluator.getAttributePathValues on the field value maps.
+     * @param obj object ordinal
+     * @param path
+     * @return
+     */
+    public Triple<Boolean, ArrayList<String>, Boolean> getAttributePathValues(int obj, List<String> path);
+}
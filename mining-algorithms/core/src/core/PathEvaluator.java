@@ -0,0 +1,107 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+ 
+
+package core;
+
+import java.util.ArrayList;
+import java.util.Map;
+import core.FieldType.Multiplicity;
+
+/**
+ * PathEvaluator evaluates attribute paths on the object model. It is shared by the
+ * learning data generator and ReBACMiner, so the semantics of paths, and in particular
+ * of unknown values, are the same in both programs. The paths of an object attached to
+ * a store are evaluated by the store.
+ * @author Thang Bui
+ */
+public class PathEvaluator {
+    /**
+     * This method computes the values of an attribute path on an object
+     * @param obj1 object at which the path starts
+     * @param path
+     * @param objects object model, by id
+     * @param classAttributes field types of each class
+     * @return whether the path ends with a boolean field, the values of the path, and whether a field
+     * on the path is unknown for an object reached by the path
+     */
+    public static Triple<Boolean, ArrayList<String>, Boolean> getAttributePathValues(Object1 obj1, ArrayList<String> path,
+            Map<String, Object1> objects, Map<String, Map<String, FieldType>> classAttributes){
+        if (obj1.getStore() != null){
+            return obj1.getStore().getAttributePathValues(obj1.getOrdinal(), path);
+        }
+        ArrayList<String> results = new ArrayList<String>();
+        boolean isBoolean = false;
+        boolean isUnknown = false;
+        ArrayList<Object1> currentObjects = new ArrayList<Object1>();
+        currentObjects.add(obj1);
+        String currentClassName = obj1.getClass1();
+        for (String s:path){
+            if (!isUnknown && !s.equals("id")){
+                for (Object1 obj: currentObjects){
+                    if (obj.getData().get(s).getIsUnknown()){
+                        isUnknown = true;
+                        break;
+                    }
+                }
+                
+            }
+            if (s.equals("id")){
+                for (Object1 obj:currentObjects){
+                    results.add(obj.getId());
+                }
+                break;
+            }
+            FieldType fieldType = classAttributes.get(currentClassName).get(s);
+            if (fieldType.getIsBoolean()){
+                isBoolean = true;
+                for (Object1 obj : currentObjects) {
+                    if (obj.getData().get(s).getBool()) {
+                        results.add("true");
+                    }
+                    else{
+                        results.add("false");
+                    }
+                }
+                break;
+            }
+            else {
+                ArrayList<Object1> oldObjects = new ArrayList<Object1>(currentObjects);
+                currentObjects.clear();
+                if (fieldType.getMultiplicity() == Multiplicity.ONE || fieldType.getMultiplicity() == Multiplicity.OPTIONAL){
+                    for (Object1 obj:oldObjects){
+                        if (obj.getData().get(s).getObjId() != null){
+                            currentObjects.add(objects.get(obj.getData().get(s).getObjId()));
+                        }
+                    }
+                }
+                else if (fieldType.getMultiplicity() == Multiplicity.MANY){
+                    for (Object1 obj:oldObjects){
+                        if (obj.getData().get(s).getSetObjId() != null){
+                            for (String id:obj.getData().get(s).getSetObjId()){
+                                currentObjects.add(objects.get(id));
+                            }
+                        }
+                    }
+                }
+                currentClassName = fieldType.getType().getClassName();
+            } 
+        }
+        return new Triple<Boolean, ArrayList<String>, Boolean>(isBoolean, results, isUnknown);
+    }
+}
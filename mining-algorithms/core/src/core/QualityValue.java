@@ -16,7 +16,7 @@
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
 
-package util;
+package core;
 
 public class QualityValue implements Comparable<QualityValue>{
     public double firstComponent;
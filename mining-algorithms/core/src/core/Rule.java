@@ -16,7 +16,7 @@
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
  
-package util;
+package core;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -16,7 +16,7 @@
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
 
-package util;
+package core;
 
 /**
  * Generic class Triple to represent a triple of elements
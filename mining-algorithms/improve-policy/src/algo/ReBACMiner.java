@@ -21,6 +21,8 @@ package algo;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,9 +32,9 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
-import util.AtomicCondition;
+import core.AtomicCondition;
 import util.AtomicConditionComparator;
-import util.AtomicConstraint;
+import core.AtomicConstraint;
 import util.AttributePathType;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -40,23 +42,39 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.TimeUnit;
-import util.Class1;
-import util.ConditionOperator;
+import core.Class1;
+import core.ConditionEvaluator;
+import core.ConditionOperator;
+import core.ModelParser;
 import util.Config;
-import util.ConstraintOperator;
-import util.DiscreteNormalDistribution;
-import util.FieldType;
-import util.Object1;
-import util.Pair;
+import util.ConstraintMatrix;
+import core.ConstraintOperator;
+import core.FieldType;
+import util.MeaningCache;
+import util.NoiseInjector;
+import core.Object1;
+import util.ObjectStore;
+import util.PathTable;
+import core.Pair;
 import util.Parser;
-import util.Rule;
+import core.Rule;
+import util.RuleEvaluation;
 import util.RulePairComparator;
 import util.RuleQualityComparator;
-import util.QualityValue;
-import util.Time;
-import util.Triple;
+import util.RuleSignature;
+import core.QualityValue;
+import core.Time;
+import core.Triple;
 import util.UPComparator;
+import util.UPIndex;
 
 /**
  * This class used to mine an ReBAC policy.
@@ -335,120 +353,150 @@ public class ReBACMiner {
         return results;
     }
 
-    public static Pair<Set<String>, Integer> getConditionMeaning(String type, List<AtomicCondition> condition, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
+    /**
+     * This method computes the meaning of a condition: the objects of the given type that satisfy
+     * all atomic conditions. The meaning is a bitmap over ObjectStore.getTypeObjects(type), and a
+     * conjunction of atomic conditions is the word-wise AND of their cached bitmaps.
+     * @param type
+     * @param condition
+     * @param objects
+     * @param classes
+     * @param config
+     * @return the meaning bitmap and the number of objects checked. The bitmap is cached and must not be modified.
+     */
+    public static Pair<BitSet, Integer> getConditionMeaning(String type, List<AtomicCondition> condition, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
         // Note that in our current case study, we only have 1-level inheritance.
         int countLoop = 0;
-        Set<String> results = new HashSet<String>();
-        Map<String, Set<String>> classConditionMeaningMap = config.getConditionMeanings().get(condition);
+        BitSet results = null;
+        Map<String, BitSet> classConditionMeaningMap = config.getConditionMeanings().get(condition);
         if (classConditionMeaningMap != null && classConditionMeaningMap.get(type) != null){
             return new Pair(classConditionMeaningMap.get(type), countLoop);
         }
         else{
+            ObjectStore store = config.getObjectStore();
+            int[] typeObjects = store.getTypeObjects(type);
             for (int i = 0; i < condition.size(); i++){
                 AtomicCondition ac = condition.get(i);
-                Map<String, Set<String>> classAtomicConditionMeaningMap = config.getAtomicConditionMeanings().get(ac);
-                if (classAtomicConditionMeaningMap != null && classAtomicConditionMeaningMap.get(type) != null){
-                    if (i == 0){
-                        results.addAll(classAtomicConditionMeaningMap.get(type));
-                    }
-                    else{
-                        results.retainAll(classAtomicConditionMeaningMap.get(type));
-                    }
-                }
-                else{
-                    if (classAtomicConditionMeaningMap == null){
-                        Map<String, Set<String>> newMap = new HashMap<String, Set<String>>();
-                        newMap.put(type, null);
-                        config.getAtomicConditionMeanings().put(ac, newMap);
-                        classAtomicConditionMeaningMap = config.getAtomicConditionMeanings().get(ac);
-                    }
-                    else{
-                        classAtomicConditionMeaningMap.put(type, null);
-                    }
-                    Set<String> satisfiedObjects = new HashSet<String>();
-                    for (Object1 obj:objects.values()){
+                Map<String, BitSet> classAtomicConditionMeaningMap = config.getAtomicConditionMeanings().get(ac);
+                BitSet satisfiedObjects = null;
+                if (classAtomicConditionMeaningMap != null){
+                    satisfiedObjects = classAtomicConditionMeaningMap.get(type);
+                }
+                if (satisfiedObjects == null){
+                    satisfiedObjects = new BitSet(typeObjects.length);
+                    PathTable table = store.getPathTable(type, ac.getPath());
+                    int[] objectConstants = getConstantValues(ac, false, store);
+                    int[] booleanConstants = getConstantValues(ac, true, store);
+                    for (int j = 0; j < typeObjects.length; j++){
                         countLoop++;
-                        if (checkSameType(obj, type, classes)){
-                            boolean satisfyCheck = checkSatisfyAtomicCondition(obj, ac, objects, classes, config);
-                            if (satisfyCheck){
-                                satisfiedObjects.add(obj.getId());
-                            }
+                        if (checkSatisfyAtomicCondition(table, j, ac, table.isBoolean(j) ? booleanConstants : objectConstants)){
+                            satisfiedObjects.set(j);
                         }
                     }
-                    classAtomicConditionMeaningMap.replace(type, satisfiedObjects);
-                    if (i == 0){
-                        results.addAll(satisfiedObjects);
-                    }
-                    else{
-                        results.retainAll(satisfiedObjects);
-                    }
+                    // cached maps are not modified, so that they can be read by other threads
+                    Map<String, BitSet> newMap = classAtomicConditionMeaningMap == null ? new HashMap<String, BitSet>() : new HashMap<String, BitSet>(classAtomicConditionMeaningMap);
+                    newMap.put(type, satisfiedObjects);
+                    config.getAtomicConditionMeanings().put(new AtomicCondition(ac), newMap);
+                }
+                if (i == 0){
+                    results = (BitSet) satisfiedObjects.clone();
+                }
+                else{
+                    results.and(satisfiedObjects);
                 }
             }
-            if (classConditionMeaningMap == null){
-                Map<String, Set<String>> newMap = new HashMap<String, Set<String>>();
-                newMap.put(type, results);
-                config.getConditionMeanings().put(condition, newMap);
+            if (results == null){
+                results = new BitSet();
             }
-            else{
-                classConditionMeaningMap.put(type, results);
+            Map<String, BitSet> newMap = classConditionMeaningMap == null ? new HashMap<String, BitSet>() : new HashMap<String, BitSet>(classConditionMeaningMap);
+            newMap.put(type, results);
+            // copy the key because the condition list of a rule may be changed later
+            ArrayList<AtomicCondition> key = new ArrayList<AtomicCondition>();
+            for (AtomicCondition ac:condition){
+                key.add(new AtomicCondition(ac));
             }
+            config.getConditionMeanings().put(key, newMap);
             return new Pair(results, countLoop);
         }
     }
 
     public static boolean checkSatisfyAtomicCondition(Object1 obj, AtomicCondition ac, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
+        return ConditionEvaluator.checkSatisfyAtomicCondition(obj, ac, objects, config.getClassAttributes());
+    }
 
-        Triple<Boolean, ArrayList<String>, Boolean> attrs = Parser.getAttributePathValues(obj, ac.getPath(), objects, classes, config);
-        if (attrs.getThird()){
+    /**
+     * This method checks if a row of a path table satisfies an atomic condition. It has the same
+     * result as checkSatisfyAtomicCondition on the path values of the row's object.
+     * @param table path table of the condition path
+     * @param row
+     * @param ac
+     * @param constants path table values of the condition constants, from getConstantValues
+     * @return
+     */
+    public static boolean checkSatisfyAtomicCondition(PathTable table, int row, AtomicCondition ac, int[] constants){
+        int start = table.getValueStart(row);
+        int end = table.getValueEnd(row);
+        if (table.isUnknown(row)){
             // there is Unknown values
-            if (ac.getConditionOperator() == ConditionOperator.CONTAINS && attrs.getSecond().containsAll(ac.getConstant())){
+            if (ac.getConditionOperator() == ConditionOperator.CONTAINS && containsAllValues(table, row, constants)){
                 return true;
             }
             return false;
         }
-        if (attrs.getSecond().isEmpty()){
-            if (ac.getIsNegative()){
-                return true;
-            }
-            return false;
+        if (start == end){
+            return ac.getIsNegative();
         }
-        if (attrs.getFirst()){
-            // boolean field
-            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
-                if (ac.getIsNegative()){
-                    return true;
-                }
-                return false;
-            }
-            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS){
-                if (!attrs.getSecond().contains((String)ac.getConstant().toArray()[0])){
-                    if (ac.getIsNegative()){
-                        return true;
-                    }
-                    return false;
+        boolean satisfied;
+        if (ac.getConditionOperator() == ConditionOperator.IN){
+            satisfied = false;
+            for (int constant:constants){
+                if (constant == table.getValue(start)){
+                    satisfied = true;
+                    break;
                 }
             }
         }
+        else if (table.isBoolean(row)){
+            // boolean field, only the first constant is checked
+            satisfied = constants.length == 0 || table.contains(row, constants[0]);
+        }
         else{
-            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
-                if (ac.getIsNegative()){
-                    return true;
-                }
-                return false;
-            }
-            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS && !attrs.getSecond().containsAll(ac.getConstant())){
-                if (ac.getIsNegative()){
-                    return true;
-                }
+            satisfied = containsAllValues(table, row, constants);
+        }
+        return satisfied != ac.getIsNegative();
+    }
+
+    private static boolean containsAllValues(PathTable table, int row, int[] values){
+        for (int value:values){
+            if (!table.contains(row, value)){
                 return false;
             }
         }
-        if (ac.getIsNegative()){
-            return false;
-        }
         return true;
     }
-    
+
+    /**
+     * This method converts the constants of an atomic condition to path table values, in the
+     * iteration order of the constant set
+     * @param ac
+     * @param isBoolean true to convert the constants for boolean paths
+     * @param store
+     * @return the values, where a constant that is not a possible value is NULL_VALUE
+     */
+    public static int[] getConstantValues(AtomicCondition ac, boolean isBoolean, ObjectStore store){
+        int[] results = new int[ac.getConstant().size()];
+        int k = 0;
+        for (String constant:ac.getConstant()){
+            if (isBoolean){
+                results[k++] = constant.equals("true") ? PathTable.TRUE_VALUE : (constant.equals("false") ? PathTable.FALSE_VALUE : ObjectStore.NULL_VALUE);
+            }
+            else{
+                results[k++] = store.getObjectOrdinal(constant);
+            }
+        }
+        return results;
+    }
+
     public static boolean checkSameType(Object1 obj, String type, Map<String, Class1> classes){
         if (classes.get(obj.getClass1()).getParentClass() != null){
             if (!obj.getClass1().equals(type) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(type)){
@@ -472,134 +520,37 @@ public class ReBACMiner {
      * @return
      */
     public static boolean checkSatisfyConstraints(Object1 sub, Object1 res, ArrayList<AtomicConstraint> constraints, Config config){
-        Pair<String, String> p = new Pair(sub.getId(), res.getId());
-        Pair<Set<Pair<String, String>>, Set<Pair<String, String>>> constraintObjectLists = config.getConstraintMeanings().get(constraints);
-        if (constraintObjectLists!= null && (constraintObjectLists.getFirst().contains(p) || constraintObjectLists.getSecond().contains(p))){
-            if (constraintObjectLists.getFirst().contains(p)){
-                return true;
-            }
-            else{
+        ObjectStore store = config.getObjectStore();
+        int i = store.getTypePosition(sub.getClass1(), sub.getOrdinal());
+        int j = store.getTypePosition(res.getClass1(), res.getOrdinal());
+        for (AtomicConstraint c:constraints){
+            if (!getConstraintMatrix(sub.getClass1(), res.getClass1(), c, config).get(i, j)){
                 return false;
             }
         }
-        else{
-            boolean constraintResult = true;
-            for (AtomicConstraint c:constraints){
-                // check if we already cache this
-                Pair<Set<Pair<String, String>>, Set<Pair<String, String>>> atomicConstraintObjectLists = config.getAtomicConstraintMeanings().get(c);
-                if (atomicConstraintObjectLists != null && (atomicConstraintObjectLists.getFirst().contains(p) || atomicConstraintObjectLists.getSecond().contains(p))){
-                    if (atomicConstraintObjectLists.getSecond().contains(p)){
-                        constraintResult = false;
-                        break;
-                    }
-                }
-                else{
-                    if (atomicConstraintObjectLists == null){
-                        config.getAtomicConstraintMeanings().put(c, new Pair(new HashSet<String>(), new HashSet<String>()));
-                        atomicConstraintObjectLists = config.getAtomicConstraintMeanings().get(c);
-                    }
-                    boolean checkSatisfy = checkSatisfyConstraint(sub, res, c, config);
-                    if (!checkSatisfy){
-                        constraintResult = false;
-                        atomicConstraintObjectLists.getSecond().add(p);
-                        break;
-                    }
-                    else{
-                        atomicConstraintObjectLists.getFirst().add(p);
-                    }
-                }
-            }
-            if (constraintObjectLists == null){
-                config.getConstraintMeanings().put(constraints, new Pair(new HashSet<String>(), new HashSet<String>()));
-                constraintObjectLists = config.getConstraintMeanings().get(constraints);
-            }
-            if (constraintResult){
-                constraintObjectLists.getFirst().add(p);
-            }
-            else{
-                constraintObjectLists.getSecond().add(p);
-            }
-            // update constraint meanings map
-            return constraintResult;
-        }
+        return true;
     }
-
+    
     /**
-     * This method check if 2 objects (subject and object) satisfy a rule constraint
-     * @param subObj subject object
-     * @param resObj resource object
-     * @param cc atomic constraint to check with
+     * This method returns the meaning of an atomic constraint for a subject type and a resource type.
+     * The matrix is built the first time it is requested, or again after it was evicted from the cache,
+     * so that only the matrices of the constraints that are checked are built.
+     * @param subType
+     * @param resType
+     * @param c
      * @param config
-     * @return true if subject and resource satisfy the constraint, false otherwise.
+     * @return the constraint matrix over ObjectStore.getTypeObjects(subType) x ObjectStore.getTypeObjects(resType)
      */
-    private static boolean checkSatisfyConstraint(Object1 subObj, Object1 resObj, AtomicConstraint cc, Config config){
-        Map<String, Object1> objects = config.getObjectModel();
-        Map<String, Class1> classes = config.getClassModel();
-        Triple<Boolean, ArrayList<String>, Boolean> subAttrs = Parser.getAttributePathValues(subObj, cc.getSubPath(), objects, classes, config);
-        Triple<Boolean, ArrayList<String>, Boolean> resAttrs = Parser.getAttributePathValues(resObj, cc.getResPath(), objects, classes, config);
-        
-        if (subAttrs.getThird() || resAttrs.getThird()){
-            // case that one of the subject path objects or resource path objects has Unknown value(s)
-            if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !resAttrs.getSecond().isEmpty() && subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
-                return true;
-            }
-            else if (cc.getConstraintOperator() == ConstraintOperator.IN && !subAttrs.getSecond().isEmpty() && resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
-                return true;
-            }
-            return false;
-        }
-        // Note that for now, our algorithm does not attempt to infer constraints on booleans
-        if (subAttrs.getSecond().isEmpty() || resAttrs.getSecond().isEmpty()){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.IN && !resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_VALUE && !subAttrs.getSecond().get(0).equals(resAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.SUPSETEQ && !subAttrs.getSecond().containsAll(resAttrs.getSecond())){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.SUBSETEQ && !resAttrs.getSecond().containsAll(subAttrs.getSecond())){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_SET && !(subAttrs.getSecond().containsAll(resAttrs.getSecond())
-                && resAttrs.getSecond().containsAll(subAttrs.getSecond()))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        
-        if (cc.getIsNegative()){
-                return false;
-            }
-        return true;
+    public static ConstraintMatrix getConstraintMatrix(String subType, String resType, AtomicConstraint c, Config config){
+        Triple<String, String, AtomicConstraint> key = new Triple<String, String, AtomicConstraint>(subType, resType, c);
+        ConstraintMatrix matrix = config.getConstraintMatrices().get(key);
+        if (matrix == null){
+            matrix = ConstraintMatrix.build(config.getObjectStore(), subType, resType, c);
+            config.getConstraintMatrices().put(new Triple<String, String, AtomicConstraint>(subType, resType, new AtomicConstraint(c)), matrix);
+        }
+        return matrix;
     }
-
-
+    
     /**
      * this method generates set of candidate constraint give subject and resource
      * @param sub
@@ -614,7 +565,7 @@ public class ReBACMiner {
         ArrayList<AtomicConstraint> results = new ArrayList<AtomicConstraint>();
         Set<AtomicConstraint> ccs = candidateConstraintByType(sub.getClass1(), res.getClass1(), config, subExtraDist, resExtraDist);
         for (AtomicConstraint cc:ccs){
-            boolean checkSatisfy = checkSatisfyConstraint(sub, res, cc, config);
+            boolean checkSatisfy = ConditionEvaluator.checkSatisfyConstraint(sub, res, cc, config.getObjectModel(), config.getClassAttributes());
             if (cc.getSubPath().size() + cc.getResPath().size() <= totalPathLengthLimit && checkSatisfy){
                 results.add(cc);
             }
@@ -879,97 +830,253 @@ public class ReBACMiner {
      * @return list of UP triples.
      */
     public static ArrayList<Triple<String, String, String>> computeCoveredUP(Rule r, Config config){
-        Map<String, Object1> objects  = config.getObjectModel();
-        Map<String, Class1> classes = config.getClassModel();
-        ArrayList<Triple<String, String, String>> upRelations = new ArrayList<Triple<String, String, String>>();
+        return evaluateRule(r, config).getCoveredUP(r.getActions(), config.getObjectStore());
+    }
+    
+    /**
+     * This method returns the evaluation of a rule: its covered (subject, resource) pairs and the
+     * number of its covered UP triples that are in the UP index. Evaluations are cached by the
+     * canonical signature of the rule, so rules that are re-evaluated during the elimination
+     * searches, the merging and the output are computed once. The contained count of a cached
+     * evaluation is recomputed if the UP index has changed since.
+     * @param r
+     * @param config
+     * @return
+     */
+    public static RuleEvaluation evaluateRule(Rule r, Config config){
+        RuleSignature signature = getRuleSignature(r);
+        MeaningCache<RuleSignature, RuleEvaluation> cache = config.getRuleEvaluations();
+        RuleEvaluation evaluation = cache.get(signature);
+        if (evaluation == null){
+            int[] coveredPairs = computeCoveredPairs(r, config);
+            evaluation = new RuleEvaluation(coveredPairs, r.getActions().size(), RuleEvaluation.countContained(coveredPairs, r.getActions(), config.getUPIndex()), config.getUPIndex());
+            cache.put(signature, evaluation);
+        }
+        else if (!evaluation.isCurrent(config.getUPIndex())){
+            evaluation = evaluation.recount(config.getUPIndex(), r.getActions());
+            cache.put(signature, evaluation);
+        }
+        return evaluation;
+    }
+    
+    /**
+     * This method sorts the atomic conditions and constraints of a rule and returns its signature
+     * @param r
+     * @return
+     */
+    private static RuleSignature getRuleSignature(Rule r){
         Collections.sort(r.getConstraint());
         Collections.sort(r.getResourceCondition());
         Collections.sort(r.getSubjectCondition());
-        // free up some space in the meaning maps, in case there is memory overhead error
-        // remove 20% number of the entries in condition meaning and constraint meaning maps when the memory size is less than 2GB
-        Runtime rt = Runtime.getRuntime();
-        long mem1= rt.freeMemory();
-        if (mem1 < 2000000000){
-            System.out.println("FREE UP SPACE!!!!!!!!!!!!");
-            int nEntriesConditionsMeaning = config.getConditionMeanings().size();
-            int numConditionRemovedEntries = (int)(nEntriesConditionsMeaning * 0.2);
-            Iterator<List<AtomicCondition>> condIterator = config.getConditionMeanings().keySet().iterator();
-            while (condIterator.hasNext() && numConditionRemovedEntries > 0){
-                condIterator.next();
-                condIterator.remove();
-                numConditionRemovedEntries--;
-            }
-            
-            int nEntriesconstraintMeaning = config.getConstraintMeanings().size();
-            int numConstraintRemovedEntries = (int)(nEntriesconstraintMeaning * 0.2);
-            Iterator<List<AtomicConstraint>> consIterator = config.getConstraintMeanings().keySet().iterator();
-            while (consIterator.hasNext() && numConstraintRemovedEntries > 0){
-                consIterator.next();
-                consIterator.remove();
-                numConstraintRemovedEntries--;
-            }
-            // manually called garbaage collector
-            rt.gc();
-        }
-        
-        Set<String> satisfiedSubObjects = new HashSet<String>();
-        Set<String> satisfiedResObjects = new HashSet<String>();
-        
-        // for subject
-        if (r.getSubjectCondition().isEmpty()){
-            for (Object1 obj:objects.values()){
-                if (checkSameType(obj, r.getSubjectType().getClassName(), classes)){
-                    satisfiedSubObjects.add(obj.getId());
-                }
-            }
+        return RuleSignature.of(r);
+    }
+    
+    /**
+     * This method checks if a rule obtained by removing one atomic condition from a parent rule is valid.
+     * Removing a condition only adds covered pairs, so only the pairs of the newly admitted subjects
+     * (or resources) that satisfy the constraints are computed and checked against the UP index, and
+     * the check stops at the first tuple that makes the rule invalid. If the rule is valid, its
+     * evaluation is cached and its covered UP is set, as isValidRule does.
+     * @param parent rule containing the condition
+     * @param r the parent rule without the condition
+     * @param type SubAttributePath if the condition is a subject condition, ResAttributePath otherwise
+     * @param config
+     * @param noiseDetection
+     * @param alpha
+     * @return
+     */
+    public static boolean isValidRuleWithoutCondition(Rule parent, Rule r, AttributePathType type, Config config, boolean noiseDetection, double alpha){
+        RuleSignature signature = getRuleSignature(r);
+        if (config.getRuleEvaluations().containsKey(signature)){
+            return isValidRule(r, config, noiseDetection, alpha);
+        }
+        RuleEvaluation parentEvaluation = evaluateRule(parent, config);
+        ObjectStore store = config.getObjectStore();
+        int[] subObjects = store.getTypeObjects(r.getSubjectType().getClassName());
+        int[] resObjects = store.getTypeObjects(r.getResourceType().getClassName());
+        BitSet satisfiedSubObjects = getSatisfiedObjects(r.getSubjectType().getClassName(), r.getSubjectCondition(), subObjects.length, config);
+        BitSet satisfiedResObjects = getSatisfiedObjects(r.getResourceType().getClassName(), r.getResourceCondition(), resObjects.length, config);
+        if (type == AttributePathType.SubAttributePath){
+            // only the subjects that do not satisfy the removed condition add pairs
+            satisfiedSubObjects = (BitSet) satisfiedSubObjects.clone();
+            satisfiedSubObjects.andNot(getSatisfiedObjects(parent.getSubjectType().getClassName(), parent.getSubjectCondition(), subObjects.length, config));
         }
         else{
-            Pair<Set<String>, Integer> result = getConditionMeaning(r.getSubjectType().getClassName(), r.getSubjectCondition(), objects, classes, config);
-            satisfiedSubObjects = result.getFirst();
+            // only the resources that do not satisfy the removed condition add pairs
+            satisfiedResObjects = (BitSet) satisfiedResObjects.clone();
+            satisfiedResObjects.andNot(getSatisfiedObjects(parent.getResourceType().getClassName(), parent.getResourceCondition(), resObjects.length, config));
         }
-        
-        // for resource
-        if (r.getResourceCondition().isEmpty()){
-            for (Object1 obj:objects.values()){
-                if (checkSameType(obj, r.getResourceType().getClassName(), classes)){
-                    satisfiedResObjects.add(obj.getId());
+        int[] deltaPairs = enumerateCoveredPairs(r, satisfiedSubObjects, satisfiedResObjects, null, config);
+        return isValidDelta(parentEvaluation, r, signature, deltaPairs, config, noiseDetection, alpha);
+    }
+    
+    /**
+     * This method checks if a rule obtained by removing one atomic constraint from a parent rule is valid.
+     * Only the pairs that satisfy the other constraints but not the removed one are computed and
+     * checked against the UP index, as in isValidRuleWithoutCondition.
+     * @param parent rule containing the constraint
+     * @param r the parent rule without the constraint
+     * @param constraint the removed constraint
+     * @param config
+     * @param noiseDetection
+     * @param alpha
+     * @return
+     */
+    public static boolean isValidRuleWithoutConstraint(Rule parent, Rule r, AtomicConstraint constraint, Config config, boolean noiseDetection, double alpha){
+        RuleSignature signature = getRuleSignature(r);
+        if (config.getRuleEvaluations().containsKey(signature)){
+            return isValidRule(r, config, noiseDetection, alpha);
+        }
+        RuleEvaluation parentEvaluation = evaluateRule(parent, config);
+        ObjectStore store = config.getObjectStore();
+        int subNum = store.getTypeObjects(r.getSubjectType().getClassName()).length;
+        int resNum = store.getTypeObjects(r.getResourceType().getClassName()).length;
+        BitSet satisfiedSubObjects = getSatisfiedObjects(r.getSubjectType().getClassName(), r.getSubjectCondition(), subNum, config);
+        BitSet satisfiedResObjects = getSatisfiedObjects(r.getResourceType().getClassName(), r.getResourceCondition(), resNum, config);
+        ConstraintMatrix removed = getConstraintMatrix(r.getSubjectType().getClassName(), r.getResourceType().getClassName(), constraint, config);
+        int[] deltaPairs = enumerateCoveredPairs(r, satisfiedSubObjects, satisfiedResObjects, removed, config);
+        return isValidDelta(parentEvaluation, r, signature, deltaPairs, config, noiseDetection, alpha);
+    }
+    
+    /**
+     * This method checks the validity of a rule from the evaluation of its parent rule and the pairs it
+     * covers in addition. The check stops as soon as the tuples not in the UP index exceed the allowed number.
+     * @param parentEvaluation
+     * @param r
+     * @param signature signature of r
+     * @param deltaPairs covered pairs of r that are not covered by the parent rule
+     * @param config
+     * @param noiseDetection
+     * @param alpha
+     * @return
+     */
+    private static boolean isValidDelta(RuleEvaluation parentEvaluation, Rule r, RuleSignature signature, int[] deltaPairs, Config config, boolean noiseDetection, double alpha){
+        UPIndex upIndex = config.getUPIndex();
+        int coveredNum = parentEvaluation.getCoveredNum() + (deltaPairs.length / 2) * r.getActions().size();
+        int allowedNum = 0;
+        if (noiseDetection && alpha != 0.0){
+            allowedNum = (int) (coveredNum * alpha);
+        }
+        int notContained = parentEvaluation.getCoveredNum() - parentEvaluation.getContainedNum();
+        if (notContained > allowedNum){
+            return false;
+        }
+        for (String action:r.getActions()){
+            for (int k = 0; k < deltaPairs.length; k += 2){
+                if (!upIndex.contains(deltaPairs[k], deltaPairs[k + 1], action)){
+                    notContained++;
+                    if (notContained > allowedNum){
+                        return false;
+                    }
                 }
             }
         }
-        else{
-            Pair<Set<String>, Integer> result = getConditionMeaning(r.getResourceType().getClassName(), r.getResourceCondition(), objects, classes, config);
-            satisfiedResObjects = result.getFirst();
+        RuleEvaluation evaluation = new RuleEvaluation(RuleEvaluation.mergePairs(parentEvaluation.getCoveredPairs(), deltaPairs), r.getActions().size(), coveredNum - notContained, upIndex);
+        config.getRuleEvaluations().put(signature, evaluation);
+        r.setCoveredUP(evaluation.getCoveredUP(r.getActions(), config.getObjectStore()));
+        return true;
+    }
+    
+    /**
+     * This method computes the objects of a type that satisfy a list of atomic conditions
+     * @param className
+     * @param conditions
+     * @param objectNum number of objects of the type
+     * @param config
+     * @return bitmap over ObjectStore.getTypeObjects(className), which must not be modified
+     */
+    private static BitSet getSatisfiedObjects(String className, ArrayList<AtomicCondition> conditions, int objectNum, Config config){
+        if (conditions.isEmpty()){
+            BitSet satisfiedObjects = new BitSet(objectNum);
+            satisfiedObjects.set(0, objectNum);
+            return satisfiedObjects;
         }
+        return getConditionMeaning(className, conditions, config.getObjectModel(), config.getClassModel(), config).getFirst();
+    }
+    
+    /**
+     * This method computes the (subject, resource) pairs that satisfy the conditions and the constraints of a rule
+     * @param r
+     * @param config
+     * @return subject and resource ordinals of the pairs, interleaved, ordered by subject and then by resource position
+     */
+    public static int[] computeCoveredPairs(Rule r, Config config){
+        ObjectStore store = config.getObjectStore();
+        int subNum = store.getTypeObjects(r.getSubjectType().getClassName()).length;
+        int resNum = store.getTypeObjects(r.getResourceType().getClassName()).length;
+        BitSet satisfiedSubObjects = getSatisfiedObjects(r.getSubjectType().getClassName(), r.getSubjectCondition(), subNum, config);
+        BitSet satisfiedResObjects = getSatisfiedObjects(r.getResourceType().getClassName(), r.getResourceCondition(), resNum, config);
+        return enumerateCoveredPairs(r, satisfiedSubObjects, satisfiedResObjects, null, config);
+    }
+    
+    /**
+     * This method computes the pairs of the given subjects and resources that satisfy the constraints of a rule
+     * @param r
+     * @param satisfiedSubObjects subject positions
+     * @param satisfiedResObjects resource positions
+     * @param excluded if not null, only the pairs that do not satisfy this constraint matrix are returned
+     * @param config
+     * @return subject and resource ordinals of the pairs, interleaved, ordered by subject and then by resource position
+     */
+    private static int[] enumerateCoveredPairs(Rule r, BitSet satisfiedSubObjects, BitSet satisfiedResObjects, ConstraintMatrix excluded, Config config){
+        ObjectStore store = config.getObjectStore();
+        int[] subObjects = store.getTypeObjects(r.getSubjectType().getClassName());
+        int[] resObjects = store.getTypeObjects(r.getResourceType().getClassName());
         
-        for (String sub:satisfiedSubObjects){
-            for (String res:satisfiedResObjects){
-                if (checkSatisfyConstraints(config.getObjectModel().get(sub), config.getObjectModel().get(res), r.getConstraint(), config)){
-                    for (String action:r.getActions()){
-                        upRelations.add(new Triple(sub, res, action));
+        // the resources satisfying the constraints with a subject are the AND of the
+        // constraint matrix rows of the subject and the satisfied resources
+        String subType = r.getSubjectType().getClassName();
+        String resType = r.getResourceType().getClassName();
+        ConstraintMatrix[] matrices = new ConstraintMatrix[r.getConstraint().size()];
+        for (int k = 0; k < matrices.length; k++){
+            matrices[k] = getConstraintMatrix(subType, resType, r.getConstraint().get(k), config);
+        }
+        long[] satisfiedResWords = Arrays.copyOf(satisfiedResObjects.toLongArray(), (resObjects.length + 63) >>> 6);
+        long[] row = new long[satisfiedResWords.length];
+        int[] coveredPairs = new int[16];
+        int size = 0;
+        for (int i = satisfiedSubObjects.nextSetBit(0); i >= 0; i = satisfiedSubObjects.nextSetBit(i + 1)){
+            System.arraycopy(satisfiedResWords, 0, row, 0, row.length);
+            for (ConstraintMatrix matrix:matrices){
+                matrix.andRow(i, row);
+            }
+            if (excluded != null){
+                excluded.andNotRow(i, row);
+            }
+            for (int w = 0; w < row.length; w++){
+                long word = row[w];
+                while (word != 0){
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (size == coveredPairs.length){
+                        coveredPairs = Arrays.copyOf(coveredPairs, coveredPairs.length * 2);
                     }
+                    coveredPairs[size++] = subObjects[i];
+                    coveredPairs[size++] = resObjects[j];
                 }
             }
         }
-        //System.out.println("SIZE OF CONSTRAINT MEANING MAPS: " + config.getAtomicConstraintMeanings().size() + ", " + config.getConstraintMeanings().size());
         
-        return upRelations;
+        return Arrays.copyOf(coveredPairs, size);
     }
     
     /**
      * This method compute the rule quality specified in ABAC Miner paper.
      * @param r
-     * @param uncovUP
+     * @param uncovUP index of the uncovered UP tuples, config.getUPIndex() if all UP tuples are uncovered
      * @param config
      * @return
      */
-    public static QualityValue computeRuleQuality(Rule r, ArrayList<Triple<String, String, String>> uncovUP, Config config){
+    public static QualityValue computeRuleQuality(Rule r, UPIndex uncovUP, Config config){
         QualityValue result = new QualityValue();
-        r.setCoveredUP(computeCoveredUP(r, config));
-        int numCoveredTuples = 0;
-        for (Triple<String, String, String> tuple:r.getCoveredUP()){
-            if (uncovUP.contains(tuple)){
-                numCoveredTuples++;
-            }
+        RuleEvaluation evaluation = evaluateRule(r, config);
+        r.setCoveredUP(evaluation.getCoveredUP(r.getActions(), config.getObjectStore()));
+        int numCoveredTuples;
+        if (uncovUP == config.getUPIndex()){
+            numCoveredTuples = evaluation.getContainedNum();
+        }
+        else{
+            numCoveredTuples = uncovUP.countContained(r.getCoveredUP());
         }
         result.firstComponent = ((double) numCoveredTuples) / r.getWSC();
         result.secondComponent = r.getConstraint().size();
@@ -1269,14 +1376,14 @@ public class ReBACMiner {
                 // subject condition
                 if (newPossibleSubType != null){
                     for (AtomicCondition sc: r1.getSubjectCondition()){
-                        if (!Parser.checkValidPath(newPossibleSubType, sc.getPath(), config.getClassModel()).getFirst()){
+                        if (!ModelParser.checkValidPath(newPossibleSubType, sc.getPath(), config.getClassModel()).getFirst()){
                             validSubPaths = false;
                             break;
                         }
                     }
                     // constraint
                     for (AtomicConstraint ac: r1.getConstraint()){
-                        if (!Parser.checkValidPath(newPossibleSubType, ac.getSubPath(), config.getClassModel()).getFirst()){
+                        if (!ModelParser.checkValidPath(newPossibleSubType, ac.getSubPath(), config.getClassModel()).getFirst()){
                             validSubPaths = false;
                             break;
                         }
@@ -1285,14 +1392,14 @@ public class ReBACMiner {
                 // resource condition
                 if (newPossibleResType != null){
                     for (AtomicCondition rc: r1.getResourceCondition()){
-                        if (!Parser.checkValidPath(newPossibleResType, rc.getPath(), config.getClassModel()).getFirst()){
+                        if (!ModelParser.checkValidPath(newPossibleResType, rc.getPath(), config.getClassModel()).getFirst()){
                             validResPaths = false;
                             break;
                         }
                     }
                     // constraint
                     for (AtomicConstraint ac: r1.getConstraint()){
-                        if (!Parser.checkValidPath(newPossibleResType, ac.getResPath(), config.getClassModel()).getFirst()){
+                        if (!ModelParser.checkValidPath(newPossibleResType, ac.getResPath(), config.getClassModel()).getFirst()){
                             validResPaths = false;
                             break;
                         }
@@ -1303,7 +1410,7 @@ public class ReBACMiner {
                     numMerges++;
                     // merge rules with new subType and resType
                     Rule mergeRule = new Rule(classes.get(newPossibleSubType), r1.getSubjectCondition(), classes.get(newPossibleResType), r1.getResourceCondition(), r1.getConstraint(), r1.getActions());
-                    mergeRule.setQuality(computeRuleQuality(mergeRule, config.getUPList(), config));
+                    mergeRule.setQuality(computeRuleQuality(mergeRule, config.getUPIndex(), config));
                     if (isValidRule(mergeRule, config, config.getUnderassignmentDetection(), alpha)){
                         newMergeRules.add(mergeRule);
                         for (Rule rule:sameRules){
@@ -1317,7 +1424,7 @@ public class ReBACMiner {
                     numMerges++;
                     // merge rules with new subType only
                     Rule mergeRule = new Rule(classes.get(newPossibleSubType), r1.getSubjectCondition(), r1.getResourceType(), r1.getResourceCondition(), r1.getConstraint(), r1.getActions());
-                    mergeRule.setQuality(computeRuleQuality(mergeRule, config.getUPList(), config));
+                    mergeRule.setQuality(computeRuleQuality(mergeRule, config.getUPIndex(), config));
                     if (isValidRule(mergeRule, config, config.getUnderassignmentDetection(), alpha)){
                         newMergeRules.add(mergeRule);
                         for (Rule rule:sameRules){
@@ -1331,7 +1438,7 @@ public class ReBACMiner {
                     numMerges++;
                     // merge rules with new subType and resType
                     Rule mergeRule = new Rule(r1.getSubjectType(), r1.getSubjectCondition(), classes.get(newPossibleResType), r1.getResourceCondition(), r1.getConstraint(), r1.getActions());
-                    mergeRule.setQuality(computeRuleQuality(mergeRule, config.getUPList(), config));newMergeRules.add(mergeRule);
+                    mergeRule.setQuality(computeRuleQuality(mergeRule, config.getUPIndex(), config));newMergeRules.add(mergeRule);
                     if (isValidRule(mergeRule, config, config.getUnderassignmentDetection(), alpha)){
                         for (Rule rule:sameRules){
                             if (rule.getResourceType().getParentClass() != null && rule.getResourceType().getParentClass().getClassName().equals(newPossibleResType) && rule.getSubjectType().getClassName().equals(r1.getSubjectType().getClassName())){
@@ -1547,7 +1654,7 @@ public class ReBACMiner {
             }
             temp.getActions().addAll(temp2.getActions());
             if (isValidRule(temp, config, config.getUnderassignmentDetection(), alpha)) {
-                temp.setQuality(computeRuleQuality(temp, config.getUPList(), config));
+                temp.setQuality(computeRuleQuality(temp, config.getUPIndex(), config));
                 merged = true;
                 stats[1]++;
                 removedRules.add(r1);
@@ -1613,24 +1720,9 @@ public class ReBACMiner {
      * @return
      */
     public static boolean isValidRule(Rule r, Config config, boolean noiseDetection, double alpha){
-        r.setCoveredUP(computeCoveredUP(r, config));
-        if (!noiseDetection || alpha == 0.0){
-
-            return (config.getUPList().containsAll(r.getCoveredUP()));
-        }
-        else{
-            int numUnderAssign = (int) (r.getCoveredUP().size() * alpha);
-            int underAssign = 0;
-            for (Triple<String, String, String> element : r.getCoveredUP()) {
-                if (!config.getUPList().contains(element)) {
-                    underAssign++;
-                    if (underAssign > numUnderAssign) {
-                        return false;
-                    }
-                }
-            }
-            return true;
-        }
+        RuleEvaluation evaluation = evaluateRule(r, config);
+        r.setCoveredUP(evaluation.getCoveredUP(r.getActions(), config.getObjectStore()));
+        return evaluation.isValid(noiseDetection, alpha);
     }
     
     /**
@@ -1642,10 +1734,10 @@ public class ReBACMiner {
      */
     public static boolean isBetterRule(Rule r, Config config, boolean noiseDetection, double alpha){
         int originalCoveredUPNum = r.getCoveredUP().size();
-        r.setCoveredUP(computeCoveredUP(r, config));
-        int newCoveredUPNum = r.getCoveredUP().size();
         //boolean result = config.getUPList().containsAll(r.getCoveredUP());
+        // isValidRule recomputes the covered UP of r
         boolean result = isValidRule(r, config, noiseDetection, alpha);
+        int newCoveredUPNum = r.getCoveredUP().size();
         if (config.getCompareCoveredUPNum()) {
             result = result && (newCoveredUPNum > originalCoveredUPNum);
         }
@@ -1711,7 +1803,7 @@ public class ReBACMiner {
         // sort the candidate constraints
         
         Rule generalizedRule = generalizeRule(newRule, cc, uncovUP, config, 0, numConstraintLimit, isOneConditionPerPathRestricted, limitConstraintSizeAll, limitConstraintSizeHalf, removeConditionThreshold, alpha);
-        generalizedRule.setQuality(computeRuleQuality(generalizedRule, config.getUPList(), config));
+        generalizedRule.setQuality(computeRuleQuality(generalizedRule, config.getUPIndex(), config));
         
         
         rules.add(generalizedRule);
@@ -1755,21 +1847,31 @@ public class ReBACMiner {
      * @param debugMode
      * @return
      */
-    public static boolean simplifyRules(LinkedList<Rule> rules, Config config, boolean debugMode, int removeConditionThreshold, int[] stats, double alpha){
+    public static boolean simplifyRules(final LinkedList<Rule> rules, final Config config, boolean debugMode, final int removeConditionThreshold, int[] stats, final double alpha){
         //System.out.println("ENTER SIMPLIFY METHOD");
         boolean isSimplified = false;
 
+        // remove atomic conjuncts when appropriate. Rules are simplified independently,
+        // possibly in parallel, and the results are applied in rule order.
+        ArrayList<Callable<Rule>> elimConditionsTasks = new ArrayList<Callable<Rule>>();
+        for (final Rule r:rules){
+            elimConditionsTasks.add(new Callable<Rule>(){
+                public Rule call(){
+                    ArrayList<Pair<AttributePathType, AtomicCondition>> allConditions = new ArrayList<Pair<AttributePathType, AtomicCondition>>();
+                    for (AtomicCondition subCon:r.getSubjectCondition()){
+                        allConditions.add(new Pair(AttributePathType.SubAttributePath, subCon));
+                    }
+                    for (AtomicCondition resCon:r.getResourceCondition()){
+                        allConditions.add(new Pair(AttributePathType.ResAttributePath, resCon));
+                    }
+                    return elimConditions(r, allConditions, config, removeConditionThreshold, alpha);
+                }
+            });
+        }
+        ArrayList<Rule> bestRules = invokeAll(elimConditionsTasks, config.getSimplifyThreads());
         for (int i = 0; i < rules.size(); i++){
             Rule r = rules.get(i);
-            // remove atomic conjuncts when appropriate
-            ArrayList<Pair<AttributePathType, AtomicCondition>> allConditions = new ArrayList<Pair<AttributePathType, AtomicCondition>>();
-            for (AtomicCondition subCon:r.getSubjectCondition()){
-                allConditions.add(new Pair(AttributePathType.SubAttributePath, subCon));
-            }
-            for (AtomicCondition resCon:r.getResourceCondition()){
-                allConditions.add(new Pair(AttributePathType.ResAttributePath, resCon));
-            }
-            Rule bestRule = elimConditions(r, allConditions, config, removeConditionThreshold, alpha);
+            Rule bestRule = bestRules.get(i);
             if (!bestRule.equals(r)){
                 stats[3] += (r.getSubjectCondition().size() + r.getResourceCondition().size()) - (bestRule.getSubjectCondition().size() + bestRule.getResourceCondition().size());
                 isSimplified = true;
@@ -1782,13 +1884,22 @@ public class ReBACMiner {
             }
         } 
 
+        // remove atomic constraints when appropriate
+        ArrayList<Callable<Rule>> elimConstraintsTasks = new ArrayList<Callable<Rule>>();
+        for (final Rule r:rules){
+            elimConstraintsTasks.add(new Callable<Rule>(){
+                public Rule call(){
+                    // reverse the constraint list of the rule because we want to consider removing the rule that is considered later when generalizing rule
+                    ArrayList<AtomicConstraint> reverseList = new ArrayList<AtomicConstraint>(r.getConstraint());
+                    Collections.reverse(reverseList);
+                    return elimConstraints(r, reverseList, config, alpha);
+                }
+            });
+        }
+        bestRules = invokeAll(elimConstraintsTasks, config.getSimplifyThreads());
         for (int i = 0; i < rules.size(); i++){
             Rule r = rules.get(i);
-            // remove atomic constraints when appropriate
-            // reverse the constraint list of the rule because we want to consider removing the rule that is considered later when generalizing rule
-            ArrayList<AtomicConstraint> reverseList = new ArrayList<AtomicConstraint>(r.getConstraint());
-            Collections.reverse(reverseList);
-            Rule bestRule = elimConstraints(r, reverseList, config, alpha);
+            Rule bestRule = bestRules.get(i);
             if (!bestRule.equals(r)){
                 stats[4] += r.getConstraint().size() - bestRule.getConstraint().size();
                 isSimplified = true;
@@ -1827,160 +1938,19 @@ public class ReBACMiner {
         rules.removeAll(removeRules1);
         
         // constant propagation
-        for (Rule r:rules){
-            ArrayList<AtomicConstraint> removeConstraints = new ArrayList<AtomicConstraint>();
-            for (AtomicConstraint cons:r.getConstraint()){
-                boolean isFoundSubCond = false;
-                boolean isFoundResCond = false;
-                boolean isNegativeCons = cons.getIsNegative();
-                if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE) || cons.getConstraintOperator().equals(ConstraintOperator.CONTAINS)
-                        || cons.getConstraintOperator().equals(ConstraintOperator.IN)){
-                    // check if the sub path of the cons appear in an atomic condition of subject condition
-                    boolean isReplacedConsSub = false;
-                    for (AtomicCondition subCon:r.getSubjectCondition()){
-                        if (cons.getSubPath().equals(subCon.getPath())){
-                            isFoundSubCond = true;
-                            if (subCon.getConstant().size() == 1 && subCon.getConditionOperator().equals(ConditionOperator.IN) && !subCon.getIsNegative()){
-                                // remove the constraint
-                                removeConstraints.add(cons);
-                                // add new resource condition with the resource path from the constraint
-                                ArrayList<String> newPath = new ArrayList<String>(cons.getResPath());
-                                Set<String> newConstant = new HashSet<String>();
-                                newConstant.addAll(subCon.getConstant());
-                                AtomicCondition newCondition;
-                                if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE)){
-                                    newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.IN);
-                                }
-                                else {
-                                    newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.CONTAINS);
-                                }
-                                newCondition.setIsNegative(isNegativeCons);
-                                r.getResourceCondition().add(newCondition);
-                                isReplacedConsSub = true;
-                                break;
-                            }
-                        }
-                    }
-
-                    if (!isReplacedConsSub){
-                        // check if the res path of the cons appear in an atomic condition of resource condition
-                        for (AtomicCondition resCon:r.getResourceCondition()){
-                            if (cons.getResPath().equals(resCon.getPath())){
-                                isFoundResCond = true;
-                                if (resCon.getConstant().size() == 1 && resCon.getConditionOperator().equals(ConditionOperator.IN) && !resCon.getIsNegative()){
-                                    // remove the constraint
-                                    removeConstraints.add(cons);
-                                    // add new resource condition with the subject path from the constraint
-                                    ArrayList<String> newPath = new ArrayList<String>(cons.getSubPath());
-                                    Set<String> newConstant = new HashSet<String>();
-                                    newConstant.addAll(resCon.getConstant());
-                                    AtomicCondition newCondition;
-                                    if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE)){
-                                        newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.IN);
-                                    }
-                                    else{
-                                        newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.CONTAINS);
-                                    }
-                                    newCondition.setIsNegative(isNegativeCons);
-                                    r.getSubjectCondition().add(newCondition);
-                                    break;
-                                }
-                            }
-                        }
-                    }  
-                }
-                if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE) && !isFoundSubCond && !isFoundResCond && (cons.getSubPath().size() > 1 || cons.getResPath().size() > 1)){
-                    // try to replace the atomic constraint with appropriate sub/res condition if sub path and res path evaluates to the same constant
-                    // value for all of subjects and resources that appear in the set of covered tuples.
-                    ArrayList<String> subCondPath = new ArrayList<String>(cons.getSubPath());
-                    ArrayList<String> resCondPath = new ArrayList<String>(cons.getResPath());
-                    if (subCondPath.size() <= resCondPath.size()){
-                        boolean isReplaced = false;
-                        if (cons.getResPath().size() > 1){
-                            Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, resCondPath, r.getCoveredUP(), false);
-                            if (check.getFirst()){
-                                // create new condition
-                                Set<String> newConst = new HashSet<String>();
-                                newConst.add(check.getSecond());
-                                AtomicCondition newSubCondition = new AtomicCondition(new ArrayList<String>(cons.getSubPath()),newConst, ConditionOperator.IN);
-                                newSubCondition.setIsNegative(isNegativeCons);
-                                // check if the new rule is valid
-                                Rule tempR = new Rule(r);
-                                tempR.getSubjectCondition().add(newSubCondition);
-                                tempR.getConstraint().remove(cons);
-                                if (isValidRule(tempR, config, false, 0.0)){
-                                    isReplaced = true;
-                                    r.getSubjectCondition().add(newSubCondition);
-                                    removeConstraints.add(cons);
-                                }
-                            }
-                        }
-                        if (!isReplaced){
-                            Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, subCondPath, r.getCoveredUP(), true);
-                            if (check.getFirst()){
-                                // create new condition
-                                Set<String> newConst = new HashSet<String>();
-                                newConst.add(check.getSecond());
-                                AtomicCondition newResCondition = new AtomicCondition(new ArrayList<String>(cons.getResPath()),newConst, ConditionOperator.IN);
-                                newResCondition.setIsNegative(isNegativeCons);
-                                // check if the new rule is valid
-                                Rule tempR = new Rule(r);
-                                tempR.getResourceCondition().add(newResCondition);
-                                tempR.getConstraint().remove(cons);
-                                if (isValidRule(tempR, config, false, 0.0)){
-                                    r.getResourceCondition().add(newResCondition);
-                                    removeConstraints.add(cons);
-                                }
-                            }
-                        }
-                    }
-                    else{
-                        boolean isReplaced = false;
-                        if (cons.getSubPath().size() > 1){
-                            Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, subCondPath, r.getCoveredUP(), true);
-                            if (check.getFirst()){
-                                // create new condition
-                                Set<String> newConst = new HashSet<String>();
-                                newConst.add(check.getSecond());
-                                AtomicCondition newResCondition = new AtomicCondition(new ArrayList<String>(cons.getResPath()),newConst, ConditionOperator.IN);
-                                newResCondition.setIsNegative(isNegativeCons);
-                                // check if the new rule is valid
-                                Rule tempR = new Rule(r);
-                                tempR.getResourceCondition().add(newResCondition);
-                                tempR.getConstraint().remove(cons);
-                                if (isValidRule(tempR, config, false, 0.0)){
-                                    isReplaced = true;
-                                    r.getResourceCondition().add(newResCondition);
-                                    removeConstraints.add(cons);
-                                }
-                            }
-                        }
-                        if (!isReplaced){
-                            Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, resCondPath, r.getCoveredUP(), false);
-                            if (check.getFirst()){
-                                // create new condition
-                                Set<String> newConst = new HashSet<String>();
-                                newConst.add(check.getSecond());
-                                AtomicCondition newSubCondition = new AtomicCondition(new ArrayList<String>(cons.getSubPath()),newConst, ConditionOperator.IN);
-                                newSubCondition.setIsNegative(isNegativeCons);
-                                // check if the new rule is valid
-                                Rule tempR = new Rule(r);
-                                tempR.getSubjectCondition().add(newSubCondition);
-                                tempR.getConstraint().remove(cons);
-                                if (isValidRule(tempR, config, false, 0.0)){
-                                    r.getSubjectCondition().add(newSubCondition);
-                                    removeConstraints.add(cons);
-                                }
-                            }
-                        }
-                    }
+        ArrayList<Callable<Boolean>> propagateConstantsTasks = new ArrayList<Callable<Boolean>>();
+        for (final Rule r:rules){
+            propagateConstantsTasks.add(new Callable<Boolean>(){
+                public Boolean call(){
+                    return propagateConstants(r, config);
                 }
-            }
-            if (!removeConstraints.isEmpty()){
+            });
+        }
+        for (boolean isPropagated:invokeAll(propagateConstantsTasks, config.getSimplifyThreads())){
+            if (isPropagated){
                 isSimplified = true;
-                r.getConstraint().removeAll(removeConstraints);
             }
-        } 
+        }
 
         /*
         // remove loops in condition paths
@@ -2021,6 +1991,207 @@ public class ReBACMiner {
         return isSimplified;
     }
     
+    /**
+     * This method replaces the atomic constraints of a rule with conditions when one of the
+     * constraint paths is fixed to a constant by a condition or by the covered UP tuples
+     * @param r the rule, which is modified
+     * @param config
+     * @return true if the rule is changed
+     */
+    private static boolean propagateConstants(Rule r, Config config){
+        ArrayList<AtomicConstraint> removeConstraints = new ArrayList<AtomicConstraint>();
+        for (AtomicConstraint cons:r.getConstraint()){
+            boolean isFoundSubCond = false;
+            boolean isFoundResCond = false;
+            boolean isNegativeCons = cons.getIsNegative();
+            if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE) || cons.getConstraintOperator().equals(ConstraintOperator.CONTAINS)
+                    || cons.getConstraintOperator().equals(ConstraintOperator.IN)){
+                // check if the sub path of the cons appear in an atomic condition of subject condition
+                boolean isReplacedConsSub = false;
+                for (AtomicCondition subCon:r.getSubjectCondition()){
+                    if (cons.getSubPath().equals(subCon.getPath())){
+                        isFoundSubCond = true;
+                        if (subCon.getConstant().size() == 1 && subCon.getConditionOperator().equals(ConditionOperator.IN) && !subCon.getIsNegative()){
+                            // remove the constraint
+                            removeConstraints.add(cons);
+                            // add new resource condition with the resource path from the constraint
+                            ArrayList<String> newPath = new ArrayList<String>(cons.getResPath());
+                            Set<String> newConstant = new HashSet<String>();
+                            newConstant.addAll(subCon.getConstant());
+                            AtomicCondition newCondition;
+                            if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE)){
+                                newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.IN);
+                            }
+                            else {
+                                newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.CONTAINS);
+                            }
+                            newCondition.setIsNegative(isNegativeCons);
+                            r.getResourceCondition().add(newCondition);
+                            isReplacedConsSub = true;
+                            break;
+                        }
+                    }
+                }
+
+                if (!isReplacedConsSub){
+                    // check if the res path of the cons appear in an atomic condition of resource condition
+                    for (AtomicCondition resCon:r.getResourceCondition()){
+                        if (cons.getResPath().equals(resCon.getPath())){
+                            isFoundResCond = true;
+                            if (resCon.getConstant().size() == 1 && resCon.getConditionOperator().equals(ConditionOperator.IN) && !resCon.getIsNegative()){
+                                // remove the constraint
+                                removeConstraints.add(cons);
+                                // add new resource condition with the subject path from the constraint
+                                ArrayList<String> newPath = new ArrayList<String>(cons.getSubPath());
+                                Set<String> newConstant = new HashSet<String>();
+                                newConstant.addAll(resCon.getConstant());
+                                AtomicCondition newCondition;
+                                if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE)){
+                                    newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.IN);
+                                }
+                                else{
+                                    newCondition = new AtomicCondition(newPath, newConstant, ConditionOperator.CONTAINS);
+                                }
+                                newCondition.setIsNegative(isNegativeCons);
+                                r.getSubjectCondition().add(newCondition);
+                                break;
+                            }
+                        }
+                    }
+                }  
+            }
+            if (cons.getConstraintOperator().equals(ConstraintOperator.EQUALS_VALUE) && !isFoundSubCond && !isFoundResCond && (cons.getSubPath().size() > 1 || cons.getResPath().size() > 1)){
+                // try to replace the atomic constraint with appropriate sub/res condition if sub path and res path evaluates to the same constant
+                // value for all of subjects and resources that appear in the set of covered tuples.
+                ArrayList<String> subCondPath = new ArrayList<String>(cons.getSubPath());
+                ArrayList<String> resCondPath = new ArrayList<String>(cons.getResPath());
+                if (subCondPath.size() <= resCondPath.size()){
+                    boolean isReplaced = false;
+                    if (cons.getResPath().size() > 1){
+                        Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, resCondPath, r.getCoveredUP(), false);
+                        if (check.getFirst()){
+                            // create new condition
+                            Set<String> newConst = new HashSet<String>();
+                            newConst.add(check.getSecond());
+                            AtomicCondition newSubCondition = new AtomicCondition(new ArrayList<String>(cons.getSubPath()),newConst, ConditionOperator.IN);
+                            newSubCondition.setIsNegative(isNegativeCons);
+                            // check if the new rule is valid
+                            Rule tempR = new Rule(r);
+                            tempR.getSubjectCondition().add(newSubCondition);
+                            tempR.getConstraint().remove(cons);
+                            if (isValidRule(tempR, config, false, 0.0)){
+                                isReplaced = true;
+                                r.getSubjectCondition().add(newSubCondition);
+                                removeConstraints.add(cons);
+                            }
+                        }
+                    }
+                    if (!isReplaced){
+                        Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, subCondPath, r.getCoveredUP(), true);
+                        if (check.getFirst()){
+                            // create new condition
+                            Set<String> newConst = new HashSet<String>();
+                            newConst.add(check.getSecond());
+                            AtomicCondition newResCondition = new AtomicCondition(new ArrayList<String>(cons.getResPath()),newConst, ConditionOperator.IN);
+                            newResCondition.setIsNegative(isNegativeCons);
+                            // check if the new rule is valid
+                            Rule tempR = new Rule(r);
+                            tempR.getResourceCondition().add(newResCondition);
+                            tempR.getConstraint().remove(cons);
+                            if (isValidRule(tempR, config, false, 0.0)){
+                                r.getResourceCondition().add(newResCondition);
+                                removeConstraints.add(cons);
+                            }
+                        }
+                    }
+                }
+                else{
+                    boolean isReplaced = false;
+                    if (cons.getSubPath().size() > 1){
+                        Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, subCondPath, r.getCoveredUP(), true);
+                        if (check.getFirst()){
+                            // create new condition
+                            Set<String> newConst = new HashSet<String>();
+                            newConst.add(check.getSecond());
+                            AtomicCondition newResCondition = new AtomicCondition(new ArrayList<String>(cons.getResPath()),newConst, ConditionOperator.IN);
+                            newResCondition.setIsNegative(isNegativeCons);
+                            // check if the new rule is valid
+                            Rule tempR = new Rule(r);
+                            tempR.getResourceCondition().add(newResCondition);
+                            tempR.getConstraint().remove(cons);
+                            if (isValidRule(tempR, config, false, 0.0)){
+                                isReplaced = true;
+                                r.getResourceCondition().add(newResCondition);
+                                removeConstraints.add(cons);
+                            }
+                        }
+                    }
+                    if (!isReplaced){
+                        Pair<Boolean, String> check = checkSameConstValForConstraintPathEval(config, resCondPath, r.getCoveredUP(), false);
+                        if (check.getFirst()){
+                            // create new condition
+                            Set<String> newConst = new HashSet<String>();
+                            newConst.add(check.getSecond());
+                            AtomicCondition newSubCondition = new AtomicCondition(new ArrayList<String>(cons.getSubPath()),newConst, ConditionOperator.IN);
+                            newSubCondition.setIsNegative(isNegativeCons);
+                            // check if the new rule is valid
+                            Rule tempR = new Rule(r);
+                            tempR.getSubjectCondition().add(newSubCondition);
+                            tempR.getConstraint().remove(cons);
+                            if (isValidRule(tempR, config, false, 0.0)){
+                                r.getSubjectCondition().add(newSubCondition);
+                                removeConstraints.add(cons);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        if (!removeConstraints.isEmpty()){
+            r.getConstraint().removeAll(removeConstraints);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * This method runs tasks, in parallel if more than one thread is used
+     * @param tasks
+     * @param threads number of threads
+     * @return the results of the tasks, in the order of the tasks
+     */
+    private static <T> ArrayList<T> invokeAll(ArrayList<Callable<T>> tasks, int threads){
+        ArrayList<T> results = new ArrayList<T>(tasks.size());
+        try{
+            if (threads <= 1 || tasks.size() <= 1){
+                for (Callable<T> task:tasks){
+                    results.add(task.call());
+                }
+                return results;
+            }
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+            try{
+                for (Future<T> future:pool.invokeAll(tasks)){
+                    results.add(future.get());
+                }
+            }
+            finally{
+                pool.shutdown();
+            }
+        }
+        catch (ExecutionException e){
+            throw new RuntimeException(e.getCause());
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (Exception e){
+            throw new RuntimeException(e);
+        }
+        return results;
+    }
+    
     /**
      * this function is used to check if a subject path or a resource path of an atomic constraint evaluates to a same constant value. Used in one of the constant simplificaiton.
      * @param config
@@ -2325,87 +2496,223 @@ public class ReBACMiner {
      * @return
      */
     public static Rule elimConstraints(Rule r, ArrayList<AtomicConstraint> constraints, Config config, double alpha) {
-        Rule bestRule = r;
-        QualityValue bestQuality = r.getQuality();
-        ArrayList<AtomicConstraint> validConstraints = new ArrayList<AtomicConstraint>(
-                constraints);
-        for (int i = 0; i < validConstraints.size(); i++) {
-            Rule temp = new Rule(r);
-            temp.getConstraint().remove(validConstraints.get(i));
-            if (!isValidRule(temp, config, config.getUnderassignmentDetection(), alpha)) {
-                temp.setQuality(computeRuleQuality(temp, config.getUPList(), config));
-                validConstraints.remove(i);
-                i--;
-            }
-        }
-        for (int i = 0; i < validConstraints.size(); i++) {
-            Rule r1 = new Rule(r);
-            r1.getConstraint().remove(validConstraints.get(i));
-            if (!isValidRule(r1, config, config.getUnderassignmentDetection(), alpha)){
-                continue;
-            }
-            r1.setQuality(computeRuleQuality(r1, config.getUPList(), config));
-            ArrayList<AtomicConstraint> newCC = new ArrayList<AtomicConstraint>();
-            for (AtomicConstraint ac:validConstraints.subList(i + 1, validConstraints.size())){
-                newCC.add(ac);
-            }
-            Rule tempR = elimConstraints(r1, newCC, config, alpha);
-            QualityValue quality = computeRuleQuality(tempR, config.getUPList(),config);
-            if (quality.compareTo(bestQuality) > 0) {
-                bestRule = tempR;
-                bestQuality = quality;
+        return runEliminationSearch(new ElimConstraintsTask(r, constraints, config, alpha, new SearchBound(), config.getSimplifyThreads() > 1), config);
+    }
+    
+    /**
+     * This method try to simplify a rule by eliminating every subset of the given atomic conditions
+     * that keeps the rule valid, and returns the rule with the highest quality
+     * @param r
+     * @param conditions
+     * @param config
+     * @param alpha
+     * @return
+     */
+    public static Rule elimConditionsRecursive(Rule r, ArrayList<Pair<AttributePathType, AtomicCondition>> conditions, Config config, double alpha){
+        return runEliminationSearch(new ElimConditionsTask(r, conditions, config, alpha, new SearchBound(), config.getSimplifyThreads() > 1), config);
+    }
+    
+    private static Rule runEliminationSearch(EliminationTask<?> task, Config config){
+        if (task.parallel){
+            return config.getSearchPool().invoke(task);
+        }
+        return task.compute();
+    }
+    
+    /**
+     * The best rule quality found so far by an elimination search, shared by all branches of the search
+     */
+    private static class SearchBound {
+        private final AtomicReference<QualityValue> best = new AtomicReference<QualityValue>();
+        
+        void update(QualityValue quality){
+            QualityValue current = this.best.get();
+            while ((current == null || quality.compareTo(current) > 0) && !this.best.compareAndSet(current, quality)){
+                current = this.best.get();
             }
-            
         }
-        return bestRule;
+        
+        /**
+         * @param upperBound upper bound of the qualities of all rules in a branch
+         * @return true if no rule of the branch can be better than or as good as the best rule found so far
+         */
+        boolean canPrune(QualityValue upperBound){
+            QualityValue current = this.best.get();
+            return current != null && upperBound.compareTo(current) < 0;
+        }
     }
-    public static Rule elimConditionsRecursive(Rule r, ArrayList<Pair<AttributePathType, AtomicCondition>> conditions, Config config, double alpha){
-        Rule bestRule = r;
-        QualityValue bestQuality = r.getQuality();
-        ArrayList<Pair<AttributePathType, AtomicCondition>> validRemoveConditions = new ArrayList<Pair<AttributePathType, AtomicCondition>>(conditions);
+    
+    /**
+     * An elimination search removes every subset of the given items (conditions or constraints)
+     * that keeps the rule valid, and returns the rule with the highest quality. The branches of a
+     * node are searched in parallel when the task runs in a fork-join pool, and the results of the
+     * branches are compared in branch order, so the result is the same as a sequential search.
+     *
+     * A branch is pruned when an upper bound of its rule qualities is lower than the best quality
+     * found so far. Removing items only adds covered UP tuples and decreases the WSC, the number of
+     * constraints and the constraint path length, so the quality of every rule of a branch is at
+     * most the quality computed from the covered UP tuples and the WSC of the rule with all items
+     * of the branch removed, the number of constraints of the branch rule, and the constraint path
+     * length of the rule with all items removed. A pruned branch cannot contain the best rule,
+     * hence pruning does not change the result either.
+     */
+    private static abstract class EliminationTask<T> extends RecursiveTask<Rule> {
+        private static final long serialVersionUID = 1L;
+        final Rule r;
+        final ArrayList<T> items;
+        final Config config;
+        final double alpha;
+        final SearchBound bound;
+        final boolean parallel;
         
-        // compute the list of removing condition that still preserve the validity of the rule
-        for (int i = 0; i < validRemoveConditions.size(); i++) {
-            Pair<AttributePathType, AtomicCondition> currentCondition = validRemoveConditions.get(i);
-            Rule temp = new Rule(r);
-            if (currentCondition.getFirst() == AttributePathType.SubAttributePath){
-                temp.getSubjectCondition().remove(currentCondition.getSecond());
+        EliminationTask(Rule r, ArrayList<T> items, Config config, double alpha, SearchBound bound, boolean parallel){
+            this.r = r;
+            this.items = items;
+            this.config = config;
+            this.alpha = alpha;
+            this.bound = bound;
+            this.parallel = parallel;
+        }
+        
+        /**
+         * @return a copy of the rule without the item
+         */
+        abstract Rule remove(Rule rule, T item);
+        
+        /**
+         * @return true if the rule without the item is valid, computed incrementally from the rule
+         */
+        abstract boolean isValidRemoval(Rule rule, Rule temp, T item);
+        
+        abstract EliminationTask<T> createSubtask(Rule rule, ArrayList<T> items);
+        
+        /**
+         * @return true if a rule of the given quality replaces the best rule of the given quality
+         */
+        abstract boolean isBetter(QualityValue quality, QualityValue bestQuality);
+        
+        @Override
+        protected Rule compute(){
+            // compute the list of removing items that still preserve the validity of the rule
+            ArrayList<T> validItems = new ArrayList<T>();
+            ArrayList<Rule> validRules = new ArrayList<Rule>();
+            for (T item:this.items){
+                Rule temp = remove(this.r, item);
+                if (isValidRemoval(this.r, temp, item)){
+                    validItems.add(item);
+                    validRules.add(temp);
+                }
             }
-            else {
-                temp.getResourceCondition().remove(currentCondition.getSecond());
+            
+            Rule bestRule = this.r;
+            QualityValue bestQuality = this.r.getQuality();
+            ArrayList<EliminationTask<T>> subtasks = new ArrayList<EliminationTask<T>>();
+            for (int i = 0; i < validItems.size(); i++) {
+                Rule r1 = validRules.get(i);
+                r1.setQuality(computeRuleQuality(r1, this.config.getUPIndex(), this.config));
+                this.bound.update(r1.getQuality());
+                ArrayList<T> newCC = new ArrayList<T>(validItems.subList(i + 1, validItems.size()));
+                if (!newCC.isEmpty() && this.bound.canPrune(upperBound(r1, newCC))){
+                    continue;
+                }
+                EliminationTask<T> subtask = createSubtask(r1, newCC);
+                if (this.parallel){
+                    subtasks.add(subtask);
+                }
+                else{
+                    Rule tempR = subtask.compute();
+                    if (isBetter(tempR.getQuality(), bestQuality)) {
+                        bestRule = tempR;
+                        bestQuality = tempR.getQuality();
+                    }
+                }
             }
-            if (!isValidRule(temp, config, config.getUnderassignmentDetection(), alpha)) {
-                temp.setQuality(computeRuleQuality(temp, config.getUPList(), config));
-                validRemoveConditions.remove(i);
-                i--;
+            if (this.parallel){
+                invokeAll(subtasks);
+                for (EliminationTask<T> subtask:subtasks){
+                    Rule tempR = subtask.join();
+                    if (isBetter(tempR.getQuality(), bestQuality)) {
+                        bestRule = tempR;
+                        bestQuality = tempR.getQuality();
+                    }
+                }
             }
+            return bestRule;
         }
         
-        for (int i = 0; i < validRemoveConditions.size(); i++) {
-            Pair<AttributePathType, AtomicCondition> currentCondition = validRemoveConditions.get(i);
-            Rule r1 = new Rule(r);
-            if (currentCondition.getFirst() == AttributePathType.SubAttributePath){
-                r1.getSubjectCondition().remove(currentCondition.getSecond());
+        private QualityValue upperBound(Rule r1, ArrayList<T> removedItems){
+            Rule rAll = r1;
+            for (T item:removedItems){
+                rAll = remove(rAll, item);
             }
-            else {
-                r1.getResourceCondition().remove(currentCondition.getSecond());
-            }
-            if (!isValidRule(r1, config, config.getUnderassignmentDetection(), alpha)){
-                continue;
+            // the contained count of the cached evaluation, so that the bound does not build the covered UP tuples
+            int numCoveredTuples = evaluateRule(rAll, this.config).getContainedNum();
+            int constraintsPathLength = 0;
+            for (AtomicConstraint ac:rAll.getConstraint()){
+                constraintsPathLength += ac.getSubPath().size();
+                constraintsPathLength += ac.getResPath().size();
             }
-            r1.setQuality(computeRuleQuality(r1, config.getUPList(), config));
-            ArrayList<Pair<AttributePathType, AtomicCondition>> newCC = new ArrayList<Pair<AttributePathType, AtomicCondition>>();
-            for (Pair<AttributePathType, AtomicCondition> ac:validRemoveConditions.subList(i + 1, validRemoveConditions.size())){
-                newCC.add(ac);
+            return new QualityValue(((double) numCoveredTuples) / rAll.getWSC(), r1.getConstraint().size(), 1 / (double) constraintsPathLength);
+        }
+    }
+    
+    private static class ElimConditionsTask extends EliminationTask<Pair<AttributePathType, AtomicCondition>> {
+        private static final long serialVersionUID = 1L;
+        
+        ElimConditionsTask(Rule r, ArrayList<Pair<AttributePathType, AtomicCondition>> items, Config config, double alpha, SearchBound bound, boolean parallel){
+            super(r, items, config, alpha, bound, parallel);
+        }
+        
+        Rule remove(Rule rule, Pair<AttributePathType, AtomicCondition> item){
+            Rule result = new Rule(rule);
+            if (item.getFirst() == AttributePathType.SubAttributePath){
+                result.getSubjectCondition().remove(item.getSecond());
             }
-            Rule tempR = elimConditionsRecursive(r1, newCC, config, alpha);
-            QualityValue quality = computeRuleQuality(tempR, config.getUPList(),config);
-            if (quality.compareTo(bestQuality) >= 0) {
-                bestRule = tempR;
-                bestQuality = quality;
+            else {
+                result.getResourceCondition().remove(item.getSecond());
             }
+            return result;
+        }
+        
+        boolean isValidRemoval(Rule rule, Rule temp, Pair<AttributePathType, AtomicCondition> item){
+            return isValidRuleWithoutCondition(rule, temp, item.getFirst(), this.config, this.config.getUnderassignmentDetection(), this.alpha);
+        }
+        
+        EliminationTask<Pair<AttributePathType, AtomicCondition>> createSubtask(Rule rule, ArrayList<Pair<AttributePathType, AtomicCondition>> items){
+            return new ElimConditionsTask(rule, items, this.config, this.alpha, this.bound, this.parallel);
+        }
+        
+        boolean isBetter(QualityValue quality, QualityValue bestQuality){
+            // a later branch wins a tie
+            return quality.compareTo(bestQuality) >= 0;
+        }
+    }
+    
+    private static class ElimConstraintsTask extends EliminationTask<AtomicConstraint> {
+        private static final long serialVersionUID = 1L;
+        
+        ElimConstraintsTask(Rule r, ArrayList<AtomicConstraint> items, Config config, double alpha, SearchBound bound, boolean parallel){
+            super(r, items, config, alpha, bound, parallel);
+        }
+        
+        Rule remove(Rule rule, AtomicConstraint item){
+            Rule result = new Rule(rule);
+            result.getConstraint().remove(item);
+            return result;
+        }
+        
+        boolean isValidRemoval(Rule rule, Rule temp, AtomicConstraint item){
+            return isValidRuleWithoutConstraint(rule, temp, item, this.config, this.config.getUnderassignmentDetection(), this.alpha);
+        }
+        
+        EliminationTask<AtomicConstraint> createSubtask(Rule rule, ArrayList<AtomicConstraint> items){
+            return new ElimConstraintsTask(rule, items, this.config, this.alpha, this.bound, this.parallel);
+        }
+        
+        boolean isBetter(QualityValue quality, QualityValue bestQuality){
+            // an earlier branch wins a tie
+            return quality.compareTo(bestQuality) > 0;
         }
-        return bestRule;
     }
     
     /**
@@ -2434,6 +2741,22 @@ public class ReBACMiner {
         return results;
     }
     
+    /**
+     * this method computes the index of UP triples covered by a set of input rules
+     * @param rules
+     * @param config
+     * @return
+     */
+    public static UPIndex computePolicyCoveredUPIndex(LinkedList<Rule> rules, Config config){
+        UPIndex results = new UPIndex(config.getObjectStore());
+        for (Rule r: rules){
+            for (Triple<String, String, String> up:computeCoveredUP(r, config)){
+                results.add(up);
+            }
+        }
+        return results;
+    }
+    
     /**
      * This method removes an operation op from the set of operations in a rule R when this preserves the meaning of the policy
      * @param r
@@ -2452,7 +2775,7 @@ public class ReBACMiner {
             String op = ops.next();
             tempRule.getActions().remove(op);
             tempRule.setCoveredUP(computeCoveredUP(tempRule, config));
-            if (computePolicyCoveredUPNoise(tempRules,config).containsAll(config.getUPList())){
+            if (computePolicyCoveredUPIndex(tempRules,config).containsAll(config.getUPIndex())){
                 ops.remove();
                 stats[5]++;
                 r.setCoveredUP(computeCoveredUP(r, config));
@@ -2694,9 +3017,9 @@ public class ReBACMiner {
             else {
                 temp.getResourceCondition().remove(currentCondition.getSecond());
             }
-            if (isValidRule(temp, config, config.getUnderassignmentDetection(), alpha)) {
+            if (isValidRuleWithoutCondition(result, temp, currentCondition.getFirst(), config, config.getUnderassignmentDetection(), alpha)) {
                 result = temp;
-                result.setQuality(computeRuleQuality(temp, config.getUPList(), config));
+                result.setQuality(computeRuleQuality(temp, config.getUPIndex(), config));
             }
         }
         return result;
@@ -2713,7 +3036,7 @@ public class ReBACMiner {
                 outputWrite.write(r + "\n");
                 policyWSC += r.getWSC();
                 outputWrite.write("Rule WSC: " + r.getWSC() + "\n");
-                QualityValue rQual = computeRuleQuality(r, config.getUPList(), config);
+                QualityValue rQual = computeRuleQuality(r, config.getUPIndex(), config);
                 outputWrite.write("Rule Quality: <" + rQual.firstComponent + ", " + rQual.secondComponent + ", " + rQual.thirdComponent + ">\n");
                 outputWrite.write("------------------------\n");
             }
@@ -2957,7 +3280,7 @@ public class ReBACMiner {
         // System.out.println("Done with simplify and merge rules loop");
         // Selected highest quality rules
         LinkedList<Rule> resultRules = new LinkedList<Rule>();
-        ArrayList<Triple<String, String, String>> uncoveredUP = new ArrayList<Triple<String, String, String>>(config.getUPList());
+        UPIndex uncoveredUP = UPIndex.of(config.getUPList(), config.getObjectStore());
         
         // System.out.println("Number of rules before merging same rules and remove redundants: " + rules.size());
         // System.out.println("============== RULES BEFORE MERGING SAME RULES AND REMOVE REDU============");
@@ -2988,12 +3311,14 @@ public class ReBACMiner {
             
             // add the tuple covered by the rule if the rule quality is less than tau
             if (config.getOverassignmentDetection()){
-                if (computeRuleQuality(nextChosenRule, config.getUPList(), config).firstComponent < tau){
+                if (computeRuleQuality(nextChosenRule, config.getUPIndex(), config).firstComponent < tau){
                     overRules.add(nextChosenRule);
                 }
             }
             rules.remove(nextChosenRule);
-            uncoveredUP.removeAll(nextChosenRule.getCoveredUP());
+            for (Triple<String, String, String> up:nextChosenRule.getCoveredUP()){
+                uncoveredUP.remove(up);
+            }
         }
         resultRules.removeAll(overRules);
         HashSet<Triple<String, String, String>> detectedOver = new HashSet<Triple<String, String, String>>(config.getUPList());
@@ -3020,10 +3345,9 @@ public class ReBACMiner {
         for (Rule r:rules){
             r.setCoveredUP(computeCoveredUP(r, config));
             coveredUP.addAll(r.getCoveredUP());
-            if (!config.getUPList().containsAll(r.getCoveredUP())){
+            if (!config.getUPIndex().containsAll(r.getCoveredUP())){
                 System.out.println("Rule that has overassignment: " + r);
-                ArrayList<Triple<String, String, String>> ruleOverUP = new ArrayList<Triple<String, String, String>>(r.getCoveredUP());
-                ruleOverUP.removeAll(config.getUPList());
+                ArrayList<Triple<String, String, String>> ruleOverUP = config.getUPIndex().filterNotContained(r.getCoveredUP());
                 System.out.println("Overassignmnets: ");
                 for (Triple<String, String, String>overUP:ruleOverUP){
                     System.out.println(overUP);
@@ -3046,8 +3370,7 @@ public class ReBACMiner {
             }
             return false;
         }
-        List<Triple<String, String, String>> overUP = new ArrayList<Triple<String, String, String>>(coveredUP);
-        overUP.removeAll(config.getUPList());
+        List<Triple<String, String, String>> overUP = config.getUPIndex().filterNotContained(coveredUP);
         if (!overUP.isEmpty()){
             return false;
         }
@@ -3407,6 +3730,36 @@ public class ReBACMiner {
             // read batch size
             int batchSize = Integer.parseInt(inputProperties.getProperty("batchSize"));
             config.setBatchSize(batchSize);
+            
+            // read meaningCacheBudgetMB (optional)
+            String meaningCacheBudget = inputProperties.getProperty("meaningCacheBudgetMB");
+            if (meaningCacheBudget != null){
+                config.setMeaningCacheBudget(Long.parseLong(meaningCacheBudget.trim()) * 1024 * 1024);
+            }
+            
+            // read simplifyThreads (optional)
+            String simplifyThreads = inputProperties.getProperty("simplifyThreads");
+            if (simplifyThreads != null){
+                config.setSimplifyThreads(Integer.parseInt(simplifyThreads.trim()));
+            }
+            
+            // read parseThreads (optional)
+            String parseThreads = inputProperties.getProperty("parseThreads");
+            if (parseThreads != null){
+                config.setParseThreads(Integer.parseInt(parseThreads.trim()));
+            }
+            
+            // read datasetSnapshots (optional)
+            String datasetSnapshots = inputProperties.getProperty("datasetSnapshots");
+            if (datasetSnapshots != null){
+                config.setDatasetSnapshots(datasetSnapshots.trim().equals("true"));
+            }
+            
+            // read noiseSeed (optional)
+            String noiseSeed = inputProperties.getProperty("noiseSeed");
+            if (noiseSeed != null){
+                config.setNoiseSeed(Long.parseLong(noiseSeed.trim()));
+            }
         }
         catch (FileNotFoundException e) {
             System.out.println(e.getMessage());
@@ -3423,42 +3776,7 @@ public class ReBACMiner {
      */
     public static void addOverassignmentNoise(Config config,
             double noiseLevel) {
-        int numNoise = (int) ((5 * config.getUPList().size() * noiseLevel)/6);
-        
-        while (config.getOverassignmentUP().size() < numNoise) {
-            ArrayList<String> ops = new ArrayList<String>();
-            ArrayList<String> subs = new ArrayList<String>();
-            ArrayList<String> ress = new ArrayList<String>();
-            for (Triple<String, String, String> up: config.getUPList()){
-                if (!subs.contains(up.getFirst())){
-                    subs.add(up.getFirst());
-                }
-                
-                if (!ress.contains(up.getSecond())){
-                    ress.add(up.getSecond());
-                }
-                
-                if (!ops.contains(up.getThird())){
-                    ops.add(up.getThird());
-                }
-                
-            }
-            
-            DiscreteNormalDistribution subDist = new DiscreteNormalDistribution(0, subs.size() - 1, subs.size()/2.0, subs.size()/2.0);
-            DiscreteNormalDistribution resDist = new DiscreteNormalDistribution(0, ress.size() - 1, ress.size()/2.0, ress.size()/2.0);
-            DiscreteNormalDistribution opDist = new DiscreteNormalDistribution(0, ops.size() - 1, ops.size()/2.0, ops.size()/2.0);
-            
-            String sub = subs.get(subDist.getNextDistVal());
-            String res = ress.get(resDist.getNextDistVal());
-            String op = ops.get(opDist.getNextDistVal());
-            Triple<String, String, String> up = new Triple<String, String, String>(
-                    sub, res, op);
-            if (!config.getUPList().contains(up)) {
-                config.getOverassignmentUP().add(up);
-                config.getUPList().add(up);
-                Parser.computeUPMaps(config);
-            }
-        }
+        new NoiseInjector(config, config.getNoiseSeed()).addOverassignmentNoise(noiseLevel);
     }
     
     /**
@@ -3469,16 +3787,7 @@ public class ReBACMiner {
      */
     public static void addUnderassignmentNoise(Config config,
             double noiseLevel) {
-        int numNoise = (int) ((config.getUPList().size() * noiseLevel)/6);
-        
-        while (config.getUnderassignmentUP().size() < numNoise
-                && !config.getUPList().isEmpty()) {
-            Set<Triple<String, String, String>> upSet = new HashSet<Triple<String, String, String>>(config.getUPList());
-            Triple<String, String, String> up = randomElement(upSet);
-            config.getUnderassignmentUP().add(up);
-            config.getUPList().remove(up);
-            Parser.computeUPMaps(config);
-        }
+        new NoiseInjector(config, config.getNoiseSeed()).addUnderassignmentNoise(noiseLevel);
     }
     
     /**
@@ -3519,6 +3828,11 @@ public class ReBACMiner {
             outputWrite.write("isOneConditionPerPathRestricted=" + config.getIsOneConditionPerPathRestricted() + "\n");
             outputWrite.write("compareCoveredUPNum=" + config.getCompareCoveredUPNum() + "\n");
             outputWrite.write("compareOriginalInputRule=" + config.getCompareOriginalInputRule() + "\n");
+            outputWrite.write("meaningCacheBudgetMB=" + config.getMeaningCacheBudget() / (1024 * 1024) + "\n");
+            outputWrite.write("simplifyThreads=" + config.getSimplifyThreads() + "\n");
+            outputWrite.write("parseThreads=" + config.getParseThreads() + "\n");
+            outputWrite.write("datasetSnapshots=" + config.getDatasetSnapshots() + "\n");
+            outputWrite.write("noiseSeed=" + config.getNoiseSeed() + "\n");
         }
         catch (IOException e){
             e.printStackTrace();
@@ -3541,6 +3855,22 @@ public class ReBACMiner {
         }
     }
     
+    public static void printCacheStats(Config config, BufferedWriter outputWrite){
+        try{
+            outputWrite.write(config.getConditionMeanings().getStats() + "\n");
+            outputWrite.write(config.getAtomicConditionMeanings().getStats() + "\n");
+            outputWrite.write(config.getConstraintMatrices().getStats() + "\n");
+            outputWrite.write(config.getRuleEvaluations().getStats() + "\n");
+            if (config.getObjectStore() != null){
+                outputWrite.write(config.getObjectStore().getPathTables().getStats() + "\n");
+                outputWrite.write(config.getObjectStore().getPathPrefixTables().getStats() + "\n");
+            }
+        }
+        catch (IOException e){
+            e.printStackTrace();
+        }
+    }
+    
     public static void printRuleListWithUP(Config config, BufferedWriter outputWrite){
         try {
             for (Pair<Integer, Rule> entry:config.getRuleListWithUP()){
@@ -3739,14 +4069,14 @@ public class ReBACMiner {
             else {
                 outputWrite.write("============== SIMPLIFIED AND MERGED INPUT RULES ==============\n");
                 for (Rule r: inputRules){
-                    r.setQuality(ReBACMiner.computeRuleQuality(r, config.getUPList(), config));
+                    r.setQuality(ReBACMiner.computeRuleQuality(r, config.getUPIndex(), config));
                 }
                 mergeRules(inputRules, config, new int[2], 0.0);
                 
                 while (simplifyRules(inputRules, config, false, config.getRemoveConditionThreshold(), stats, 0.0) && mergeRules(inputRules, config, new int[2], 0.0)){
                 }
                 LinkedList<Rule> simplifiedInputRules = new LinkedList<Rule>();
-                ArrayList<Triple<String, String, String>> uncoveredUP = new ArrayList<Triple<String, String, String>>(config.getUPList());
+                UPIndex uncoveredUP = UPIndex.of(config.getUPList(), config.getObjectStore());
                 while (!uncoveredUP.isEmpty()){
                     for (Rule r: inputRules){
                         r.setQuality(computeRuleQuality(r, uncoveredUP, config));
@@ -3755,7 +4085,9 @@ public class ReBACMiner {
                     Rule nextChosenRule = inputRules.get(0);
                     simplifiedInputRules.add(nextChosenRule);
                     inputRules.remove(nextChosenRule);
-                    uncoveredUP.removeAll(nextChosenRule.getCoveredUP());
+                    for (Triple<String, String, String> up:nextChosenRule.getCoveredUP()){
+                        uncoveredUP.remove(up);
+                    }
                 }
                 printPolicy(simplifiedInputRules, config, outputWrite);
                 
@@ -3900,20 +4232,34 @@ public class ReBACMiner {
     }*/
     
     public static Pair<Long, double[]> runOneDecisionTreeExperiment(Config config, String configFile, int size, int j, String outputPath){
+        config = new Config();
+        readConfiguration(configFile, config);
+        long startCPUTime = Time.getCpuTime();
+        String attrFileName = config.getAttributeDataPath() + config.getPolicyName() + "_" + size + "_" + j + ".abac_txt";
+        Parser.parseInputFile(attrFileName, config);
+        String minedRulesDTFileName = config.getMinedRulesFromDTPath() + config.getPolicyName() + "_" + size + "_" + j + ".rules";
+        Parser.parseInputRulesFile(minedRulesDTFileName, config, config.getMinedRulesFromDT());
+        return improvePolicy(config, config.getPolicyName() + "_" + size + "_" + j, outputPath, startCPUTime);
+    }
+    
+    /**
+     * This method runs the second phase of DTRM and DTRMU on a parsed policy: it improves the rules
+     * learned in the first phase, which are in config.getMinedRulesFromDT(), compares the mined policy
+     * with the input rules, and writes the results to outputPath
+     * @param config configuration with the parsed attribute data file and learned rules
+     * @param policyName
+     * @param outputPath
+     * @param startCPUTime CPU time at which the mining running time starts
+     * @return mining CPU time and comparison stats
+     */
+    public static Pair<Long, double[]> improvePolicy(Config config, String policyName, String outputPath, long startCPUTime){
         double[] statsInfo = new double[15];
         long totalCPUTime = 0;
         try{
-            config = new Config();
-            readConfiguration(configFile, config);
             FileWriter fileWriter = new FileWriter(outputPath);
             BufferedWriter outputWrite = new BufferedWriter(fileWriter);
-            long startCPUTime = Time.getCpuTime();
-            String attrFileName = config.getAttributeDataPath() + config.getPolicyName() + "_" + size + "_" + j + ".abac_txt";
-            outputWrite.write("RUNNING EXPERIMENTS ON: "  + config.getPolicyName() + "_" + size + "_" + j + "\n\n");
+            outputWrite.write("RUNNING EXPERIMENTS ON: "  + policyName + "\n\n");
             outputWrite.write("============== NUMBER OF UP TUPLES COVERED BY EACH RULE: ==============\n");
-            Parser.parseInputFile(attrFileName, config);
-            String minedRulesDTFileName = config.getMinedRulesFromDTPath() + config.getPolicyName() + "_" + size + "_" + j + ".rules";
-            Parser.parseInputRulesFile(minedRulesDTFileName, config, config.getMinedRulesFromDT());
             printRuleListWithUP(config, outputWrite);
             System.out.println(config.getUPList().size());
             
@@ -3929,7 +4275,7 @@ public class ReBACMiner {
                 r.setCoveredUP(computeCoveredUP(r, config));
             }
             for (Rule r:outputRules) {
-                r.setQuality(computeRuleQuality(r, config.getUPList(), config));
+                r.setQuality(computeRuleQuality(r, config.getUPIndex(), config));
             }
             if (!ReBACMiner.sanityCheck(outputRules, config)){
                 System.out.println("OUTPUT POLICY FAIL SANITY CHECK BEFORE SIMPLIFICATION");
@@ -3967,7 +4313,7 @@ public class ReBACMiner {
             
             outputWrite.write("============== SIMPLIFIED AND MERGED INPUT RULES ==============\n");
             for (Rule r: inputRules){
-                r.setQuality(ReBACMiner.computeRuleQuality(r, config.getUPList(), config));
+                r.setQuality(ReBACMiner.computeRuleQuality(r, config.getUPIndex(), config));
             }
             mergeRules(inputRules, config, new int[2], 0.0);
 
@@ -4102,6 +4448,9 @@ public class ReBACMiner {
             outputWrite.write("Total field number: " + fieldNum + "\n");
             statsInfo[11] = fieldNum;
             
+            outputWrite.write("============== MEANING CACHE STATS ==============\n");
+            printCacheStats(config, outputWrite);
+            
             outputWrite.write("============== RUNNING TIME ==============\n");
             outputWrite.write("Mining running time: " + runningTime + "\n");
             outputWrite.write("\n==========================================================================================\n==========================================================================================");
@@ -20,6 +20,8 @@
 package util;
 
 import java.util.Comparator;
+import core.Pair;
+import core.AtomicCondition;
 
 /**
  *
@@ -19,12 +19,24 @@
 package util;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import core.Class1;
+import core.FieldType;
+import core.Pair;
+import core.Triple;
+import core.AtomicCondition;
+import core.AtomicConstraint;
+import core.Object1;
+import core.Rule;
 
 /**
  * Configuration class is used for maintaining the configuration of various
@@ -38,6 +50,8 @@ public class Config{
     
     //Thang
     private Map<String, Object1> objectModel;
+    // columnar, integer-indexed store of the object model
+    private ObjectStore objectStore;
     private Map<String, Integer> objectCount;
     private Map<String, Class1> classModel;
     private LinkedList<Rule> ruleModel;
@@ -51,6 +65,8 @@ public class Config{
     private ArrayList<Triple<String, String, String>> upList;
     // set of all up triples
     private Set<Triple<String, String, String>> upSet;
+    // constant-time membership index over upList
+    private UPIndex upIndex;
     // list of all up triples grouped by class type and subject
     private Map<String, Map<String, Set<Pair<String, String>>>> upListMapOnSub;
     // list of all up triples grouped by class type and resource
@@ -109,10 +125,25 @@ public class Config{
     
     // fields for optimization
     private Map<String, Map<String, FieldType>> classAtrributes;
-    private Map<List<AtomicCondition>, Map<String, Set<String>>> conditionMeanings;
-    private Map<AtomicCondition, Map<String, Set<String>>> atomicConditionMeanings;
-    private Map<List<AtomicConstraint>, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>> constraintMeanings;
-    private Map<AtomicConstraint, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>> atomicConstraintMeanings;
+    // condition meanings are bitmaps over ObjectStore.getTypeObjects of the class
+    private MeaningCache<List<AtomicCondition>, Map<String, BitSet>> conditionMeanings;
+    private MeaningCache<AtomicCondition, Map<String, BitSet>> atomicConditionMeanings;
+    // constraint meanings are bit matrices keyed by (subject type, resource type, atomic constraint)
+    private MeaningCache<Triple<String, String, AtomicConstraint>, ConstraintMatrix> constraintMatrices;
+    // evaluations of rules keyed by their canonical signature
+    private MeaningCache<RuleSignature, RuleEvaluation> ruleEvaluations;
+    // total byte budget of the meaning caches
+    private long meaningCacheBudget;
+    // number of threads used to simplify rules in parallel
+    private int simplifyThreads;
+    // number of threads used to decode the object lines of input files
+    private int parseThreads;
+    // true if parsed input files are saved to and loaded from binary snapshots
+    private boolean datasetSnapshots;
+    // seed of the random choices of the noise injection
+    private long noiseSeed;
+    // work-stealing pool of the parallel elimination searches, created when first used
+    private ForkJoinPool searchPool;
     // End Thang
     
     private HashSet<Triple<String, String, String>> overassignmentUP;
@@ -152,10 +183,51 @@ public class Config{
         additionalTuplesFromMinedPolicies = new HashSet<Triple<String, String, String>>();
         
         classAtrributes = new HashMap<String, Map<String, FieldType>>() ;
-        conditionMeanings = new HashMap<List<AtomicCondition>, Map<String, Set<String>>>() ;
-        atomicConditionMeanings = new HashMap<AtomicCondition, Map<String, Set<String>>>();
-        constraintMeanings = new HashMap<List<AtomicConstraint>, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>>(50);
-        atomicConstraintMeanings = new HashMap<AtomicConstraint, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>>(1000);
+        // by default the meaning caches may use half of the maximum heap size
+        meaningCacheBudget = Runtime.getRuntime().maxMemory() / 2;
+        conditionMeanings = new MeaningCache<List<AtomicCondition>, Map<String, BitSet>>("conditionMeanings", 16, meaningCacheBudget / 5, new ConditionMeaningWeigher<List<AtomicCondition>>());
+        atomicConditionMeanings = new MeaningCache<AtomicCondition, Map<String, BitSet>>("atomicConditionMeanings", 16, meaningCacheBudget / 5, new ConditionMeaningWeigher<AtomicCondition>());
+        constraintMatrices = new MeaningCache<Triple<String, String, AtomicConstraint>, ConstraintMatrix>("constraintMatrices", 1000, meaningCacheBudget / 5, new ConstraintMatrixWeigher());
+        ruleEvaluations = new MeaningCache<RuleSignature, RuleEvaluation>("ruleEvaluations", 1000, meaningCacheBudget / 5, new RuleEvaluationWeigher());
+        simplifyThreads = 1;
+        parseThreads = 1;
+        datasetSnapshots = false;
+        noiseSeed = 0;
+    }
+    
+    /**
+     * Estimates the heap size of a condition meaning entry: a map from class name to a bitmap
+     */
+    private static class ConditionMeaningWeigher<K> implements MeaningCache.Weigher<K, Map<String, BitSet>> {
+        public long weigh(K key, Map<String, BitSet> value){
+            // key, HashMap and its table
+            long weight = 200 + 64;
+            for (BitSet meaning:value.values()){
+                // map entry, BitSet object and its long[] words
+                weight += 32 + 40 + (meaning == null ? 0 : meaning.size() / 8);
+            }
+            return weight;
+        }
+    }
+    
+    /**
+     * Estimates the heap size of a constraint matrix entry
+     */
+    private static class ConstraintMatrixWeigher implements MeaningCache.Weigher<Triple<String, String, AtomicConstraint>, ConstraintMatrix> {
+        public long weigh(Triple<String, String, AtomicConstraint> key, ConstraintMatrix value){
+            // key and map entry
+            return 200 + value.getByteSize();
+        }
+    }
+    
+    /**
+     * Estimates the heap size of a rule evaluation entry
+     */
+    private static class RuleEvaluationWeigher implements MeaningCache.Weigher<RuleSignature, RuleEvaluation> {
+        public long weigh(RuleSignature key, RuleEvaluation value){
+            // signature string, map entry and the evaluation
+            return 100 + 2L * key.toString().length() + value.getByteSize();
+        }
     }
     
     
@@ -231,6 +303,17 @@ public class Config{
         this.objectModel = objectModel;
     }
     
+    public ObjectStore getObjectStore(){
+        return this.objectStore;
+    }
+    
+    public void setObjectStore(ObjectStore objectStore){
+        this.objectStore = objectStore;
+        if (objectStore != null){
+            objectStore.setPathTableBudget(this.meaningCacheBudget / 5);
+        }
+    }
+    
     public Map<String, Integer> getObjectCount(){
         return this.objectCount;
     }
@@ -293,6 +376,127 @@ public class Config{
         this.upList = upList;
     }
     
+    // ups index
+    public UPIndex getUPIndex(){
+        return this.upIndex;
+    }
+    
+    public void setUPIndex(UPIndex upIndex){
+        this.upIndex = upIndex;
+    }
+    
+    /**
+     * This method adds a UP triple to the UP list and keeps the UP index and
+     * the UP maps on subjects and resources in sync. A triple whose subject or
+     * resource is not in the object model is not added, and nothing is changed.
+     * @param up
+     * @return false if the subject or the resource of the triple is unknown
+     */
+    public boolean addUP(Triple<String, String, String> up){
+        if (!this.objectModel.containsKey(up.getFirst()) || !this.objectModel.containsKey(up.getSecond())){
+            return false;
+        }
+        this.upList.add(up);
+        if (this.upIndex != null){
+            this.upIndex.add(up);
+        }
+        addToUPMaps(up);
+        return true;
+    }
+    
+    /**
+     * This method removes a UP triple, with all its occurrences, from the UP list and
+     * keeps the UP index and the UP maps on subjects and resources in sync. To remove
+     * several triples, use removeUPs, which scans the UP list once for all of them.
+     * @param up
+     */
+    public void removeUP(Triple<String, String, String> up){
+        removeUPs(Collections.singleton(up));
+    }
+    
+    /**
+     * This method removes UP triples from the UP list, with all their occurrences,
+     * in one pass, and keeps the UP index and the UP maps in sync
+     * @param ups
+     */
+    public void removeUPs(Collection<Triple<String, String, String>> ups){
+        if (ups.isEmpty()){
+            return;
+        }
+        Set<Triple<String, String, String>> removed = new HashSet<Triple<String, String, String>>(ups);
+        ArrayList<Triple<String, String, String>> kept = new ArrayList<Triple<String, String, String>>(this.upList.size());
+        for (Triple<String, String, String> up:this.upList){
+            if (!removed.contains(up)){
+                kept.add(up);
+            }
+        }
+        // the list is updated in place because callers may hold a reference to it
+        this.upList.clear();
+        this.upList.addAll(kept);
+        for (Triple<String, String, String> up:removed){
+            if (this.upIndex != null){
+                this.upIndex.remove(up);
+            }
+            removeFromUPMaps(up);
+        }
+    }
+    
+    /**
+     * This method adds a UP triple to upListMapOnSub and upListMapOnRes
+     * @param up
+     */
+    void addToUPMaps(Triple<String, String, String> up){
+        addToUPMap(this.upListMapOnSub, this.objectModel.get(up.getFirst()).getClass1(), up.getFirst(), new Pair<String, String>(up.getSecond(), up.getThird()));
+        addToUPMap(this.upListMapOnRes, this.objectModel.get(up.getSecond()).getClass1(), up.getSecond(), new Pair<String, String>(up.getFirst(), up.getThird()));
+    }
+    
+    /**
+     * This method removes a UP triple from upListMapOnSub and upListMapOnRes. Subjects
+     * and resources without UP triples and classes without subjects or resources are
+     * removed from the maps, as if the maps were computed from the UP list.
+     * @param up
+     */
+    void removeFromUPMaps(Triple<String, String, String> up){
+        Object1 sub = this.objectModel.get(up.getFirst());
+        Object1 res = this.objectModel.get(up.getSecond());
+        if (sub == null || res == null){
+            return;
+        }
+        removeFromUPMap(this.upListMapOnSub, sub.getClass1(), up.getFirst(), new Pair<String, String>(up.getSecond(), up.getThird()));
+        removeFromUPMap(this.upListMapOnRes, res.getClass1(), up.getSecond(), new Pair<String, String>(up.getFirst(), up.getThird()));
+    }
+    
+    private static void addToUPMap(Map<String, Map<String, Set<Pair<String, String>>>> upMap, String className, String id, Pair<String, String> perm){
+        Map<String, Set<Pair<String, String>>> classMap = upMap.get(className);
+        if (classMap == null){
+            classMap = new HashMap<String, Set<Pair<String, String>>>();
+            upMap.put(className, classMap);
+        }
+        Set<Pair<String, String>> perms = classMap.get(id);
+        if (perms == null){
+            perms = new HashSet<Pair<String, String>>();
+            classMap.put(id, perms);
+        }
+        perms.add(perm);
+    }
+    
+    private static void removeFromUPMap(Map<String, Map<String, Set<Pair<String, String>>>> upMap, String className, String id, Pair<String, String> perm){
+        Map<String, Set<Pair<String, String>>> classMap = upMap.get(className);
+        if (classMap == null){
+            return;
+        }
+        Set<Pair<String, String>> perms = classMap.get(id);
+        if (perms == null || !perms.remove(perm)){
+            return;
+        }
+        if (perms.isEmpty()){
+            classMap.remove(id);
+            if (classMap.isEmpty()){
+                upMap.remove(className);
+            }
+        }
+    }
+    
     // ups set
     public Set<Triple<String, String, String>> getUPSet(){
         return this.upSet;
@@ -634,36 +838,96 @@ public class Config{
         this.classAtrributes = sca;
     }
     
-    public Map<List<AtomicCondition>, Map<String, Set<String>>> getConditionMeanings(){
+    public int getSimplifyThreads(){
+        return this.simplifyThreads;
+    }
+    
+    public void setSimplifyThreads(int threads){
+        this.simplifyThreads = threads;
+    }
+    
+    public int getParseThreads(){
+        return this.parseThreads;
+    }
+    
+    public void setParseThreads(int threads){
+        this.parseThreads = threads;
+    }
+    
+    public boolean getDatasetSnapshots(){
+        return this.datasetSnapshots;
+    }
+    
+    public void setDatasetSnapshots(boolean datasetSnapshots){
+        this.datasetSnapshots = datasetSnapshots;
+    }
+    
+    public long getNoiseSeed(){
+        return this.noiseSeed;
+    }
+    
+    public void setNoiseSeed(long noiseSeed){
+        this.noiseSeed = noiseSeed;
+    }
+    
+    public synchronized ForkJoinPool getSearchPool(){
+        if (this.searchPool == null){
+            this.searchPool = new ForkJoinPool(Math.max(this.simplifyThreads, 1));
+        }
+        return this.searchPool;
+    }
+    
+    public long getMeaningCacheBudget(){
+        return this.meaningCacheBudget;
+    }
+    
+    /**
+     * This method sets the total byte budget of the meaning caches. The two condition meaning caches,
+     * the constraint matrix cache, the rule evaluation cache and the path table caches of the object
+     * store get a fifth of the budget each.
+     * @param budget
+     */
+    public void setMeaningCacheBudget(long budget){
+        this.meaningCacheBudget = budget;
+        this.conditionMeanings.setBudget(budget / 5);
+        this.atomicConditionMeanings.setBudget(budget / 5);
+        this.constraintMatrices.setBudget(budget / 5);
+        this.ruleEvaluations.setBudget(budget / 5);
+        if (this.objectStore != null){
+            this.objectStore.setPathTableBudget(budget / 5);
+        }
+    }
+    
+    public MeaningCache<List<AtomicCondition>, Map<String, BitSet>> getConditionMeanings(){
         return this.conditionMeanings;
     }
     
-    public void setConditionMeanings(Map<List<AtomicCondition>, Map<String, Set<String>>> cm){
+    public void setConditionMeanings(MeaningCache<List<AtomicCondition>, Map<String, BitSet>> cm){
         this.conditionMeanings = cm;
     }
     
-    public Map<AtomicCondition, Map<String, Set<String>>> getAtomicConditionMeanings(){
+    public MeaningCache<AtomicCondition, Map<String, BitSet>> getAtomicConditionMeanings(){
         return this.atomicConditionMeanings;
     }
     
-    public void setAtomicConditionMeanings(Map<AtomicCondition, Map<String, Set<String>>> acm){
+    public void setAtomicConditionMeanings(MeaningCache<AtomicCondition, Map<String, BitSet>> acm){
         this.atomicConditionMeanings = acm;
     }
     
-    public Map<List<AtomicConstraint>, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>> getConstraintMeanings(){
-        return this.constraintMeanings;
+    public MeaningCache<Triple<String, String, AtomicConstraint>, ConstraintMatrix> getConstraintMatrices(){
+        return this.constraintMatrices;
     }
     
-    public void setConstraintMeaning(Map<List<AtomicConstraint>, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>> csm){
-        this.constraintMeanings = csm;
+    public void setConstraintMatrices(MeaningCache<Triple<String, String, AtomicConstraint>, ConstraintMatrix> cm){
+        this.constraintMatrices = cm;
     }
     
-    public Map<AtomicConstraint, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>> getAtomicConstraintMeanings(){
-        return this.atomicConstraintMeanings;
+    public MeaningCache<RuleSignature, RuleEvaluation> getRuleEvaluations(){
+        return this.ruleEvaluations;
     }
     
-    public void setAtomicConstraintMeaning(Map<AtomicConstraint, Pair<Set<Pair<String, String>>, Set<Pair<String, String>>>> acsm){
-        this.atomicConstraintMeanings = acsm;
+    public void setRuleEvaluations(MeaningCache<RuleSignature, RuleEvaluation> re){
+        this.ruleEvaluations = re;
     }
     //End Thang
 }
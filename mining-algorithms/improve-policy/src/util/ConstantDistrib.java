@@ -15,13 +15,23 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
- 
-package learningdatagenerator;
 
-/**
- * This enum type represents operators in an atomic condition
- * @author ThangBui
- */
-public enum ConditionOperator {
-    IN, CONTAINS
+package util;
+
+class ConstantDistrib implements ProbabilityDistribution {
+    private int value;
+    
+    public ConstantDistrib(int value) {
+        this.value = value;
+    }
+    
+    @Override
+    public int getNextDistVal() {
+        return value;
+    }
+    
+    @Override
+    public double getProbability(int rank) {
+        return 1.0;
+    }
 }
@@ -0,0 +1,336 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import core.ConstraintOperator;
+import core.AtomicConstraint;
+
+/**
+ * ConstraintMatrix is the meaning of an atomic constraint for a pair of subject
+ * and resource types: a dense bit matrix whose bit (i, j) is set if the subject
+ * at position i of ObjectStore.getTypeObjects(subject type) and the resource at
+ * position j of ObjectStore.getTypeObjects(resource type) satisfy the constraint.
+ * Rows are stored as consecutive blocks of words, so a constraint list can be
+ * checked for one subject by ANDing the rows of the matrices of its constraints.
+ * @author Thang Bui
+ */
+public class ConstraintMatrix {
+    // shift of path table values, which are object ordinals or negative boolean values
+    private static final int VALUE_OFFSET = -PathTable.FALSE_VALUE;
+    // largest number of words of a matrix, so that the words fit in one array and the
+    // word offsets of the rows can be computed with ints
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+    private final int rowNum;
+    private final int columnNum;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * @param rowNum number of subjects
+     * @param columnNum number of resources
+     * @throws IllegalStateException if the matrix has more than MAX_WORDS words
+     */
+    public ConstraintMatrix(int rowNum, int columnNum){
+        this.rowNum = rowNum;
+        this.columnNum = columnNum;
+        this.wordsPerRow = (int) ((columnNum + 63L) >>> 6);
+        long wordNum = (long) rowNum * this.wordsPerRow;
+        if (wordNum > MAX_WORDS){
+            throw new IllegalStateException("Constraint matrix too large: " + rowNum + " subjects x " + columnNum + " resources need " + wordNum + " words, at most " + MAX_WORDS + " are supported");
+        }
+        this.words = new long[(int) wordNum];
+    }
+
+    /**
+     * This method builds the matrix of an atomic constraint. The path values of
+     * all subjects and all resources are read from the path tables of the store,
+     * and the matrix is filled by joining the subjects and the resources on the
+     * values through inverted indexes, instead of comparing the path values of
+     * every pair. The result is the same as ReBACMiner.checkSatisfyConstraint
+     * for every pair.
+     * @param store
+     * @param subType subject type
+     * @param resType resource type
+     * @param cc atomic constraint
+     * @return
+     */
+    public static ConstraintMatrix build(ObjectStore store, String subType, String resType, AtomicConstraint cc){
+        int[] subObjects = store.getTypeObjects(subType);
+        int[] resObjects = store.getTypeObjects(resType);
+        ConstraintMatrix matrix = new ConstraintMatrix(subObjects.length, resObjects.length);
+        boolean[] subUnknowns = new boolean[subObjects.length];
+        boolean[] resUnknowns = new boolean[resObjects.length];
+        int[][] subValues = getPathValues(store.getPathTable(subType, cc.getSubPath()), subUnknowns);
+        int[][] resValues = getPathValues(store.getPathTable(resType, cc.getResPath()), resUnknowns);
+        int valueNum = store.getObjectNum() + VALUE_OFFSET;
+        ConstraintOperator op = cc.getConstraintOperator();
+        boolean isNegative = cc.getIsNegative();
+
+        // resources grouped by path status: known and not empty, known and empty, unknown
+        long[] knownRes = new long[matrix.wordsPerRow];
+        long[] emptyRes = new long[matrix.wordsPerRow];
+        long[] unknownRes = new long[matrix.wordsPerRow];
+        for (int j = 0; j < resObjects.length; j++){
+            if (resUnknowns[j]){
+                unknownRes[j >>> 6] |= 1L << j;
+            }
+            else if (resValues[j].length == 0){
+                emptyRes[j >>> 6] |= 1L << j;
+            }
+            else{
+                knownRes[j >>> 6] |= 1L << j;
+            }
+        }
+
+        // rows of pairs where the operator holds on the path values, ignoring unknown and empty values
+        long[] matches = new long[matrix.words.length];
+        switch (op){
+            case CONTAINS:
+            case EQUALS_VALUE:{
+                // join the first value of each resource with the subject values
+                long[][] resByFirstValue = new long[valueNum][];
+                for (int j = 0; j < resObjects.length; j++){
+                    if (resValues[j].length > 0){
+                        setBit(resByFirstValue, resValues[j][0], j, matrix.wordsPerRow);
+                    }
+                }
+                for (int i = 0; i < subObjects.length; i++){
+                    if (subValues[i].length == 0){
+                        continue;
+                    }
+                    if (op == ConstraintOperator.EQUALS_VALUE){
+                        matrix.orRow(matches, i, resByFirstValue[subValues[i][0]]);
+                    }
+                    else{
+                        for (int v:subValues[i]){
+                            matrix.orRow(matches, i, resByFirstValue[v]);
+                        }
+                    }
+                }
+                break;
+            }
+            case IN:{
+                // join the first value of each subject with the resource values
+                long[][] resByValue = new long[valueNum][];
+                for (int j = 0; j < resObjects.length; j++){
+                    for (int v:resValues[j]){
+                        setBit(resByValue, v, j, matrix.wordsPerRow);
+                    }
+                }
+                for (int i = 0; i < subObjects.length; i++){
+                    if (subValues[i].length > 0){
+                        matrix.orRow(matches, i, resByValue[subValues[i][0]]);
+                    }
+                }
+                break;
+            }
+            case SUPSETEQ:
+            case SUBSETEQ:
+            case EQUALS_SET:{
+                // the subjects whose values contain all values of a resource are the
+                // intersection of the subjects containing each of these values, and vice versa
+                BitSet[] subByValue = new BitSet[valueNum];
+                for (int i = 0; i < subObjects.length; i++){
+                    for (int v:subValues[i]){
+                        if (subByValue[v] == null){
+                            subByValue[v] = new BitSet(subObjects.length);
+                        }
+                        subByValue[v].set(i);
+                    }
+                }
+                long[][] resByValue = new long[valueNum][];
+                for (int j = 0; j < resObjects.length; j++){
+                    for (int v:resValues[j]){
+                        setBit(resByValue, v, j, matrix.wordsPerRow);
+                    }
+                }
+                if (op != ConstraintOperator.SUBSETEQ){
+                    for (int j = 0; j < resObjects.length; j++){
+                        if (resValues[j].length == 0){
+                            continue;
+                        }
+                        BitSet supersets = null;
+                        for (int v:resValues[j]){
+                            if (subByValue[v] == null){
+                                supersets = null;
+                                break;
+                            }
+                            if (supersets == null){
+                                supersets = (BitSet) subByValue[v].clone();
+                            }
+                            else{
+                                supersets.and(subByValue[v]);
+                            }
+                        }
+                        if (supersets != null){
+                            for (int i = supersets.nextSetBit(0); i >= 0; i = supersets.nextSetBit(i + 1)){
+                                matches[i * matrix.wordsPerRow + (j >>> 6)] |= 1L << j;
+                            }
+                        }
+                    }
+                }
+                if (op != ConstraintOperator.SUPSETEQ){
+                    long[] subsets = new long[matrix.wordsPerRow];
+                    for (int i = 0; i < subObjects.length; i++){
+                        if (subValues[i].length == 0){
+                            continue;
+                        }
+                        Arrays.fill(subsets, -1L);
+                        for (int v:subValues[i]){
+                            long[] resources = resByValue[v];
+                            for (int w = 0; w < subsets.length; w++){
+                                subsets[w] &= resources == null ? 0L : resources[w];
+                            }
+                        }
+                        int base = i * matrix.wordsPerRow;
+                        for (int w = 0; w < subsets.length; w++){
+                            if (op == ConstraintOperator.EQUALS_SET){
+                                matches[base + w] &= subsets[w];
+                            }
+                            else{
+                                matches[base + w] |= subsets[w];
+                            }
+                        }
+                    }
+                }
+                break;
+            }
+        }
+
+        // combine the matches with the treatment of unknown and empty path values
+        boolean unknownMatches = op == ConstraintOperator.CONTAINS || op == ConstraintOperator.IN;
+        for (int i = 0; i < subObjects.length; i++){
+            int base = i * matrix.wordsPerRow;
+            for (int w = 0; w < matrix.wordsPerRow; w++){
+                long row;
+                if (subUnknowns[i]){
+                    row = unknownMatches ? matches[base + w] : 0L;
+                }
+                else if (subValues[i].length == 0){
+                    row = isNegative ? (knownRes[w] | emptyRes[w]) : 0L;
+                }
+                else{
+                    long known = isNegative ? ~matches[base + w] : matches[base + w];
+                    row = (knownRes[w] & known) | (isNegative ? emptyRes[w] : 0L);
+                    if (unknownMatches){
+                        row |= unknownRes[w] & matches[base + w];
+                    }
+                }
+                matrix.words[base + w] = row;
+            }
+            matrix.clearTail(i);
+        }
+        return matrix;
+    }
+
+    /**
+     * This method copies the values of a path table, shifted by VALUE_OFFSET so that they can index arrays
+     * @param table
+     * @param unknowns set to true for rows whose path reaches an unknown value
+     * @return
+     */
+    private static int[][] getPathValues(PathTable table, boolean[] unknowns){
+        int[][] results = new int[table.getRowNum()][];
+        for (int i = 0; i < results.length; i++){
+            unknowns[i] = table.isUnknown(i);
+            results[i] = new int[table.getValueNum(i)];
+            for (int k = 0; k < results[i].length; k++){
+                results[i][k] = table.getValue(table.getValueStart(i) + k) + VALUE_OFFSET;
+            }
+        }
+        return results;
+    }
+
+    private static void setBit(long[][] rows, int row, int bit, int wordsPerRow){
+        if (rows[row] == null){
+            rows[row] = new long[wordsPerRow];
+        }
+        rows[row][bit >>> 6] |= 1L << bit;
+    }
+
+    private void orRow(long[] target, int row, long[] bits){
+        if (bits == null){
+            return;
+        }
+        int base = row * this.wordsPerRow;
+        for (int w = 0; w < this.wordsPerRow; w++){
+            target[base + w] |= bits[w];
+        }
+    }
+
+    private void clearTail(int row){
+        int tail = this.columnNum & 63;
+        if (tail != 0){
+            this.words[row * this.wordsPerRow + this.wordsPerRow - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    /**
+     * @param i subject position
+     * @param j resource position
+     * @return true if the subject and the resource satisfy the constraint
+     */
+    public boolean get(int i, int j){
+        return (this.words[i * this.wordsPerRow + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    /**
+     * This method ANDs a row of the matrix into a row of resource bits
+     * @param i subject position
+     * @param row resource bits with getWordsPerRow() words
+     */
+    public void andRow(int i, long[] row){
+        int base = i * this.wordsPerRow;
+        for (int w = 0; w < this.wordsPerRow; w++){
+            row[w] &= this.words[base + w];
+        }
+    }
+
+    /**
+     * This method ANDs the complement of a row of the matrix into a row of resource bits
+     * @param i subject position
+     * @param row resource bits with getWordsPerRow() words
+     */
+    public void andNotRow(int i, long[] row){
+        int base = i * this.wordsPerRow;
+        for (int w = 0; w < this.wordsPerRow; w++){
+            row[w] &= ~this.words[base + w];
+        }
+    }
+
+    // Accessor methods
+    public int getRowNum(){
+        return this.rowNum;
+    }
+    public int getColumnNum(){
+        return this.columnNum;
+    }
+    public int getWordsPerRow(){
+        return this.wordsPerRow;
+    }
+    /**
+     * @return estimated heap size of the matrix in bytes
+     */
+    public long getByteSize(){
+        return 40 + 16 + 8L * this.words.length;
+    }
+}
@@ -0,0 +1,359 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import core.Class1;
+import core.FieldType;
+import core.ModelParser;
+import core.Object1;
+import core.Pair;
+import core.Triple;
+import core.Rule;
+
+/**
+ * DatasetSnapshot is a binary snapshot of a parsed .abac_txt file, stored next to
+ * the file as <file>.snapshot. It holds the class and rule definition lines, the
+ * columns of the ObjectStore, the UP relation of each rule and the UP list, and
+ * it is keyed by the SHA-256 hash of the source file. Loading a snapshot replaces
+ * parsing the object lines and computing the UP relation; the other indexes are
+ * derived from the loaded models as in Parser.parseInputFile.
+ *
+ * Format (big-endian): magic, version, hash, definition lines, object store,
+ * UP relation of each rule of the rule model (count of computed UP tuples and the
+ * set of tuples), UP list. Strings are UTF-8 with an int length, int arrays and
+ * bitsets are prefixed with their length, and UP tuples are (subject ordinal,
+ * resource ordinal, action index). The file is read through a memory mapping.
+ * @author Thang Bui
+ */
+public class DatasetSnapshot {
+    private static final int MAGIC = 0x52424153;
+    // incremented whenever the format or the content of a snapshot changes
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".snapshot";
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * @param inputFile
+     * @return path of the snapshot of an input file
+     */
+    public static String getSnapshotPath(String inputFile){
+        return inputFile + SUFFIX;
+    }
+
+    /**
+     * This method loads the snapshot of an input file into the config, if the
+     * snapshot exists and was written from the current content of the file
+     * @param inputFile
+     * @param config config that has not been filled by a parser yet
+     * @return true if the snapshot was loaded
+     */
+    public static boolean read(String inputFile, Config config){
+        File file = new File(getSnapshotPath(inputFile));
+        if (!file.isFile()){
+            return false;
+        }
+        try{
+            RandomAccessFile snapshot = new RandomAccessFile(file, "r");
+            try{
+                FileChannel channel = snapshot.getChannel();
+                ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (in.remaining() < 8 + 32 || in.getInt() != MAGIC || in.getInt() != VERSION){
+                    return false;
+                }
+                byte[] hash = new byte[32];
+                in.get(hash);
+                if (!Arrays.equals(hash, hashFile(inputFile))){
+                    return false;
+                }
+                readModels(in, config);
+                return true;
+            }
+            finally{
+                snapshot.close();
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+            return false;
+        }
+        catch (RuntimeException e){
+            // a damaged snapshot or one written with another layout under the same version
+            System.out.println("Ignoring invalid snapshot " + file.getPath() + ": " + e);
+            return false;
+        }
+    }
+
+    /**
+     * This method decodes the models of a snapshot into temporaries and fills the
+     * config only after the whole snapshot has been decoded, so that a decode error
+     * leaves the config untouched
+     * @param in snapshot positioned after the header
+     * @param config
+     */
+    private static void readModels(ByteBuffer in, Config config){
+        // class and rule models
+        Map<String, Class1> classModel = new HashMap<String, Class1>();
+        LinkedList<Rule> ruleModel = new LinkedList<Rule>();
+        ArrayList<String[]> classLines = new ArrayList<String[]>();
+        int lineNum = in.getInt();
+        for (int i = 0; i < lineNum; i++){
+            Parser.processDefinitionLine(readString(in), classModel, ruleModel, classLines);
+        }
+        Map<String, Map<String, FieldType>> classAttributes = ModelParser.computeClassAttributes(classModel);
+
+        // object model
+        Map<String, Object1> objectModel = new HashMap<String, Object1>();
+        ObjectStore store = ObjectStore.read(in, objectModel, classModel, classAttributes);
+
+        // UP relation
+        String[] actions = new String[readLength(in, 4)];
+        for (int i = 0; i < actions.length; i++){
+            actions[i] = readString(in);
+        }
+        Map<Rule, Set<Triple<String, String, String>>> upRelation = new HashMap<Rule, Set<Triple<String, String, String>>>();
+        ArrayList<Pair<Integer, Rule>> ruleUPList = new ArrayList<Pair<Integer, Rule>>();
+        for (Rule r:ruleModel){
+            int countUP = in.getInt();
+            int upNum = readLength(in, 12);
+            Set<Triple<String, String, String>> upRelations = new HashSet<Triple<String, String, String>>();
+            for (int k = 0; k < upNum; k++){
+                upRelations.add(readTriple(in, store, actions));
+            }
+            ruleUPList.add(new Pair<Integer, Rule>(countUP, r));
+            upRelation.put(r, upRelations);
+        }
+        int upNum = readLength(in, 12);
+        ArrayList<Triple<String, String, String>> upList = new ArrayList<Triple<String, String, String>>(upNum);
+        for (int k = 0; k < upNum; k++){
+            upList.add(readTriple(in, store, actions));
+        }
+        if (in.hasRemaining()){
+            throw new IllegalStateException(in.remaining() + " trailing bytes");
+        }
+
+        config.getClassModel().putAll(classModel);
+        config.getRuleModel().addAll(ruleModel);
+        config.getClassAttributes().putAll(classAttributes);
+        config.getObjectModel().putAll(objectModel);
+        Parser.computeObjectList(config);
+        config.setObjectStore(store);
+        Parser.computeAdjacencyList(config);
+        config.setRuleListWithUP(ruleUPList);
+        Collections.sort(ruleUPList);
+        for (Pair<Integer, Rule> entry:config.getRuleListWithUP()){
+            System.out.println(entry);
+        }
+        config.setUPRelation(upRelation);
+        Parser.computeUPIndexes(config, upList);
+    }
+
+    /**
+     * This method writes the snapshot of an input file parsed into the config
+     * @param inputFile
+     * @param definitionLines class, end of class model and rule lines of the file, in order
+     * @param config
+     */
+    public static void write(String inputFile, ArrayList<String> definitionLines, Config config){
+        File file = new File(getSnapshotPath(inputFile));
+        File temp = new File(file.getPath() + ".tmp");
+        try{
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16));
+            try{
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.write(hashFile(inputFile));
+                out.writeInt(definitionLines.size());
+                for (String line:definitionLines){
+                    writeString(out, line);
+                }
+                ObjectStore store = config.getObjectStore();
+                store.write(out);
+
+                Map<String, Integer> actionIndex = new HashMap<String, Integer>();
+                ArrayList<String> actions = new ArrayList<String>();
+                for (Triple<String, String, String> up:config.getUPList()){
+                    if (!actionIndex.containsKey(up.getThird())){
+                        actionIndex.put(up.getThird(), actions.size());
+                        actions.add(up.getThird());
+                    }
+                }
+                for (Rule r:config.getRuleModel()){
+                    for (String action:r.getActions()){
+                        if (!actionIndex.containsKey(action)){
+                            actionIndex.put(action, actions.size());
+                            actions.add(action);
+                        }
+                    }
+                }
+                out.writeInt(actions.size());
+                for (String action:actions){
+                    writeString(out, action);
+                }
+                Map<Rule, Integer> countUPs = new HashMap<Rule, Integer>();
+                for (Pair<Integer, Rule> entry:config.getRuleListWithUP()){
+                    countUPs.put(entry.getSecond(), entry.getFirst());
+                }
+                for (Rule r:config.getRuleModel()){
+                    Set<Triple<String, String, String>> upRelations = config.getUPRelation().get(r);
+                    out.writeInt(countUPs.get(r));
+                    out.writeInt(upRelations.size());
+                    for (Triple<String, String, String> up:upRelations){
+                        writeTriple(out, up, store, actionIndex);
+                    }
+                }
+                out.writeInt(config.getUPList().size());
+                for (Triple<String, String, String> up:config.getUPList()){
+                    writeTriple(out, up, store, actionIndex);
+                }
+            }
+            finally{
+                out.close();
+            }
+            if (file.exists() && !file.delete()){
+                throw new IOException("Cannot replace " + file.getPath());
+            }
+            if (!temp.renameTo(file)){
+                throw new IOException("Cannot rename " + temp.getPath());
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+            temp.delete();
+        }
+    }
+
+    /**
+     * This method computes the SHA-256 hash of the content of a file
+     * @param inputFile
+     * @return
+     * @throws IOException
+     */
+    public static byte[] hashFile(String inputFile) throws IOException{
+        MessageDigest digest;
+        try{
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e){
+            throw new IOException(e.getMessage());
+        }
+        FileInputStream in = new FileInputStream(inputFile);
+        try{
+            byte[] buffer = new byte[1 << 16];
+            int n;
+            while ((n = in.read(buffer)) > 0){
+                digest.update(buffer, 0, n);
+            }
+        }
+        finally{
+            in.close();
+        }
+        return digest.digest();
+    }
+
+    private static void writeTriple(DataOutputStream out, Triple<String, String, String> up, ObjectStore store, Map<String, Integer> actionIndex) throws IOException{
+        out.writeInt(store.getObjectOrdinal(up.getFirst()));
+        out.writeInt(store.getObjectOrdinal(up.getSecond()));
+        out.writeInt(actionIndex.get(up.getThird()));
+    }
+
+    private static Triple<String, String, String> readTriple(ByteBuffer in, ObjectStore store, String[] actions){
+        String sub = store.getObjectId(in.getInt());
+        String res = store.getObjectId(in.getInt());
+        return new Triple<String, String, String>(sub, res, actions[in.getInt()]);
+    }
+
+    static void writeString(DataOutputStream out, String s) throws IOException{
+        byte[] bytes = s.getBytes(UTF8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * This method reads the length of an array and checks that the rest of the
+     * snapshot can hold that many elements
+     * @param in
+     * @param elementSize size of an element in bytes
+     * @return
+     */
+    static int readLength(ByteBuffer in, int elementSize){
+        int length = in.getInt();
+        if (length < 0 || (long) length * elementSize > in.remaining()){
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    static String readString(ByteBuffer in){
+        byte[] bytes = new byte[readLength(in, 1)];
+        in.get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    static void writeInts(DataOutputStream out, int[] values) throws IOException{
+        out.writeInt(values.length);
+        for (int v:values){
+            out.writeInt(v);
+        }
+    }
+
+    static int[] readInts(ByteBuffer in){
+        int[] values = new int[readLength(in, 4)];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + 4 * values.length);
+        return values;
+    }
+
+    static void writeBits(DataOutputStream out, BitSet bits) throws IOException{
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long w:words){
+            out.writeLong(w);
+        }
+    }
+
+    static BitSet readBits(ByteBuffer in){
+        long[] words = new long[readLength(in, 8)];
+        in.asLongBuffer().get(words);
+        in.position(in.position() + 8 * words.length);
+        return BitSet.valueOf(words);
+    }
+}
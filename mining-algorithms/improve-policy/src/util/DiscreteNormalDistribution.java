@@ -66,12 +66,20 @@ public class DiscreteNormalDistribution implements ProbabilityDistribution {
     
     public int getNextDistVal() {
         double rnd = randomGen.nextDouble();
-        int i = N1;
-        // find the "bucket" in the cdf that rnd is in.
-        while (rnd > cdf[i - N1] && i < N2) {
-            i++;
+        // find the "bucket" in the cdf that rnd is in: the first i such that
+        // rnd <= cdf[i - N1], by binary search since the cdf is non-decreasing.
+        int low = 0;
+        int high = N2 - N1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rnd > cdf[mid]) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
         }
-        return i;
+        return low + N1;
     }
     
     // return next value, restricted to be one of the values in vals.
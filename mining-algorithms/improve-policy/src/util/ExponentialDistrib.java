@@ -0,0 +1,62 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package util;
+
+import org.apache.commons.math.MathException;
+import org.apache.commons.math.distribution.ExponentialDistributionImpl;
+
+class ExponentialDistrib implements ProbabilityDistribution {
+    double lambda;
+    private ExponentialDistributionImpl edmp;
+    
+    public ExponentialDistrib(double mean) {
+        edmp = new ExponentialDistributionImpl(mean);
+    }
+    
+    // set seed of pseudorandom number generator used in sample() and getNextDistVal().
+    public void setSeed(long seed) {
+        edmp.reseedRandomGenerator(seed);
+    }
+    
+    public double sample() {
+        try {
+            return edmp.sample();
+        } catch (MathException e) {
+            e.printStackTrace();
+        }
+        
+        return -1.0;
+    }
+    
+    @Override
+    public int getNextDistVal() {
+        try {
+            return (int) edmp.sample();
+        } catch (MathException e) {
+            e.printStackTrace();
+        }
+        
+        return -1;
+    }
+    
+    @Override
+    public double getProbability(int rank) {
+        return 0;
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MeaningCache is a size-aware LRU cache used for the condition and constraint
+ * meaning maps in Config. Each entry has an estimated weight in bytes. When the
+ * total weight exceeds the byte budget, the least recently used entries are
+ * evicted. Hits, misses and evictions are counted for the output report.
+ * The entries are kept in a private access-ordered LinkedHashMap, and only the
+ * operations below are exposed, so that every change goes through the weight
+ * accounting. The cache operations are synchronized, so a cache can be shared
+ * by threads that simplify rules in parallel. Cached values must not be
+ * modified after they are put.
+ * @author Thang Bui
+ */
+public class MeaningCache<K, V> {
+
+    /**
+     * Estimates the heap size of a cache entry in bytes
+     */
+    public interface Weigher<K, V> {
+        long weigh(K key, V value);
+    }
+
+    private final String name;
+    // entries in order of access, least recently used first
+    private final LinkedHashMap<K, V> entries;
+    private final Weigher<K, V> weigher;
+    private long budget;
+    private long weight;
+    private final Map<K, Long> entryWeights;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param name name of the cache used in the report
+     * @param initialCapacity
+     * @param budget maximum total weight in bytes
+     * @param weigher estimates the weight of an entry
+     */
+    public MeaningCache(String name, int initialCapacity, long budget, Weigher<K, V> weigher){
+        this.entries = new LinkedHashMap<K, V>(initialCapacity, 0.75f, true);
+        this.name = name;
+        this.budget = budget;
+        this.weigher = weigher;
+        this.entryWeights = new HashMap<K, Long>(initialCapacity);
+    }
+
+    public synchronized V get(K key){
+        V value = this.entries.get(key);
+        if (value != null){
+            this.hitCount++;
+        }
+        else{
+            this.missCount++;
+        }
+        return value;
+    }
+
+    public synchronized V put(K key, V value){
+        V old = this.entries.put(key, value);
+        setWeight(key, this.weigher.weigh(key, value));
+        evict(key);
+        return old;
+    }
+
+    public synchronized boolean containsKey(K key){
+        return this.entries.containsKey(key);
+    }
+
+    public synchronized V remove(K key){
+        V old = this.entries.remove(key);
+        Long w = this.entryWeights.remove(key);
+        if (w != null){
+            this.weight -= w;
+        }
+        return old;
+    }
+
+    public synchronized void clear(){
+        this.entries.clear();
+        this.entryWeights.clear();
+        this.weight = 0;
+    }
+
+    /**
+     * This method recomputes the weight of an entry whose value was modified
+     * in place, and evicts entries if the cache is over budget.
+     * @param key
+     */
+    public synchronized void reweigh(K key){
+        V value = this.entries.get(key);
+        if (value != null){
+            setWeight(key, this.weigher.weigh(key, value));
+            evict(key);
+        }
+    }
+
+    private void setWeight(K key, long w){
+        Long old = this.entryWeights.put(key, w);
+        if (old != null){
+            this.weight -= old;
+        }
+        this.weight += w;
+    }
+
+    /**
+     * This method evicts least recently used entries until the cache fits its
+     * budget. The entry that was just used is never evicted.
+     * @param keep key of the entry that was just used
+     */
+    private void evict(K keep){
+        if (this.weight <= this.budget){
+            return;
+        }
+        Iterator<Map.Entry<K, V>> iterator = this.entries.entrySet().iterator();
+        while (this.weight > this.budget && iterator.hasNext()){
+            K key = iterator.next().getKey();
+            if (key.equals(keep)){
+                continue;
+            }
+            iterator.remove();
+            Long w = this.entryWeights.remove(key);
+            if (w != null){
+                this.weight -= w;
+            }
+            this.evictionCount++;
+        }
+    }
+
+    public synchronized int size(){
+        return this.entries.size();
+    }
+
+    // Accessor and mutator methods
+    public String getName(){
+        return this.name;
+    }
+    public long getBudget(){
+        return this.budget;
+    }
+    public synchronized void setBudget(long budget){
+        this.budget = budget;
+        evict(null);
+    }
+    public long getWeight(){
+        return this.weight;
+    }
+    public long getHitCount(){
+        return this.hitCount;
+    }
+    public long getMissCount(){
+        return this.missCount;
+    }
+    public long getEvictionCount(){
+        return this.evictionCount;
+    }
+
+    /**
+     * @return one line summary of the cache statistics
+     */
+    public synchronized String getStats(){
+        return this.name + ": entries=" + size() + ", weight=" + this.weight + "B, budget=" + this.budget
+                + "B, hits=" + this.hitCount + ", misses=" + this.missCount + ", evictions=" + this.evictionCount;
+    }
+}
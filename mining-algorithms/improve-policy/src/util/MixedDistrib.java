@@ -0,0 +1,49 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package util;
+
+import java.util.Random;
+
+class MixedDistrib implements ProbabilityDistribution {
+    private double probability;
+    private Random rnd;
+    private UniformDistrib uniformDist;
+    
+    public MixedDistrib(double probability, int size, long seed) {
+        uniformDist = new UniformDistrib(0, size - 1 , seed);
+        rnd = new Random(seed);
+        this.probability = probability;
+    }
+    
+    @Override
+    public int getNextDistVal() {
+        double d = rnd.nextDouble();
+        if (d <= probability)
+            return 1;
+        else
+            return uniformDist.getNextDistVal() + 2;
+        
+    }
+    
+    @Override
+    public double getProbability(int rank) {
+        return 0;
+    }
+    
+}
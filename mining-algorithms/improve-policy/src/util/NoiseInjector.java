@@ -0,0 +1,182 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import core.Triple;
+
+/**
+ * NoiseInjector adds over-assignment and under-assignment noise to the UP list of
+ * a config. The sampling domains (the subjects, resources and actions of the UP
+ * list, and the distinct UP triples) are built once per injection and sorted, objects
+ * by their ordinal in the ObjectStore and actions by name, so that they do not depend
+ * on the order of the UP list, which follows hashing. Membership is checked with the
+ * UP index, and all random choices are drawn from generators seeded with the given
+ * seed, so that the same seed and attribute dataset give the same noise.
+ * @author Thang Bui
+ */
+public class NoiseInjector {
+    private final Config config;
+    private final long seed;
+
+    /**
+     * @param config config whose UP list and UP index have been computed
+     * @param seed seed of the random choices
+     */
+    public NoiseInjector(Config config, long seed){
+        this.config = config;
+        this.seed = seed;
+    }
+
+    /**
+     * This method adds over-assignment noise until the over-assignment set has
+     * 5/6 * noiseLevel * |UP| triples. The subject, resource and action of a noise
+     * triple are drawn from discrete normal distributions over the subjects,
+     * resources and actions of the UP list, in order of object ordinal and action name.
+     * @param noiseLevel
+     */
+    public void addOverassignmentNoise(double noiseLevel){
+        int numNoise = (int) ((5 * this.config.getUPList().size() * noiseLevel)/6);
+        ArrayList<String> subs = new ArrayList<String>();
+        ArrayList<String> ress = new ArrayList<String>();
+        ArrayList<String> ops = new ArrayList<String>();
+        collectDomains(subs, ress, ops);
+        if (subs.isEmpty()){
+            return;
+        }
+        DiscreteNormalDistribution subDist = createDistribution(subs.size(), this.seed);
+        DiscreteNormalDistribution resDist = createDistribution(ress.size(), this.seed + 1);
+        DiscreteNormalDistribution opDist = createDistribution(ops.size(), this.seed + 2);
+        UPIndex upIndex = this.config.getUPIndex();
+        // number of triples of the domains that are not in the UP list yet
+        long available = (long) subs.size() * ress.size() * ops.size() - upIndex.size();
+        while (this.config.getOverassignmentUP().size() < numNoise && available > 0) {
+            Triple<String, String, String> up = new Triple<String, String, String>(
+                    subs.get(subDist.getNextDistVal()), ress.get(resDist.getNextDistVal()), ops.get(opDist.getNextDistVal()));
+            if (!upIndex.contains(up)) {
+                this.config.getOverassignmentUP().add(up);
+                this.config.addUP(up);
+                available--;
+            }
+        }
+    }
+
+    /**
+     * This method adds under-assignment noise until the under-assignment set has
+     * noiseLevel/6 * |UP| triples. The noise triples are drawn uniformly without
+     * replacement from the distinct triples of the UP list, sorted by subject ordinal,
+     * resource ordinal and action, and are removed from the UP list in one pass.
+     * @param noiseLevel
+     */
+    public void addUnderassignmentNoise(double noiseLevel){
+        int numNoise = (int) ((this.config.getUPList().size() * noiseLevel)/6);
+        ArrayList<Triple<String, String, String>> candidates = new ArrayList<Triple<String, String, String>>(
+                new HashSet<Triple<String, String, String>>(this.config.getUPList()));
+        final ObjectStore store = this.config.getObjectStore();
+        Collections.sort(candidates, new Comparator<Triple<String, String, String>>(){
+            @Override
+            public int compare(Triple<String, String, String> up1, Triple<String, String, String> up2){
+                int c = Integer.compare(store.getObjectOrdinal(up1.getFirst()), store.getObjectOrdinal(up2.getFirst()));
+                if (c == 0){
+                    c = Integer.compare(store.getObjectOrdinal(up1.getSecond()), store.getObjectOrdinal(up2.getSecond()));
+                }
+                if (c == 0){
+                    c = up1.getThird().compareTo(up2.getThird());
+                }
+                return c;
+            }
+        });
+        Random random = new Random(this.seed);
+        ArrayList<Triple<String, String, String>> removed = new ArrayList<Triple<String, String, String>>();
+        int size = candidates.size();
+        while (this.config.getUnderassignmentUP().size() < numNoise && size > 0) {
+            int k = random.nextInt(size);
+            Triple<String, String, String> up = candidates.get(k);
+            candidates.set(k, candidates.get(--size));
+            if (this.config.getUnderassignmentUP().add(up)){
+                removed.add(up);
+            }
+        }
+        this.config.removeUPs(removed);
+    }
+
+    /**
+     * This method writes the noise of the config to a noise data file, in the format
+     * read by Parser.parseNoiseDataFile
+     * @param outputFile
+     */
+    public void writeNoiseDataFile(String outputFile){
+        try{
+            BufferedWriter outputWriter = new BufferedWriter(new FileWriter(outputFile));
+            try{
+                outputWriter.write("# Under Assignment Tuples\n");
+                for (Triple<String, String, String> up:this.config.getUnderassignmentUP()){
+                    outputWriter.write(up + "\n");
+                }
+                outputWriter.write("# Over Assignment Tuples\n");
+                for (Triple<String, String, String> up:this.config.getOverassignmentUP()){
+                    outputWriter.write(up + "\n");
+                }
+            }
+            finally{
+                outputWriter.close();
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private void collectDomains(ArrayList<String> subs, ArrayList<String> ress, ArrayList<String> ops){
+        final ObjectStore store = this.config.getObjectStore();
+        Comparator<String> byOrdinal = new Comparator<String>(){
+            @Override
+            public int compare(String id1, String id2){
+                return Integer.compare(store.getObjectOrdinal(id1), store.getObjectOrdinal(id2));
+            }
+        };
+        Set<String> subSet = new TreeSet<String>(byOrdinal);
+        Set<String> resSet = new TreeSet<String>(byOrdinal);
+        Set<String> opSet = new TreeSet<String>();
+        for (Triple<String, String, String> up:this.config.getUPList()){
+            subSet.add(up.getFirst());
+            resSet.add(up.getSecond());
+            opSet.add(up.getThird());
+        }
+        subs.addAll(subSet);
+        ress.addAll(resSet);
+        ops.addAll(opSet);
+    }
+
+    private static DiscreteNormalDistribution createDistribution(int size, long seed){
+        DiscreteNormalDistribution dist = new DiscreteNormalDistribution(0, size - 1, size/2.0, size/2.0);
+        dist.setSeed(seed);
+        return dist;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package util;
+
+class NormalDistribution implements ProbabilityDistribution {
+    private org.apache.commons.math3.distribution.NormalDistribution normalDist;
+    private double min, max;
+    
+    public NormalDistribution(double min, double max, double mean, double sigma) {
+        normalDist =
+                new org.apache.commons.math3.distribution.NormalDistribution(mean, sigma);
+        this.min = min;
+        this.max = max;
+    }
+    
+    // set seed of pseudorandom number generator used in nextValue().
+    public void setSeed(long seed) {
+        normalDist.reseedRandomGenerator(seed);
+    }
+    
+    public double nextValue() {
+        double x = normalDist.sample();
+        while (x < min || x > max) {
+            x = normalDist.sample();
+        }
+        return x;
+    }
+    
+    // returns nextValue() rounded to the nearest integer.
+    @Override
+    public int getNextDistVal(){
+        return (int) Math.round(nextValue());
+    }
+    
+    @Override
+    //Not Implemented
+    public double getProbability(int rank) {
+        return 0;
+    }
+}
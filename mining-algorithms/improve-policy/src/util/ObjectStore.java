@@ -0,0 +1,650 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import core.FieldType.Multiplicity;
+import core.Class1;
+import core.FieldType;
+import core.FieldValue;
+import core.Object1;
+import core.ObjectSource;
+import core.Pair;
+import core.Triple;
+
+/**
+ * ObjectStore is the columnar representation of the object model. Every object
+ * id, class name and attribute name is interned to a dense int when the store
+ * is built. The attribute values of each class are kept in primitive columns:
+ * int[] for ONE/OPTIONAL attributes, CSR offsets/targets for MANY attributes,
+ * and BitSets for boolean values and unknown values.
+ * @author Thang Bui
+ */
+public class ObjectStore implements ObjectSource {
+    // value stored in single-valued columns for null and unknown values
+    public static final int NULL_VALUE = -1;
+
+    // objects indexed by ordinal
+    private Object1[] objects;
+    // interned object ids
+    private String[] objectIds;
+    private Map<String, Integer> objectIndex;
+    // class ordinal of each object and its row in the columns of that class
+    private int[] objectClass;
+    private int[] objectRow;
+    // interned class names
+    private String[] classNames;
+    private Map<String, Integer> classIndex;
+    // interned attribute names
+    private String[] attributeNames;
+    private Map<String, Integer> attributeIndex;
+    // object ordinals of each class (exact type), indexed by row
+    private int[][] classObjects;
+    // object ordinals of each type (the class and its subclasses), in ascending order.
+    // Positions in these arrays are the bit indexes of per-type bitmaps.
+    private int[][] typeObjects;
+    // columns[class ordinal][attribute ordinal], null if the class does not have the attribute
+    private Column[][] columns;
+    // path tables keyed by (class ordinal, path), and the tables of path prefixes they are joined from.
+    // They are bounded by the share of the meaning cache budget set by Config.
+    private MeaningCache<Pair<Integer, List<String>>, PathTable> pathTables = new MeaningCache<Pair<Integer, List<String>>, PathTable>("pathTables", 64, Runtime.getRuntime().maxMemory() / 20, new PathTableWeigher());
+    private MeaningCache<Pair<Integer, List<String>>, PathTable> pathPrefixTables = new MeaningCache<Pair<Integer, List<String>>, PathTable>("pathPrefixTables", 64, Runtime.getRuntime().maxMemory() / 20, new PathTableWeigher());
+
+    /**
+     * A column stores the values of one attribute for all objects of one class.
+     */
+    public static class Column {
+        private final FieldType type;
+        // class ordinal of the attribute type, -1 for boolean attributes
+        private final int targetClass;
+        // ONE/OPTIONAL: value ordinal of each row
+        private int[] values;
+        // MANY: values of row i are targets[offsets[i]] ... targets[offsets[i+1] - 1]
+        private int[] offsets;
+        private int[] targets;
+        // MANY: rows whose value is a set (not null)
+        private BitSet present;
+        // Boolean: rows whose value is true
+        private BitSet bools;
+        // rows whose value is unknown
+        private BitSet unknowns;
+
+        Column(FieldType type, int targetClass, int rowNum){
+            this.type = type;
+            this.targetClass = targetClass;
+            this.unknowns = new BitSet(rowNum);
+            if (type.getIsBoolean()){
+                this.bools = new BitSet(rowNum);
+            }
+            else if (type.getMultiplicity() == Multiplicity.MANY){
+                this.offsets = new int[rowNum + 1];
+                this.targets = new int[0];
+                this.present = new BitSet(rowNum);
+            }
+            else{
+                this.values = new int[rowNum];
+                Arrays.fill(this.values, NULL_VALUE);
+            }
+        }
+
+        public FieldType getType(){
+            return this.type;
+        }
+        public int getTargetClass(){
+            return this.targetClass;
+        }
+        public boolean isBoolean(){
+            return this.type.getIsBoolean();
+        }
+        public boolean isMany(){
+            return !this.type.getIsBoolean() && this.type.getMultiplicity() == Multiplicity.MANY;
+        }
+        public boolean isUnknown(int row){
+            return this.unknowns.get(row);
+        }
+        public boolean getBool(int row){
+            return this.bools.get(row);
+        }
+        public int getValue(int row){
+            return this.values[row];
+        }
+        public int getValueStart(int row){
+            return this.offsets[row];
+        }
+        public int getValueEnd(int row){
+            return this.offsets[row + 1];
+        }
+        public int getTarget(int index){
+            return this.targets[index];
+        }
+        public boolean isPresent(int row){
+            return this.present.get(row);
+        }
+    }
+
+    /**
+     * This method builds the store from the parsed object model. The class
+     * attributes map must be computed before calling this method.
+     * @param objects object model
+     * @param classes class model
+     * @param classAttributes all attributes (including inherited ones) of each class
+     * @return the columnar store of the object model
+     */
+    public static ObjectStore build(Map<String, Object1> objects, Map<String, Class1> classes, Map<String, Map<String, FieldType>> classAttributes){
+        ObjectStore store = new ObjectStore();
+        store.internNames(classes, classAttributes);
+
+        // intern object ids, grouped by class
+        store.allocateObjects(objects.size());
+        int[] classSizes = new int[store.classNames.length];
+        int ordinal = 0;
+        for (Object1 obj:objects.values()){
+            store.internObject(ordinal, obj, classSizes);
+            ordinal++;
+        }
+        store.createIndexes(classes, classAttributes, classSizes);
+
+        // fill columns
+        for (int c = 0; c < store.classNames.length; c++){
+            for (int a = 0; a < store.attributeNames.length; a++){
+                Column column = store.columns[c][a];
+                if (column == null){
+                    continue;
+                }
+                String attribute = store.attributeNames[a];
+                int[] rows = store.classObjects[c];
+                if (column.isMany()){
+                    int count = 0;
+                    for (int row = 0; row < rows.length; row++){
+                        Set<String> valueSet = objects.get(store.objectIds[rows[row]]).getData().get(attribute).getSetObjId();
+                        if (valueSet != null){
+                            count += valueSet.size();
+                        }
+                    }
+                    column.targets = new int[count];
+                }
+                int next = 0;
+                for (int row = 0; row < rows.length; row++){
+                    FieldValue value = objects.get(store.objectIds[rows[row]]).getData().get(attribute);
+                    if (value.getIsUnknown()){
+                        column.unknowns.set(row);
+                    }
+                    if (column.isBoolean()){
+                        if (value.getBool()){
+                            column.bools.set(row);
+                        }
+                    }
+                    else if (column.isMany()){
+                        column.offsets[row] = next;
+                        // keep the iteration order of the parsed set so path values come out in the same order
+                        if (value.getSetObjId() != null){
+                            column.present.set(row);
+                            for (String id:value.getSetObjId()){
+                                column.targets[next++] = store.objectIndex.get(id);
+                            }
+                        }
+                    }
+                    else if (value.getObjId() != null){
+                        column.values[row] = store.objectIndex.get(value.getObjId());
+                    }
+                }
+                if (column.isMany()){
+                    column.offsets[rows.length] = next;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * This method interns class names and attribute names in sorted order so that ordinals do not depend on hashing
+     * @param classes
+     * @param classAttributes
+     */
+    private void internNames(Map<String, Class1> classes, Map<String, Map<String, FieldType>> classAttributes){
+        TreeSet<String> sortedClasses = new TreeSet<String>(classes.keySet());
+        TreeSet<String> sortedAttributes = new TreeSet<String>();
+        for (String className:sortedClasses){
+            sortedAttributes.addAll(classAttributes.get(className).keySet());
+        }
+        this.classNames = sortedClasses.toArray(new String[0]);
+        this.classIndex = new HashMap<String, Integer>();
+        for (int i = 0; i < this.classNames.length; i++){
+            this.classIndex.put(this.classNames[i], i);
+        }
+        this.attributeNames = sortedAttributes.toArray(new String[0]);
+        this.attributeIndex = new HashMap<String, Integer>();
+        for (int i = 0; i < this.attributeNames.length; i++){
+            this.attributeIndex.put(this.attributeNames[i], i);
+        }
+    }
+
+    private void allocateObjects(int objectNum){
+        this.objects = new Object1[objectNum];
+        this.objectIds = new String[objectNum];
+        this.objectIndex = new HashMap<String, Integer>(objectNum * 2);
+        this.objectClass = new int[objectNum];
+        this.objectRow = new int[objectNum];
+    }
+
+    /**
+     * This method interns an object
+     * @param ordinal
+     * @param obj
+     * @param classSizes number of objects interned so far for each class, incremented for the class of the object
+     */
+    private void internObject(int ordinal, Object1 obj, int[] classSizes){
+        int classOrdinal = this.classIndex.get(obj.getClass1());
+        this.objects[ordinal] = obj;
+        this.objectIds[ordinal] = obj.getId();
+        this.objectIndex.put(obj.getId(), ordinal);
+        this.objectClass[ordinal] = classOrdinal;
+        this.objectRow[ordinal] = classSizes[classOrdinal]++;
+    }
+
+    /**
+     * This method computes the objects of each class and type, and creates the empty columns
+     * @param classes
+     * @param classAttributes
+     * @param classSizes number of objects of each class
+     */
+    private void createIndexes(Map<String, Class1> classes, Map<String, Map<String, FieldType>> classAttributes, int[] classSizes){
+        int objectNum = this.objects.length;
+        this.classObjects = new int[this.classNames.length][];
+        for (int c = 0; c < this.classNames.length; c++){
+            this.classObjects[c] = new int[classSizes[c]];
+        }
+        for (int o = 0; o < objectNum; o++){
+            this.classObjects[this.objectClass[o]][this.objectRow[o]] = o;
+        }
+        // Note that in our current case study, we only have 1-level inheritance.
+        int[] typeSizes = Arrays.copyOf(classSizes, classSizes.length);
+        int[] parentClass = new int[this.classNames.length];
+        for (int c = 0; c < this.classNames.length; c++){
+            Class1 parent = classes.get(this.classNames[c]).getParentClass();
+            parentClass[c] = parent == null ? NULL_VALUE : this.classIndex.get(parent.getClassName());
+            if (parentClass[c] != NULL_VALUE){
+                typeSizes[parentClass[c]] += classSizes[c];
+            }
+        }
+        this.typeObjects = new int[this.classNames.length][];
+        for (int c = 0; c < this.classNames.length; c++){
+            this.typeObjects[c] = new int[typeSizes[c]];
+        }
+        int[] typeNext = new int[this.classNames.length];
+        for (int o = 0; o < objectNum; o++){
+            int c = this.objectClass[o];
+            this.typeObjects[c][typeNext[c]++] = o;
+            if (parentClass[c] != NULL_VALUE){
+                this.typeObjects[parentClass[c]][typeNext[parentClass[c]]++] = o;
+            }
+        }
+
+        // create columns
+        this.columns = new Column[this.classNames.length][this.attributeNames.length];
+        for (int c = 0; c < this.classNames.length; c++){
+            for (Map.Entry<String, FieldType> entry:classAttributes.get(this.classNames[c]).entrySet()){
+                FieldType type = entry.getValue();
+                int targetClass = type.getIsBoolean() ? -1 : this.classIndex.get(type.getType().getClassName());
+                this.columns[c][this.attributeIndex.get(entry.getKey())] = new Column(type, targetClass, classSizes[c]);
+            }
+        }
+    }
+
+    /**
+     * This method writes the interned objects and the columns of the store to a snapshot
+     * @param out
+     * @throws IOException
+     */
+    void write(DataOutputStream out) throws IOException{
+        out.writeInt(this.objects.length);
+        for (int o = 0; o < this.objects.length; o++){
+            DatasetSnapshot.writeString(out, this.objectIds[o]);
+            out.writeInt(this.objectClass[o]);
+        }
+        for (int c = 0; c < this.classNames.length; c++){
+            for (int a = 0; a < this.attributeNames.length; a++){
+                Column column = this.columns[c][a];
+                if (column == null){
+                    continue;
+                }
+                DatasetSnapshot.writeBits(out, column.unknowns);
+                if (column.isBoolean()){
+                    DatasetSnapshot.writeBits(out, column.bools);
+                }
+                else if (column.isMany()){
+                    DatasetSnapshot.writeInts(out, column.offsets);
+                    DatasetSnapshot.writeInts(out, column.targets);
+                    DatasetSnapshot.writeBits(out, column.present);
+                }
+                else{
+                    DatasetSnapshot.writeInts(out, column.values);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method reads a store written by write(), creates the objects of the object model
+     * in the order of their ordinals and attaches them to the store
+     * @param in
+     * @param objects object model to fill
+     * @param classes
+     * @param classAttributes
+     * @return
+     */
+    static ObjectStore read(ByteBuffer in, Map<String, Object1> objects, Map<String, Class1> classes, Map<String, Map<String, FieldType>> classAttributes){
+        ObjectStore store = new ObjectStore();
+        store.internNames(classes, classAttributes);
+        store.allocateObjects(DatasetSnapshot.readLength(in, 8));
+        int[] classSizes = new int[store.classNames.length];
+        for (int o = 0; o < store.objects.length; o++){
+            String id = DatasetSnapshot.readString(in);
+            Object1 obj = new Object1(store.classNames[in.getInt()], id, null);
+            objects.put(id, obj);
+            store.internObject(o, obj, classSizes);
+        }
+        store.createIndexes(classes, classAttributes, classSizes);
+        for (int c = 0; c < store.classNames.length; c++){
+            for (int a = 0; a < store.attributeNames.length; a++){
+                Column column = store.columns[c][a];
+                if (column == null){
+                    continue;
+                }
+                column.unknowns = DatasetSnapshot.readBits(in);
+                if (column.isBoolean()){
+                    column.bools = DatasetSnapshot.readBits(in);
+                }
+                else if (column.isMany()){
+                    column.offsets = DatasetSnapshot.readInts(in);
+                    column.targets = DatasetSnapshot.readInts(in);
+                    column.present = DatasetSnapshot.readBits(in);
+                    if (column.offsets.length != classSizes[c] + 1 || column.offsets[classSizes[c]] != column.targets.length){
+                        throw new IllegalStateException("Invalid column " + store.classNames[c] + "." + store.attributeNames[a]);
+                    }
+                }
+                else{
+                    column.values = DatasetSnapshot.readInts(in);
+                    if (column.values.length != classSizes[c]){
+                        throw new IllegalStateException("Invalid column " + store.classNames[c] + "." + store.attributeNames[a]);
+                    }
+                }
+            }
+        }
+        for (int o = 0; o < store.objects.length; o++){
+            store.objects[o].setStore(store, o);
+        }
+        return store;
+    }
+
+    /**
+     * This method replaces the field value maps of all objects with lazily
+     * materialized views of this store, so that the string-based maps can be
+     * garbage collected.
+     * @param objects object model used to build this store
+     */
+    public void releaseFieldValues(Map<String, Object1> objects){
+        for (Object1 obj:objects.values()){
+            obj.setStore(this, this.objectIndex.get(obj.getId()));
+        }
+    }
+
+    /**
+     * This method recreates the field value map of an object from the columns
+     * @param obj object ordinal
+     * @return map field name to field value, for all fields except id.
+     */
+    public Map<String, FieldValue> getData(int obj){
+        int classOrdinal = this.objectClass[obj];
+        int row = this.objectRow[obj];
+        Map<String, FieldValue> data = new HashMap<String, FieldValue>();
+        for (int a = 0; a < this.attributeNames.length; a++){
+            Column column = this.columns[classOrdinal][a];
+            if (column == null){
+                continue;
+            }
+            FieldValue value = new FieldValue();
+            value.setIsUnknown(column.isUnknown(row));
+            if (column.isBoolean()){
+                value.setBool(column.getBool(row));
+            }
+            else if (column.isMany()){
+                if (column.isPresent(row)){
+                    value.setSetObjId(new HashSet<String>());
+                    for (int i = column.getValueStart(row); i < column.getValueEnd(row); i++){
+                        value.addToSetObjId(this.objectIds[column.getTarget(i)]);
+                    }
+                }
+            }
+            else if (column.getValue(row) != NULL_VALUE){
+                value.setObjId(this.objectIds[column.getValue(row)]);
+            }
+            data.put(this.attributeNames[a], value);
+        }
+        return data;
+    }
+
+    /**
+     * This method returns attribute values of an object from a given path. It
+     * has the same result as Parser.getAttributePathValues, but reads the path
+     * table of the object's class instead of walking the object maps.
+     * @param obj object ordinal
+     * @param path the attribute path
+     * @return true and an array list of string with singleton "true or false", or
+     * false with list of objects' ids, and whether an unknown value was reached.
+     */
+    public Triple<Boolean, ArrayList<String>, Boolean> getAttributePathValues(int obj, List<String> path){
+        int classOrdinal = this.objectClass[obj];
+        PathTable table = getPathTable(classOrdinal, path);
+        int row = Arrays.binarySearch(this.typeObjects[classOrdinal], obj);
+        ArrayList<String> results = new ArrayList<String>(table.getValueNum(row));
+        for (int k = table.getValueStart(row); k < table.getValueEnd(row); k++){
+            results.add(getPathValueString(table.getValue(k)));
+        }
+        return new Triple<Boolean, ArrayList<String>, Boolean>(table.isBoolean(row), results, table.isUnknown(row));
+    }
+
+    /**
+     * Estimates the heap size of a path table entry
+     */
+    private static class PathTableWeigher implements MeaningCache.Weigher<Pair<Integer, List<String>>, PathTable> {
+        public long weigh(Pair<Integer, List<String>> key, PathTable value){
+            // key, path and map entry
+            return 200 + value.getByteSize();
+        }
+    }
+    
+    /**
+     * This method sets the byte budget of the path table caches, which is split
+     * between the tables of paths and the tables of path prefixes
+     * @param budget
+     */
+    public void setPathTableBudget(long budget){
+        this.pathTables.setBudget(budget / 2);
+        this.pathPrefixTables.setBudget(budget / 2);
+    }
+    
+    public MeaningCache<Pair<Integer, List<String>>, PathTable> getPathTables(){
+        return this.pathTables;
+    }
+    
+    public MeaningCache<Pair<Integer, List<String>>, PathTable> getPathPrefixTables(){
+        return this.pathPrefixTables;
+    }
+
+    /**
+     * This method returns the values of an attribute path for all objects of a type.
+     * Tables are computed when they are first used and cached until they are evicted
+     * from the path table caches. This method is synchronized because
+     * rules are simplified in parallel.
+     * @param classOrdinal the type
+     * @param path the attribute path
+     * @return the path table, whose rows are the positions in getTypeObjects(classOrdinal)
+     */
+    public synchronized PathTable getPathTable(int classOrdinal, List<String> path){
+        Pair<Integer, List<String>> key = new Pair<Integer, List<String>>(classOrdinal, path);
+        PathTable table = this.pathTables.get(key);
+        if (table == null){
+            table = getPathPrefixTable(classOrdinal, path).finish();
+            this.pathTables.put(new Pair<Integer, List<String>>(classOrdinal, new ArrayList<String>(path)), table);
+        }
+        return table;
+    }
+    public PathTable getPathTable(String className, List<String> path){
+        return getPathTable(this.classIndex.get(className), path);
+    }
+
+    private PathTable getPathPrefixTable(int classOrdinal, List<String> path){
+        Pair<Integer, List<String>> key = new Pair<Integer, List<String>>(classOrdinal, path);
+        PathTable table = this.pathPrefixTables.get(key);
+        if (table == null){
+            if (path.isEmpty()){
+                table = PathTable.start(this, this.typeObjects[classOrdinal]);
+            }
+            else{
+                List<String> prefix = path.subList(0, path.size() - 1);
+                table = getPathPrefixTable(classOrdinal, prefix).extend(this, path.get(path.size() - 1));
+            }
+            this.pathPrefixTables.put(new Pair<Integer, List<String>>(classOrdinal, new ArrayList<String>(path)), table);
+        }
+        return table;
+    }
+
+    /**
+     * @param value a value of a path table
+     * @return the object id, or "true" or "false" for boolean values
+     */
+    public String getPathValueString(int value){
+        if (value == PathTable.TRUE_VALUE){
+            return "true";
+        }
+        if (value == PathTable.FALSE_VALUE){
+            return "false";
+        }
+        return this.objectIds[value];
+    }
+
+    /**
+     * This method counts how many times each object appears as a field value
+     * of another object.
+     * @return count of each object, indexed by object ordinal
+     */
+    public int[] computeObjectCount(){
+        int[] counts = new int[this.objectIds.length];
+        for (int c = 0; c < this.classNames.length; c++){
+            int rowNum = this.classObjects[c].length;
+            for (Column column:this.columns[c]){
+                if (column == null || column.isBoolean()){
+                    continue;
+                }
+                if (column.isMany()){
+                    for (int target:column.targets){
+                        counts[target]++;
+                    }
+                }
+                else{
+                    for (int row = 0; row < rowNum; row++){
+                        if (column.getValue(row) != NULL_VALUE){
+                            counts[column.getValue(row)]++;
+                        }
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    // Accessor methods
+    public int getObjectNum(){
+        return this.objectIds.length;
+    }
+    public int getObjectOrdinal(String id){
+        Integer ordinal = this.objectIndex.get(id);
+        return ordinal == null ? NULL_VALUE : ordinal;
+    }
+    public String getObjectId(int obj){
+        return this.objectIds[obj];
+    }
+    public Object1 getObject(int obj){
+        return this.objects[obj];
+    }
+    public int getObjectClass(int obj){
+        return this.objectClass[obj];
+    }
+    public int getObjectRow(int obj){
+        return this.objectRow[obj];
+    }
+    public int getClassNum(){
+        return this.classNames.length;
+    }
+    public int getClassOrdinal(String className){
+        Integer ordinal = this.classIndex.get(className);
+        return ordinal == null ? NULL_VALUE : ordinal;
+    }
+    public String getClassName(int classOrdinal){
+        return this.classNames[classOrdinal];
+    }
+    public int[] getClassObjects(int classOrdinal){
+        return this.classObjects[classOrdinal];
+    }
+    /**
+     * @param classOrdinal
+     * @return ordinals of all objects of the given type or of its subclasses, in ascending order
+     */
+    public int[] getTypeObjects(int classOrdinal){
+        return this.typeObjects[classOrdinal];
+    }
+    public int[] getTypeObjects(String className){
+        return this.typeObjects[this.classIndex.get(className)];
+    }
+    /**
+     * @param className
+     * @param obj object ordinal
+     * @return position of the object in getTypeObjects(className), or NULL_VALUE if the object is not of this type
+     */
+    public int getTypePosition(String className, int obj){
+        int position = Arrays.binarySearch(this.typeObjects[this.classIndex.get(className)], obj);
+        return position < 0 ? NULL_VALUE : position;
+    }
+    public int getAttributeNum(){
+        return this.attributeNames.length;
+    }
+    public int getAttributeOrdinal(String attribute){
+        Integer ordinal = this.attributeIndex.get(attribute);
+        return ordinal == null ? NULL_VALUE : ordinal;
+    }
+    public String getAttributeName(int attribute){
+        return this.attributeNames[attribute];
+    }
+    public Column getColumn(int classOrdinal, int attribute){
+        return this.columns[classOrdinal][attribute];
+    }
+}
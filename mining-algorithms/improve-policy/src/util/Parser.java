@@ -27,15 +27,33 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import util.FieldType.Multiplicity;
+import core.Class1;
+import core.FieldType;
+import core.FieldValue;
+import core.Pair;
+import core.PathEvaluator;
+import core.Triple;
+import core.Object1;
+import core.Rule;
+import core.ModelParser;
 
 /**
  * Parser class is used for parsing .abac dataset.
  * @author Thang Bui
  */
 public class Parser {
+    // size of the buffer used to read input files
+    private static final int INPUT_BUFFER_SIZE = 1 << 20;
+    // number of object lines decoded together, and number of lines decoded by one task
+    private static final int OBJECT_BATCH_SIZE = 1 << 16;
+    private static final int OBJECT_CHUNK_SIZE = 1 << 10;
+    
     final public class Pattern{
         // pattern of object line
         public static final String OBJECT_PATTERN = "object\\(.*\\)";
@@ -71,6 +89,10 @@ public class Parser {
             // sequentially parse each line
             while ((line = inputReader.readLine()) != null) {
                 if (line.toLowerCase().contains("over assignment tuples")){
+                    if (isReadingUnderAssignments){
+                        // remove the under-assignments in one pass, before the over-assignments are added
+                        config.removeUPs(underAssignmentList);
+                    }
                     isReadingUnderAssignments = false;
                     continue;
                 }
@@ -83,17 +105,22 @@ public class Parser {
                 Triple<String, String, String> up = new Triple(tupleArray[0], tupleArray[1], tupleArray[2]);
                 if (isReadingUnderAssignments && config.getUnderassignmentDetection()){
                     underAssignmentList.add(up);
-                    config.getUPList().remove(up);
                 }
                 else if (config.getOverassignmentDetection()){
-                    overAssignmentList.add(up);
-                    config.getUPList().add(up);
+                    if (config.addUP(up)){
+                        overAssignmentList.add(up);
+                    }
+                    else{
+                        System.out.println("Skipped over-assignment tuple with an unknown object: " + line);
+                    }
                 }
             }
+            if (isReadingUnderAssignments){
+                config.removeUPs(underAssignmentList);
+            }
             // update
             config.setUnderassignmentUP(underAssignmentList);
             config.setOverassignmentUP(overAssignmentList);
-            computeUPMaps(config);
         } catch (FileNotFoundException e) {
             System.out.println(e.getMessage());
         } catch (IOException e) {
@@ -115,13 +142,20 @@ public class Parser {
             String line;
             boolean isReadingDeniedTuples = false;
             boolean isReadingPermittedTuples = false;
+            // tuples of the "Removed Tuples" section, removed from the UP list in one pass
+            // when the section ends, before the permitted tuples are added
+            ArrayList<Triple<String, String, String>> removedTuples = new ArrayList<Triple<String, String, String>>();
             // sequentially parse each line
             while ((line = inputReader.readLine()) != null) {
                 if (line.toLowerCase().contains("permitted tuples")){
+                    config.removeUPs(removedTuples);
+                    removedTuples.clear();
                     isReadingPermittedTuples = true;
                     continue;
                 }
                 if (line.toLowerCase().contains("denied tuples")){
+                    config.removeUPs(removedTuples);
+                    removedTuples.clear();
                     isReadingDeniedTuples = true;
                     continue;
                 }
@@ -139,14 +173,16 @@ public class Parser {
                 else if (!isReadingPermittedTuples){
                     // reading tuples in "Removed Tuples" section
                     config.getRemovedTuplesFromLog().add(up);
-                    config.getUPList().remove(up);
+                    removedTuples.add(up);
                 }
                 else {
                     // reading tuples in "Permitted Tuples" section
-                    config.getUPList().add(up);
+                    if (!config.addUP(up)){
+                        System.out.println("Skipped permitted tuple with an unknown object: " + line);
+                    }
                 }
             }
-            computeUPMaps(config);
+            config.removeUPs(removedTuples);
         } catch (FileNotFoundException e) {
             System.out.println(e.getMessage());
         } catch (IOException e) {
@@ -161,26 +197,46 @@ public class Parser {
      * @param config the configuration stores all models
      */
     public static void parseInputFile(String inputFile, Config config){
+        if (config.getDatasetSnapshots() && DatasetSnapshot.read(inputFile, config)){
+            return;
+        }
+        // class, end of class model and rule lines, kept for the snapshot of the file
+        ArrayList<String> definitionLines = new ArrayList<String>();
         try{
             FileReader fileReader = new FileReader(inputFile);
-            BufferedReader inputReader = new BufferedReader(fileReader);
+            BufferedReader inputReader = new BufferedReader(fileReader, INPUT_BUFFER_SIZE);
             // classLines stores all class definition lines. Used for creating field later
             ArrayList<String[]> classLines = new ArrayList<String[]>();
+            // object lines are decoded in batches, which are added to the object model in line order
+            ArrayList<String> objectLines = new ArrayList<String>();
+            ExecutorService pool = config.getParseThreads() > 1 ? Executors.newFixedThreadPool(config.getParseThreads()) : null;
 
-            String line;
-            // sequentially parse each line
-            while ((line = inputReader.readLine()) != null) {
-                if (line.toLowerCase().replaceAll("\\s+", "").equals(Pattern.END_OF_CLASS_LINE)){
-                    Parser.ProcessClassAttributes(config.getClassModel(), classLines);
-                } else if (line.matches(Pattern.CLASS_PATTERN)) {
-                    // match class definition
-                    Parser.processClass(line, config.getClassModel(), classLines);
-                } else if (line.matches(Pattern.OBJECT_PATTERN)) {
-                    // match object definition
-                    Parser.processObject(line, config.getObjectModel(), config.getClassModel());
-                } else if (line.matches(Pattern.RULE_PATTERN)) {
-                    // match rule definition
-                    Parser.processRule(line, config.getRuleModel(), config.getClassModel(), config);
+            try{
+                String line;
+                // sequentially parse each line
+                while ((line = inputReader.readLine()) != null) {
+                    if (isCallLine(line, "object")) {
+                        // match object definition
+                        objectLines.add(line);
+                        if (objectLines.size() == OBJECT_BATCH_SIZE){
+                            Parser.processObjects(objectLines, config.getObjectModel(), config.getClassModel(), pool);
+                            objectLines.clear();
+                        }
+                        continue;
+                    }
+                    if (isEndOfClassLine(line) || isCallLine(line, "class") || isCallLine(line, "rule")){
+                        Parser.processObjects(objectLines, config.getObjectModel(), config.getClassModel(), pool);
+                        objectLines.clear();
+                        Parser.processDefinitionLine(line, config.getClassModel(), config.getRuleModel(), classLines);
+                        definitionLines.add(line);
+                    }
+                }
+                Parser.processObjects(objectLines, config.getObjectModel(), config.getClassModel(), pool);
+            }
+            finally{
+                inputReader.close();
+                if (pool != null){
+                    pool.shutdown();
                 }
             }
         } catch (FileNotFoundException e) {
@@ -194,24 +250,17 @@ public class Parser {
             config.getClassAttributes().put(className, config.getClassModel().get(className).getAllAttributes());
         }
         // Check consistency between object model and rule model with class model
-        if (!Parser.checkConsistency(config)){
+        if (!ModelParser.checkConsistency(config.getClassModel(), config.getObjectModel(), config.getRuleModel())){
             System.out.println("CONSISTENCY CHECK FAILD!!!");
         }
         else{
-            for (String idKey:config.getObjectModel().keySet()){
-                Object1 obj = config.getObjectModel().get(idKey);
-                String classType = obj.getClass1();
-                if (!config.getObjectList().containsKey(classType)){
-                    ArrayList<Object1> newObjectList = new ArrayList<Object1>();
-                    newObjectList.add(obj);
-                    config.getObjectList().put(classType, newObjectList);
-                }
-                else{
-                    ArrayList<Object1> newObjectList = new ArrayList<Object1>(config.getObjectList().get(classType));
-                    newObjectList.add(obj);
-                    config.getObjectList().put(classType, newObjectList);
-                }
-            }
+            computeObjectList(config);
+            // build the columnar store and drop the string-based field value maps
+            ObjectStore objectStore = ObjectStore.build(config.getObjectModel(), config.getClassModel(), config.getClassAttributes());
+            objectStore.releaseFieldValues(config.getObjectModel());
+            config.setObjectStore(objectStore);
+            // the class graph is needed by the constraint matrices built in computeUPRelation
+            computeAdjacencyList(config);
             config.setUPRelation(Parser.computeUPRelation(config));
             Set<Triple<String, String, String>> upList = new HashSet<Triple<String, String, String>>();
             for (Rule key:config.getUPRelation().keySet()){
@@ -219,13 +268,58 @@ public class Parser {
                     upList.add(up);
                 }
             }
-            config.setUPList(new ArrayList<Triple<String, String, String>>(upList));
-            computeUPMaps(config);
-            computeAdjacencyList(config);
-            computeFieldNum(config);
-            computeObjectCount(config);
+            computeUPIndexes(config, new ArrayList<Triple<String, String, String>>(upList));
+            if (config.getDatasetSnapshots()){
+                DatasetSnapshot.write(inputFile, definitionLines, config);
+            }
+        }
+    }
+    
+    /**
+     * This method processes a class, end of class model or rule line
+     * @param line
+     * @param classes class model
+     * @param rules rule model
+     * @param classLines stores all class definition lines
+     */
+    static void processDefinitionLine(String line, Map<String, Class1> classes, List<Rule> rules, ArrayList<String[]> classLines){
+        if (isEndOfClassLine(line)){
+            ModelParser.ProcessClassAttributes(classes, classLines);
+        } else if (isCallLine(line, "class")) {
+            // match class definition
+            ModelParser.processClass(line, classes, classLines);
+        } else if (isCallLine(line, "rule")) {
+            // match rule definition
+            ModelParser.processRule(line, rules, classes);
+        }
+    }
+    
+    /**
+     * This method computes the list of objects of each class in the config
+     * @param config
+     */
+    static void computeObjectList(Config config){
+        for (Object1 obj:config.getObjectModel().values()){
+            String classType = obj.getClass1();
+            if (!config.getObjectList().containsKey(classType)){
+                config.getObjectList().put(classType, new ArrayList<Object1>());
+            }
+            config.getObjectList().get(classType).add(obj);
         }
     }
+    
+    /**
+     * This method sets the UP list of the config and computes the indexes derived from it
+     * @param config
+     * @param upList
+     */
+    static void computeUPIndexes(Config config, ArrayList<Triple<String, String, String>> upList){
+        config.setUPList(upList);
+        config.setUPIndex(UPIndex.of(config.getUPList(), config.getObjectStore()));
+        computeUPMaps(config);
+        computeFieldNum(config);
+        computeObjectCount(config);
+    }
 
     /**
      * This function parse a rules file from an input file to a specific list of rules
@@ -241,7 +335,7 @@ public class Parser {
             String line;
             // sequentially parse each line
             while ((line = inputReader.readLine()) != null) {
-                Parser.processRule(line, ruleSet, config.getClassModel(), config);
+                ModelParser.processRule(line, ruleSet, config.getClassModel());
             }
         } catch (FileNotFoundException e) {
             System.out.println(e.getMessage());
@@ -279,366 +373,111 @@ public class Parser {
     }
     
     /**
-     * this method compute upListMapOnSub and upListMapOnRes in the config
+     * this method compute upListMapOnSub and upListMapOnRes in the config.
+     * Config.addUP and Config.removeUP keep the maps in sync afterwards.
      * @param config 
      */
     public static void computeUPMaps(Config config){
-        Map<String, Map<String, Set<Pair<String, String>>>> upListSub = new HashMap<String, Map<String, Set<Pair<String, String>>>>();
-        Map<String, Map<String, Set<Pair<String, String>>>> upListRes = new HashMap<String, Map<String, Set<Pair<String, String>>>>();
+        config.setUPListMapOnSub(new HashMap<String, Map<String, Set<Pair<String, String>>>>());
+        config.setUPListMapOnRes(new HashMap<String, Map<String, Set<Pair<String, String>>>>());
         for (Triple<String, String, String> up:config.getUPList()){
-            // subject
-            String subClassName = config.getObjectModel().get(up.getFirst()).getClass1();
-            if (!upListSub.containsKey(subClassName)){
-                Set<Pair<String, String>> permList = new HashSet<Pair<String,String>>();
-                permList.add(new Pair(up.getSecond(), up.getThird()));
-                Map <String, Set<Pair<String, String>>> subMap = new HashMap<String, Set<Pair<String, String>>>();
-                subMap.put(up.getFirst(), permList);
-                upListSub.put(subClassName, subMap);
-            }
-            else {
-                if (!upListSub.get(subClassName).containsKey(up.getFirst())){
-                    Set<Pair<String, String>> permList = new HashSet<Pair<String,String>>();
-                    permList.add(new Pair(up.getSecond(), up.getThird()));
-                    upListSub.get(subClassName).put(up.getFirst(), permList);
-                }
-                else {
-                    Set<Pair<String, String>> newResList = new HashSet<Pair<String, String>>(upListSub.get(subClassName).get(up.getFirst()));
-                    newResList.add(new Pair(up.getSecond(), up.getThird()));
-                    upListSub.get(subClassName).put(up.getFirst(), newResList);
-                }
-            }
-            
-            // resource
-            String resClassName = config.getObjectModel().get(up.getSecond()).getClass1();
-            if (!upListRes.containsKey(resClassName)){
-                Set<Pair<String, String>> userList = new HashSet<Pair<String,String>>();
-                userList.add(new Pair(up.getFirst(), up.getThird()));
-                Map <String, Set<Pair<String, String>>> resMap = new HashMap<String, Set<Pair<String, String>>>();
-                resMap.put(up.getSecond(), userList);
-                upListRes.put(resClassName, resMap);
-            }
-            else {
-                if (!upListRes.get(resClassName).containsKey(up.getSecond())){
-                    Set<Pair<String, String>> userList = new HashSet<Pair<String,String>>();
-                    userList.add(new Pair(up.getFirst(), up.getThird()));
-                    upListRes.get(resClassName).put(up.getSecond(), userList);
-                }
-                else {
-                    Set<Pair<String, String>> newSubList = new HashSet<Pair<String, String>>(upListRes.get(resClassName).get(up.getSecond()));
-                    newSubList.add(new Pair(up.getFirst(), up.getThird()));
-                    upListRes.get(resClassName).put(up.getSecond(), newSubList);
-                }
-            }
+            config.addToUPMaps(up);
         }
-        config.setUPListMapOnSub(upListSub);
-        config.setUPListMapOnRes(upListRes);
     }
+    
     /**
-     * This method used to process a line represent an object.
-     * It will create new Object1 and add to objects map.
-     * @param line line that represents an object
-     * @param objects map of parsed objects
-     * @param classes map of all parsed classes
+     * This method checks if a line is a call line of the form name(...), as the patterns
+     * OBJECT_PATTERN, CLASS_PATTERN and RULE_PATTERN do, without using a regular expression
+     * @param line
+     * @param name
+     * @return
      */
-    public static void processObject(String line, Map<String, Object1> objects, Map<String, Class1> classes){
-        String content = line.substring(line.indexOf('(') + 1, line.indexOf(')'));
-        content = content.trim();
-        String[] attributes = content.split(";");
-        // Get type and id of the object from first and second element of attributes
-        String class1 = attributes[0].trim();
-        String[] idField = attributes[1].split("=");
-        if (!idField[0].trim().equals("id")){
-            System.out.println("ID for the object not found");
-            System.exit(0);
-        }
-        String id = idField[1].trim();
-        Map<String, FieldValue> data = new HashMap<String, FieldValue>();
-        if (attributes.length > 2){
-            for (int i = 2; i < attributes.length; i++){
-                String[] pair = attributes[i].split("=");
-                String fieldName = pair[0].trim();
-                String fieldContent = pair[1].trim();
-                FieldValue value = new FieldValue();
-                if (!fieldContent.equals("null") && !fieldContent.equals("unknown")) {
-                    if (fieldContent.indexOf('{') == -1){
-                        // Case that this field content is a single-valued attribute
-                        if (classes.get(class1).getAllAttributes().get(fieldName).getIsBoolean()){
-                            value.setBool(fieldContent.equals("true"));
-                        }
-                        else{
-                            value.setObjId(fieldContent);
-                        }
-                    }
-                    else {
-                        // Case that this field content is a mul-valued  attribute
-                        value.setSetObjId(new HashSet<String>());
-                        fieldContent = fieldContent.substring(1, fieldContent.length() -1);
-                        String[] setValues = fieldContent.split(",");
-                        for (String val:setValues){
-                            value.addToSetObjId(val.trim());
-                        }
-                    }
-                }
-                else if (fieldContent.equals("unknown")){
-                    value.setIsUnknown(true);
-                }
-                data.put(fieldName, value);
+    private static boolean isCallLine(String line, String name){
+        int length = line.length();
+        if (length < name.length() + 2 || !line.startsWith(name) || line.charAt(name.length()) != '(' || line.charAt(length - 1) != ')'){
+            return false;
+        }
+        // '.' of the patterns does not match line terminators
+        for (int i = name.length() + 1; i < length - 1; i++){
+            char c = line.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029'){
+                return false;
             }
         }
-        // Create new object
-        objects.put(id, new Object1(class1, id, data));
+        return true;
     }
     
-    
     /**
-     * This method used to process a line represent a class.
-     * It will create new Class1 and add to classes map.
-     * @param line line that represents an object
-     * @param classes list of parsed objects
-     * @param classLines stores all content of class definition line
+     * This method checks if a line is END_OF_CLASS_LINE, ignoring case and white spaces
+     * @param line
+     * @return
      */
-    public static void processClass(String line, Map<String, Class1> classes, ArrayList<String[]> classLines){
-        // !! Check if this is consistent with class model
-        String content = line.substring(line.indexOf('(') + 1, line.indexOf(')'));
-        String[] fields = content.split(";");
-        classLines.add(fields);
-        // Get class name from the first element of fields
-        String className = fields[0].trim();
-        Class1 class1 = new Class1(className);
-        if (!fields[1].equals(" ")){
-            class1.setParentClass(classes.get(fields[1].trim()));
+    private static boolean isEndOfClassLine(String line){
+        String expected = Pattern.END_OF_CLASS_LINE;
+        int k = 0;
+        for (int i = 0; i < line.length(); i++){
+            char c = line.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'){
+                continue;
+            }
+            if (k == expected.length() || Character.toLowerCase(c) != expected.charAt(k)){
+                return false;
+            }
+            k++;
         }
-        classes.put(className, class1);
+        return k == expected.length();
     }
     
     /**
-     * This method compute the attributes of each class
-     * @param classes map of all classes
-     * @param classLines content of class definition from input file
+     * This method processes a batch of object lines. The lines are decoded by the threads of the
+     * pool in chunks, and the objects are added to objects map in line order.
+     * @param lines lines that represent objects
+     * @param objects map of parsed objects
+     * @param classes map of all parsed classes
+     * @param pool decodes the chunks, or null to decode the lines in this thread
      */
-    public static void ProcessClassAttributes(Map<String, Class1> classes, ArrayList<String[]> classLines){
-        for (String[] fields:classLines){
-            Map<String, FieldType> attributes = new HashMap<String, FieldType>();
-            if (fields.length > 2){
-                String className = fields[0].trim();
-                for (int i = 2; i < fields.length; i++){
-                    String[] pair = fields[i].split(":");
-                    String fieldName = pair[0].trim();
-                    String fieldContent = pair[1].trim();
-                    switch (fieldContent.charAt(fieldContent.length()-1)) {
-                        case '*':
-                        {
-                            // MANY multiplicity
-                            String type = fieldContent.substring(0, fieldContent.length() - 1);
-                            attributes.put(fieldName, new FieldType(false, classes.get(type), Multiplicity.MANY));
-                            break;
-                        }
-                        case '?':
-                        {
-                            // OPTIONAL multiplicity
-                            String type = fieldContent.substring(0, fieldContent.length() - 1);
-                            attributes.put(fieldName, new FieldType(false, classes.get(type), Multiplicity.OPTIONAL));
-                            break;
-                        }
-                        default:
-                        {
-                            // ONE multiplicity
-                            if (fieldContent.equals("boolean") || fieldContent.equals("Boolean")){
-                                attributes.put(fieldName, new FieldType(true, null, Multiplicity.ONE));
-                            }
-                            else{
-                                attributes.put(fieldName, new FieldType(false, classes.get(fieldContent), Multiplicity.ONE));
-                            }
-                            break;
-                        }
+    private static void processObjects(List<String> lines, Map<String, Object1> objects, Map<String, Class1> classes, ExecutorService pool){
+        if (lines.isEmpty()){
+            return;
+        }
+        final Map<String, Map<String, FieldType>> classAttributes = ModelParser.computeClassAttributes(classes);
+        if (pool == null){
+            for (String line:lines){
+                Object1 obj = ModelParser.decodeObject(line, classAttributes);
+                objects.put(obj.getId(), obj);
+            }
+            return;
+        }
+        ArrayList<Future<Object1[]>> chunks = new ArrayList<Future<Object1[]>>();
+        for (int start = 0; start < lines.size(); start += OBJECT_CHUNK_SIZE){
+            final List<String> chunk = lines.subList(start, Math.min(start + OBJECT_CHUNK_SIZE, lines.size()));
+            chunks.add(pool.submit(new Callable<Object1[]>(){
+                public Object1[] call(){
+                    Object1[] results = new Object1[chunk.size()];
+                    for (int i = 0; i < results.length; i++){
+                        results[i] = ModelParser.decodeObject(chunk.get(i), classAttributes);
                     }
-                }               
-                // add attributes to the corresponding class
-                classes.get(className).setAttributes(attributes);
-            }
-        }
-    }
-
-    /**
-     * This method process a line represent a rule definition
-     * @param line the string line
-     * @param rules list of rules
-     * @param classes map of all classes
-     * @param config
-     */
-    public static void processRule(String line, List<Rule> rules, Map<String, Class1> classes, Config config){
-        String content = line.substring(line.indexOf('(') + 1, line.lastIndexOf(')'));
-        content = content.trim();
-        String[] fields = content.split(";");
-        // process subject type and resource type
-        String subjectType = fields[0].trim();
-        String resourceType = fields[2].trim();
-        // subject Condition
-        String[] subCondition = null;
-        if (!fields[1].equals(" ")){
-            String[] subConditions = fields[1].split("and");
-            subCondition = new String[subConditions.length];
-            for (int i = 0; i < subCondition.length; i++){
-                subCondition[i] = subConditions[i].trim();
-            }
-        }
-        // resource Condition
-        String[] resCondition = null;
-        if (!fields[3].equals(" ")){
-            String[] resConditions = fields[3].split("and");
-            resCondition = new String[resConditions.length];
-            for (int i = 0; i < resCondition.length; i++){
-                resCondition[i] = resConditions[i].trim();
-            }
-        }
-
-        // constraint
-        String[] constraint = null;
-        if (!fields[4].equals(" ")){
-            String[] constraints = fields[4].split("and");
-            constraint = new String[constraints.length];
-            for (int i = 0; i < constraint.length; i++){
-                constraint[i] = constraints[i].trim();
-            }
-        }
-
-        // actions
-        String[] action = null;
-        fields[5] = fields[5].trim();
-        String actionsContent = fields[5].substring(1, fields[5].length() - 1);
-        if (!actionsContent.equals("")){
-            String[] actions = actionsContent.split(",");
-            action = new String[actions.length];
-            for (int i = 0; i < action.length; i++){
-                action[i] = actions[i].trim();
-            }
-        }
-        rules.add(createRule(subjectType, subCondition, resourceType, resCondition, constraint, action, classes));
-    }
-    
-    public static Rule createRule(String subType, String[] subCondition, String resType, String[] resCondition, String[] constraint, String[] ops, Map<String, Class1> classes){
-        ArrayList<AtomicCondition> subjectCondition = new ArrayList<AtomicCondition>();
-        ArrayList<AtomicCondition> resourceCondition = new ArrayList<AtomicCondition>();
-        ArrayList<AtomicConstraint> constraints = new ArrayList<AtomicConstraint>();
-        Set<String> opsSet = new HashSet<String>();
-        if (subCondition != null){
-            for (String con:subCondition){
-                Boolean isNegativeCond = false;
-                if (con.indexOf('!') > -1){
-                    isNegativeCond = true;
-                }
-                String constantString = con.substring(con.indexOf('{') + 1, con.indexOf('}'));
-                String[] elements = con.split(" ");
-                ArrayList<String> path = new ArrayList<String>();
-                String[] pathElements = elements[0].split("\\.");
-                for (String pe:pathElements){
-                    path.add(pe);
+                    return results;
                 }
-                Set<String> constant = new HashSet<String>();
-                String[] constants = constantString.split(",");
-                for (String c:constants){
-                    constant.add(c.trim());
-                }
-                if (elements[1].toLowerCase().equals("in")){
-                    AtomicCondition sc = new AtomicCondition(path, constant, ConditionOperator.IN);
-                    sc.setIsNegative(isNegativeCond);
-                    subjectCondition.add(sc);
-                }
-                else if (elements[1].toLowerCase().equals("contains")){
-                    AtomicCondition sc = new AtomicCondition(path, constant, ConditionOperator.CONTAINS);
-                    sc.setIsNegative(isNegativeCond);
-                    subjectCondition.add(sc);
-                }
-            }
+            }));
         }
-        if (resCondition != null){
-            for (String con:resCondition){
-                Boolean isNegativeCond = false;
-                if (con.indexOf('!') > -1){
-                    isNegativeCond = true;
-                }
-                String constantString = con.substring(con.indexOf('{') + 1, con.indexOf('}'));
-                String[] elements = con.split(" ");
-                ArrayList<String> path = new ArrayList<String>();
-                String[] pathElements = elements[0].split("\\.");
-                for (String pe:pathElements){
-                    path.add(pe);
-                }
-                Set<String> constant = new HashSet<String>();
-                String[] constants = constantString.split(",");
-                for (String c:constants){
-                    constant.add(c.trim());
-                }
-                if (elements[1].toLowerCase().equals("in")){
-                    AtomicCondition rc = new AtomicCondition(path, constant, ConditionOperator.IN);
-                    rc.setIsNegative(isNegativeCond);
-                    resourceCondition.add(rc);
-                }
-                else if (elements[1].toLowerCase().equals("contains")){
-                    AtomicCondition rc = new AtomicCondition(path, constant, ConditionOperator.CONTAINS);
-                    rc.setIsNegative(isNegativeCond);
-                    resourceCondition.add(rc);
+        try{
+            for (Future<Object1[]> chunk:chunks){
+                for (Object1 obj:chunk.get()){
+                    objects.put(obj.getId(), obj);
                 }
             }
         }
-        if (constraint != null){
-            for (String con:constraint){
-                Boolean isNegativeCons = false;
-                if (con.indexOf('!') > -1){
-                    isNegativeCons = true;
-                }
-                String[] elements = con.split(" ");
-                ArrayList<String> subPath = new ArrayList<String>();
-                String[] path = elements[0].split("\\.");
-                for (String pathElement:path){
-                    subPath.add(pathElement);
-                }
-                ArrayList<String> resPath = new ArrayList<String>();
-                if (isNegativeCons){
-                    elements[2] = elements[2].substring(0, elements[2].length() - 4);
-                }
-                path = elements[2].split("\\.");
-                for (String pathElement:path){
-                    resPath.add(pathElement);
-                }
-                if (elements[1].toLowerCase().equals("in")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.IN);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-                else if (elements[1].toLowerCase().equals("=")){
-                    if (checkValidPath(subType, subPath, classes).getSecond()){
-                        AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.EQUALS_SET);
-                        ac.setIsNegative(isNegativeCons);
-                        constraints.add(ac);
-                    }
-                    else{
-                        AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.EQUALS_VALUE);
-                        ac.setIsNegative(isNegativeCons);
-                        constraints.add(ac);
-                    }
-                }
-                else if (elements[1].toLowerCase().equals("contains")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.CONTAINS);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-                else if (elements[1].toLowerCase().equals("supseteq")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.SUPSETEQ);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-                else if (elements[1].toLowerCase().equals("subseteq")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.SUBSETEQ);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-            }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
         }
-        for (String op:ops){
-            opsSet.add(op);
+        catch (ExecutionException e){
+            if (e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
         }
-        return new Rule(classes.get(subType),subjectCondition, classes.get(resType), resourceCondition, constraints, opsSet);
     }
     
     /** 
@@ -739,267 +578,67 @@ public class Parser {
     }	*/
     
     /**
-     * This function check if object model and rule model consistent with class model
-     * @param config the abac policy contains class, object, and rule models
-     * @return
-     */
-    /**
-     * This function check if object model and rule model consistent with class model
-     * @param config the abac policy contains class, object, and rule models
-     * @return
+     * This method generates set of UP tuples from object model and rule model.
+     * The candidates of a rule are the objects of its subject and resource types,
+     * filtered by the condition meanings and the constraint matrices, and the rules
+     * are evaluated by parseThreads threads.
+     * @param config configuration contains object model, rule model and object store
+     * @return set of UP triples.
      */
-    public static boolean checkConsistency(Config config){
-        Map<String, Object1> objects = config.getObjectModel();
-        Map<String, Class1> classes = config.getClassModel();
-
-        // CHECK OBJECTS
-        for (Map.Entry<String, Object1> entry:objects.entrySet()){
-            String objectType = entry.getValue().getClass1();
-            // Check if class name is valid
-            if (!classes.containsKey(objectType)){
-                System.out.println("Invalid class name: " + objectType);
-                return false;
-            }
-            // Check attributes
-            Map<String, FieldType> classAttributes = classes.get(objectType).getAllAttributes();
-            // check size of data field, note that id field is not explicitly defined in class model
-            if (entry.getValue().getData().size()  != classAttributes.size()){
-                System.out.println("Invalid data in object: " + entry.getKey());
-                System.out.println("Object type: " + objectType);
-                System.out.println("entry data size: " + entry.getValue().getData().size());
-                System.out.println("class attributes size: " + classAttributes.size());
-                return false;
-            }
-            for (String key:entry.getValue().getData().keySet()){
-                if (!classAttributes.containsKey(key)){
-                    System.out.println("Invalid field " + key + " in object " + entry.getKey());
-                    return false;
-                }
-                FieldValue value = entry.getValue().getData().get(key);
-                // check if the value's type matches
-                if (classAttributes.get(key).getIsBoolean()){
-                    // check if correct type is Boolean
-                    if (value.getObjId() != null || value.getSetObjId() != null){
-                        System.out.println("Invalid value: Not a boolean. Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                }
-                else{
-                    String correctType = classAttributes.get(key).getType().getClassName();
-                    Multiplicity correctMul = classAttributes.get(key).getMultiplicity();
-                    if (correctMul == Multiplicity.ONE && value.getObjId() == null && !value.getIsUnknown()){
-                        System.out.println("Invalid value: Multiplicity is ONE. Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                    if (correctMul == Multiplicity.MANY && value.getObjId() != null){
-                        System.out.println("Invalid value: Multiplicity is MANY. Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                    if ((correctMul == Multiplicity.ONE || correctMul == Multiplicity.OPTIONAL) && value.getSetObjId() != null){
-                        System.out.println("Invalid value: Multiplicity is :" + correctMul+ ". Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                    if (value.getObjId() != null){
-                        if (!objects.containsKey(value.getObjId())){
-                            System.out.println("Invalid object id: " + value.getObjId() + ". Field " + key + " in object " + entry.getKey());
-                            return false;
-                        }
-                        String valueType = objects.get(value.getObjId()).getClass1();
-                        String parentClass = "";
-                        if (classes.get(valueType) != null && classes.get(valueType).getParentClass() != null){
-                            parentClass = classes.get(valueType).getParentClass().getClassName();
-                        }
-                        if (!correctType.equals(valueType) && !correctType.equals(parentClass)){
-                            System.out.println("Invalid value type: " + value.getObjId() + ". Field " + key + " in object " + entry.getKey());
-                            return false;
-                        }
-                    }
-                    else if (value.getSetObjId() != null){
-                        // setObjId != null means that setObjId has at least 1 element
-                        for (String element:value.getSetObjId()){
-                            if (!objects.containsKey(element)){
-                                System.out.println("Invalid object id: " + element + ". Field " + key + " in object " + entry.getKey());
-                                return false;
-                            }
-                            String valueType = objects.get(element).getClass1();
-                            String parentClass = "";
-                            if (classes.get(valueType) != null && classes.get(valueType).getParentClass() != null){
-                                parentClass = classes.get(valueType).getParentClass().getClassName();
-                            }
-                            if (!correctType.equals(valueType) && !correctType.equals(parentClass)){
-                                System.out.println("Invalid value type: " + element + ". Field " + key + " in object " + entry.getKey());
-                                return false;
-                            }
+    public static Map<Rule, Set<Triple<String, String, String>>> computeUPRelation(final Config config){
+        LinkedList<Rule> rules = config.getRuleModel();
+        ObjectStore store = config.getObjectStore();
+        Map<Rule, Set<Triple<String, String, String>>> results = new HashMap<Rule, Set<Triple<String, String, String>>>();       
+        ArrayList<Pair<Integer, Rule>> ruleUPList = new ArrayList<Pair<Integer, Rule>>();
+        // covered (subject, resource) ordinals of each rule, interleaved, in rule order
+        ArrayList<int[]> rulePairs = new ArrayList<int[]>(rules.size());
+        if (config.getParseThreads() > 1 && rules.size() > 1){
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(config.getParseThreads(), rules.size()));
+            try{
+                ArrayList<Future<int[]>> tasks = new ArrayList<Future<int[]>>(rules.size());
+                for (final Rule r:rules){
+                    tasks.add(pool.submit(new Callable<int[]>(){
+                        public int[] call(){
+                            return ReBACMiner.computeCoveredPairs(r, config);
                         }
-                    }
-                }
-            }
-        }
-        // CHECK RULES
-        for (Rule r:config.getRuleModel()){
-            // Check subjectType and resourceType
-            if (!classes.containsKey(r.getSubjectType().getClassName()) || !classes.containsKey(r.getResourceType().getClassName())){
-                System.out.println("Rule Error: Invalid Type");
-                return false;
-            }
-            // Check subject and resrouce conditions
-            for (AtomicCondition sc:r.getSubjectCondition()){
-                Triple<Boolean, Boolean, String> validity = Parser.checkValidPath(r.getSubjectType().getClassName(), sc.getPath(), classes);
-                if (!validity.getFirst()){
-                    System.out.println("Rule Error: Invalid subject path " + sc.getPath());
-                    return false;
-                }
-                if (sc.getConditionOperator() != ConditionOperator.IN && sc.getConditionOperator() != ConditionOperator.CONTAINS){
-                    System.out.println("Invalid subject condition operator" + sc.getPath());
-                    return false;
-                }
-                if (sc.getConditionOperator() == ConditionOperator.IN && validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + sc.getPath());
-                    return false;
+                    }));
                 }
-                if (sc.getConditionOperator() == ConditionOperator.CONTAINS && !validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + sc.getPath());
-                    return false;
+                for (Future<int[]> task:tasks){
+                    rulePairs.add(task.get());
                 }
             }
-            for (AtomicCondition rc:r.getResourceCondition()){
-                Triple<Boolean, Boolean, String> validity = Parser.checkValidPath(r.getResourceType().getClassName(), rc.getPath(), classes);
-                if (!validity.getFirst()){
-                    System.out.println("Rule Error: Invalid resource path");
-                    return false;
-                }
-                if (rc.getConditionOperator() != ConditionOperator.IN && rc.getConditionOperator() != ConditionOperator.CONTAINS){
-                    System.out.println("Invalid resource condition operator");
-                    return false;
-                }
-                if (rc.getConditionOperator() == ConditionOperator.IN && validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + rc.getPath());
-                    return false;
-                }
-                if (rc.getConditionOperator() == ConditionOperator.CONTAINS && !validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + rc.getPath());
-                    return false;
-                }
+            catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
             }
-            // Check constraints
-            for (AtomicConstraint c:r.getConstraint()){
-                Triple<Boolean, Boolean, String> validity = Parser.checkValidPath(r.getSubjectType().getClassName(), c.getSubPath(), classes);
-                if (!validity.getFirst()){
-                    System.out.println("Rule Error: Invalid subject path - constraint");
-                    return false;
-                }
-                Triple<Boolean, Boolean, String> validity1 = Parser.checkValidPath(r.getResourceType().getClassName(), c.getResPath(), classes);
-                if (!validity1.getFirst()){
-                    System.out.println("Rule Error: Invalid resource path - constraint");
-                    return false;
-                }
-                if (!validity.getSecond() && !validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.EQUALS_VALUE){
-                    System.out.println("Invalid constraint operator, it should be EQUALS_VALUE");
-                    System.out.println("Sub Type: " + r.getSubjectType().getClassName() + "\nRes Type: " + r.getResourceType().getClassName());
-                    System.out.println(c);
-                    return false;
-                }
-                if (!validity.getSecond() && validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.IN){
-                    System.out.println("Invalid constraint operator, it should be IN");
-                    return false;
-                }
-                if (validity.getSecond() && !validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.CONTAINS){
-                    System.out.println("Invalid constraint operator, it should be CONTAINS");
-                    return false;
+            catch (ExecutionException e){
+                if (e.getCause() instanceof RuntimeException){
+                    throw (RuntimeException) e.getCause();
                 }
-                if (validity.getSecond() && validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.SUPSETEQ
-                        && c.getConstraintOperator() != ConstraintOperator.SUBSETEQ && c.getConstraintOperator() != ConstraintOperator.EQUALS_SET){
-                    System.out.println(c);
-                    System.out.println("Invalid constraint operator");
-                    return false;
-                }
-                if (!validity.getThird().equals(validity1.getThird()) && 
-                        (classes.get(validity.getThird()).getParentClass() != null && !classes.get(validity.getThird()).getParentClass().equals(validity1.getThird())) &&
-                        (classes.get(validity1.getThird()).getParentClass() != null && !classes.get(validity1.getThird()).getParentClass().equals(validity.getThird()))
-                        ){
-                    System.out.println("Inconsistency constraint types");
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-    
-    /**
-     * this method check if a path in a atomic condition or atomic constraint is valid
-     * @param type
-     * @param path
-     * @param classes
-     * @return an triple value, consist of 2 boolean values and a string
-     * return value 1: boolean indicate if the path is valid
-     * return value 2: boolean indicate if the path has MULTIPLE multiplicity
-     * return value 3: string indicate the type of the path (type of last attribute other than id)
-     */
-    public static Triple<Boolean, Boolean, String> checkValidPath(String type, ArrayList<String> path, Map<String, Class1> classes){
-        boolean validPath = true; 
-        boolean isManyMultiplicity = false;
-        String currentClassName  = type;
-        for (int i = 0; i < path.size(); i++){
-            String attr = path.get(i);
-            if (i != path.size() - 1 && attr.equals("id")){
-                validPath = false;
-            }
-            if (attr.equals("id")){
-                continue;
+                throw new RuntimeException(e.getCause());
             }
-            if (!classes.get(currentClassName).getAllAttributes().containsKey(attr)){
-                validPath = false;
+            finally{
+                pool.shutdown();
             }
-            if (classes.get(currentClassName).getAllAttributes().get(attr) == null){
-                validPath = false;
-                return new Triple(validPath, null, null);
-            }
-            if (classes.get(currentClassName).getAllAttributes().get(attr).getMultiplicity() == Multiplicity.MANY){
-                isManyMultiplicity = true;
-            }
-            if (classes.get(currentClassName).getAllAttributes().get(attr).getIsBoolean()){
-                continue;
+        }
+        else{
+            for (Rule r:rules){
+                rulePairs.add(ReBACMiner.computeCoveredPairs(r, config));
             }
-            currentClassName = classes.get(currentClassName).getAllAttributes().get(attr).getType().getClassName();
         }
-        return new Triple(validPath, isManyMultiplicity, currentClassName);
-    }
-    
-    /**
-     * This method generates set of UP tuples from object model and rule model
-     * @param config configuration contains object model and rule model
-     * @return set of UP triples.
-     */
-    public static Map<Rule, Set<Triple<String, String, String>>> computeUPRelation(Config config){
-        Map<String, Object1> objects  = config.getObjectModel();
-        LinkedList<Rule> rules = config.getRuleModel();
-        Map<String, Class1> classes = config.getClassModel();
-        Map<Rule, Set<Triple<String, String, String>>> results = new HashMap<Rule, Set<Triple<String, String, String>>>();       
-        ArrayList<Pair<Integer, Rule>> ruleUPList = new ArrayList<Pair<Integer, Rule>>();
+        int index = 0;
         for (Rule r:rules){       
+            int[] coveredPairs = rulePairs.get(index++);
             Set<Triple<String, String, String>> upRelations = new HashSet<Triple<String, String, String>>();
-            int countUP = 0;
-            ArrayList<Object1> satisfiedSubObjects = new ArrayList<Object1>();
-            ArrayList<Object1> satisfiedResObjects = new ArrayList<Object1>();
-            // get all objects satisfy subject Condition
-            for (Object1 obj:objects.values()){
-                if (Parser.checkSatisfyAtomicConditions(obj,r, true, objects, classes, config)){
-                    satisfiedSubObjects.add(obj);
-                }
-                if (Parser.checkSatisfyAtomicConditions(obj,r, false, objects, classes, config)){
-                    satisfiedResObjects.add(obj);
-                }              
-            }            
-            for (Object1 sub:satisfiedSubObjects){
-                for (Object1 res:satisfiedResObjects){
-                    if (ReBACMiner.checkSatisfyConstraints(sub, res, r.getConstraint(), config)){
-                        for (String action:r.getActions()){
-                            upRelations.add(new Triple(sub.getId(), res.getId(), action));
-                            countUP++;
-                        }
-                    }
+            // pairs are ordered by subject and then by resource ordinal, which is the object model order
+            for (int k = 0; k < coveredPairs.length; k += 2){
+                String subId = store.getObjectId(coveredPairs[k]);
+                String resId = store.getObjectId(coveredPairs[k + 1]);
+                for (String action:r.getActions()){
+                    upRelations.add(new Triple<String, String, String>(subId, resId, action));
                 }
             }
+            int countUP = (coveredPairs.length / 2) * r.getActions().size();
             ruleUPList.add(new Pair(countUP, r));
             results.put(r, upRelations);
         }
@@ -1037,6 +676,14 @@ public class Parser {
     public static void computeObjectCount(Config config){
         Map<String, Object1> objectModel = config.getObjectModel();
         Map<String, Integer> objectCount = config.getObjectCount();
+        ObjectStore objectStore = config.getObjectStore();
+        if (objectStore != null){
+            int[] counts = objectStore.computeObjectCount();
+            for (int i = 0; i < counts.length; i++){
+                objectCount.put(objectStore.getObjectId(i), counts[i]);
+            }
+            return;
+        }
         // first put entries for all object ID with initialized count = 0
         for (String object:objectModel.keySet()){
             objectCount.put(object, 0);
@@ -1111,56 +758,6 @@ public class Parser {
         config.setTotalFieldNum(totalFieldNum);
     }
     
-    /**
-     * This method check if an object satisfy an a atomic conditions. It can be
-     * both subject conditions or resource conditions
-     * @param obj the object need to check
-     * @param rule the rule contains the atomic conditions
-     * @param isSubject true if checking with subject condition, false if checking 
-     * @param objects object model
-     * @param classes class model
-     * resource condition
-     * @return 
-     */
-    public static boolean checkSatisfyAtomicConditions(Object1 obj, Rule rule, boolean isSubject, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
-        // Note that in our current case study, we only have 1-level inheritance.
-        if (isSubject){
-            if (classes.get(obj.getClass1()).getParentClass() != null){
-                if (!obj.getClass1().equals(rule.getSubjectType().getClassName()) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(rule.getSubjectType().getClassName())){
-                    return false;
-                }
-            }
-            else {
-                if (!obj.getClass1().equals(rule.getSubjectType().getClassName())){
-                    return false;
-                }
-            }
-        }
-        else {
-            if (classes.get(obj.getClass1()).getParentClass() != null){
-                if (!obj.getClass1().equals(rule.getResourceType().getClassName()) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(rule.getResourceType().getClassName())){
-                    return false;
-                }
-            }
-            else { 
-                if (!obj.getClass1().equals(rule.getResourceType().getClassName())){
-                    return false;
-                }
-            }
-        }
-        ArrayList<AtomicCondition> conditions;
-        if (isSubject){
-            conditions = rule.getSubjectCondition();
-        }
-        else conditions = rule.getResourceCondition();
-        for (AtomicCondition ac:conditions){
-            if (!ReBACMiner.checkSatisfyAtomicCondition(obj, ac, objects, classes, config)){
-                return false;
-            }
-        }
-        return true;
-    }
-    
     /**
      * This method returns attribute values of an object from a given path.
      * @param obj1 the object need to be checked
@@ -1171,68 +768,7 @@ public class Parser {
      * false with list of objects' ids.
      */
     public static Triple<Boolean, ArrayList<String>, Boolean> getAttributePathValues(Object1 obj1, ArrayList<String> path, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
-        ArrayList<String> results = new ArrayList<String>();
-        boolean isBoolean = false;
-        boolean isUnknown = false;
-        ArrayList<Object1> currentObjects = new ArrayList<Object1>();
-        currentObjects.add(obj1);
-        String currentClassName = obj1.getClass1();
-        for (String s:path){
-            if (!isUnknown && !s.equals("id")){
-                for (Object1 obj: currentObjects){
-                    if (obj.getData().get(s) == null){
-                        System.out.println();
-                    }
-                    if (obj.getData().get(s).getIsUnknown()){
-                        isUnknown = true;
-                        break;
-                    }
-                }
-                
-            }
-            if (s.equals("id")){
-                for (Object1 obj:currentObjects){
-                    results.add(obj.getId());
-                }
-                break;
-            }
-            else if (config.getClassAttributes().get(currentClassName).get(s).getIsBoolean()){
-                isBoolean = true;
-                if (!currentObjects.isEmpty()){
-                    for (Object1 obj : currentObjects) {
-                        if (obj.getData().get(s).getBool()) {
-                            results.add("true");
-                        }
-                        else{
-                            results.add("false");
-                        }
-                    }
-                }
-                break;
-            }
-            else {
-                ArrayList<Object1> oldObjects = new ArrayList<Object1>(currentObjects);
-                currentObjects.clear();
-                if (config.getClassAttributes().get(currentClassName).get(s).getMultiplicity() == Multiplicity.ONE || config.getClassAttributes().get(currentClassName).get(s).getMultiplicity() == Multiplicity.OPTIONAL){
-                    for (Object1 obj:oldObjects){
-                        if (obj.getData().get(s).getObjId() != null){
-                            currentObjects.add(objects.get(obj.getData().get(s).getObjId()));
-                        }
-                    }
-                }
-                else if (config.getClassAttributes().get(currentClassName).get(s).getMultiplicity() == Multiplicity.MANY){
-                    for (Object1 obj:oldObjects){
-                        if (obj.getData().get(s).getSetObjId() != null){
-                            for (String id:obj.getData().get(s).getSetObjId()){
-                                currentObjects.add(objects.get(id));
-                            }
-                        }
-                    }
-                }
-                currentClassName = config.getClassAttributes().get(currentClassName).get(s).getType().getClassName();
-            } 
-        }
-        return new Triple(isBoolean, results, isUnknown);
+        return PathEvaluator.getAttributePathValues(obj1, path, objects, config.getClassAttributes());
     }
 //    public static void main(String[] args){
 
@@ -0,0 +1,238 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * PathTable holds the values of an attribute path for all objects of a type
+ * (the rows are the positions in ObjectStore.getTypeObjects). The values of
+ * row i are values[offsets[i]] ... values[offsets[i+1] - 1], in the same order
+ * as ObjectStore.getAttributePathValues. A value is an object ordinal, or
+ * TRUE_VALUE / FALSE_VALUE for boolean paths.
+ *
+ * A table is computed from the table of the path without its last attribute by
+ * joining every row with the column of that attribute, so each hop is one pass
+ * over all objects of the type and tables of common path prefixes are shared.
+ * @author Thang Bui
+ */
+public class PathTable {
+    public static final int TRUE_VALUE = -2;
+    public static final int FALSE_VALUE = -3;
+
+    private final int rowNum;
+    private int[] offsets;
+    private int[] values;
+    // rows whose path ends with a boolean attribute
+    private BitSet booleans;
+    // rows whose path reaches an unknown value
+    private BitSet unknowns;
+    // rows whose path walk ended at an id or a boolean attribute. The values of the
+    // other rows are the objects reached so far, and their declared class is in rowClasses.
+    private BitSet ended;
+    private int[] rowClasses;
+
+    private PathTable(int rowNum){
+        this.rowNum = rowNum;
+    }
+
+    /**
+     * This method creates the table of the empty path: each row holds its own object
+     * @param store
+     * @param typeObjects object ordinals of the rows
+     * @return
+     */
+    static PathTable start(ObjectStore store, int[] typeObjects){
+        PathTable table = new PathTable(typeObjects.length);
+        table.offsets = new int[typeObjects.length + 1];
+        table.values = Arrays.copyOf(typeObjects, typeObjects.length);
+        table.rowClasses = new int[typeObjects.length];
+        for (int i = 0; i < typeObjects.length; i++){
+            table.offsets[i + 1] = i + 1;
+            table.rowClasses[i] = store.getObjectClass(typeObjects[i]);
+        }
+        table.booleans = new BitSet(typeObjects.length);
+        table.unknowns = new BitSet(typeObjects.length);
+        table.ended = new BitSet(typeObjects.length);
+        return table;
+    }
+
+    /**
+     * This method computes the table of the path extended with one attribute
+     * @param store
+     * @param attribute
+     * @return
+     */
+    PathTable extend(ObjectStore store, String attribute){
+        PathTable table = new PathTable(this.rowNum);
+        table.offsets = new int[this.rowNum + 1];
+        table.values = new int[Math.max(this.values.length, 4)];
+        table.booleans = (BitSet) this.booleans.clone();
+        table.unknowns = (BitSet) this.unknowns.clone();
+        table.ended = (BitSet) this.ended.clone();
+        table.rowClasses = Arrays.copyOf(this.rowClasses, this.rowNum);
+        boolean isId = attribute.equals("id");
+        int a = isId ? ObjectStore.NULL_VALUE : store.getAttributeOrdinal(attribute);
+        int size = 0;
+        for (int i = 0; i < this.rowNum; i++){
+            int start = this.offsets[i];
+            int end = this.offsets[i + 1];
+            table.offsets[i] = size;
+            if (this.ended.get(i) || isId){
+                // the values of the row do not change
+                table.ended.set(i);
+                if (size + end - start > table.values.length){
+                    table.values = Arrays.copyOf(table.values, Math.max(table.values.length * 2, size + end - start));
+                }
+                System.arraycopy(this.values, start, table.values, size, end - start);
+                size += end - start;
+                continue;
+            }
+            if (!table.unknowns.get(i)){
+                for (int k = start; k < end; k++){
+                    int o = this.values[k];
+                    if (store.getColumn(store.getObjectClass(o), a).isUnknown(store.getObjectRow(o))){
+                        table.unknowns.set(i);
+                        break;
+                    }
+                }
+            }
+            // the declared type of the attribute decides how the path continues
+            ObjectStore.Column declared = store.getColumn(this.rowClasses[i], a);
+            if (declared.isBoolean()){
+                table.booleans.set(i);
+                table.ended.set(i);
+                if (size + end - start > table.values.length){
+                    table.values = Arrays.copyOf(table.values, Math.max(table.values.length * 2, size + end - start));
+                }
+                for (int k = start; k < end; k++){
+                    int o = this.values[k];
+                    table.values[size++] = store.getColumn(store.getObjectClass(o), a).getBool(store.getObjectRow(o)) ? TRUE_VALUE : FALSE_VALUE;
+                }
+                continue;
+            }
+            for (int k = start; k < end; k++){
+                int o = this.values[k];
+                ObjectStore.Column column = store.getColumn(store.getObjectClass(o), a);
+                int row = store.getObjectRow(o);
+                if (column.isMany()){
+                    int valueEnd = column.getValueEnd(row);
+                    for (int j = column.getValueStart(row); j < valueEnd; j++){
+                        if (size == table.values.length){
+                            table.values = Arrays.copyOf(table.values, table.values.length * 2);
+                        }
+                        table.values[size++] = column.getTarget(j);
+                    }
+                }
+                else if (column.getValue(row) != ObjectStore.NULL_VALUE){
+                    if (size == table.values.length){
+                        table.values = Arrays.copyOf(table.values, table.values.length * 2);
+                    }
+                    table.values[size++] = column.getValue(row);
+                }
+            }
+            table.rowClasses[i] = declared.getTargetClass();
+        }
+        table.offsets[this.rowNum] = size;
+        table.values = Arrays.copyOf(table.values, size);
+        return table;
+    }
+
+    /**
+     * This method computes the final table of a path: a path that does not end
+     * with an id or a boolean attribute has no values.
+     * @return
+     */
+    PathTable finish(){
+        PathTable table = new PathTable(this.rowNum);
+        table.offsets = new int[this.rowNum + 1];
+        int size = 0;
+        for (int i = 0; i < this.rowNum; i++){
+            table.offsets[i] = size;
+            if (this.ended.get(i)){
+                size += this.offsets[i + 1] - this.offsets[i];
+            }
+        }
+        table.offsets[this.rowNum] = size;
+        table.values = new int[size];
+        for (int i = 0; i < this.rowNum; i++){
+            if (this.ended.get(i)){
+                System.arraycopy(this.values, this.offsets[i], table.values, table.offsets[i], this.offsets[i + 1] - this.offsets[i]);
+            }
+        }
+        table.booleans = this.booleans;
+        table.unknowns = this.unknowns;
+        table.ended = this.ended;
+        return table;
+    }
+
+    /**
+     * @param i row
+     * @param value
+     * @return true if the value is one of the values of the row
+     */
+    public boolean contains(int i, int value){
+        for (int k = this.offsets[i]; k < this.offsets[i + 1]; k++){
+            if (this.values[k] == value){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Accessor methods
+    public int getRowNum(){
+        return this.rowNum;
+    }
+    public int getValueStart(int i){
+        return this.offsets[i];
+    }
+    public int getValueEnd(int i){
+        return this.offsets[i + 1];
+    }
+    public int getValueNum(int i){
+        return this.offsets[i + 1] - this.offsets[i];
+    }
+    public int getValue(int index){
+        return this.values[index];
+    }
+    public boolean isBoolean(int i){
+        return this.booleans.get(i);
+    }
+    public boolean isUnknown(int i){
+        return this.unknowns.get(i);
+    }
+    /**
+     * @return estimated heap size of the table in bytes
+     */
+    public long getByteSize(){
+        long size = 48 + 16 + 4L * this.offsets.length + 16 + 4L * this.values.length;
+        for (BitSet bits:new BitSet[]{this.booleans, this.unknowns, this.ended}){
+            if (bits != null){
+                size += 40 + bits.size() / 8;
+            }
+        }
+        if (this.rowClasses != null){
+            size += 16 + 4L * this.rowClasses.length;
+        }
+        return size;
+    }
+}
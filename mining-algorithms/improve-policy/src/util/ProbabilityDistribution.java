@@ -21,10 +21,6 @@ package util;
 
 import java.util.Random;
 
-import org.apache.commons.math.MathException;
-import org.apache.commons.math.distribution.ExponentialDistributionImpl;
-import org.apache.commons.math.distribution.WeibullDistributionImpl;
-
 /**
  * ProabilityDistribution is an interface for defining various distributions.
  *
@@ -38,138 +34,6 @@ public interface ProbabilityDistribution {
     public double getProbability(int rank);
 }
 
-class ExponentialDistrib implements ProbabilityDistribution {
-    double lambda;
-    private ExponentialDistributionImpl edmp;
-    
-    public ExponentialDistrib(double mean) {
-        edmp = new ExponentialDistributionImpl(mean);
-    }
-    
-    public double sample() {
-        try {
-            return edmp.sample();
-        } catch (MathException e) {
-            e.printStackTrace();
-        }
-        
-        return -1.0;
-    }
-    
-    @Override
-    public int getNextDistVal() {
-        try {
-            return (int) edmp.sample();
-        } catch (MathException e) {
-            e.printStackTrace();
-        }
-        
-        return -1;
-    }
-    
-    @Override
-    public double getProbability(int rank) {
-        return 0;
-    }
-}
-
-class UniformDistrib implements ProbabilityDistribution {   
-    private Random rnd;
-    private int min, size;
-    
-    public UniformDistrib(int min, int max, long seed) {       
-        rnd = new Random(seed);       
-        this.min = min;      
-        this.size = 1 + max - min;       
-    }
-    
-    public int getNextDistVal() {
-        return rnd.nextInt(size) + min;
-        
-    }
-    
-    @Override
-    
-    public double getProbability(int rank) {
-        
-        return 1.0 / (double) size;
-        
-    }
-    
-}
-
-class MixedDistrib implements ProbabilityDistribution {
-    private double probability;
-    private Random rnd;
-    private UniformDistrib uniformDist;
-    
-    public MixedDistrib(double probability, int size, long seed) {
-        uniformDist = new UniformDistrib(0, size - 1 , seed);
-        rnd = new Random(seed);
-        this.probability = probability;
-    }
-    
-    @Override
-    public int getNextDistVal() {
-        double d = rnd.nextDouble();
-        if (d <= probability)
-            return 1;
-        else
-            return uniformDist.getNextDistVal() + 2;
-        
-    }
-    
-    @Override
-    public double getProbability(int rank) {
-        return 0;
-    }
-    
-}
-
-class ConstantDistrib implements ProbabilityDistribution {
-    private int value;
-    
-    public ConstantDistrib(int value) {
-        this.value = value;
-    }
-    
-    @Override
-    public int getNextDistVal() {
-        return value;
-    }
-    
-    @Override
-    public double getProbability(int rank) {
-        return 1.0;
-    }
-}
-
-class WeibullDistrib implements ProbabilityDistribution {
-    
-    private WeibullDistributionImpl wimp;
-    
-    public WeibullDistrib(double shape, double scale) {
-        wimp = new WeibullDistributionImpl(shape, scale);
-    }
-    
-    @Override
-    public int getNextDistVal() {
-        try {
-            return (int) wimp.sample();
-        } catch (MathException e) {
-            e.printStackTrace();
-        }
-        return -1;
-    }
-    
-    @Override
-    public double getProbability(int rank) {
-        return 1.0;
-    }
-}
-
-
-
 /*
 * http://code.google.com/p/haggle/source/browse/android/LuckyMe/src/org/haggle/
 * LuckyMe
@@ -231,67 +95,3 @@ class ZipfDistrib implements ProbabilityDistribution {
         return (1.0d / Math.pow(rank, this.skew)) / this.bottom;
     }
 }
-
-class NormalDistribution implements ProbabilityDistribution {
-    private org.apache.commons.math3.distribution.NormalDistribution normalDist;
-    private double min, max;
-    
-    public NormalDistribution(double min, double max, double mean, double sigma) {
-        normalDist =
-                new org.apache.commons.math3.distribution.NormalDistribution(mean, sigma);
-        this.min = min;
-        this.max = max;
-    }
-    
-    // set seed of pseudorandom number generator used in nextValue().
-    public void setSeed(long seed) {
-        normalDist.reseedRandomGenerator(seed);
-    }
-    
-    public double nextValue() {
-        double x = normalDist.sample();
-        while (x < min || x > max) {
-            x = normalDist.sample();
-        }
-        return x;
-    }
-    
-    @Override
-    //Not Implemented
-    public int getNextDistVal(){
-        return 0;
-    }
-    
-    @Override
-    //Not Implemented
-    public double getProbability(int rank) {
-        return 0;
-    }
-}
-
-// returns 0 (false) or 1 (true).  returns 1 with probability trueProb.
-class BooleanDistrib implements ProbabilityDistribution {
-    private Random randomGen = new java.util.Random();
-    private double trueProb;
-    
-    public BooleanDistrib(double trueProb) {
-        this.trueProb = trueProb;
-    }
-    
-    // set seed of pseudorandom number generator used in nextValue().
-    public void setSeed(long seed) {
-        randomGen.setSeed(seed);
-    }
-    
-    @Override
-    public int getNextDistVal() {
-        return (randomGen.nextDouble() <= trueProb) ? 1 : 0;
-    }
-    
-    @Override
-    //Not Implemented
-    public double getProbability(int rank) {
-        return 0;
-    }
-}
-
@@ -0,0 +1,176 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.util.ArrayList;
+import java.util.Set;
+import core.Triple;
+
+/**
+ * RuleEvaluation is the cached evaluation of a rule signature: the (subject,
+ * resource) pairs the rule covers, as object ordinals of the ObjectStore in the
+ * order of ReBACMiner.computeCoveredUP, and the number of covered UP triples
+ * that are in the UP index. The covered pairs only depend on the object model,
+ * while the contained count is only current for the UP index and modification
+ * count it was computed with.
+ * @author Thang Bui
+ */
+public class RuleEvaluation {
+    // subject and resource ordinals of the covered pairs, interleaved
+    private final int[] coveredPairs;
+    private final int actionNum;
+    private final int containedNum;
+    private final UPIndex upIndex;
+    private final int upIndexModCount;
+
+    /**
+     * @param coveredPairs subject and resource ordinals of the covered pairs, interleaved
+     * @param actionNum number of actions of the rule
+     * @param containedNum number of covered UP triples in the UP index
+     * @param upIndex UP index used to compute containedNum
+     */
+    public RuleEvaluation(int[] coveredPairs, int actionNum, int containedNum, UPIndex upIndex){
+        this.coveredPairs = coveredPairs;
+        this.actionNum = actionNum;
+        this.containedNum = containedNum;
+        this.upIndex = upIndex;
+        this.upIndexModCount = upIndex.getModCount();
+    }
+
+    /**
+     * This method creates the evaluation of the same covered pairs for the current state of a UP index
+     * @param upIndex
+     * @param actions actions of the rule
+     * @return
+     */
+    public RuleEvaluation recount(UPIndex upIndex, Set<String> actions){
+        return new RuleEvaluation(this.coveredPairs, this.actionNum, countContained(this.coveredPairs, actions, upIndex), upIndex);
+    }
+
+    /**
+     * This method merges two lists of covered pairs ordered by subject and then by resource ordinal
+     * @param pairs1 subject and resource ordinals of the pairs, interleaved
+     * @param pairs2 subject and resource ordinals of the pairs, interleaved
+     * @return the ordered union of the pairs, which must be disjoint
+     */
+    public static int[] mergePairs(int[] pairs1, int[] pairs2){
+        int[] results = new int[pairs1.length + pairs2.length];
+        int k1 = 0;
+        int k2 = 0;
+        int size = 0;
+        while (k1 < pairs1.length || k2 < pairs2.length){
+            boolean isFirst;
+            if (k2 == pairs2.length){
+                isFirst = true;
+            }
+            else if (k1 == pairs1.length){
+                isFirst = false;
+            }
+            else{
+                isFirst = pairs1[k1] < pairs2[k2] || (pairs1[k1] == pairs2[k2] && pairs1[k1 + 1] < pairs2[k2 + 1]);
+            }
+            if (isFirst){
+                results[size++] = pairs1[k1++];
+                results[size++] = pairs1[k1++];
+            }
+            else{
+                results[size++] = pairs2[k2++];
+                results[size++] = pairs2[k2++];
+            }
+        }
+        return results;
+    }
+
+    /**
+     * This method counts the covered UP triples that are in a UP index
+     * @param coveredPairs subject and resource ordinals of the covered pairs, interleaved
+     * @param actions
+     * @param upIndex
+     * @return
+     */
+    public static int countContained(int[] coveredPairs, Set<String> actions, UPIndex upIndex){
+        int count = 0;
+        for (String action:actions){
+            for (int k = 0; k < coveredPairs.length; k += 2){
+                if (upIndex.contains(coveredPairs[k], coveredPairs[k + 1], action)){
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method creates the covered UP triples, in the order of ReBACMiner.computeCoveredUP
+     * @param actions actions of the rule, iterated in their current order
+     * @param store
+     * @return
+     */
+    public ArrayList<Triple<String, String, String>> getCoveredUP(Set<String> actions, ObjectStore store){
+        ArrayList<Triple<String, String, String>> results = new ArrayList<Triple<String, String, String>>(getCoveredNum());
+        for (int k = 0; k < this.coveredPairs.length; k += 2){
+            String subId = store.getObjectId(this.coveredPairs[k]);
+            String resId = store.getObjectId(this.coveredPairs[k + 1]);
+            for (String action:actions){
+                results.add(new Triple<String, String, String>(subId, resId, action));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * This method checks the validity of the rule as ReBACMiner.isValidRule does
+     * @param noiseDetection
+     * @param alpha maximum fraction of covered triples that are not in the UP index
+     * @return
+     */
+    public boolean isValid(boolean noiseDetection, double alpha){
+        int notContained = getCoveredNum() - this.containedNum;
+        if (!noiseDetection || alpha == 0.0){
+            return notContained == 0;
+        }
+        return notContained <= (int) (getCoveredNum() * alpha);
+    }
+
+    /**
+     * @param upIndex
+     * @return true if the contained count was computed with the current state of the UP index
+     */
+    public boolean isCurrent(UPIndex upIndex){
+        return this.upIndex == upIndex && this.upIndexModCount == upIndex.getModCount();
+    }
+
+    // Accessor methods
+    public int getCoveredNum(){
+        return (this.coveredPairs.length / 2) * this.actionNum;
+    }
+    public int getContainedNum(){
+        return this.containedNum;
+    }
+    public int[] getCoveredPairs(){
+        return this.coveredPairs;
+    }
+    /**
+     * @return estimated heap size of the evaluation in bytes
+     */
+    public long getByteSize(){
+        return 40 + 16 + 4L * this.coveredPairs.length;
+    }
+}
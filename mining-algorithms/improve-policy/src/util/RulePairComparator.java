@@ -19,6 +19,9 @@
 package util;
 
 import java.util.Comparator;
+import core.Pair;
+import core.Rule;
+import core.QualityValue;
 
 public class RulePairComparator implements Comparator<Pair<Rule, Rule>> {
     
@@ -19,6 +19,7 @@
 package util;
 
 import java.util.Comparator;
+import core.Rule;
 
 public class RuleQualityComparator implements
         Comparator<Rule> {
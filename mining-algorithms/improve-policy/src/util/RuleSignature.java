@@ -0,0 +1,131 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import core.AtomicCondition;
+import core.AtomicConstraint;
+import core.Rule;
+
+/**
+ * RuleSignature is the canonical form of a rule: the subject and resource types,
+ * the sorted list of canonical atomic conditions of each, the sorted list of
+ * canonical atomic constraints and the sorted actions. Two rules with the same
+ * signature cover the same UP tuples and have the same WSC, whatever the order
+ * of their conditions, constraints, constants and actions. Rule itself keeps
+ * identity equality, which the mining algorithm relies on.
+ * @author Thang Bui
+ */
+public class RuleSignature {
+    private final String signature;
+    private final int hash;
+
+    private RuleSignature(String signature){
+        this.signature = signature;
+        this.hash = signature.hashCode();
+    }
+
+    /**
+     * This method computes the signature of a rule
+     * @param r
+     * @return
+     */
+    public static RuleSignature of(Rule r){
+        StringBuilder builder = new StringBuilder();
+        builder.append(r.getSubjectType().getClassName()).append(';');
+        appendConditions(builder, r.getSubjectCondition());
+        builder.append(';').append(r.getResourceType().getClassName()).append(';');
+        appendConditions(builder, r.getResourceCondition());
+        builder.append(';');
+        ArrayList<String> constraints = new ArrayList<String>();
+        for (AtomicConstraint ac:r.getConstraint()){
+            StringBuilder constraint = new StringBuilder();
+            if (ac.getIsNegative()){
+                constraint.append('!');
+            }
+            appendPath(constraint, ac.getSubPath());
+            constraint.append(' ').append(ac.getConstraintOperator()).append(' ');
+            appendPath(constraint, ac.getResPath());
+            constraints.add(constraint.toString());
+        }
+        appendSorted(builder, constraints);
+        builder.append(';');
+        appendSorted(builder, r.getActions());
+        return new RuleSignature(builder.toString());
+    }
+
+    private static void appendConditions(StringBuilder builder, List<AtomicCondition> conditions){
+        ArrayList<String> results = new ArrayList<String>();
+        for (AtomicCondition ac:conditions){
+            StringBuilder condition = new StringBuilder();
+            if (ac.getIsNegative()){
+                condition.append('!');
+            }
+            appendPath(condition, ac.getPath());
+            condition.append(' ').append(ac.getConditionOperator()).append(" {");
+            appendSorted(condition, ac.getConstant());
+            condition.append('}');
+            results.add(condition.toString());
+        }
+        appendSorted(builder, results);
+    }
+
+    private static void appendPath(StringBuilder builder, List<String> path){
+        for (int i = 0; i < path.size(); i++){
+            if (i > 0){
+                builder.append('.');
+            }
+            builder.append(path.get(i));
+        }
+    }
+
+    private static void appendSorted(StringBuilder builder, Collection<String> values){
+        ArrayList<String> sorted = new ArrayList<String>(values);
+        Collections.sort(sorted);
+        for (int i = 0; i < sorted.size(); i++){
+            if (i > 0){
+                builder.append(" and ");
+            }
+            builder.append(sorted.get(i));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if (!(o instanceof RuleSignature)){
+            return false;
+        }
+        RuleSignature other = (RuleSignature) o;
+        return this.hash == other.hash && this.signature.equals(other.signature);
+    }
+
+    @Override
+    public int hashCode(){
+        return this.hash;
+    }
+
+    @Override
+    public String toString(){
+        return this.signature;
+    }
+}
@@ -0,0 +1,441 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+ 
+package util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import core.Pair;
+
+/**
+ * SyntheticDatasetGenerator generates attribute datasets (.abac_txt files) of any size from a
+ * class model, the number of objects of each class per unit of size, the distributions of the
+ * fan-out and of the targets of each field, and a set of rules. The objects are written one at a
+ * time and their ids are derived from their class and index, so the generator only holds the
+ * class model and one object in memory, and datasets with millions of objects can be generated.
+ * All random choices are drawn from distributions seeded from the seed, the size and the index
+ * of the dataset, so that the same configuration gives the same datasets.
+ * @author Thang Bui
+ */
+public class SyntheticDatasetGenerator {
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+    // maximum number of draws per target of a field with multiplicity many, which bounds the
+    // work when the distribution of the targets is concentrated on a few objects
+    private static final int MAX_DRAWS_PER_TARGET = 10;
+
+    // class names, in the order of the configuration: a parent class is declared before its children
+    private final List<String> classNames = new ArrayList<String>();
+    private final Map<String, String> parents = new LinkedHashMap<String, String>();
+    // declared fields of each class
+    private final Map<String, List<FieldSpec>> fields = new LinkedHashMap<String, List<FieldSpec>>();
+    private final Map<String, Double> objectsPerSize = new LinkedHashMap<String, Double>();
+    private final List<String> rules = new ArrayList<String>();
+    private final Properties properties;
+    private final double unknownProbability;
+
+    public SyntheticDatasetGenerator(Properties properties){
+        this.properties = properties;
+        this.unknownProbability = Double.parseDouble(properties.getProperty("unknownProbability", "0").trim());
+        for (String className:readList(properties.getProperty("classes"))){
+            String parent = properties.getProperty(className + ".parent", "").trim();
+            if (!parent.equals("") && !this.fields.containsKey(parent)){
+                throw new IllegalArgumentException("The parent " + parent + " of class " + className + " must be declared before it");
+            }
+            this.classNames.add(className);
+            this.parents.put(className, parent);
+            List<FieldSpec> classFields = new ArrayList<FieldSpec>();
+            for (String declaration:readList(properties.getProperty(className + ".fields"))){
+                classFields.add(new FieldSpec(className, declaration));
+            }
+            this.fields.put(className, classFields);
+            this.objectsPerSize.put(className, Double.parseDouble(properties.getProperty(className + ".objectsPerSize", "1").trim()));
+        }
+        for (int i = 1; properties.getProperty("rule" + i) != null; i++){
+            this.rules.add(properties.getProperty("rule" + i).trim());
+        }
+    }
+
+    public static void main(String[] args){
+        if (args.length != 1){
+            System.out.println("Missing config file argument");
+            System.exit(0);
+        }
+        Properties inputProperties = new Properties();
+        try{
+            FileInputStream in = new FileInputStream(args[0]);
+            try{
+                inputProperties.load(in);
+            }
+            finally{
+                in.close();
+            }
+        }
+        catch (FileNotFoundException e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
+        }
+        String policyName = inputProperties.getProperty("policyName", "synthetic").trim();
+        String outputPath = inputProperties.getProperty("outputPath", "./").trim();
+        int numPoliciesPerSize = Integer.parseInt(inputProperties.getProperty("numPoliciesPerSize", "1").trim());
+        long seed = Long.parseLong(inputProperties.getProperty("seed", "0").trim());
+        SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(inputProperties);
+        for (String size:readList(inputProperties.getProperty("sizes"))){
+            for (int j = 0; j < numPoliciesPerSize; j++){
+                String fileName = outputPath + policyName + "_" + size + "_" + j + ".abac_txt";
+                long start = System.currentTimeMillis();
+                long objectNum = generator.generate(fileName, Integer.parseInt(size), seed + 1000003L * Integer.parseInt(size) + j);
+                System.out.println(fileName + ": " + objectNum + " objects in " + (System.currentTimeMillis() - start) + " ms");
+            }
+        }
+    }
+
+    /**
+     * This method generates a dataset
+     * @param fileName
+     * @param size
+     * @param seed
+     * @return number of generated objects
+     */
+    public long generate(String fileName, int size, long seed){
+        Map<String, Integer> objectCounts = new LinkedHashMap<String, Integer>();
+        for (String className:this.classNames){
+            objectCounts.put(className, (int) Math.max(1, Math.round(this.objectsPerSize.get(className) * size)));
+        }
+        // fields of each class including the inherited ones, with their distributions for this dataset
+        Map<String, List<FieldGenerator>> generators = new LinkedHashMap<String, List<FieldGenerator>>();
+        long fieldSeed = seed;
+        for (String className:this.classNames){
+            List<FieldGenerator> classGenerators = new ArrayList<FieldGenerator>();
+            for (String c = className; !c.equals(""); c = this.parents.get(c)){
+                for (FieldSpec field:this.fields.get(c)){
+                    classGenerators.add(new FieldGenerator(field, getTargetRanges(field.type, objectCounts), fieldSeed));
+                    fieldSeed += 3;
+                }
+            }
+            generators.put(className, classGenerators);
+        }
+        ProbabilityDistribution unknownDist = new BooleanDistrib(this.unknownProbability);
+        ((BooleanDistrib) unknownDist).setSeed(fieldSeed);
+
+        long objectNum = 0;
+        try{
+            File outputFile = new File(fileName);
+            if (outputFile.getParentFile() != null){
+                outputFile.getParentFile().mkdirs();
+            }
+            BufferedWriter outputWriter = new BufferedWriter(new FileWriter(outputFile), OUTPUT_BUFFER_SIZE);
+            try{
+                outputWriter.write("#Seed:\nseedString=" + seed + "\n");
+                outputWriter.write("# Class Model:\n");
+                for (String className:this.classNames){
+                    outputWriter.write(classDeclaration(className) + "\n");
+                }
+                outputWriter.write("# End Of Class Model\n");
+                outputWriter.write("# Object Model:\n");
+                StringBuilder line = new StringBuilder();
+                for (String className:this.classNames){
+                    List<FieldGenerator> classGenerators = generators.get(className);
+                    int count = objectCounts.get(className);
+                    for (int i = 0; i < count; i++){
+                        line.setLength(0);
+                        line.append("object(").append(className).append("; id=").append(className).append(i);
+                        for (FieldGenerator generator:classGenerators){
+                            line.append("; ").append(generator.field.name).append('=');
+                            if (this.unknownProbability > 0 && unknownDist.getNextDistVal() == 1){
+                                line.append("unknown");
+                            }
+                            else{
+                                generator.appendValue(line);
+                            }
+                        }
+                        line.append(")\n");
+                        outputWriter.write(line.toString());
+                        objectNum++;
+                    }
+                }
+                outputWriter.write("# Rule Model:\n");
+                for (String rule:this.rules){
+                    outputWriter.write(rule + "\n");
+                }
+            }
+            finally{
+                outputWriter.close();
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+        }
+        return objectNum;
+    }
+
+    /**
+     * @param className
+     * @return the declaration of the class in the class model
+     */
+    private String classDeclaration(String className){
+        StringBuilder declaration = new StringBuilder("class(" + className + "; " + this.parents.get(className));
+        for (FieldSpec field:this.fields.get(className)){
+            declaration.append("; ").append(field.declaration);
+        }
+        return declaration.append(")").toString();
+    }
+
+    /**
+     * This method computes the objects that a field of the given type can refer to: the objects
+     * of the type and of its descendant classes, as ranges of indexes in the order of the classes
+     * @param type
+     * @param objectCounts
+     * @return the classes and the numbers of objects of the ranges
+     */
+    private List<Pair<String, Integer>> getTargetRanges(String type, Map<String, Integer> objectCounts){
+        List<Pair<String, Integer>> ranges = new ArrayList<Pair<String, Integer>>();
+        if (type.equals("Boolean")){
+            return ranges;
+        }
+        if (!this.fields.containsKey(type)){
+            throw new IllegalArgumentException("Unknown field type " + type);
+        }
+        for (String className:this.classNames){
+            for (String c = className; !c.equals(""); c = this.parents.get(c)){
+                if (c.equals(type)){
+                    ranges.add(new Pair<String, Integer>(className, objectCounts.get(className)));
+                    break;
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * This method creates a distribution from its specification:
+     * constant:v, uniform:min:max, zipf:size:skew, weibull:shape:scale, exponential:mean,
+     * normal:min:max:mean:sigma, or mixed:probability:size
+     * @param spec
+     * @param seed
+     * @return
+     */
+    static ProbabilityDistribution createDistribution(String spec, long seed){
+        String[] parts = spec.trim().split(":");
+        String name = parts[0].trim();
+        if (name.equals("constant")){
+            return new ConstantDistrib(Integer.parseInt(parts[1].trim()));
+        }
+        else if (name.equals("uniform")){
+            return new UniformDistrib(Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()), seed);
+        }
+        else if (name.equals("zipf")){
+            return new ZipfRejectionInversionDistrib(Integer.parseInt(parts[1].trim()), Double.parseDouble(parts[2].trim()), seed);
+        }
+        else if (name.equals("weibull")){
+            WeibullDistrib dist = new WeibullDistrib(Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim()));
+            dist.setSeed(seed);
+            return dist;
+        }
+        else if (name.equals("exponential")){
+            ExponentialDistrib dist = new ExponentialDistrib(Double.parseDouble(parts[1].trim()));
+            dist.setSeed(seed);
+            return dist;
+        }
+        else if (name.equals("normal")){
+            NormalDistribution dist = new NormalDistribution(Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim()),
+                    Double.parseDouble(parts[3].trim()), Double.parseDouble(parts[4].trim()));
+            dist.setSeed(seed);
+            return dist;
+        }
+        else if (name.equals("mixed")){
+            return new MixedDistrib(Double.parseDouble(parts[1].trim()), Integer.parseInt(parts[2].trim()), seed);
+        }
+        throw new IllegalArgumentException("Unknown distribution " + spec);
+    }
+
+    private static String[] readList(String value){
+        if (value == null || value.trim().length() < 2){
+            return new String[0];
+        }
+        value = value.trim();
+        value = value.substring(1, value.length() - 1).trim();
+        if (value.equals("")){
+            return new String[0];
+        }
+        String[] items = value.split(",");
+        for (int i = 0; i < items.length; i++){
+            items[i] = items[i].trim();
+        }
+        return items;
+    }
+
+    /**
+     * FieldSpec is the declaration of a field in the configuration, name:type with an optional
+     * multiplicity suffix ? or *, as in the class model
+     */
+    private class FieldSpec {
+        final String name;
+        final String type;
+        // '1', '?' or '*'
+        final char multiplicity;
+        final String declaration;
+        final String fanout;
+        final String targets;
+        final double noneProbability;
+        final double trueProbability;
+
+        FieldSpec(String className, String declaration){
+            String[] parts = declaration.split(":");
+            if (parts.length != 2){
+                throw new IllegalArgumentException("Invalid field declaration " + declaration + " of class " + className);
+            }
+            this.declaration = declaration;
+            this.name = parts[0].trim();
+            String type = parts[1].trim();
+            char last = type.charAt(type.length() - 1);
+            if (last == '?' || last == '*'){
+                this.multiplicity = last;
+                type = type.substring(0, type.length() - 1);
+            }
+            else{
+                this.multiplicity = '1';
+            }
+            this.type = type;
+            String prefix = className + "." + this.name + ".";
+            this.fanout = properties.getProperty(prefix + "fanout", "uniform:0:3");
+            this.targets = properties.getProperty(prefix + "targets", "uniform").trim();
+            this.noneProbability = Double.parseDouble(properties.getProperty(prefix + "noneProbability", "0.1").trim());
+            this.trueProbability = Double.parseDouble(properties.getProperty(prefix + "trueProbability", "0.5").trim());
+        }
+    }
+
+    /**
+     * FieldGenerator draws the values of a field for the objects of a dataset
+     */
+    private static class FieldGenerator {
+        final FieldSpec field;
+        // classes and numbers of objects of the objects the field can refer to
+        private final List<Pair<String, Integer>> ranges;
+        private final int targetNum;
+        private ProbabilityDistribution fanoutDist;
+        private ProbabilityDistribution targetDist;
+        // for a field with multiplicity optional, 1 if the value is null
+        private ProbabilityDistribution noneDist;
+        // for a Boolean field, 1 if the value is true
+        private ProbabilityDistribution trueDist;
+
+        FieldGenerator(FieldSpec field, List<Pair<String, Integer>> ranges, long seed){
+            this.field = field;
+            this.ranges = ranges;
+            int targetNum = 0;
+            for (Pair<String, Integer> range:ranges){
+                targetNum += range.getSecond();
+            }
+            this.targetNum = targetNum;
+            if (field.type.equals("Boolean")){
+                this.trueDist = new BooleanDistrib(field.trueProbability);
+                ((BooleanDistrib) this.trueDist).setSeed(seed);
+                return;
+            }
+            if (field.multiplicity == '*'){
+                this.fanoutDist = createDistribution(field.fanout, seed);
+            }
+            else if (field.multiplicity == '?'){
+                this.noneDist = new BooleanDistrib(field.noneProbability);
+                ((BooleanDistrib) this.noneDist).setSeed(seed);
+            }
+            if (field.targets.equals("uniform")){
+                this.targetDist = new UniformDistrib(1, targetNum, seed + 1);
+            }
+            else if (field.targets.startsWith("zipf:")){
+                // the objects with the lowest indexes are the most popular targets
+                this.targetDist = new ZipfRejectionInversionDistrib(targetNum, Double.parseDouble(field.targets.substring(5).trim()), seed + 1);
+            }
+            else{
+                throw new IllegalArgumentException("Unknown targets distribution " + field.targets + " of field " + field.name);
+            }
+        }
+
+        /**
+         * This method draws a value of the field and appends it to an object line
+         * @param line
+         */
+        void appendValue(StringBuilder line){
+            if (this.field.type.equals("Boolean")){
+                line.append(this.trueDist.getNextDistVal() == 1);
+            }
+            else if (this.field.multiplicity == '1'){
+                appendTarget(line, this.targetDist.getNextDistVal());
+            }
+            else if (this.field.multiplicity == '?'){
+                if (this.noneDist.getNextDistVal() == 1){
+                    line.append("null");
+                }
+                else{
+                    appendTarget(line, this.targetDist.getNextDistVal());
+                }
+            }
+            else{
+                int fanout = Math.min(Math.max(this.fanoutDist.getNextDistVal(), 0), this.targetNum);
+                Set<Integer> targets = new LinkedHashSet<Integer>();
+                for (int draws = 0; targets.size() < fanout && draws < fanout * MAX_DRAWS_PER_TARGET; draws++){
+                    targets.add(this.targetDist.getNextDistVal());
+                }
+                if (targets.isEmpty()){
+                    line.append("null");
+                    return;
+                }
+                line.append('{');
+                boolean first = true;
+                for (int target:targets){
+                    if (!first){
+                        line.append(", ");
+                    }
+                    appendTarget(line, target);
+                    first = false;
+                }
+                line.append('}');
+            }
+        }
+
+        /**
+         * This method appends the id of a target object
+         * @param line
+         * @param target rank of the object among the objects the field can refer to, from 1
+         */
+        private void appendTarget(StringBuilder line, int target){
+            int index = target - 1;
+            for (Pair<String, Integer> range:this.ranges){
+                if (index < range.getSecond()){
+                    line.append(range.getFirst()).append(index);
+                    return;
+                }
+                index -= range.getSecond();
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ package util;
  */
 
 import java.util.Comparator;
+import core.Pair;
+import core.Triple;
 
 public class UPComparator implements
         Comparator<Triple<String, String, String>> {
@@ -0,0 +1,352 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import core.Triple;
+
+/**
+ * UPIndex is a set of UP triples (subject, resource, action) with constant-time
+ * membership. Each triple is encoded into one long from the object ordinals of
+ * the ObjectStore and an interned action ordinal, and the longs are kept in an
+ * open-addressing hash table. The widths of the fields of the encoding are sized
+ * from the number of objects of the store and the number of actions, and are
+ * widened, re-encoding the table, when an ordinal does not fit.
+ * @author Thang Bui
+ */
+public class UPIndex {
+    // minimum width of the action field, so that a few new actions do not widen the encoding
+    private static final int MIN_ACTION_BITS = 4;
+    // the encoding uses the 63 low bits, so that no encoded triple equals EMPTY
+    private static final int KEY_BITS = 63;
+    private static final long EMPTY = -1L;
+
+    private final ObjectStore store;
+    // interned actions
+    private final Map<String, Integer> actionIndex;
+    private final ArrayList<String> actions;
+    // open-addressing table of encoded triples
+    private long[] table;
+    private int size;
+    // bit layout of an encoded triple: subject (objectBits) | resource (objectBits) | action (actionBits)
+    private int objectBits;
+    private int actionBits;
+    // number of successful additions and removals, used to detect stale cached counts
+    private int modCount;
+
+    public UPIndex(ObjectStore store){
+        this.store = store;
+        this.actionIndex = new HashMap<String, Integer>();
+        this.actions = new ArrayList<String>();
+        this.table = new long[16];
+        Arrays.fill(this.table, EMPTY);
+        this.size = 0;
+        this.objectBits = bitsFor(store.getObjectNum());
+        this.actionBits = MIN_ACTION_BITS;
+    }
+    
+    /**
+     * @param n
+     * @return number of bits needed to represent the values 0 to n - 1
+     */
+    private static int bitsFor(int n){
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 0)));
+    }
+
+    /**
+     * This method builds an index that contains all UP triples of a collection
+     * @param ups UP triples
+     * @param store store that interns the object ids
+     * @return
+     */
+    public static UPIndex of(Collection<Triple<String, String, String>> ups, ObjectStore store){
+        UPIndex index = new UPIndex(store);
+        for (Triple<String, String, String> up:ups){
+            index.add(up);
+        }
+        return index;
+    }
+
+    /**
+     * This method encodes a UP triple into a long
+     * @param up
+     * @param internAction true if an action that has not been seen yet should be interned
+     * @return the encoded triple, or EMPTY if the triple cannot be in the index
+     */
+    private long encode(Triple<String, String, String> up, boolean internAction){
+        int sub = this.store.getObjectOrdinal(up.getFirst());
+        int res = this.store.getObjectOrdinal(up.getSecond());
+        if (sub == ObjectStore.NULL_VALUE || res == ObjectStore.NULL_VALUE){
+            if (internAction){
+                throw new IllegalArgumentException("Unknown object in UP tuple: " + up);
+            }
+            return EMPTY;
+        }
+        Integer action = this.actionIndex.get(up.getThird());
+        if (action == null){
+            if (!internAction){
+                return EMPTY;
+            }
+            action = this.actions.size();
+            this.actionIndex.put(up.getThird(), action);
+            this.actions.add(up.getThird());
+        }
+        if (!fits(sub, res, action)){
+            if (!internAction){
+                // the triple has an ordinal that no triple of the index has
+                return EMPTY;
+            }
+            widen(Math.max(sub, res), action);
+        }
+        return key(sub, res, action);
+    }
+    
+    private boolean fits(int sub, int res, int action){
+        return (sub >>> this.objectBits) == 0 && (res >>> this.objectBits) == 0 && (action >>> this.actionBits) == 0;
+    }
+    
+    private long key(int sub, int res, int action){
+        return ((long) sub << (this.objectBits + this.actionBits)) | ((long) res << this.actionBits) | action;
+    }
+    
+    private int subjectOf(long key){
+        return (int) (key >>> (this.objectBits + this.actionBits));
+    }
+    
+    private int resourceOf(long key){
+        return (int) ((key >>> this.actionBits) & ((1L << this.objectBits) - 1));
+    }
+    
+    private int actionOf(long key){
+        return (int) (key & ((1L << this.actionBits) - 1));
+    }
+    
+    /**
+     * This method widens the fields of the encoding so that the given ordinals fit, and
+     * re-encodes the triples of the table
+     * @param object largest object ordinal
+     * @param action largest action ordinal
+     */
+    private void widen(int object, int action){
+        int newObjectBits = Math.max(this.objectBits, Math.max(bitsFor(object + 1), bitsFor(this.store.getObjectNum())));
+        int newActionBits = Math.max(this.actionBits, bitsFor(action + 1));
+        if (2 * newObjectBits + newActionBits > KEY_BITS){
+            throw new IllegalStateException("Too many objects and actions for the UP index encoding: " + this.store.getObjectNum() + " objects, " + (action + 1) + " actions");
+        }
+        long[] oldTable = this.table;
+        int oldObjectBits = this.objectBits;
+        int oldActionBits = this.actionBits;
+        this.table = new long[oldTable.length];
+        Arrays.fill(this.table, EMPTY);
+        this.objectBits = newObjectBits;
+        this.actionBits = newActionBits;
+        for (long oldKey:oldTable){
+            if (oldKey != EMPTY){
+                int sub = (int) (oldKey >>> (oldObjectBits + oldActionBits));
+                int res = (int) ((oldKey >>> oldActionBits) & ((1L << oldObjectBits) - 1));
+                int a = (int) (oldKey & ((1L << oldActionBits) - 1));
+                long newKey = key(sub, res, a);
+                this.table[slot(newKey)] = newKey;
+            }
+        }
+    }
+
+    private static int hash(long key){
+        key ^= (key >>> 33);
+        key *= 0xff51afd7ed558ccdL;
+        key ^= (key >>> 33);
+        return (int) key;
+    }
+
+    private int slot(long key){
+        int mask = this.table.length - 1;
+        int i = hash(key) & mask;
+        while (this.table[i] != EMPTY && this.table[i] != key){
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void grow(){
+        long[] oldTable = this.table;
+        this.table = new long[oldTable.length * 2];
+        Arrays.fill(this.table, EMPTY);
+        for (long key:oldTable){
+            if (key != EMPTY){
+                this.table[slot(key)] = key;
+            }
+        }
+    }
+
+    /**
+     * This method adds a UP triple to the index
+     * @param up
+     * @return true if the triple was not in the index
+     */
+    public boolean add(Triple<String, String, String> up){
+        long key = encode(up, true);
+        int i = slot(key);
+        if (this.table[i] == key){
+            return false;
+        }
+        this.table[i] = key;
+        this.size++;
+        this.modCount++;
+        if (this.size * 2 > this.table.length){
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * This method removes a UP triple from the index
+     * @param up
+     * @return true if the triple was in the index
+     */
+    public boolean remove(Triple<String, String, String> up){
+        long key = encode(up, false);
+        if (key == EMPTY){
+            return false;
+        }
+        int mask = this.table.length - 1;
+        int i = slot(key);
+        if (this.table[i] != key){
+            return false;
+        }
+        this.table[i] = EMPTY;
+        this.size--;
+        this.modCount++;
+        // shift back the following entries of the probe sequence
+        int j = (i + 1) & mask;
+        while (this.table[j] != EMPTY){
+            long moved = this.table[j];
+            this.table[j] = EMPTY;
+            this.table[slot(moved)] = moved;
+            j = (j + 1) & mask;
+        }
+        return true;
+    }
+
+    public boolean contains(Triple<String, String, String> up){
+        long key = encode(up, false);
+        return key != EMPTY && this.table[slot(key)] == key;
+    }
+
+    /**
+     * This method checks if a UP triple given by object ordinals of the store is in the index
+     * @param sub subject ordinal
+     * @param res resource ordinal
+     * @param action
+     * @return
+     */
+    public boolean contains(int sub, int res, String action){
+        Integer a = this.actionIndex.get(action);
+        if (a == null || !fits(sub, res, a)){
+            return false;
+        }
+        long key = key(sub, res, a);
+        return this.table[slot(key)] == key;
+    }
+
+    /**
+     * This method checks if all given UP triples are in the index
+     * @param ups
+     * @return
+     */
+    public boolean containsAll(Collection<Triple<String, String, String>> ups){
+        for (Triple<String, String, String> up:ups){
+            if (!contains(up)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method checks if all UP triples of another index are in this index.
+     * Both indexes must be built on the same store.
+     * @param other
+     * @return
+     */
+    public boolean containsAll(UPIndex other){
+        if (other.size > this.size){
+            return false;
+        }
+        for (long key:other.table){
+            if (key != EMPTY){
+                // the encodings and action ordinals of the two indexes may differ
+                if (!contains(other.subjectOf(key), other.resourceOf(key), other.actions.get(other.actionOf(key)))){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method counts the given UP triples that are in the index
+     * @param ups
+     * @return
+     */
+    public int countContained(Collection<Triple<String, String, String>> ups){
+        int count = 0;
+        for (Triple<String, String, String> up:ups){
+            if (contains(up)){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method returns the given UP triples that are not in the index, in order
+     * @param ups
+     * @return
+     */
+    public ArrayList<Triple<String, String, String>> filterNotContained(Collection<Triple<String, String, String>> ups){
+        ArrayList<Triple<String, String, String>> results = new ArrayList<Triple<String, String, String>>();
+        for (Triple<String, String, String> up:ups){
+            if (!contains(up)){
+                results.add(up);
+            }
+        }
+        return results;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+    public boolean isEmpty(){
+        return this.size == 0;
+    }
+
+    public ObjectStore getStore(){
+        return this.store;
+    }
+
+    public int getModCount(){
+        return this.modCount;
+    }
+}
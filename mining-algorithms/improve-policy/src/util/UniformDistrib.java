@@ -15,13 +15,32 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see http://www.gnu.org/licenses/.
  */
- 
-package learningdatagenerator;
 
-/**
- * This enum type represents operators in an atomic constraint
- * @author ThangBui
- */
-public enum ConstraintOperator {
-    EQUALS_VALUE, IN, CONTAINS, SUPSETEQ, SUBSETEQ, EQUALS_SET
+package util;
+
+import java.util.Random;
+
+class UniformDistrib implements ProbabilityDistribution {   
+    private Random rnd;
+    private int min, size;
+    
+    public UniformDistrib(int min, int max, long seed) {       
+        rnd = new Random(seed);       
+        this.min = min;      
+        this.size = 1 + max - min;       
+    }
+    
+    public int getNextDistVal() {
+        return rnd.nextInt(size) + min;
+        
+    }
+    
+    @Override
+    
+    public double getProbability(int rank) {
+        
+        return 1.0 / (double) size;
+        
+    }
+    
 }
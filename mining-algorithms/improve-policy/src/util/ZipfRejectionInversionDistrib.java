@@ -0,0 +1,113 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package util;
+
+import java.util.Random;
+
+// Zipf distribution on the ranks 1..size, sampled by rejection-inversion (W. Hormann and
+// G. Derflinger, Rejection-inversion to generate variates from monotone discrete distributions,
+// ACM TOMACS 6(3), 1996). Unlike ZipfDistrib, which draws ranks uniformly until one is accepted,
+// a sample takes constant expected time, so the distribution can be used with millions of ranks.
+class ZipfRejectionInversionDistrib implements ProbabilityDistribution {
+    private Random rnd;
+    private int size;
+    private double skew;
+    private double hIntegralX1;
+    private double hIntegralSize;
+    private double s;
+    // generalized harmonic number of size, computed when a probability is first requested
+    private double bottom = 0;
+
+    public ZipfRejectionInversionDistrib(int size, double skew, long seed) {
+        this.rnd = new Random(seed);
+        this.size = size;
+        this.skew = skew;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralSize = hIntegral(size + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+    }
+
+    public void setSeed(long seed) {
+        rnd = new Random(seed);
+    }
+
+    @Override
+    public int getNextDistVal() {
+        while (true) {
+            double u = hIntegralSize + rnd.nextDouble() * (hIntegralX1 - hIntegralSize);
+            double x = hIntegralInverse(u);
+            int rank = (int) (x + 0.5);
+            if (rank < 1) {
+                rank = 1;
+            }
+            else if (rank > size) {
+                rank = size;
+            }
+            if (rank - x <= s || u >= hIntegral(rank + 0.5) - h(rank)) {
+                return rank;
+            }
+        }
+    }
+
+    @Override
+    public double getProbability(int rank) {
+        if (bottom == 0) {
+            for (int i = 1; i <= size; i++) {
+                bottom += h(i);
+            }
+        }
+        return h(rank) / bottom;
+    }
+
+    // h(x) = 1 / x^skew
+    private double h(double x) {
+        return Math.exp(-skew * Math.log(x));
+    }
+
+    // integral of h, up to a constant
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1.0 - skew) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1.0 - skew);
+        if (t < -1.0) {
+            // limit rounding errors
+            t = -1.0;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    // log(1 + x) / x, accurate for x near 0
+    private static double helper1(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    // (exp(x) - 1) / x, accurate for x near 0
+    private static double helper2(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1.0 + x * 0.5 * (1.0 + x * 1.0 / 3.0 * (1.0 + 0.25 * x));
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package learningdatagenerator;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * AttributeDataReader reads a binary attribute data file written by
+ * BinaryAttributeRowWriter. The file is memory-mapped, in segments of whole rows
+ * so that files larger than 2 GB can be read, and the rows are accessed by index.
+ * @author Thang Bui
+ */
+public class AttributeDataReader {
+    private final int columnNum;
+    private final int stride;
+    private final long rowNum;
+    private final int rowsPerSegment;
+    private final ByteBuffer[] segments;
+    private final String[] columnNames;
+    private final String[] objectIds;
+
+    /**
+     * @param fileName binary attribute data file
+     * @throws IOException if the file is not a binary attribute data file
+     */
+    public AttributeDataReader(String fileName) throws IOException{
+        RandomAccessFile file = new RandomAccessFile(fileName, "r");
+        try{
+            FileChannel channel = file.getChannel();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryAttributeRowWriter.HEADER_SIZE);
+            if (header.getInt() != BinaryAttributeRowWriter.MAGIC || header.getInt() != BinaryAttributeRowWriter.VERSION){
+                throw new IOException(fileName + " is not a binary attribute data file");
+            }
+            this.columnNum = header.getInt();
+            this.stride = header.getInt();
+            this.rowNum = header.getLong();
+            long dictionaryOffset = header.getLong();
+
+            this.rowsPerSegment = Integer.MAX_VALUE / this.stride;
+            int segmentNum = (int) ((this.rowNum + this.rowsPerSegment - 1) / this.rowsPerSegment);
+            this.segments = new ByteBuffer[segmentNum];
+            for (int k = 0; k < segmentNum; k++){
+                long firstRow = (long) k * this.rowsPerSegment;
+                long rows = Math.min(this.rowsPerSegment, this.rowNum - firstRow);
+                this.segments[k] = channel.map(FileChannel.MapMode.READ_ONLY, BinaryAttributeRowWriter.HEADER_SIZE + firstRow * this.stride, rows * this.stride);
+            }
+
+            ByteBuffer dictionary = channel.map(FileChannel.MapMode.READ_ONLY, dictionaryOffset, channel.size() - dictionaryOffset);
+            this.columnNames = readStrings(dictionary);
+            this.objectIds = readStrings(dictionary);
+        }
+        finally{
+            // the mappings stay valid after the file is closed
+            file.close();
+        }
+    }
+
+    /**
+     * This method returns the value of a cell
+     * @param row
+     * @param column
+     * @return AttributeRowWriter.FALSE, TRUE or UNKNOWN
+     */
+    public int getValue(long row, int column){
+        if (column < 0 || column >= this.columnNum){
+            throw new IndexOutOfBoundsException("Column " + column);
+        }
+        ByteBuffer segment = getSegment(row);
+        int b = segment.get(getRowOffset(row) + 8 + (column >> 2));
+        return (b >> ((column & 3) << 1)) & 3;
+    }
+
+    /**
+     * @param row
+     * @return id of the subject of a row
+     */
+    public String getSubject(long row){
+        return this.objectIds[getSegment(row).getInt(getRowOffset(row))];
+    }
+
+    /**
+     * @param row
+     * @return id of the resource of a row
+     */
+    public String getResource(long row){
+        return this.objectIds[getSegment(row).getInt(getRowOffset(row) + 4)];
+    }
+
+    private ByteBuffer getSegment(long row){
+        if (row < 0 || row >= this.rowNum){
+            throw new IndexOutOfBoundsException("Row " + row);
+        }
+        return this.segments[(int) (row / this.rowsPerSegment)];
+    }
+
+    private int getRowOffset(long row){
+        return (int) (row % this.rowsPerSegment) * this.stride;
+    }
+
+    private static String[] readStrings(ByteBuffer in){
+        String[] results = new String[in.getInt()];
+        for (int i = 0; i < results.length; i++){
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            results[i] = new String(bytes, BinaryAttributeRowWriter.UTF8);
+        }
+        return results;
+    }
+
+    // Accessor methods
+    public int getColumnNum(){
+        return this.columnNum;
+    }
+    public String getColumnName(int column){
+        return this.columnNames[column];
+    }
+    public long getRowNum(){
+        return this.rowNum;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package learningdatagenerator;
+
+import java.io.IOException;
+
+/**
+ * AttributeRowWriter writes the attribute data rows of a pair of subject and
+ * resource classes. A row holds the ids of a subject and a resource and one
+ * cell per candidate constraint and condition, whose value is 0 (false), 1 (true)
+ * or 2 (unknown). All rows of a writer have the same columns in the same order.
+ * @author Thang Bui
+ */
+public interface AttributeRowWriter {
+    public static final int FALSE = 0;
+    public static final int TRUE = 1;
+    public static final int UNKNOWN = 2;
+
+    /**
+     * This method starts a row
+     * @param subId
+     * @param resId
+     * @throws IOException
+     */
+    public void startRow(String subId, String resId) throws IOException;
+
+    /**
+     * This method writes a cell of the current row
+     * @param column name of the column
+     * @param value FALSE, TRUE or UNKNOWN
+     * @throws IOException
+     */
+    public void writeCell(String column, int value) throws IOException;
+
+    /**
+     * This method ends the current row
+     * @throws IOException
+     */
+    public void endRow() throws IOException;
+
+    /**
+     * This method continues the output in a new file, if the writer splits its output
+     * @throws IOException
+     */
+    public void split() throws IOException;
+
+    public void close() throws IOException;
+}
@@ -0,0 +1,214 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package learningdatagenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import core.Pair;
+
+/**
+ * BinaryAttributeRowWriter writes attribute data rows to the binary file
+ * <policy>_attributeList_<subject class>-<resource class>.bin, which is read by
+ * AttributeDataReader.
+ *
+ * Format (big-endian): a header of HEADER_SIZE bytes (magic, version, number of
+ * columns, row stride in bytes, number of rows, offset of the dictionary), the
+ * rows, and the dictionary. A row is the subject and resource indexes in the
+ * object id table (two ints) followed by the cells packed as 2-bit values, four
+ * per byte with the first cell in the lowest bits. The dictionary holds the
+ * column names, then the object id table. Strings are UTF-8 with an int length.
+ * @author Thang Bui
+ */
+public class BinaryAttributeRowWriter implements AttributeRowWriter {
+    static final int MAGIC = 0x4c444142;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final String fileName;
+    private final DataOutputStream out;
+    private final ArrayList<String> columnNames;
+    private final Map<String, Integer> objectIndex;
+    private final ArrayList<String> objectIds;
+    // number of columns, known after the first row
+    private int columnNum;
+    private byte[] cells;
+    private int column;
+    private long rowNum;
+
+    /**
+     * @param outputPath
+     * @param policyName
+     * @param subResPair subject and resource classes of the rows
+     * @throws IOException
+     */
+    public BinaryAttributeRowWriter(String outputPath, String policyName, Pair<String, String> subResPair) throws IOException{
+        this(getFileName(outputPath, policyName, subResPair));
+    }
+
+    /**
+     * @param fileName binary attribute data file
+     * @throws IOException
+     */
+    public BinaryAttributeRowWriter(String fileName) throws IOException{
+        this.fileName = fileName;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.fileName), 1 << 16));
+        this.out.write(new byte[HEADER_SIZE]);
+        this.columnNames = new ArrayList<String>();
+        this.objectIndex = new HashMap<String, Integer>();
+        this.objectIds = new ArrayList<String>();
+        this.columnNum = -1;
+        this.cells = new byte[16];
+        this.rowNum = 0;
+    }
+
+    /**
+     * @param outputPath
+     * @param policyName
+     * @param subResPair
+     * @return the binary attribute data file of a pair of subject and resource classes
+     */
+    public static String getFileName(String outputPath, String policyName, Pair<String, String> subResPair){
+        return outputPath + policyName + "_attributeList_" + subResPair.getFirst() + "-" + subResPair.getSecond() + ".bin";
+    }
+
+    /**
+     * @param outputPath
+     * @param policyName
+     * @param subResPair
+     * @param segment
+     * @return the binary attribute data file of a segment of the rows of a pair of subject and resource classes
+     */
+    public static String getFileName(String outputPath, String policyName, Pair<String, String> subResPair, int segment){
+        return outputPath + policyName + "_attributeList_" + subResPair.getFirst() + "-" + subResPair.getSecond() + "_" + segment + ".bin";
+    }
+
+    /**
+     * @return name of the file written
+     */
+    public String getFileName(){
+        return this.fileName;
+    }
+
+    /**
+     * @param columnNum
+     * @return number of bytes of a row with columnNum cells
+     */
+    static int getStride(int columnNum){
+        return 8 + (columnNum + 3) / 4;
+    }
+
+    @Override
+    public void startRow(String subId, String resId) throws IOException{
+        this.out.writeInt(getObjectIndex(subId));
+        this.out.writeInt(getObjectIndex(resId));
+        Arrays.fill(this.cells, (byte) 0);
+        this.column = 0;
+    }
+
+    @Override
+    public void writeCell(String column, int value) throws IOException{
+        if (this.columnNum < 0){
+            this.columnNames.add(column);
+            if ((this.column >> 2) == this.cells.length){
+                this.cells = Arrays.copyOf(this.cells, this.cells.length * 2);
+            }
+        }
+        else if (this.column == this.columnNum){
+            throw new IllegalStateException("Row of " + this.fileName + " has more than " + this.columnNum + " cells");
+        }
+        this.cells[this.column >> 2] |= value << ((this.column & 3) << 1);
+        this.column++;
+    }
+
+    @Override
+    public void endRow() throws IOException{
+        if (this.columnNum < 0){
+            this.columnNum = this.column;
+            this.cells = Arrays.copyOf(this.cells, getStride(this.columnNum) - 8);
+        }
+        else if (this.column != this.columnNum){
+            throw new IllegalStateException("Row of " + this.fileName + " has " + this.column + " cells instead of " + this.columnNum);
+        }
+        this.out.write(this.cells);
+        this.rowNum++;
+    }
+
+    @Override
+    public void split(){
+        // all rows are in one file
+    }
+
+    @Override
+    public void close() throws IOException{
+        if (this.columnNum < 0){
+            this.columnNum = 0;
+        }
+        long dictionaryOffset = HEADER_SIZE + this.rowNum * getStride(this.columnNum);
+        try{
+            this.out.writeInt(this.columnNames.size());
+            for (String name:this.columnNames){
+                writeString(this.out, name);
+            }
+            this.out.writeInt(this.objectIds.size());
+            for (String id:this.objectIds){
+                writeString(this.out, id);
+            }
+        }
+        finally{
+            this.out.close();
+        }
+        RandomAccessFile file = new RandomAccessFile(this.fileName, "rw");
+        try{
+            file.writeInt(MAGIC);
+            file.writeInt(VERSION);
+            file.writeInt(this.columnNum);
+            file.writeInt(getStride(this.columnNum));
+            file.writeLong(this.rowNum);
+            file.writeLong(dictionaryOffset);
+        }
+        finally{
+            file.close();
+        }
+    }
+
+    private int getObjectIndex(String id){
+        Integer index = this.objectIndex.get(id);
+        if (index == null){
+            index = this.objectIds.size();
+            this.objectIndex.put(id, index);
+            this.objectIds.add(id);
+        }
+        return index;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException{
+        byte[] bytes = s.getBytes(UTF8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -26,6 +26,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import core.Class1;
+import core.FieldType;
+import core.Pair;
+import core.Triple;
+import core.Object1;
+import core.Rule;
 
 /**
  * Configuration class is used for maintaining the configuration of various
@@ -91,6 +97,16 @@ public class Config{
     private double[] alphas;
     private double[] noiseLevels;
 	private String outputTimePath;
+    // format of the attribute data files: "csv" or "binary"
+    private String outputFormat;
+    // number of threads generating the attribute data segments, 0 for the sequential generation
+    private int generationThreads;
+    // columns dropped from the attribute data files: "none", "constant" or "unauthorized"
+    private String pruneColumns;
+    // whether the rules are learned from the attribute data in the JVM
+    private boolean learnRules;
+    // number of threads of the decision tree learner
+    private int learningThreads;
     
     // field for optimization
     private Map<String, Map<String, FieldType>> classAtrributes;
@@ -134,6 +150,11 @@ public class Config{
         actionSet = new HashSet<String>();
         
         classAtrributes = new HashMap<String, Map<String, FieldType>>() ;
+        outputFormat = "csv";
+        generationThreads = 0;
+        pruneColumns = "none";
+        learnRules = false;
+        learningThreads = 1;
     }
     
     
@@ -443,6 +464,46 @@ public class Config{
         this.outputTimePath = out;
     }
     
+    public String getOutputFormat(){
+        return this.outputFormat;
+    }
+    
+    public void setOutputFormat(String outputFormat){
+        this.outputFormat = outputFormat;
+    }
+    
+    public int getGenerationThreads(){
+        return this.generationThreads;
+    }
+    
+    public void setGenerationThreads(int generationThreads){
+        this.generationThreads = generationThreads;
+    }
+    
+    public String getPruneColumns(){
+        return this.pruneColumns;
+    }
+    
+    public void setPruneColumns(String pruneColumns){
+        this.pruneColumns = pruneColumns;
+    }
+    
+    public boolean getLearnRules(){
+        return this.learnRules;
+    }
+    
+    public void setLearnRules(boolean learnRules){
+        this.learnRules = learnRules;
+    }
+    
+    public int getLearningThreads(){
+        return this.learningThreads;
+    }
+    
+    public void setLearningThreads(int learningThreads){
+        this.learningThreads = learningThreads;
+    }
+    
     public boolean getOverassignmentDetection(){
         return this.overassignmentDetection;
     }
@@ -0,0 +1,98 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+package learningdatagenerator;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import core.Pair;
+
+/**
+ * CsvAttributeRowWriter writes attribute data rows as lines of the form
+ * subject,resource,name:value,name:value,... to the files
+ * <policy>_attributeList_<subject class>-<resource class>_<file order>.csv
+ * @author Thang Bui
+ */
+public class CsvAttributeRowWriter implements AttributeRowWriter {
+    private final String filePrefix;
+    private int currentFileOrder;
+    private BufferedWriter attrWriter;
+
+    /**
+     * @param outputPath
+     * @param policyName
+     * @param subResPair subject and resource classes of the rows
+     * @throws IOException
+     */
+    public CsvAttributeRowWriter(String outputPath, String policyName, Pair<String, String> subResPair) throws IOException{
+        this(outputPath, policyName, subResPair, 0);
+    }
+
+    /**
+     * @param outputPath
+     * @param policyName
+     * @param subResPair subject and resource classes of the rows
+     * @param fileOrder order of the first file written
+     * @throws IOException
+     */
+    public CsvAttributeRowWriter(String outputPath, String policyName, Pair<String, String> subResPair, int fileOrder) throws IOException{
+        this.filePrefix = outputPath + policyName + "_attributeList_" + subResPair.getFirst() + "-" + subResPair.getSecond() + "_";
+        this.currentFileOrder = fileOrder;
+        this.attrWriter = new BufferedWriter(new FileWriter(getFileName()));
+    }
+
+    /**
+     * @return name of the file currently written
+     */
+    public String getFileName(){
+        return this.filePrefix + this.currentFileOrder + ".csv";
+    }
+
+    @Override
+    public void startRow(String subId, String resId) throws IOException{
+        this.attrWriter.write(subId);
+        this.attrWriter.write(',');
+        this.attrWriter.write(resId);
+    }
+
+    @Override
+    public void writeCell(String column, int value) throws IOException{
+        this.attrWriter.write(',');
+        this.attrWriter.write(column);
+        this.attrWriter.write(':');
+        this.attrWriter.write('0' + value);
+    }
+
+    @Override
+    public void endRow() throws IOException{
+        this.attrWriter.write('\n');
+    }
+
+    @Override
+    public void split() throws IOException{
+        this.attrWriter.close();
+        this.currentFileOrder++;
+        this.attrWriter = new BufferedWriter(new FileWriter(getFileName()));
+    }
+
+    @Override
+    public void close() throws IOException{
+        this.attrWriter.close();
+    }
+}
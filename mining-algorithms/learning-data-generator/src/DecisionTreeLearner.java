@@ -0,0 +1,783 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package learningdatagenerator;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import core.ConditionOperator;
+import core.Pair;
+import core.Triple;
+import core.AtomicCondition;
+import core.AtomicConstraint;
+import core.Object1;
+import core.Rule;
+
+/**
+ * DecisionTreeLearner learns the rules of phase 1 of DTRM and DTRMU in the JVM, from the
+ * feature matrices of the row schemas, as the DTRMU learner does from the attribute data
+ * files. For each pair of subject and resource classes and each action, it builds a C4.5
+ * decision tree with a 3-way split (false, true, unknown) on the features, where the
+ * information gain of a split is computed by counting the bits of the row sets, and the
+ * split search is divided across threads for large nodes. Each path to a leaf labeled
+ * authorized becomes a rule. Negative and unknown conditions are then removed from the
+ * rules, replaced with a positive condition, or replaced with id conditions, so that the
+ * rules have only positive conditions and constraints and cover exactly the UP list.
+ * @author Thang Bui
+ */
+public class DecisionTreeLearner {
+    // minimum number of words counted by a split search to divide it across threads
+    private static final int PARALLEL_SPLIT_WORDS = 1 << 16;
+    private static final double LOG2 = Math.log(2);
+    // values of a feature on a row
+    private static final int FALSE = AttributeRowWriter.FALSE;
+    private static final int TRUE = AttributeRowWriter.TRUE;
+    private static final int UNKNOWN = AttributeRowWriter.UNKNOWN;
+    
+    private final Config config;
+    private final int threads;
+    private final ExecutorService pool;
+    
+    /**
+     * @param config
+     * @param threads number of threads of the split search
+     */
+    public DecisionTreeLearner(Config config, int threads){
+        this.config = config;
+        this.threads = threads;
+        this.pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    }
+    
+    /**
+     * This method stops the threads of the learner
+     */
+    public void shutdown(){
+        if (this.pool != null){
+            this.pool.shutdown();
+        }
+    }
+    
+    /**
+     * This method learns the rules of all pairs of classes. The rules of a pair are
+     * learned for each action of the pair, in order of first occurrence in the UP list.
+     * @param pairSchemas row schema of each pair of classes
+     * @return learned rules, with one action each
+     */
+    public ArrayList<Rule> learnRules(Map<Pair<String, String>, RowSchema> pairSchemas){
+        // position of each object in the object list of its class
+        Map<String, Integer> objectIndex = new HashMap<String, Integer>();
+        for (ArrayList<Object1> objects:this.config.getObjectList().values()){
+            for (int i = 0; i < objects.size(); i++){
+                objectIndex.put(objects.get(i).getId(), i);
+            }
+        }
+        // authorized rows of each pair of classes and action
+        Map<Pair<String, String>, Map<String, BitSet>> pairActionRows = new HashMap<Pair<String, String>, Map<String, BitSet>>();
+        for (Triple<String, String, String> up:this.config.getUPList()){
+            Pair<String, String> subResPair = new Pair<String, String>(this.config.getObjectModel().get(up.getFirst()).getClass1(),
+                    this.config.getObjectModel().get(up.getSecond()).getClass1());
+            Map<String, BitSet> actionRows = pairActionRows.get(subResPair);
+            if (actionRows == null){
+                actionRows = new LinkedHashMap<String, BitSet>();
+                pairActionRows.put(subResPair, actionRows);
+            }
+            BitSet rows = actionRows.get(up.getThird());
+            if (rows == null){
+                rows = new BitSet();
+                actionRows.put(up.getThird(), rows);
+            }
+            int resNum = this.config.getObjectList().get(subResPair.getSecond()).size();
+            rows.set(objectIndex.get(up.getFirst()) * resNum + objectIndex.get(up.getSecond()));
+        }
+        
+        ArrayList<Rule> results = new ArrayList<Rule>();
+        for (Map.Entry<Pair<String, String>, RowSchema> entry:pairSchemas.entrySet()){
+            Pair<String, String> subResPair = entry.getKey();
+            Map<String, BitSet> actionRows = pairActionRows.get(subResPair);
+            if (actionRows == null){
+                continue;
+            }
+            FeatureMatrix matrix = entry.getValue().getFeatureMatrix(this.config.getObjectList().get(subResPair.getFirst()),
+                    this.config.getObjectList().get(subResPair.getSecond()), this.config);
+            int[] features = selectFeatures(matrix);
+            for (Map.Entry<String, BitSet> actionEntry:actionRows.entrySet()){
+                long[] positives = matrix.toWords(actionEntry.getValue());
+                for (LearnedRule r:learnRules(matrix, features, positives)){
+                    results.add(toRule(r, matrix, subResPair, actionEntry.getKey()));
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * This method writes rules to a file in the format read by the policy improvement phase
+     * @param outputFile
+     * @param rules
+     */
+    public static void writeRulesFile(String outputFile, List<Rule> rules){
+        try{
+            BufferedWriter outputWriter = new BufferedWriter(new FileWriter(outputFile));
+            try{
+                for (Rule r:rules){
+                    outputWriter.write(r + "\n");
+                }
+            }
+            finally{
+                outputWriter.close();
+            }
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+        }
+    }
+    
+    /**
+     * This method selects the features used for learning, as the DTRMU learner does: it drops
+     * the features that are false on all rows or on no row, and the id conditions, keeps only
+     * the smallest features of each group of features with the same values on all rows, and
+     * sorts the features by size
+     * @param matrix
+     * @return columns of the selected features, in order
+     */
+    private static int[] selectFeatures(FeatureMatrix matrix){
+        Map<String, Integer> smallestSizes = new HashMap<String, Integer>();
+        ArrayList<Integer> candidates = new ArrayList<Integer>();
+        for (int f = 0; f < matrix.getColumnNum(); f++){
+            long[] trueRows = matrix.getTrueRows(f);
+            long[] unknownRows = matrix.getUnknownRows(f);
+            int nonFalseNum = 0;
+            for (int w = 0; w < trueRows.length; w++){
+                nonFalseNum += Long.bitCount(trueRows[w] | unknownRows[w]);
+            }
+            if (nonFalseNum == 0 || nonFalseNum == matrix.getRowNum() || isIdCondition(matrix, f)){
+                continue;
+            }
+            candidates.add(f);
+            String values = getValuesKey(matrix, f);
+            Integer size = smallestSizes.get(values);
+            if (size == null || getSize(matrix, f) < size){
+                smallestSizes.put(values, getSize(matrix, f));
+            }
+        }
+        ArrayList<Integer> selected = new ArrayList<Integer>();
+        for (int f:candidates){
+            if (getSize(matrix, f) == smallestSizes.get(getValuesKey(matrix, f))){
+                selected.add(f);
+            }
+        }
+        // stable sort by size
+        ArrayList<ArrayList<Integer>> sizeBuckets = new ArrayList<ArrayList<Integer>>();
+        for (int f:selected){
+            int size = getSize(matrix, f);
+            while (sizeBuckets.size() <= size){
+                sizeBuckets.add(new ArrayList<Integer>());
+            }
+            sizeBuckets.get(size).add(f);
+        }
+        int[] results = new int[selected.size()];
+        int k = 0;
+        for (ArrayList<Integer> bucket:sizeBuckets){
+            for (int f:bucket){
+                results[k++] = f;
+            }
+        }
+        return results;
+    }
+    
+    private static boolean isIdCondition(FeatureMatrix matrix, int f){
+        if (matrix.getKind(f) == FeatureMatrix.CONSTRAINT){
+            return false;
+        }
+        ArrayList<String> path = ((AtomicCondition) matrix.getFeature(f)).getPath();
+        return path.size() == 1 && path.get(0).equals("id");
+    }
+    
+    private static String getValuesKey(FeatureMatrix matrix, int f){
+        return Arrays.toString(matrix.getTrueRows(f)) + Arrays.toString(matrix.getUnknownRows(f));
+    }
+    
+    /**
+     * @param matrix
+     * @param f
+     * @return size of a feature: 2 plus the number of fields of its paths after the first
+     */
+    private static int getSize(FeatureMatrix matrix, int f){
+        if (matrix.getKind(f) == FeatureMatrix.CONSTRAINT){
+            AtomicConstraint ac = (AtomicConstraint) matrix.getFeature(f);
+            return ac.getSubPath().size() + ac.getResPath().size();
+        }
+        return ((AtomicCondition) matrix.getFeature(f)).getPath().size() + 1;
+    }
+    
+    /**
+     * This method learns the rules of an action of a pair of classes
+     * @param matrix
+     * @param features selected features
+     * @param positives authorized rows
+     * @return rules with only positive conditions and constraints, which cover exactly the authorized rows
+     */
+    private List<LearnedRule> learnRules(FeatureMatrix matrix, int[] features, long[] positives){
+        long[] allRows = matrix.getAllRows();
+        ArrayList<LearnedRule> rules = new ArrayList<LearnedRule>();
+        int positiveNum = count(positives);
+        if (positiveNum == matrix.getRowNum()){
+            rules.add(new LearnedRule());
+            return rules;
+        }
+        else if (positiveNum == 0){
+            return rules;
+        }
+        Node tree = buildTree(matrix, features, allRows, positives, new boolean[features.length], features.length);
+        extractRules(tree, new ArrayList<int[]>(), rules);
+        
+        // eliminate the unknown, then the negative features
+        for (int value:new int[]{UNKNOWN, FALSE}){
+            for (int i = 0; i < rules.size(); i++){
+                eliminateFeatures(rules, i, value, matrix, features, positives);
+            }
+        }
+        ArrayList<LearnedRule> results = new ArrayList<LearnedRule>();
+        for (LearnedRule r:rules){
+            results.addAll(replaceWithIdConditions(r, matrix, positives));
+        }
+        removeRedundantRules(results, matrix);
+        return results;
+    }
+    
+    /**
+     * This method removes, in order, each rule whose covered rows are covered by the other rules
+     * @param rules
+     * @param matrix
+     */
+    private static void removeRedundantRules(List<LearnedRule> rules, FeatureMatrix matrix){
+        ArrayList<long[]> coveredRows = new ArrayList<long[]>();
+        for (LearnedRule r:rules){
+            coveredRows.add(r.getCoveredRows(matrix));
+        }
+        int i = 0;
+        while (i < rules.size()){
+            long[] othersCovered = new long[matrix.getWordNum()];
+            for (int j = 0; j < rules.size(); j++){
+                if (j != i){
+                    or(othersCovered, coveredRows.get(j));
+                }
+            }
+            if (isCovered(coveredRows.get(i), othersCovered, othersCovered)){
+                rules.remove(i);
+                coveredRows.remove(i);
+            }
+            else{
+                i++;
+            }
+        }
+    }
+    
+    /**
+     * This method builds a decision tree
+     * @param matrix
+     * @param features selected features
+     * @param rows rows of the node
+     * @param positives authorized rows
+     * @param used features used by the ancestors of the node
+     * @param remaining number of features not used by the ancestors of the node
+     * @return root of the tree
+     */
+    private Node buildTree(FeatureMatrix matrix, int[] features, long[] rows, long[] positives, boolean[] used, int remaining){
+        int rowNum = count(rows);
+        int positiveNum = countAnd(rows, positives);
+        if (rowNum == 0){
+            return new Node(-1, Node.EMPTY);
+        }
+        else if (positiveNum == 0){
+            return new Node(-1, 0);
+        }
+        else if (positiveNum == rowNum){
+            return new Node(-1, 1);
+        }
+        else if (remaining == 0){
+            return new Node(-1, positiveNum > rowNum - positiveNum ? 1 : 0);
+        }
+        
+        int best = findBestSplit(matrix, features, rows, positives, used, rowNum, positiveNum);
+        Node node = new Node(features[best], Node.EMPTY);
+        used[best] = true;
+        for (int value = 0; value < 3; value++){
+            node.children[value] = buildTree(matrix, features, getRows(matrix, node.column, value, rows), positives, used, remaining - 1);
+        }
+        used[best] = false;
+        return node;
+    }
+    
+    /**
+     * @return position in features of the feature with the highest information gain, the first one on ties
+     */
+    private int findBestSplit(final FeatureMatrix matrix, final int[] features, final long[] rows, final long[] positives, final boolean[] used,
+            final int rowNum, final int positiveNum){
+        // range of the words of the rows
+        int first = 0;
+        while (rows[first] == 0){
+            first++;
+        }
+        int last = rows.length - 1;
+        while (rows[last] == 0){
+            last--;
+        }
+        final int from = first;
+        final int to = last + 1;
+        final long[] rowPositives = new long[rows.length];
+        for (int w = from; w < to; w++){
+            rowPositives[w] = rows[w] & positives[w];
+        }
+        
+        int candidateNum = 0;
+        for (boolean u:used){
+            if (!u){
+                candidateNum++;
+            }
+        }
+        if (this.pool == null || (long) candidateNum * (to - from) < PARALLEL_SPLIT_WORDS){
+            return findBestSplit(matrix, features, rows, rowPositives, used, rowNum, positiveNum, from, to, 0, features.length)[0];
+        }
+        
+        ArrayList<Future<int[]>> tasks = new ArrayList<Future<int[]>>();
+        final int chunk = (features.length + this.threads - 1) / this.threads;
+        for (int start = 0; start < features.length; start += chunk){
+            final int begin = start;
+            final int end = Math.min(features.length, start + chunk);
+            tasks.add(this.pool.submit(new Callable<int[]>(){
+                public int[] call(){
+                    return findBestSplit(matrix, features, rows, rowPositives, used, rowNum, positiveNum, from, to, begin, end);
+                }
+            }));
+        }
+        // the gains are compared as computed, so the result does not depend on the number of threads
+        int best = -1;
+        double bestGain = Double.NEGATIVE_INFINITY;
+        try{
+            for (Future<int[]> task:tasks){
+                int f = task.get()[0];
+                if (f >= 0){
+                    double gain = getGain(matrix, features[f], rows, rowPositives, rowNum, positiveNum, from, to);
+                    if (gain > bestGain){
+                        bestGain = gain;
+                        best = f;
+                    }
+                }
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e){
+            if (e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return best;
+    }
+    
+    private static int[] findBestSplit(FeatureMatrix matrix, int[] features, long[] rows, long[] rowPositives, boolean[] used,
+            int rowNum, int positiveNum, int from, int to, int begin, int end){
+        int best = -1;
+        double bestGain = Double.NEGATIVE_INFINITY;
+        for (int f = begin; f < end; f++){
+            if (!used[f]){
+                double gain = getGain(matrix, features[f], rows, rowPositives, rowNum, positiveNum, from, to);
+                if (gain > bestGain){
+                    bestGain = gain;
+                    best = f;
+                }
+            }
+        }
+        return new int[]{best};
+    }
+    
+    /**
+     * @return information gain of splitting rows on the values of a column
+     */
+    private static double getGain(FeatureMatrix matrix, int column, long[] rows, long[] rowPositives, int rowNum, int positiveNum, int from, int to){
+        long[] trueRows = matrix.getTrueRows(column);
+        long[] unknownRows = matrix.getUnknownRows(column);
+        int trueNum = 0;
+        int truePositiveNum = 0;
+        int unknownNum = 0;
+        int unknownPositiveNum = 0;
+        for (int w = from; w < to; w++){
+            trueNum += Long.bitCount(rows[w] & trueRows[w]);
+            truePositiveNum += Long.bitCount(rowPositives[w] & trueRows[w]);
+            unknownNum += Long.bitCount(rows[w] & unknownRows[w]);
+            unknownPositiveNum += Long.bitCount(rowPositives[w] & unknownRows[w]);
+        }
+        int falseNum = rowNum - trueNum - unknownNum;
+        int falsePositiveNum = positiveNum - truePositiveNum - unknownPositiveNum;
+        double impurityAfterSplit = (double) falseNum / rowNum * entropy(falsePositiveNum, falseNum)
+                + (double) trueNum / rowNum * entropy(truePositiveNum, trueNum)
+                + (double) unknownNum / rowNum * entropy(unknownPositiveNum, unknownNum);
+        return entropy(positiveNum, rowNum) - impurityAfterSplit;
+    }
+    
+    private static double entropy(int positiveNum, int rowNum){
+        if (rowNum == 0){
+            return 0;
+        }
+        double negative = (double) (rowNum - positiveNum) / rowNum;
+        double positive = (double) positiveNum / rowNum;
+        return -(negative * log2(negative) + positive * log2(positive));
+    }
+    
+    private static double log2(double x){
+        return x == 0 ? 0 : Math.log(x) / LOG2;
+    }
+    
+    private static void extractRules(Node node, ArrayList<int[]> path, List<LearnedRule> rules){
+        if (node.column < 0){
+            if (node.label == 1){
+                LearnedRule r = new LearnedRule();
+                r.literals.addAll(path);
+                rules.add(r);
+            }
+            return;
+        }
+        for (int value = 0; value < 3; value++){
+            path.add(new int[]{node.column, value});
+            extractRules(node.children[value], path, rules);
+            path.remove(path.size() - 1);
+        }
+    }
+    
+    /**
+     * This method removes the literals of a rule with a value from the rule if the rule still
+     * covers only authorized rows, or replaces them with a positive literal if the rule still
+     * covers only authorized rows and the rules still cover the rows covered by the rule
+     * @param rules
+     * @param index position of the rule in rules
+     * @param value UNKNOWN or FALSE
+     * @param matrix
+     * @param features selected features, the candidate positive literals in order
+     * @param positives authorized rows
+     */
+    private static void eliminateFeatures(List<LearnedRule> rules, int index, int value, FeatureMatrix matrix, int[] features, long[] positives){
+        LearnedRule r = rules.get(index);
+        for (int[] literal:new ArrayList<int[]>(r.literals)){
+            if (literal[1] != value){
+                continue;
+            }
+            long[] original = r.getCoveredRows(matrix);
+            r.literals.remove(literal);
+            if (isValid(r.getCoveredRows(matrix), positives)){
+                continue;
+            }
+            long[] othersCovered = new long[matrix.getWordNum()];
+            for (LearnedRule other:rules){
+                if (other != r){
+                    or(othersCovered, other.getCoveredRows(matrix));
+                }
+            }
+            boolean replaced = false;
+            for (int f:features){
+                int[] newLiteral = new int[]{f, TRUE};
+                r.literals.add(newLiteral);
+                long[] covered = r.getCoveredRows(matrix);
+                if (isValid(covered, positives) && isCovered(original, covered, othersCovered)){
+                    replaced = true;
+                    break;
+                }
+                r.literals.remove(newLiteral);
+            }
+            if (!replaced){
+                r.literals.add(literal);
+            }
+        }
+    }
+    
+    /**
+     * This method replaces the negative and unknown literals of a rule with id conditions. If a
+     * negative or unknown literal is a condition, the conditions of its object are replaced with
+     * an id condition on the objects of the covered rows, if the rule still covers only authorized
+     * rows. Otherwise, the rule is replaced with rules with an id condition on the subject and an
+     * id condition on the resource, one for each group of subjects with the same resources.
+     * @param r
+     * @param matrix
+     * @param positives authorized rows
+     * @return rules with only positive literals, which cover the rows covered by r
+     */
+    private static List<LearnedRule> replaceWithIdConditions(LearnedRule r, FeatureMatrix matrix, long[] positives){
+        ArrayList<LearnedRule> results = new ArrayList<LearnedRule>();
+        boolean hasSubCondition = false;
+        boolean hasResCondition = false;
+        boolean hasConstraint = false;
+        for (int[] literal:r.literals){
+            if (literal[1] != TRUE){
+                int kind = matrix.getKind(literal[0]);
+                hasSubCondition |= kind == FeatureMatrix.SUBJECT_CONDITION;
+                hasResCondition |= kind == FeatureMatrix.RESOURCE_CONDITION;
+                hasConstraint |= kind == FeatureMatrix.CONSTRAINT;
+            }
+        }
+        if (!hasSubCondition && !hasResCondition && !hasConstraint){
+            results.add(r);
+            return results;
+        }
+        
+        long[] covered = r.getCoveredRows(matrix);
+        int resNum = matrix.getResNum();
+        if (!hasConstraint){
+            LearnedRule idRule = new LearnedRule();
+            for (int[] literal:r.literals){
+                int kind = matrix.getKind(literal[0]);
+                if (!(hasSubCondition && kind == FeatureMatrix.SUBJECT_CONDITION) && !(hasResCondition && kind == FeatureMatrix.RESOURCE_CONDITION)){
+                    idRule.literals.add(literal);
+                }
+            }
+            if (hasSubCondition){
+                idRule.subjects = new BitSet();
+            }
+            if (hasResCondition){
+                idRule.resources = new BitSet();
+            }
+            for (int row = nextSetBit(covered, 0); row >= 0; row = nextSetBit(covered, row + 1)){
+                if (hasSubCondition){
+                    idRule.subjects.set(row / resNum);
+                }
+                if (hasResCondition){
+                    idRule.resources.set(row % resNum);
+                }
+            }
+            if (isValid(idRule.getCoveredRows(matrix), positives)){
+                results.add(idRule);
+                return results;
+            }
+        }
+        
+        // group the subjects of the covered rows by their resources
+        Map<BitSet, LearnedRule> groups = new LinkedHashMap<BitSet, LearnedRule>();
+        BitSet resources = null;
+        int subject = -1;
+        for (int row = nextSetBit(covered, 0); row >= 0; row = nextSetBit(covered, row + 1)){
+            if (row / resNum != subject){
+                addToGroup(groups, subject, resources);
+                subject = row / resNum;
+                resources = new BitSet();
+            }
+            resources.set(row % resNum);
+        }
+        addToGroup(groups, subject, resources);
+        results.addAll(groups.values());
+        return results;
+    }
+    
+    private static void addToGroup(Map<BitSet, LearnedRule> groups, int subject, BitSet resources){
+        if (subject < 0){
+            return;
+        }
+        LearnedRule group = groups.get(resources);
+        if (group == null){
+            group = new LearnedRule();
+            group.subjects = new BitSet();
+            group.resources = resources;
+            groups.put(resources, group);
+        }
+        group.subjects.set(subject);
+    }
+    
+    /**
+     * This method converts a learned rule to a rule
+     * @param r
+     * @param matrix
+     * @param subResPair
+     * @param action
+     * @return
+     */
+    private Rule toRule(LearnedRule r, FeatureMatrix matrix, Pair<String, String> subResPair, String action){
+        ArrayList<AtomicCondition> subConditions = new ArrayList<AtomicCondition>();
+        ArrayList<AtomicCondition> resConditions = new ArrayList<AtomicCondition>();
+        ArrayList<AtomicConstraint> constraints = new ArrayList<AtomicConstraint>();
+        for (int[] literal:r.literals){
+            int kind = matrix.getKind(literal[0]);
+            if (kind == FeatureMatrix.CONSTRAINT){
+                AtomicConstraint ac = new AtomicConstraint((AtomicConstraint) matrix.getFeature(literal[0]));
+                ac.setIsNegative(literal[1] == FALSE);
+                constraints.add(ac);
+            }
+            else{
+                AtomicCondition ac = new AtomicCondition((AtomicCondition) matrix.getFeature(literal[0]));
+                ac.setIsNegative(literal[1] == FALSE);
+                if (kind == FeatureMatrix.SUBJECT_CONDITION){
+                    subConditions.add(ac);
+                }
+                else{
+                    resConditions.add(ac);
+                }
+            }
+        }
+        if (r.subjects != null){
+            subConditions.add(getIdCondition(r.subjects, this.config.getObjectList().get(subResPair.getFirst())));
+        }
+        if (r.resources != null){
+            resConditions.add(getIdCondition(r.resources, this.config.getObjectList().get(subResPair.getSecond())));
+        }
+        Set<String> actions = new LinkedHashSet<String>();
+        actions.add(action);
+        return new Rule(this.config.getClassModel().get(subResPair.getFirst()), subConditions,
+                this.config.getClassModel().get(subResPair.getSecond()), resConditions, constraints, actions);
+    }
+    
+    private static AtomicCondition getIdCondition(BitSet positions, ArrayList<Object1> objects){
+        ArrayList<String> path = new ArrayList<String>();
+        path.add("id");
+        Set<String> ids = new LinkedHashSet<String>();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)){
+            ids.add(objects.get(i).getId());
+        }
+        return new AtomicCondition(path, ids, ConditionOperator.IN);
+    }
+    
+    private static long[] getRows(FeatureMatrix matrix, int column, int value, long[] rows){
+        long[] trueRows = matrix.getTrueRows(column);
+        long[] unknownRows = matrix.getUnknownRows(column);
+        long[] results = new long[rows.length];
+        for (int w = 0; w < rows.length; w++){
+            if (value == TRUE){
+                results[w] = rows[w] & trueRows[w];
+            }
+            else if (value == UNKNOWN){
+                results[w] = rows[w] & unknownRows[w];
+            }
+            else{
+                results[w] = rows[w] & ~(trueRows[w] | unknownRows[w]);
+            }
+        }
+        return results;
+    }
+    
+    private static boolean isValid(long[] covered, long[] positives){
+        for (int w = 0; w < covered.length; w++){
+            if ((covered[w] & ~positives[w]) != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isCovered(long[] original, long[] covered, long[] othersCovered){
+        for (int w = 0; w < original.length; w++){
+            if ((original[w] & ~(covered[w] | othersCovered[w])) != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static void or(long[] results, long[] rows){
+        for (int w = 0; w < results.length; w++){
+            results[w] |= rows[w];
+        }
+    }
+    
+    private static int count(long[] rows){
+        int result = 0;
+        for (long word:rows){
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+    
+    private static int countAnd(long[] rows1, long[] rows2){
+        int result = 0;
+        for (int w = 0; w < rows1.length; w++){
+            result += Long.bitCount(rows1[w] & rows2[w]);
+        }
+        return result;
+    }
+    
+    private static int nextSetBit(long[] rows, int from){
+        int w = from >> 6;
+        if (w >= rows.length){
+            return -1;
+        }
+        long word = rows[w] & (-1L << (from & 63));
+        while (word == 0){
+            if (++w == rows.length){
+                return -1;
+            }
+            word = rows[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+    
+    /**
+     * Node is a node of a decision tree, a leaf if column is negative
+     */
+    private static class Node {
+        static final int EMPTY = -1;
+        final int column;
+        // 1 if the rows of the leaf are authorized, 0 if not, EMPTY if the leaf has no rows
+        final int label;
+        final Node[] children;
+        
+        Node(int column, int label){
+            this.column = column;
+            this.label = label;
+            this.children = column < 0 ? null : new Node[3];
+        }
+    }
+    
+    /**
+     * LearnedRule is a conjunction of literals (a column of the feature matrix and its value),
+     * and of id conditions on the positions of the subjects and of the resources if they are not null
+     */
+    private static class LearnedRule {
+        final ArrayList<int[]> literals = new ArrayList<int[]>();
+        BitSet subjects;
+        BitSet resources;
+        
+        long[] getCoveredRows(FeatureMatrix matrix){
+            long[] results = matrix.getAllRows();
+            for (int[] literal:this.literals){
+                long[] rows = getRows(matrix, literal[0], literal[1], results);
+                System.arraycopy(rows, 0, results, 0, rows.length);
+            }
+            int resNum = matrix.getResNum();
+            for (int row = nextSetBit(results, 0); row >= 0; row = nextSetBit(results, row + 1)){
+                if ((this.subjects != null && !this.subjects.get(row / resNum)) || (this.resources != null && !this.resources.get(row % resNum))){
+                    results[row >> 6] &= ~(1L << (row & 63));
+                }
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package learningdatagenerator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import core.Object1;
+
+/**
+ * FeatureMatrix holds the values of the columns of a row schema on all rows of a pair
+ * of subject and resource classes, for learning. The row of a subject and a resource
+ * has the index subject position * number of resources + resource position, and the
+ * rows with the value true and the rows with the value unknown of each column are
+ * stored as bit arrays of 64-bit words, which are disjoint.
+ * @author Thang Bui
+ */
+public class FeatureMatrix {
+    public static final int CONSTRAINT = 0;
+    public static final int SUBJECT_CONDITION = 1;
+    public static final int RESOURCE_CONDITION = 2;
+    
+    private final ArrayList<Object1> subObjects;
+    private final ArrayList<Object1> resObjects;
+    private final int rowNum;
+    private final int wordNum;
+    private final ArrayList<Integer> kinds;
+    private final ArrayList<String> names;
+    private final ArrayList<Object> features;
+    private final ArrayList<long[]> trueRows;
+    private final ArrayList<long[]> unknownRows;
+    
+    /**
+     * @param subObjects objects of the subject class
+     * @param resObjects objects of the resource class
+     * @param columnNum expected number of columns
+     */
+    public FeatureMatrix(ArrayList<Object1> subObjects, ArrayList<Object1> resObjects, int columnNum){
+        this.subObjects = subObjects;
+        this.resObjects = resObjects;
+        this.rowNum = subObjects.size() * resObjects.size();
+        this.wordNum = (this.rowNum + 63) >> 6;
+        this.kinds = new ArrayList<Integer>(columnNum);
+        this.names = new ArrayList<String>(columnNum);
+        this.features = new ArrayList<Object>(columnNum);
+        this.trueRows = new ArrayList<long[]>(columnNum);
+        this.unknownRows = new ArrayList<long[]>(columnNum);
+    }
+    
+    /**
+     * This method adds a column
+     * @param kind CONSTRAINT, SUBJECT_CONDITION or RESOURCE_CONDITION
+     * @param name column name
+     * @param feature AtomicConstraint or AtomicCondition of the column
+     * @param satisfied rows with the value true
+     * @param unknown rows with the value unknown, disjoint from satisfied
+     */
+    public void addColumn(int kind, String name, Object feature, BitSet satisfied, BitSet unknown){
+        this.kinds.add(kind);
+        this.names.add(name);
+        this.features.add(feature);
+        this.trueRows.add(toWords(satisfied));
+        this.unknownRows.add(toWords(unknown));
+    }
+    
+    /**
+     * @param rows
+     * @return rows as an array of wordNum words
+     */
+    public long[] toWords(BitSet rows){
+        long[] words = rows.toLongArray();
+        if (words.length == this.wordNum){
+            return words;
+        }
+        long[] results = new long[this.wordNum];
+        System.arraycopy(words, 0, results, 0, Math.min(words.length, this.wordNum));
+        return results;
+    }
+    
+    /**
+     * @return set of all rows, as an array of wordNum words
+     */
+    public long[] getAllRows(){
+        long[] results = new long[this.wordNum];
+        for (int w = 0; w < this.wordNum; w++){
+            results[w] = -1L;
+        }
+        if ((this.rowNum & 63) != 0){
+            results[this.wordNum - 1] = (1L << (this.rowNum & 63)) - 1;
+        }
+        return results;
+    }
+    
+    // Accessor methods
+    public int getRowNum(){
+        return this.rowNum;
+    }
+    public int getWordNum(){
+        return this.wordNum;
+    }
+    public int getColumnNum(){
+        return this.names.size();
+    }
+    public int getKind(int column){
+        return this.kinds.get(column);
+    }
+    public String getName(int column){
+        return this.names.get(column);
+    }
+    public Object getFeature(int column){
+        return this.features.get(column);
+    }
+    public long[] getTrueRows(int column){
+        return this.trueRows.get(column);
+    }
+    public long[] getUnknownRows(int column){
+        return this.unknownRows.get(column);
+    }
+    public int getResNum(){
+        return this.resObjects.size();
+    }
+    public Object1 getSubject(int row){
+        return this.subObjects.get(row / this.resObjects.size());
+    }
+    public Object1 getResource(int row){
+        return this.resObjects.get(row % this.resObjects.size());
+    }
+}
@@ -25,22 +25,44 @@ import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import core.Class1;
+import core.ConditionOperator;
+import core.ConstraintOperator;
+import core.FieldType;
+import core.Pair;
+import core.Time;
+import core.Triple;
+import core.AtomicCondition;
+import core.AtomicConstraint;
+import core.Object1;
+import core.Rule;
 
 /**
  *
  * @author Thang
  */
 public class LearningDataGenerator {
+    // number of entries after which the rows of a pair of classes continue in a new file
+    private static final int MAX_ENTRIES_PER_FILE = 5000000;
     
     /**
      * @param args the command line arguments
@@ -118,20 +140,64 @@ public class LearningDataGenerator {
         
     }
     public static void generateReBACData(String inputFileName, String outputPath, String policyName, String configFile){
+        System.out.println("Generating data files for: "
+                + inputFileName);
+        Config config = new Config();
+        readConfiguration(configFile, config);
+        parsePolicy(inputFileName, config);
+        writeListFiles(outputPath, policyName, config);
+        
+        // output the attribute data file
+        generateAttributeDataFile( outputPath, policyName, config);
+    }
+    
+    /**
+     * This method parses the attribute data file of a policy into config
+     * @param inputFileName
+     * @param config
+     */
+    public static void parsePolicy(String inputFileName, Config config){
+        Parser.parseInputFile(inputFileName, config);
+        System.out.println("Number of objects: " + config.getObjectModel().keySet().size());
+        // set classIdValMap
+        setClassIdValMap(config);
+    }
+    
+    /**
+     * This method sets the policy of config to a policy that is already parsed, e.g. by ReBACMiner
+     * when both programs run in one JVM, so that the attribute data file is parsed once
+     * @param classModel
+     * @param objectModel
+     * @param objectList objects of each class
+     * @param upList UP relation of the rules of the policy
+     * @param config
+     */
+    public static void setPolicy(Map<String, Class1> classModel, Map<String, Object1> objectModel,
+            Map<String, ArrayList<Object1>> objectList, ArrayList<Triple<String, String, String>> upList, Config config){
+        config.setClassModel(classModel);
+        config.setObjectModel(objectModel);
+        config.setObjectList(objectList);
+        config.setUPList(upList);
+        for (String className:classModel.keySet()){
+            config.getClassAttributes().put(className, classModel.get(className).getAllAttributes());
+        }
+        Parser.computeAdjacencyList(config);
+        System.out.println("Number of objects: " + objectModel.keySet().size());
+        setClassIdValMap(config);
+    }
+    
+    /**
+     * This method writes the object list file and the ac list file of a policy
+     * @param outputPath
+     * @param policyName
+     * @param config
+     */
+    public static void writeListFiles(String outputPath, String policyName, Config config){
         try{
-            System.out.println("Generating data files for: "
-                    + inputFileName);
             // csv file contains all objects
             String objectListFile = outputPath + policyName + "_objectList.csv";
             String acListFile = outputPath + policyName + "_acList.csv";
             
-            Config config = new Config();
-            readConfiguration(configFile, config);
-            Parser.parseInputFile(inputFileName, config);
-            System.out.println("Number of objects: " + config.getObjectModel().keySet().size());
-            // set classIdValMap
-            setClassIdValMap(config);
-            
             // output the objectList file
             FileWriter olFileWrt = new FileWriter(objectListFile);
             BufferedWriter olWriter = new BufferedWriter(olFileWrt);
@@ -151,9 +217,6 @@ public class LearningDataGenerator {
             }
             aclWriter.close();
             aclFileWrt.close();
-            
-            // output the attribute data file
-            generateAttributeDataFile( outputPath, policyName, config);
         }
         catch (IOException e){
             System.out.println(e);
@@ -162,8 +225,43 @@ public class LearningDataGenerator {
     }
     
     public static void generateAttributeDataFile(String outputPath, String policyName,  Config config){
-        int maxSizeOfFile = 5000000;
-        
+        Map<Pair<String, String>, RowSchema> pairSchemas = compileRowSchemas(outputPath, policyName, config);
+        writeAttributeDataFiles(outputPath, policyName, pairSchemas, config);
+        if (config.getLearnRules()){
+            learnRules(outputPath, policyName, pairSchemas, config);
+        }
+    }
+    
+    /**
+     * This method learns the rules from the row schemas with the decision tree learner, on
+     * learningThreads threads, and writes them to the file <policy>.rules
+     * @param outputPath
+     * @param policyName
+     * @param pairSchemas
+     * @param config
+     */
+    public static void learnRules(String outputPath, String policyName, Map<Pair<String, String>, RowSchema> pairSchemas, Config config){
+        DecisionTreeLearner learner = new DecisionTreeLearner(config, config.getLearningThreads());
+        try{
+            ArrayList<Rule> rules = learner.learnRules(pairSchemas);
+            DecisionTreeLearner.writeRulesFile(outputPath + policyName + ".rules", rules);
+            System.out.println("Learned rules: " + rules.size());
+        }
+        finally{
+            learner.shutdown();
+        }
+    }
+    
+    /**
+     * This method computes the candidate constraints and atomic conditions of each pair of
+     * subject and resource classes in the UP list, and compiles them into row schemas, pruned
+     * as specified by pruneColumns
+     * @param outputPath
+     * @param policyName
+     * @param config
+     * @return row schema of each pair of classes, in the order of the attribute data files
+     */
+    public static Map<Pair<String, String>, RowSchema> compileRowSchemas(String outputPath, String policyName, Config config){
         // we need to compute all possible atomic constraints for each pair of class types from sub-res pair
         Set<Pair<String, String>> subResPairs = generateSubResPair(config);
         Map<Pair<String, String>, Set<AtomicConstraint>> pairClassesConstraints = new HashMap<Pair<String, String>, Set<AtomicConstraint>>();
@@ -187,369 +285,415 @@ public class LearningDataGenerator {
             classConditions.put(type, allPossiblePaths);
         }
         
-        // compute the map of all possible atomic conditions with its satisfied objects for each class.
-        Map<String, Map<AtomicCondition, ArrayList<String>>> atomicConditionMeaningMap = new HashMap<String, Map<AtomicCondition, ArrayList<String>>>();
-        Map<String, Map<AtomicCondition, ArrayList<String>>> atomicConditionUnknownMeaningMap = new HashMap<String, Map<AtomicCondition, ArrayList<String>>>();
-        for (String type:classConditions.keySet()){
-            if (config.getObjectList().get(type) != null){
-                Map<AtomicCondition, ArrayList<String>> meaning = new HashMap<AtomicCondition, ArrayList<String>>();
-                Map<AtomicCondition, ArrayList<String>> unknownMeaning = new HashMap<AtomicCondition, ArrayList<String>>();
-                atomicConditionMeaningMap.put(type, meaning);
-                atomicConditionUnknownMeaningMap.put(type, unknownMeaning);
-                for (ArrayList<String> conditionPath:classConditions.get(type)){
-                    // get all class types at the end of the paths
-                    Triple<Boolean, String, Boolean> pathClass = getAttributePathClass(type, conditionPath, config.getClassModel(), config.getClassAttributes());
-                    
-                    if (pathClass.getSecond().equals("boolVal")){
-                        // if the path is a boolean path, create new Atomic Condition object, and check if the sub satisfies it.
-                        // true value
-                        Set<String> newConstantTrue = new HashSet<String>();
-                        newConstantTrue.add("true");
-                        AtomicCondition newACTrue;
-                        if (pathClass.getFirst()){
-                            newACTrue = new AtomicCondition(conditionPath, newConstantTrue, ConditionOperator.IN);
-                        }
-                        else{
-                            newACTrue = new AtomicCondition(conditionPath, newConstantTrue, ConditionOperator.CONTAINS);
-                        }
-                        // check all objects of the same type if they satisfy the condition
-                        ArrayList<String> satisfiedObjects = new ArrayList<String>();
-                        ArrayList<String> unknownValueObjects = new ArrayList<String>();
-                        for (Object1 obj:config.getObjectList().get(type)){
-                            Pair<Boolean, Boolean> checkCondition = checkSatisfyAtomicConditionWithUnknown(obj, newACTrue, config.getObjectModel(), config.getClassModel(), config);
-                            if (checkCondition.getFirst()){
-                                satisfiedObjects.add(obj.getId());
-                            }
-                            else if (checkCondition.getSecond()){
-                                unknownValueObjects.add(obj.getId());
-                            }
-                        }
-                        // put the satisfied object list to the map
-                        atomicConditionMeaningMap.get(type).put(newACTrue, satisfiedObjects);
-                        atomicConditionUnknownMeaningMap.get(type).put(newACTrue, unknownValueObjects);
-                        
-                        // false value
-                        Set<String> newConstantFalse = new HashSet<String>();
-                        newConstantFalse.add("false");
-                        AtomicCondition newACFalse;
-                        if (pathClass.getFirst()){
-                            newACFalse = new AtomicCondition(conditionPath, newConstantFalse, ConditionOperator.IN);
-                        }
-                        else{
-                            newACFalse = new AtomicCondition(conditionPath, newConstantFalse, ConditionOperator.CONTAINS);
-                        }
-                        // check all objects of the same type if they satisfy the condition
-                        ArrayList<String> satisfiedObjects1 = new ArrayList<String>();
-                        ArrayList<String> unknownValueObjects1 = new ArrayList<String>();
-                        for (Object1 obj:config.getObjectList().get(type)){
-                            Pair<Boolean, Boolean> checkCondition = checkSatisfyAtomicConditionWithUnknown(obj, newACFalse, config.getObjectModel(), config.getClassModel(), config);
-                            if (checkCondition.getFirst()){
-                                satisfiedObjects1.add(obj.getId());
-                            }
-                            else if (checkCondition.getSecond()){
-                                unknownValueObjects1.add(obj.getId());
-                            }
-                        }
-                        // put the satisfied object list to the map
-                        atomicConditionMeaningMap.get(type).put(newACFalse, satisfiedObjects1);
-                        atomicConditionUnknownMeaningMap.get(type).put(newACFalse, unknownValueObjects1);
-                    }
-                    else{
-                        // case that the path is not boolean value, compute all possible values for the path,
-                        // create 1 Atomic Condition object for each of the value, and check if the sub satisfies it.
-                        
-                        // first compute all possible values:
-                        Set<String> possibleValues = config.getClassIdValMap().get(pathClass.getSecond());
-                        for (String value:possibleValues){
-                            Set<String> newConstant = new HashSet<String>();
-                            newConstant.add(value);
-                            ConditionOperator newOp;
-                            if (pathClass.getFirst()){
-                                newOp = ConditionOperator.IN;
-                            }
-                            else{
-                                newOp = ConditionOperator.CONTAINS;
-                            }
-                            
-                            AtomicCondition newAC = new AtomicCondition(conditionPath, newConstant, newOp);
-                            // check all objects of the same type if they satisfy the condition
-                            ArrayList<String> satisfiedObjects = new ArrayList<String>();
-                            ArrayList<String> unknownValueObjects = new ArrayList<String>();
-                            for (Object1 obj:config.getObjectList().get(type)){
-                                Pair<Boolean, Boolean> checkCondition = checkSatisfyAtomicConditionWithUnknown(obj, newAC, config.getObjectModel(), config.getClassModel(), config);
-                                if (checkCondition.getFirst()){
-                                    satisfiedObjects.add(obj.getId());
-                                }
-                                else if (checkCondition.getSecond()){
-                                    unknownValueObjects.add(obj.getId());
-                                }
-                            }
-                            // put the satisfied object list to the map
-                            atomicConditionMeaningMap.get(type).put(newAC, satisfiedObjects);
-                            atomicConditionUnknownMeaningMap.get(type).put(newAC, unknownValueObjects);
-                        }
-                    }
-                }
-            }
+        // compile the row schema of each pair of classes, the condition columns of a class are shared by its pairs
+        Map<String, RowSchema.ConditionColumns> conditionColumns = new HashMap<String, RowSchema.ConditionColumns>();
+        Map<Pair<String, String>, RowSchema> pairSchemas = new LinkedHashMap<Pair<String, String>, RowSchema>();
+        for (Pair<String, String> subResPair:subResPairs){
+            RowSchema.ConditionColumns subColumns = getConditionColumns("sub", subResPair.getFirst(), conditionColumns, classConditions, config);
+            RowSchema.ConditionColumns resColumns = getConditionColumns("res", subResPair.getSecond(), conditionColumns, classConditions, config);
+            pairSchemas.put(subResPair, new RowSchema(pairClassesConstraints.get(subResPair), subColumns, resColumns));
         }
         
+        if (!config.getPruneColumns().equals("none")){
+            pruneColumns(outputPath, policyName, subResPairs, pairSchemas, config);
+        }
+        return pairSchemas;
+    }
+    
+    /**
+     * This method writes the attribute data files of the pairs of classes
+     * @param outputPath
+     * @param policyName
+     * @param pairSchemas row schema of each pair of classes
+     * @param config
+     */
+    public static void writeAttributeDataFiles(String outputPath, String policyName, Map<Pair<String, String>, RowSchema> pairSchemas, Config config){
+        Set<Pair<String, String>> subResPairs = pairSchemas.keySet();
+        if (config.getGenerationThreads() > 0){
+            generateAttributeDataSegments(outputPath, policyName, subResPairs, pairSchemas, config);
+            return;
+        }
         
         try{
             int countEntry = 0;
             for (Pair<String, String> subResPair:subResPairs){
                 // iterate all possible pairs of objects from subResPairs types to generate each data row.
-                int currentFileOrder = 0;
-                String attributeListFile = outputPath + policyName + "_attributeList_" + subResPair.getFirst() + "-" + subResPair.getSecond() + "_" + currentFileOrder + ".csv";
-                FileWriter attrFileWrt = new FileWriter(attributeListFile);
-                BufferedWriter attrWriter = new BufferedWriter(attrFileWrt);
+                AttributeRowWriter attrWriter;
+                if (config.getOutputFormat().equals("binary")){
+                    attrWriter = new BinaryAttributeRowWriter(outputPath, policyName, subResPair);
+                }
+                else{
+                    attrWriter = new CsvAttributeRowWriter(outputPath, policyName, subResPair);
+                }
                 ArrayList<Object1> subObjects = config.getObjectList().get(subResPair.getFirst());
                 ArrayList<Object1> resObjects = config.getObjectList().get(subResPair.getSecond());
+                RowSchema schema = pairSchemas.get(subResPair);
                 
-                for (int i = 0; i < subObjects.size(); i++){
-                    Object1 sub = subObjects.get(i);
-                    for (int j = 0; j < resObjects.size(); j++){
-                        Object1 res = resObjects.get(j);
-                        attrWriter.write(sub.getId() + "," + res.getId());
-                        countEntry+=2;
-                        Pair<String, String> pair = new Pair(sub.getClass1(), res.getClass1());
-                        // output constraint attributes
-                        for (AtomicConstraint as: pairClassesConstraints.get(pair)){
-                            attrWriter.write("," + as + ":");
-                            Pair<Boolean, Boolean> checkValid = LearningDataGenerator.checkSatisfyConstraintWithUnknown(sub, res, as, config);
-                            if (checkValid.getFirst()){
-                                attrWriter.write("1");
-                            }
-                            else if (checkValid.getSecond()){
-                                attrWriter.write("2");
-                            }
-                            else{
-                                attrWriter.write("0");
-                            }
-                            countEntry++;
+                try{
+                    for (int i = 0; i < subObjects.size(); i++){
+                        Object1 sub = subObjects.get(i);
+                        for (int j = 0; j < resObjects.size(); j++){
+                            schema.writeRow(attrWriter, sub, i, resObjects.get(j), j, config);
+                            countEntry += schema.getEntryNum();
                         }
-                        // output all possible subject conditions
-                        for (ArrayList<String> conditionPath:classConditions.get(sub.getClass1())){
-                            // get all class types at the end of the paths
-                            Triple<Boolean, String, Boolean> pathClass = getAttributePathClass(sub.getClass1(), conditionPath, config.getClassModel(), config.getClassAttributes());
-                            
-                            if (pathClass.getSecond().equals("boolVal")){
-                                // if the path is a boolean path, create new Atomic Condition object, and check if the sub satisfies it.
-                                // true value
-                                Set<String> newConstantTrue = new HashSet<String>();
-                                newConstantTrue.add("true");
-                                AtomicCondition newACTrue;
-                                if (pathClass.getFirst()){
-                                    newACTrue = new AtomicCondition(conditionPath, newConstantTrue, ConditionOperator.IN);
-                                }
-                                else{
-                                    newACTrue = new AtomicCondition(conditionPath, newConstantTrue, ConditionOperator.CONTAINS);
-                                }
-                                if (pathClass.getThird()){
-                                    attrWriter.write(",OPTIONALsub" + newACTrue + ":");
-                                }
-                                else{
-                                    attrWriter.write(",sub" + newACTrue + ":");
-                                }
-                                if (atomicConditionMeaningMap.get(sub.getClass1()).get(newACTrue).contains(sub.getId())){
-                                    attrWriter.write("1");
-                                }
-                                else if (atomicConditionUnknownMeaningMap.get(sub.getClass1()).get(newACTrue).contains(sub.getId())){
-                                    attrWriter.write("2");
-                                }
-                                else{
-                                    attrWriter.write("0");
-                                }
-                                
-                                // false value
-                                Set<String> newConstantFalse = new HashSet<String>();
-                                newConstantFalse.add("false");
-                                AtomicCondition newACFalse;
-                                if (pathClass.getFirst()){
-                                    newACFalse = new AtomicCondition(conditionPath, newConstantFalse, ConditionOperator.IN);
-                                }
-                                else{
-                                    newACFalse = new AtomicCondition(conditionPath, newConstantFalse, ConditionOperator.CONTAINS);
-                                }
-                                if (pathClass.getThird()){
-                                    attrWriter.write(",OPTIONALsub" + newACFalse + ":");
-                                }
-                                else {
-                                    attrWriter.write(",sub" + newACFalse + ":");
-                                }
-                                if (atomicConditionMeaningMap.get(sub.getClass1()).get(newACFalse).contains(sub.getId())){
-                                    attrWriter.write("1");
-                                }
-                                else if (atomicConditionUnknownMeaningMap.get(sub.getClass1()).get(newACFalse).contains(sub.getId())){
-                                    attrWriter.write("2");
-                                }
-                                else{
-                                    attrWriter.write("0");
-                                }
-                                countEntry++;
-                            }
-                            else{
-                                // case that the path is not boolean value, compute all possible values for the path, 
-                                // create 1 Atomic Condition object for each of the value, and check if the sub satisfies it.
-                                
-                                // first compute all possible values:
-                                Set<String> possibleValues = config.getClassIdValMap().get(pathClass.getSecond());
-                                for (String value:possibleValues){
-                                    Set<String> newConstant = new HashSet<String>();
-                                    newConstant.add(value);
-                                    ConditionOperator newOp = null;
-                                    if (pathClass.getFirst()){
-                                        newOp = ConditionOperator.IN;
-                                    }
-                                    else{
-                                        newOp = ConditionOperator.CONTAINS;
-                                    }
-                                    
-                                    AtomicCondition newAC = new AtomicCondition(conditionPath, newConstant, newOp);
-                                    if (pathClass.getThird()){
-                                        attrWriter.write(",OPTIONALsub" + newAC + ":");
-                                    }
-                                    else{
-                                        attrWriter.write(",sub" + newAC + ":");
-                                    }
-                                    if (atomicConditionMeaningMap.get(sub.getClass1()).get(newAC).contains(sub.getId())){
-                                        attrWriter.write("1");
-                                    }
-                                    else if (atomicConditionUnknownMeaningMap.get(sub.getClass1()).get(newAC).contains(sub.getId())){
-                                        attrWriter.write("2");
-                                    }
-                                    else{
-                                        attrWriter.write("0");
-                                    }
-                                    countEntry++;
-                                }
-                            }
-                        }
-                        
-                        // output all possible resource conditions
-                        for (ArrayList<String> conditionPath:classConditions.get(res.getClass1())){
-                            // get all class types at the end of the paths
-                            Triple<Boolean, String, Boolean> pathClass = getAttributePathClass(res.getClass1(), conditionPath, config.getClassModel(), config.getClassAttributes());
-                            
-                            if (pathClass.getSecond().equals("boolVal")){
-                                // if the path is a boolean path, create new Atomic Condition object, and check if the res satisfies it.
-                                // true value
-                                Set<String> newConstantTrue = new HashSet<String>();
-                                newConstantTrue.add("true");
-                                AtomicCondition newACTrue;
-                                if (pathClass.getFirst()){
-                                    newACTrue = new AtomicCondition(conditionPath, newConstantTrue, ConditionOperator.IN);
-                                }
-                                else{
-                                    newACTrue = new AtomicCondition(conditionPath, newConstantTrue, ConditionOperator.CONTAINS);
-                                }
-                                if (pathClass.getThird()){
-                                    attrWriter.write(",OPTIONALres" + newACTrue + ":");
-                                }
-                                else{
-                                    attrWriter.write(",res" + newACTrue + ":");
-                                }
-                                if (atomicConditionMeaningMap.get(res.getClass1()).get(newACTrue).contains(res.getId())){
-                                    attrWriter.write("1");
-                                }
-                                else if (atomicConditionUnknownMeaningMap.get(res.getClass1()).get(newACTrue).contains(res.getId())){
-                                    attrWriter.write("2");
-                                }
-                                else{
-                                    attrWriter.write("0");
-                                }
-                                
-                                // false value
-                                Set<String> newConstantFalse = new HashSet<String>();
-                                newConstantFalse.add("false");
-                                AtomicCondition newACFalse;
-                                if (pathClass.getFirst()){
-                                    newACFalse = new AtomicCondition(conditionPath, newConstantFalse, ConditionOperator.IN);
-                                }
-                                else{
-                                    newACFalse = new AtomicCondition(conditionPath, newConstantFalse, ConditionOperator.CONTAINS);
-                                }
-                                if (pathClass.getThird()){
-                                    attrWriter.write(",OPTIONALres" + newACFalse + ":");
-                                }
-                                else{
-                                    attrWriter.write(",res" + newACFalse + ":");
-                                }
-                                if (atomicConditionMeaningMap.get(res.getClass1()).get(newACFalse).contains(res.getId())){
-                                    attrWriter.write("1");
-                                }
-                                else if (atomicConditionUnknownMeaningMap.get(res.getClass1()).get(newACFalse).contains(res.getId())){
-                                    attrWriter.write("2");
-                                }
-                                else{
-                                    attrWriter.write("0");
-                                }
-                                countEntry++;
-                            }
-                            else{
-                                // case that the path is not boolean value, compute all possible values for the path,
-                                // create 1 Atomic Condition object for each of the value, and check if the res satisfies it.
-                                
-                                // first compute all possible values:
-                                Set<String> possibleValues = config.getClassIdValMap().get(pathClass.getSecond());
-                                
-                                // testing
-                                for (String value:possibleValues){
-                                    Set<String> newConstant = new HashSet<String>();
-                                    newConstant.add(value);
-                                    ConditionOperator newOp;
-                                    if (pathClass.getFirst()){
-                                        newOp = ConditionOperator.IN;
-                                    }
-                                    else{
-                                        newOp = ConditionOperator.CONTAINS;
-                                    }
-                                    
-                                    AtomicCondition newAC = new AtomicCondition(conditionPath, newConstant, newOp);
-                                    if (pathClass.getThird()){
-                                        attrWriter.write(",OPTIONALres" + newAC + ":");
-                                    }
-                                    else{
-                                        attrWriter.write(",res" + newAC + ":");
-                                    }
-                                    if (atomicConditionMeaningMap.get(res.getClass1()).get(newAC).contains(res.getId())){
-                                        attrWriter.write("1");
-                                    }
-                                    else if (atomicConditionUnknownMeaningMap.get(res.getClass1()).get(newAC).contains(res.getId())){
-                                        attrWriter.write("2");
-                                    }
-                                    else{
-                                        attrWriter.write("0");
-                                    }
-                                    
-                                    countEntry++;
-                                }
-                            }
+                        if (countEntry > MAX_ENTRIES_PER_FILE && i != subObjects.size() - 1){
+                            // split to another file
+                            countEntry = 0;
+                            attrWriter.split();
                         }
-                        attrWriter.write("\n");
-                    }
-                    if (countEntry > maxSizeOfFile && i != subObjects.size() - 1){
-                        // split to another file
-                        countEntry = 0;
-                        currentFileOrder++;
-                        String newAttributeListFile = outputPath + policyName + "_attributeList_" + subResPair.getFirst() + "-" + subResPair.getSecond() + "_" + currentFileOrder + ".csv";;
-                        attrFileWrt.flush();
-                        attrWriter.flush();
-                        attrFileWrt = new FileWriter(newAttributeListFile);
-                        attrWriter = new BufferedWriter(attrFileWrt);   
                     }
-                    else if (i == subObjects.size() -1){
-                        attrFileWrt.flush();
-                        attrWriter.flush();
+                }
+                finally{
+                    attrWriter.close();
+                }
+            }
+        }
+        catch (IOException e){
+            System.out.println(e);
+            System.exit(0);
+        }
+    }
+    
+    /**
+     * This method replaces the row schema of each pair of classes with the schema without the
+     * columns that have the same value on all rows of the pair and, if pruneColumns is
+     * "unauthorized", without the columns that are not true on any row of a subject and a
+     * resource in the UP list. The constraints are evaluated on all rows once, on
+     * generationThreads threads (one if it is 0), and the dropped columns are listed in
+     * <policy>_pruningReport.csv.
+     * @param outputPath
+     * @param policyName
+     * @param subResPairs
+     * @param pairSchemas row schema of each pair of classes
+     * @param config
+     */
+    private static void pruneColumns(String outputPath, String policyName, Set<Pair<String, String>> subResPairs,
+            final Map<Pair<String, String>, RowSchema> pairSchemas, final Config config){
+        final boolean dropUnauthorized = config.getPruneColumns().equals("unauthorized");
+        // authorized rows of each pair of classes
+        Map<String, Integer> objectIndex = new HashMap<String, Integer>();
+        for (ArrayList<Object1> objects:config.getObjectList().values()){
+            for (int i = 0; i < objects.size(); i++){
+                objectIndex.put(objects.get(i).getId(), i);
+            }
+        }
+        final Map<Pair<String, String>, BitSet> pairAuthorizedRows = new HashMap<Pair<String, String>, BitSet>();
+        for (Pair<String, String> subResPair:subResPairs){
+            pairAuthorizedRows.put(subResPair, new BitSet());
+        }
+        for (Triple<String, String, String> up:config.getUPList()){
+            Pair<String, String> subResPair = new Pair<String, String>(config.getObjectModel().get(up.getFirst()).getClass1(),
+                    config.getObjectModel().get(up.getSecond()).getClass1());
+            BitSet authorizedRows = pairAuthorizedRows.get(subResPair);
+            if (authorizedRows != null){
+                int resNum = config.getObjectList().get(subResPair.getSecond()).size();
+                authorizedRows.set(objectIndex.get(up.getFirst()) * resNum + objectIndex.get(up.getSecond()));
+            }
+        }
+        
+        ArrayList<Pair<String, String>> pairs = new ArrayList<Pair<String, String>>(subResPairs);
+        ArrayList<Callable<RowSchema>> pruneTasks = new ArrayList<Callable<RowSchema>>();
+        final ArrayList<ArrayList<String[]>> pairPrunedColumns = new ArrayList<ArrayList<String[]>>();
+        for (final Pair<String, String> subResPair:pairs){
+            final ArrayList<String[]> prunedColumns = new ArrayList<String[]>();
+            pairPrunedColumns.add(prunedColumns);
+            pruneTasks.add(new Callable<RowSchema>(){
+                public RowSchema call(){
+                    return pairSchemas.get(subResPair).prune(config.getObjectList().get(subResPair.getFirst()), config.getObjectList().get(subResPair.getSecond()),
+                            pairAuthorizedRows.get(subResPair), dropUnauthorized, config, prunedColumns);
+                }
+            });
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(config.getGenerationThreads(), pairs.size())));
+        try{
+            BufferedWriter reportWriter = new BufferedWriter(new FileWriter(outputPath + policyName + "_pruningReport.csv"));
+            try{
+                reportWriter.write("Subject_Type,Resource_Type,Column,Reason\n");
+                ArrayList<Future<RowSchema>> tasks = new ArrayList<Future<RowSchema>>(pairs.size());
+                for (Callable<RowSchema> pruneTask:pruneTasks){
+                    tasks.add(pool.submit(pruneTask));
+                }
+                int columnNum = 0;
+                int prunedColumnNum = 0;
+                for (int i = 0; i < pairs.size(); i++){
+                    Pair<String, String> subResPair = pairs.get(i);
+                    columnNum += pairSchemas.get(subResPair).getColumnNum();
+                    pairSchemas.put(subResPair, tasks.get(i).get());
+                    for (String[] prunedColumn:pairPrunedColumns.get(i)){
+                        reportWriter.write(subResPair.getFirst() + "," + subResPair.getSecond() + "," + prunedColumn[0] + "," + prunedColumn[1] + "\n");
                     }
+                    prunedColumnNum += pairPrunedColumns.get(i).size();
                 }
-                attrWriter.close();
-                attrFileWrt.close();
+                System.out.println("Pruned columns: " + prunedColumnNum + " of " + columnNum);
+            }
+            finally{
+                reportWriter.close();
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e){
+            System.out.println(e.getCause());
+            System.exit(0);
+        }
+        catch (IOException e){
+            System.out.println(e);
+            System.exit(0);
+        }
+        finally{
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * This method generates the attribute data files in segments on generationThreads threads.
+     * The rows of each pair of classes are split into segments of consecutive subjects with
+     * about MAX_ENTRIES_PER_FILE entries each, and each segment is written to its own file
+     * (<policy>_attributeList_<subject class>-<resource class>_<segment>.csv or .bin).
+     * The segments depend only on the data, so the files are the same for any number of threads.
+     * The file <policy>_attributeList_manifest.csv lists the segments in order.
+     * @param outputPath
+     * @param policyName
+     * @param subResPairs
+     * @param pairSchemas row schema of each pair of classes
+     * @param config
+     */
+    private static void generateAttributeDataSegments(String outputPath, String policyName, Set<Pair<String, String>> subResPairs,
+            Map<Pair<String, String>, RowSchema> pairSchemas, Config config){
+        ArrayList<AttributeDataSegment> segments = new ArrayList<AttributeDataSegment>();
+        for (Pair<String, String> subResPair:subResPairs){
+            ArrayList<Object1> subObjects = config.getObjectList().get(subResPair.getFirst());
+            ArrayList<Object1> resObjects = config.getObjectList().get(subResPair.getSecond());
+            RowSchema schema = pairSchemas.get(subResPair);
+            long entriesPerSubject = (long) resObjects.size() * schema.getEntryNum();
+            int subjectsPerSegment = (int) Math.max(1, MAX_ENTRIES_PER_FILE / Math.max(1, entriesPerSubject));
+            for (int first = 0, k = 0; first < subObjects.size(); first += subjectsPerSegment, k++){
+                segments.add(new AttributeDataSegment(outputPath, policyName, subResPair, k, first,
+                        Math.min(subjectsPerSegment, subObjects.size() - first), schema, config));
             }
         }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(config.getGenerationThreads(), segments.size())));
+        try{
+            ArrayList<Future<String>> tasks = new ArrayList<Future<String>>(segments.size());
+            for (AttributeDataSegment segment:segments){
+                tasks.add(pool.submit(segment));
+            }
+            // the manifest is written in segment order once all segments are written
+            BufferedWriter manifestWriter = new BufferedWriter(new FileWriter(outputPath + policyName + "_attributeList_manifest.csv"));
+            try{
+                manifestWriter.write("Subject_Type,Resource_Type,Segment,File,First_Subject,Subject_Count,Row_Count\n");
+                for (int i = 0; i < segments.size(); i++){
+                    String fileName = tasks.get(i).get();
+                    AttributeDataSegment segment = segments.get(i);
+                    manifestWriter.write(segment.subResPair.getFirst() + "," + segment.subResPair.getSecond() + "," + segment.segment + ","
+                            + new File(fileName).getName() + "," + segment.firstSubject + "," + segment.subjectNum + ","
+                            + segment.getRowNum() + "\n");
+                }
+            }
+            finally{
+                manifestWriter.close();
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e){
+            System.out.println(e.getCause());
+            System.exit(0);
+        }
         catch (IOException e){
             System.out.println(e);
             System.exit(0);
         }
+        finally{
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * AttributeDataSegment writes the rows of a range of consecutive subjects of a pair
+     * of classes, with all resources of the pair, to its own attribute data file.
+     */
+    private static class AttributeDataSegment implements Callable<String> {
+        private final String outputPath;
+        private final String policyName;
+        private final Pair<String, String> subResPair;
+        private final int segment;
+        private final int firstSubject;
+        private final int subjectNum;
+        private final RowSchema schema;
+        private final Config config;
+        
+        AttributeDataSegment(String outputPath, String policyName, Pair<String, String> subResPair, int segment, int firstSubject, int subjectNum,
+                RowSchema schema, Config config){
+            this.outputPath = outputPath;
+            this.policyName = policyName;
+            this.subResPair = subResPair;
+            this.segment = segment;
+            this.firstSubject = firstSubject;
+            this.subjectNum = subjectNum;
+            this.schema = schema;
+            this.config = config;
+        }
+        
+        long getRowNum(){
+            return (long) this.subjectNum * this.config.getObjectList().get(this.subResPair.getSecond()).size();
+        }
+        
+        /**
+         * This method writes the rows of the segment
+         * @return name of the file written
+         * @throws IOException
+         */
+        public String call() throws IOException{
+            AttributeRowWriter attrWriter;
+            String fileName;
+            if (this.config.getOutputFormat().equals("binary")){
+                BinaryAttributeRowWriter binaryWriter = new BinaryAttributeRowWriter(
+                        BinaryAttributeRowWriter.getFileName(this.outputPath, this.policyName, this.subResPair, this.segment));
+                fileName = binaryWriter.getFileName();
+                attrWriter = binaryWriter;
+            }
+            else{
+                CsvAttributeRowWriter csvWriter = new CsvAttributeRowWriter(this.outputPath, this.policyName, this.subResPair, this.segment);
+                fileName = csvWriter.getFileName();
+                attrWriter = csvWriter;
+            }
+            ArrayList<Object1> subObjects = this.config.getObjectList().get(this.subResPair.getFirst());
+            ArrayList<Object1> resObjects = this.config.getObjectList().get(this.subResPair.getSecond());
+            try{
+                for (int i = this.firstSubject; i < this.firstSubject + this.subjectNum; i++){
+                    Object1 sub = subObjects.get(i);
+                    for (int j = 0; j < resObjects.size(); j++){
+                        this.schema.writeRow(attrWriter, sub, i, resObjects.get(j), j, this.config);
+                    }
+                }
+            }
+            finally{
+                attrWriter.close();
+            }
+            return fileName;
+        }
+    }
+    
+    /**
+     * This method returns the condition columns of a class for a prefix, compiling the
+     * condition columns of the class for both prefixes on the first call
+     * @param prefix "sub" for the subject of the row, "res" for the resource of the row
+     * @param type
+     * @param conditionColumns compiled condition columns by prefix and class
+     * @param classConditions all possible condition paths of each class
+     * @param config
+     * @return condition columns of type, in the order of the condition paths and their values
+     */
+    private static RowSchema.ConditionColumns getConditionColumns(String prefix, String type, Map<String, RowSchema.ConditionColumns> conditionColumns,
+            Map<String, ArrayList<ArrayList<String>>> classConditions, Config config){
+        if (!conditionColumns.containsKey(prefix + type)){
+            compileConditionColumns(type, conditionColumns, classConditions, config);
+        }
+        return conditionColumns.get(prefix + type);
+    }
+    
+    /**
+     * This method computes, for all possible atomic conditions of a class, the objects of the class
+     * that satisfy the condition and the objects whose value for the condition is unknown.
+     * Each condition path is traversed once per object, and the object is added to the satisfied
+     * objects of the values that the path reaches, following ConditionEvaluator.checkSatisfyAtomicConditionWithUnknown:
+     * a single-valued (IN) path is satisfied for its first value, a multi-valued (CONTAINS) path for
+     * each of its values, and an object with an unknown value on the path is unknown for all values
+     * of the path, unless it satisfies a CONTAINS condition. The columns of both prefixes are put
+     * in conditionColumns.
+     * @param type
+     * @param conditionColumns compiled condition columns by prefix and class
+     * @param classConditions all possible condition paths of each class
+     * @param config
+     */
+    private static void compileConditionColumns(String type, Map<String, RowSchema.ConditionColumns> conditionColumns,
+            Map<String, ArrayList<ArrayList<String>>> classConditions, Config config){
+        ArrayList<Object1> objects = config.getObjectList().get(type);
+        // the satisfied objects of the values that no object reaches
+        BitSet none = new BitSet();
+        ArrayList<String> subNames = new ArrayList<String>();
+        ArrayList<String> resNames = new ArrayList<String>();
+        ArrayList<AtomicCondition> conditions = new ArrayList<AtomicCondition>();
+        ArrayList<BitSet> satisfied = new ArrayList<BitSet>();
+        ArrayList<BitSet> unknown = new ArrayList<BitSet>();
+        int entryNum = 0;
+        for (ArrayList<String> conditionPath:classConditions.get(type)){
+            // get all class types at the end of the paths
+            Triple<Boolean, String, Boolean> pathClass = getAttributePathClass(type, conditionPath, config.getClassModel(), config.getClassAttributes());
+            String optional = pathClass.getThird() ? "OPTIONAL" : "";
+            ConditionOperator newOp;
+            if (pathClass.getFirst()){
+                newOp = ConditionOperator.IN;
+            }
+            else{
+                newOp = ConditionOperator.CONTAINS;
+            }
+            
+            Collection<String> values;
+            if (pathClass.getSecond().equals("boolVal")){
+                // a boolean path has a column for the true value and a column for the false value, counted as one entry
+                values = Arrays.asList("true", "false");
+                entryNum++;
+            }
+            else{
+                // otherwise the path has a column for each of its possible values
+                values = config.getClassIdValMap().get(pathClass.getSecond());
+                entryNum += values.size();
+            }
+            
+            // traverse the path once for each object
+            Map<String, BitSet> valueObjects = new HashMap<String, BitSet>();
+            BitSet unknownObjects = new BitSet(objects.size());
+            for (int i = 0; i < objects.size(); i++){
+                Triple<Boolean, ArrayList<String>, Boolean> attrs = Parser.getAttributePathValues(objects.get(i), conditionPath, config.getObjectModel(), config.getClassModel(), config);
+                if (attrs.getThird()){
+                    unknownObjects.set(i);
+                }
+                if (attrs.getSecond().isEmpty() || (attrs.getThird() && newOp == ConditionOperator.IN)){
+                    continue;
+                }
+                if (newOp == ConditionOperator.IN){
+                    addValueObject(valueObjects, attrs.getSecond().get(0), i);
+                }
+                else{
+                    for (String value:attrs.getSecond()){
+                        addValueObject(valueObjects, value, i);
+                    }
+                }
+            }
+            
+            for (String value:values){
+                Set<String> newConstant = new HashSet<String>();
+                newConstant.add(value);
+                AtomicCondition newAC = new AtomicCondition(conditionPath, newConstant, newOp);
+                String condition = newAC.getFeatureName();
+                subNames.add(optional + "sub" + condition);
+                resNames.add(optional + "res" + condition);
+                conditions.add(newAC);
+                BitSet objectSet = valueObjects.get(value);
+                satisfied.add(objectSet == null ? none : objectSet);
+                // the satisfied objects take precedence, so the unknown objects are shared by the values of the path
+                unknown.add(unknownObjects);
+            }
+        }
+        conditionColumns.put("sub" + type, new RowSchema.ConditionColumns(subNames, conditions, satisfied, unknown, entryNum));
+        conditionColumns.put("res" + type, new RowSchema.ConditionColumns(resNames, conditions, satisfied, unknown, entryNum));
+    }
+    
+    private static void addValueObject(Map<String, BitSet> valueObjects, String value, int index){
+        BitSet objectSet = valueObjects.get(value);
+        if (objectSet == null){
+            objectSet = new BitSet();
+            valueObjects.put(value, objectSet);
+        }
+        objectSet.set(index);
     }
     
     
@@ -596,113 +740,6 @@ public class LearningDataGenerator {
         config.setClassIdValMap(classIdValMap);
     }
     
-    public static boolean checkSatisfyAtomicCondition(Object1 obj, AtomicCondition ac, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
-
-        Triple<Boolean, ArrayList<String>, Boolean> attrs = Parser.getAttributePathValues(obj, ac.getPath(), objects, classes, config);
-        if (attrs.getThird()){
-            // there is Unknown values
-            if (ac.getConditionOperator() == ConditionOperator.CONTAINS && attrs.getSecond().containsAll(ac.getConstant())){
-                return true;
-            }
-            return false;
-        }
-        if (attrs.getSecond().isEmpty()){
-            if (ac.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        if (attrs.getFirst()){
-            // boolean field
-            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
-                if (ac.getIsNegative()){
-                    return true;
-                }
-                return false;
-            }
-            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS){
-                if (!attrs.getSecond().contains((String)ac.getConstant().toArray()[0])){
-                    if (ac.getIsNegative()){
-                        return true;
-                    }
-                    return false;
-                }
-            }
-        }
-        else{
-            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
-                if (ac.getIsNegative()){
-                    return true;
-                }
-                return false;
-            }
-            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS && !attrs.getSecond().containsAll(ac.getConstant())){
-                if (ac.getIsNegative()){
-                    return true;
-                }
-                return false;
-            }
-        }
-        if (ac.getIsNegative()){
-            return false;
-        }
-        return true;
-    }
-    
-    public static Pair<Boolean, Boolean> checkSatisfyAtomicConditionWithUnknown(Object1 obj, AtomicCondition ac, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
-        // the first return boolean specifies if obj satisfies ac, the second return boolean sepcifies if the evaluated value is Unknown.
-        // note that the first one can be True if when the second one is False.
-        Triple<Boolean, ArrayList<String>, Boolean> attrs = Parser.getAttributePathValues(obj, ac.getPath(), objects, classes, config);
-        if (attrs.getThird()){
-            // there is Unknown values
-            if (ac.getConditionOperator() == ConditionOperator.CONTAINS && attrs.getSecond().containsAll(ac.getConstant())){
-                return new Pair(true, true);
-            }
-            return new Pair(false, true);
-        }
-        if (attrs.getSecond().isEmpty()){
-            if (ac.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        if (attrs.getFirst()){
-            // boolean field
-            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
-                if (ac.getIsNegative()){
-                    return new Pair(true, false);
-                }
-                return new Pair(false, false);
-            }
-            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS){
-                if (!attrs.getSecond().contains((String)ac.getConstant().toArray()[0])){
-                    if (ac.getIsNegative()){
-                        return new Pair(true, false);
-                    }
-                    return new Pair(false, false);
-                }
-            }
-        }
-        else{
-            if (ac.getConditionOperator() == ConditionOperator.IN && !ac.getConstant().contains(attrs.getSecond().get(0))){
-                if (ac.getIsNegative()){
-                    return new Pair(true, false);
-                }
-                return new Pair(false, false);
-            }
-            else if (ac.getConditionOperator() == ConditionOperator.CONTAINS && !attrs.getSecond().containsAll(ac.getConstant())){
-                if (ac.getIsNegative()){
-                    return new Pair(true, false);
-                }
-                return new Pair(false, false);
-            }
-        }
-        if (ac.getIsNegative()){
-            return new Pair(false, false);
-        }
-        return new Pair(true, false);
-    }
-    
     private static Triple<Boolean, String, Boolean> getAttributePathClass(String className, ArrayList<String> path, Map<String, Class1> classes, Map<String, Map<String, FieldType>> classAttributes){
         boolean isSinglePath = true;
         boolean isOptionalPath = false;
@@ -729,151 +766,6 @@ public class LearningDataGenerator {
     
     
     
-    /**
-     * This method check if 2 objects (subject and object) satisfy a rule constraint
-     * @param subObj subject object
-     * @param resObj resource object
-     * @param cc atomic constraint to check with
-     * @param config
-     * @return true if subject and resource satisfy the constraint, false otherwise.
-     */
-    public static boolean checkSatisfyConstraint(Object1 subObj, Object1 resObj, AtomicConstraint cc, Config config){
-        Map<String, Object1> objects = config.getObjectModel();
-        Map<String, Class1> classes = config.getClassModel();
-        Triple<Boolean, ArrayList<String>, Boolean> subAttrs = Parser.getAttributePathValues(subObj, cc.getSubPath(), objects, classes, config);
-        Triple<Boolean, ArrayList<String>, Boolean> resAttrs = Parser.getAttributePathValues(resObj, cc.getResPath(), objects, classes, config);
-        
-        if (subAttrs.getThird() || resAttrs.getThird()){
-            // case that one of the subject path objects or resource path objects has Unknown value(s)
-            if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !resAttrs.getSecond().isEmpty() && subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
-                return true;
-            }
-            else if (cc.getConstraintOperator() == ConstraintOperator.IN && !subAttrs.getSecond().isEmpty() && resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
-                return true;
-            }
-            return false;
-        }
-        // Note that for now, our algorithm does not attempt to infer constraints on booleans
-        if (subAttrs.getSecond().isEmpty() || resAttrs.getSecond().isEmpty()){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.IN && !resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_VALUE && !subAttrs.getSecond().get(0).equals(resAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.SUPSETEQ && !subAttrs.getSecond().containsAll(resAttrs.getSecond())){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.SUBSETEQ && !resAttrs.getSecond().containsAll(subAttrs.getSecond())){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_SET && !(subAttrs.getSecond().containsAll(resAttrs.getSecond())
-                && resAttrs.getSecond().containsAll(subAttrs.getSecond()))){
-            if (cc.getIsNegative()){
-                return true;
-            }
-            return false;
-        }
-        
-        if (cc.getIsNegative()){
-                return false;
-            }
-        return true;
-    }
-    
-    
-    public static Pair<Boolean, Boolean> checkSatisfyConstraintWithUnknown(Object1 subObj, Object1 resObj, AtomicConstraint cc, Config config){
-        // the first return boolean specifies if subObj and resObj satisfies cc, the second return boolean sepcifies if the evaluated value is Unknown.
-        // note that the first one can be True if when the second one is False.
-        Map<String, Object1> objects = config.getObjectModel();
-        Map<String, Class1> classes = config.getClassModel();
-        Triple<Boolean, ArrayList<String>, Boolean> subAttrs = Parser.getAttributePathValues(subObj, cc.getSubPath(), objects, classes, config);
-        Triple<Boolean, ArrayList<String>, Boolean> resAttrs = Parser.getAttributePathValues(resObj, cc.getResPath(), objects, classes, config);
-        
-        if (subAttrs.getThird() || resAttrs.getThird()){
-            // case that one of the subject path objects or resource path objects has Unknown value(s)
-            if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !resAttrs.getSecond().isEmpty() && subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
-                return new Pair(true, true);
-            }
-            else if (cc.getConstraintOperator() == ConstraintOperator.IN && !subAttrs.getSecond().isEmpty() && resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
-                return new Pair(true, true);
-            }
-            return new Pair(false, true);
-        }
-        // Note that for now, our algorithm does not attempt to infer constraints on booleans
-        if (subAttrs.getSecond().isEmpty() || resAttrs.getSecond().isEmpty()){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        if (cc.getConstraintOperator() == ConstraintOperator.CONTAINS && !subAttrs.getSecond().contains(resAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.IN && !resAttrs.getSecond().contains(subAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_VALUE && !subAttrs.getSecond().get(0).equals(resAttrs.getSecond().get(0))){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.SUPSETEQ && !subAttrs.getSecond().containsAll(resAttrs.getSecond())){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.SUBSETEQ && !resAttrs.getSecond().containsAll(subAttrs.getSecond())){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        else if (cc.getConstraintOperator() == ConstraintOperator.EQUALS_SET && !(subAttrs.getSecond().containsAll(resAttrs.getSecond())
-                && resAttrs.getSecond().containsAll(subAttrs.getSecond()))){
-            if (cc.getIsNegative()){
-                return new Pair(true, false);
-            }
-            return new Pair(false, false);
-        }
-        
-        if (cc.getIsNegative()){
-                return new Pair(false, false);
-            }
-        return new Pair(true, false);
-    }
-    
     private static Set<AtomicConstraint> candidateConstraintByType(String Tsub, String Tres,
             Config config, int subExtraDist, int resExtraDist, int maxTotalPathLength){
         // First find the shortest path to reachable types for sub and
@@ -1207,7 +1099,7 @@ public class LearningDataGenerator {
     }
     
     
-    private static void readConfiguration(String configFile, Config config){
+    public static void readConfiguration(String configFile, Config config){
         // configFile has the format of key-value pairs
         try{
             Properties inputProperties = new Properties();
@@ -1270,6 +1162,36 @@ public class LearningDataGenerator {
 			// read time output file
             String outputTimePath = inputProperties.getProperty("outputTimePath");
             config.setOutputTimePath(outputTimePath);
+            
+            // read outputFormat (optional)
+            String outputFormat = inputProperties.getProperty("outputFormat");
+            if (outputFormat != null){
+                config.setOutputFormat(outputFormat.trim());
+            }
+            
+            // read generationThreads (optional)
+            String generationThreads = inputProperties.getProperty("generationThreads");
+            if (generationThreads != null){
+                config.setGenerationThreads(Integer.parseInt(generationThreads.trim()));
+            }
+            
+            // read pruneColumns (optional)
+            String pruneColumns = inputProperties.getProperty("pruneColumns");
+            if (pruneColumns != null){
+                config.setPruneColumns(pruneColumns.trim());
+            }
+            
+            // read learnRules (optional)
+            String learnRules = inputProperties.getProperty("learnRules");
+            if (learnRules != null){
+                config.setLearnRules(Boolean.parseBoolean(learnRules.trim()));
+            }
+            
+            // read learningThreads (optional)
+            String learningThreads = inputProperties.getProperty("learningThreads");
+            if (learningThreads != null){
+                config.setLearningThreads(Integer.parseInt(learningThreads.trim()));
+            }
         }
         catch (FileNotFoundException e) {
             System.out.println(e.getMessage());
@@ -33,6 +33,16 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import java.util.Set;
+import core.AtomicConstraint;
+import core.Class1;
+import core.ConditionEvaluator;
+import core.FieldType;
+import core.ModelParser;
+import core.Object1;
+import core.Pair;
+import core.PathEvaluator;
+import core.Rule;
+import core.Triple;
 
 /**
  * Parser class is used for parsing .abac dataset.
@@ -65,18 +75,25 @@ public class Parser {
             BufferedReader inputReader = new BufferedReader(fileReader);
             // classLines stores all class definition lines. Used for creating field later
             ArrayList<String[]> classLines = new ArrayList<String[]>();
+            // all attributes of each class, computed once at the first object line after the class model
+            Map<String, Map<String, FieldType>> classAttributes = null;
             
             String line;
             // sequentially parse each line
             while ((line = inputReader.readLine()) != null) {
                 if (line.toLowerCase().replaceAll("\\s+", "").equals(Pattern.END_OF_CLASS_LINE)){
-                    Parser.ProcessClassAttributes(config.getClassModel(), classLines);
+                    ModelParser.ProcessClassAttributes(config.getClassModel(), classLines);
+                    classAttributes = null;
                 } else if (line.matches(Pattern.CLASS_PATTERN)) {
                     // match class definition
-                    Parser.processClass(line, config.getClassModel(), classLines);
+                    ModelParser.processClass(line, config.getClassModel(), classLines);
+                    classAttributes = null;
                 } else if (line.matches(Pattern.OBJECT_PATTERN)) {
                     // match object definition
-                    Parser.processObject(line, config.getObjectModel(), config.getClassModel());
+                    if (classAttributes == null){
+                        classAttributes = ModelParser.computeClassAttributes(config.getClassModel());
+                    }
+                    ModelParser.processObject(line, config.getObjectModel(), classAttributes);
                 } else if (line.matches(Pattern.RULE_PATTERN)) {
                     // match rule definition
                     Parser.processRule(line, config.getRuleModel(), 
@@ -114,7 +131,7 @@ public class Parser {
         }
         
         // Check consistency between object model and rule model with class model
-        if (!Parser.checkConsistency(config)){
+        if (!ModelParser.checkConsistency(config.getClassModel(), config.getObjectModel(), config.getRuleModel())){
             System.out.println("CONSISTENCY CHECK FAILD!!!");
         }
         else{
@@ -229,322 +246,20 @@ public class Parser {
         config.setUPListMapOnSub(upListSub);
         config.setUPListMapOnRes(upListRes);
     }
-    /**
-     * This method used to process a line represent an object.
-     * It will create new Object1 and add to objects map.
-     * @param line line that represents an object
-     * @param objects map of parsed objects
-     * @param classes map of all parsed classes
-     */
-    public static void processObject(String line, Map<String, Object1> objects, Map<String, Class1> classes){
-        String content = line.substring(line.indexOf('(') + 1, line.indexOf(')'));
-        content = content.trim();
-        String[] attributes = content.split(";");
-        // Get type and id of the object from first and second element of attributes
-        String class1 = attributes[0].trim();
-        String[] idField = attributes[1].split("=");
-        if (!idField[0].trim().equals("id")){
-            System.out.println("ID for the object not found");
-            System.exit(0);
-        }
-        String id = idField[1].trim();
-        Map<String, FieldValue> data = new HashMap<String, FieldValue>();
-        if (attributes.length > 2){
-            for (int i = 2; i < attributes.length; i++){
-                String[] pair = attributes[i].split("=");
-                String fieldName = pair[0].trim();
-                String fieldContent = pair[1].trim();
-                FieldValue value = new FieldValue();
-                if (!fieldContent.equals("null") && !fieldContent.equals("unknown")) {
-                    if (fieldContent.indexOf('{') == -1){
-                        // Case that this field content is a single-valued attribute
-                        if (classes.get(class1).getAllAttributes().get(fieldName).getIsBoolean()){
-                            value.setBool(fieldContent.equals("true"));
-                        }
-                        else{
-                            value.setObjId(fieldContent);
-                        }
-                    }
-                    else {
-                        // Case that this field content is a mul-valued  attribute
-                        value.setSetObjId(new HashSet<String>());
-                        fieldContent = fieldContent.substring(1, fieldContent.length() -1);
-                        String[] setValues = fieldContent.split(",");
-                        for (String val:setValues){
-                            value.addToSetObjId(val.trim());
-                        }
-                    }
-                }
-                else if (fieldContent.equals("unknown")){
-                    value.setIsUnknown(true);
-                }
-                data.put(fieldName, value);
-            }
-        }
-        // Create new object
-        objects.put(id, new Object1(class1, id, data));
-    }
-    
-    
-    /**
-     * This method used to process a line represent a class.
-     * It will create new Class1 and add to classes map.
-     * @param line line that represents an object
-     * @param classes list of parsed objects
-     * @param classLines stores all content of class definition line
-     */
-    public static void processClass(String line, Map<String, Class1> classes, ArrayList<String[]> classLines){
-        // !! Check if this is consistent with class model
-        String content = line.substring(line.indexOf('(') + 1, line.indexOf(')'));
-        String[] fields = content.split(";");
-        classLines.add(fields);
-        // Get class name from the first element of fields
-        String className = fields[0].trim();
-        Class1 class1 = new Class1(className);
-        if (!fields[1].equals(" ")){
-            class1.setParentClass(classes.get(fields[1].trim()));
-        }
-        classes.put(className, class1);
-    }
-    
-    /**
-     * This method compute the attributes of each class
-     * @param classes map of all classes
-     * @param classLines content of class definition from input file
-     */
-    public static void ProcessClassAttributes(Map<String, Class1> classes, ArrayList<String[]> classLines){
-        for (String[] fields:classLines){
-            Map<String, FieldType> attributes = new HashMap<String, FieldType>();
-            if (fields.length > 2){
-                String className = fields[0].trim();
-                for (int i = 2; i < fields.length; i++){
-                    String[] pair = fields[i].split(":");
-                    String fieldName = pair[0].trim();
-                    String fieldContent = pair[1].trim();
-                    switch (fieldContent.charAt(fieldContent.length()-1)) {
-                        case '*':
-                        {
-                            // MANY multiplicity
-                            String type = fieldContent.substring(0, fieldContent.length() - 1);
-                            attributes.put(fieldName, new FieldType(false, classes.get(type), FieldType.Multiplicity.MANY));
-                            break;
-                        }
-                        case '?':
-                        {
-                            // OPTIONAL multiplicity
-                            String type = fieldContent.substring(0, fieldContent.length() - 1);
-                            attributes.put(fieldName, new FieldType(false, classes.get(type), FieldType.Multiplicity.OPTIONAL));
-                            break;
-                        }
-                        default:
-                        {
-                            // ONE multiplicity
-                            if (fieldContent.equals("boolean") || fieldContent.equals("Boolean")){
-                                attributes.put(fieldName, new FieldType(true, null, FieldType.Multiplicity.ONE));
-                            }
-                            else{
-                                attributes.put(fieldName, new FieldType(false, classes.get(fieldContent), FieldType.Multiplicity.ONE));
-                            }
-                            break;
-                        }
-                    }
-                }               
-                // add attributes to the corresponding class
-                classes.get(className).setAttributes(attributes);
-            }
-        }
-    }
-    
     /** 
-     * This method process a line represent a rule definition
+     * This method process a line represent a rule definition, and adds the types and
+     * the actions of the rule to the subject classes, resource classes and actions of config
      * @param line the string line
      * @param rules list of rules
      * @param classes map of all classes
      * @param config 
      */
     public static void processRule(String line, LinkedList<Rule> rules, Map<String, Class1> classes, Config config){
-        String content = line.substring(line.indexOf('(') + 1, line.lastIndexOf(')'));
-        content = content.trim();
-        String[] fields = content.split(";");
-        // process subject type and resource type
-        HashSet<String> classList = config.getSubjectClass();
-        String subjectType = fields[0].trim();
-        classList.add(subjectType);
-        config.setSubjectClass(classList);
-        
-        classList = config.getResourceClass();
-        String resourceType = fields[2].trim();
-        classList.add(resourceType);
-        config.setResourceClass(classList);
-        // subject Condition
-        String[] subCondition = null;
-        if (!fields[1].equals(" ")){
-            String[] subConditions = fields[1].split("and");
-            subCondition = new String[subConditions.length];
-            for (int i = 0; i < subCondition.length; i++){
-                subCondition[i] = subConditions[i].trim();
-            }
-        }
-        // resource Condition
-        String[] resCondition = null;
-        if (!fields[3].equals(" ")){
-            String[] resConditions = fields[3].split("and");
-            resCondition = new String[resConditions.length];
-            for (int i = 0; i < resCondition.length; i++){
-                resCondition[i] = resConditions[i].trim();
-            }
-        }
-        
-        // constraint 
-        String[] constraint = null;
-        if (!fields[4].equals(" ")){
-            String[] constraints = fields[4].split("and");
-            constraint = new String[constraints.length];
-            for (int i = 0; i < constraint.length; i++){
-                constraint[i] = constraints[i].trim();
-            }
-        }
-        
-        // actions
-        HashSet<String> actionSet = config.getActionSet();
-        String[] action = null;
-        fields[5] = fields[5].trim();
-        String actionsContent = fields[5].substring(1, fields[5].length() - 1);
-        if (!actionsContent.equals("")){
-            String[] actions = actionsContent.split(",");
-            action = new String[actions.length];
-            for (int i = 0; i < action.length; i++){
-                action[i] = actions[i].trim();
-                actionSet.add(actions[i].trim());
-            }
-        }
-        config.setActionSet(actionSet);
-        rules.add(createRule(subjectType, subCondition, resourceType, resCondition, constraint, action, classes));
-    }
-    
-    public static Rule createRule(String subType, String[] subCondition, String resType, String[] resCondition, String[] constraint, String[] ops, Map<String, Class1> classes){
-        ArrayList<AtomicCondition> subjectCondition = new ArrayList<AtomicCondition>();
-        ArrayList<AtomicCondition> resourceCondition = new ArrayList<AtomicCondition>();
-        ArrayList<AtomicConstraint> constraints = new ArrayList<AtomicConstraint>();
-        Set<String> opsSet = new HashSet<String>();
-        if (subCondition != null){
-            for (String con:subCondition){
-                Boolean isNegativeCond = false;
-                if (con.indexOf('!') > -1){
-                    isNegativeCond = true;
-                }
-                String constantString = con.substring(con.indexOf('{') + 1, con.indexOf('}'));
-                String[] elements = con.split(" ");
-                ArrayList<String> path = new ArrayList<String>();
-                String[] pathElements = elements[0].split("\\.");
-                for (String pe:pathElements){
-                    path.add(pe);
-                }
-                Set<String> constant = new HashSet<String>();
-                String[] constants = constantString.split(",");
-                for (String c:constants){
-                    constant.add(c.trim());
-                }
-                if (elements[1].toLowerCase().equals("in")){
-                    AtomicCondition sc = new AtomicCondition(path, constant, ConditionOperator.IN);
-                    sc.setIsNegative(isNegativeCond);
-                    subjectCondition.add(sc);
-                }
-                else if (elements[1].toLowerCase().equals("contains")){
-                    AtomicCondition sc = new AtomicCondition(path, constant, ConditionOperator.CONTAINS);
-                    sc.setIsNegative(isNegativeCond);
-                    subjectCondition.add(sc);
-                }
-            }
-        }
-        if (resCondition != null){
-            for (String con:resCondition){
-                Boolean isNegativeCond = false;
-                if (con.indexOf('!') > -1){
-                    isNegativeCond = true;
-                }
-                String constantString = con.substring(con.indexOf('{') + 1, con.indexOf('}'));
-                String[] elements = con.split(" ");
-                ArrayList<String> path = new ArrayList<String>();
-                String[] pathElements = elements[0].split("\\.");
-                for (String pe:pathElements){
-                    path.add(pe);
-                }
-                Set<String> constant = new HashSet<String>();
-                String[] constants = constantString.split(",");
-                for (String c:constants){
-                    constant.add(c.trim());
-                }
-                if (elements[1].toLowerCase().equals("in")){
-                    AtomicCondition rc = new AtomicCondition(path, constant, ConditionOperator.IN);
-                    rc.setIsNegative(isNegativeCond);
-                    resourceCondition.add(rc);
-                }
-                else if (elements[1].toLowerCase().equals("contains")){
-                    AtomicCondition rc = new AtomicCondition(path, constant, ConditionOperator.CONTAINS);
-                    rc.setIsNegative(isNegativeCond);
-                    resourceCondition.add(rc);
-                }
-            }
-        }
-        if (constraint != null){
-            for (String con:constraint){
-                Boolean isNegativeCons = false;
-                if (con.indexOf('!') > -1){
-                    isNegativeCons = true;
-                }
-                String[] elements = con.split(" ");
-                ArrayList<String> subPath = new ArrayList<String>();
-                String[] path = elements[0].split("\\.");
-                for (String pathElement:path){
-                    subPath.add(pathElement);
-                }
-                ArrayList<String> resPath = new ArrayList<String>();
-                if (isNegativeCons){
-                    elements[2] = elements[2].substring(0, elements[2].length() - 4);
-                }
-                path = elements[2].split("\\.");
-                for (String pathElement:path){
-                    resPath.add(pathElement);
-                }
-                if (elements[1].toLowerCase().equals("in")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.IN);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-                else if (elements[1].toLowerCase().equals("=")){
-                    if (checkValidPath(subType, subPath, classes).getSecond()){
-                        AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.EQUALS_SET);
-                        ac.setIsNegative(isNegativeCons);
-                        constraints.add(ac);
-                    }
-                    else{
-                        AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.EQUALS_VALUE);
-                        ac.setIsNegative(isNegativeCons);
-                        constraints.add(ac);
-                    }
-                }
-                else if (elements[1].toLowerCase().equals("contains")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.CONTAINS);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-                else if (elements[1].toLowerCase().equals("supseteq")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.SUPSETEQ);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-                else if (elements[1].toLowerCase().equals("subseteq")){
-                    AtomicConstraint ac = new AtomicConstraint(subPath, resPath, ConstraintOperator.SUBSETEQ);
-                    ac.setIsNegative(isNegativeCons);
-                    constraints.add(ac);
-                }
-            }
-        }
-        for (String op:ops){
-            opsSet.add(op);
-        }
-        return new Rule(classes.get(subType),subjectCondition, classes.get(resType), resourceCondition, constraints, opsSet);
+        ModelParser.processRule(line, rules, classes);
+        Rule r = rules.getLast();
+        config.getSubjectClass().add(r.getSubjectType().getClassName());
+        config.getResourceClass().add(r.getResourceType().getClassName());
+        config.getActionSet().addAll(r.getActions());
     }
     
     /** 
@@ -644,228 +359,6 @@ public class Parser {
         //rules.add(CaseStudyGenerator.createReadableRule(subjectType, subCondition, resourceType, resCondition, constraint, action, classes));
     }	
     
-    /**
-     * This function check if object model and rule model consistent with class model
-     * @param config the abac policy contains class, object, and rule models
-     * @return
-     */
-    public static boolean checkConsistency(Config config){
-        Map<String, Object1> objects = config.getObjectModel();
-        Map<String, Class1> classes = config.getClassModel();
-
-        // CHECK OBJECTS
-        for (Map.Entry<String, Object1> entry:objects.entrySet()){
-            String objectType = entry.getValue().getClass1();
-            // Check if class name is valid
-            if (!classes.containsKey(objectType)){
-                System.out.println("Invalid class name: " + objectType);
-                return false;
-            }
-            // Check attributes
-            Map<String, FieldType> classAttributes = classes.get(objectType).getAllAttributes();
-            // check size of data field, note that id field is not explicitly defined in class model
-            if (entry.getValue().getData().size()  != classAttributes.size()){
-                System.out.println("Invalid data in object: " + entry.getKey());
-                System.out.println("Object type: " + objectType);
-                System.out.println("entry data size: " + entry.getValue().getData().size());
-                System.out.println("class attributes size: " + classAttributes.size());
-                return false;
-            }
-            for (String key:entry.getValue().getData().keySet()){
-                if (!classAttributes.containsKey(key)){
-                    System.out.println("Invalid field " + key + " in object " + entry.getKey());
-                    return false;
-                }
-                FieldValue value = entry.getValue().getData().get(key);
-                // check if the value's type matches
-                if (classAttributes.get(key).getIsBoolean()){
-                    // check if correct type is Boolean
-                    if (value.getObjId() != null || value.getSetObjId() != null){
-                        System.out.println("Invalid value: Not a boolean. Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                }
-                else{
-                    String correctType = classAttributes.get(key).getType().getClassName();
-                    FieldType.Multiplicity correctMul = classAttributes.get(key).getMultiplicity();
-                    if (correctMul == FieldType.Multiplicity.ONE && value.getObjId() == null && !value.getIsUnknown()){
-                        System.out.println("Invalid value: Multiplicity is ONE. Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                    if (correctMul == FieldType.Multiplicity.MANY && value.getObjId() != null){
-                        System.out.println("Invalid value: Multiplicity is MANY. Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                    if ((correctMul == FieldType.Multiplicity.ONE || correctMul == FieldType.Multiplicity.OPTIONAL) && value.getSetObjId() != null){
-                        System.out.println("Invalid value: Multiplicity is :" + correctMul+ ". Field " + key + " in object " + entry.getKey());
-                        return false;
-                    }
-                    if (value.getObjId() != null){
-                        if (!objects.containsKey(value.getObjId())){
-                            System.out.println("Invalid object id: " + value.getObjId() + ". Field " + key + " in object " + entry.getKey());
-                            return false;
-                        }
-                        String valueType = objects.get(value.getObjId()).getClass1();
-                        String parentClass = "";
-                        if (classes.get(valueType) != null && classes.get(valueType).getParentClass() != null){
-                            parentClass = classes.get(valueType).getParentClass().getClassName();
-                        }
-                        if (!correctType.equals(valueType) && !correctType.equals(parentClass)){
-                            System.out.println("Invalid value type: " + value.getObjId() + ". Field " + key + " in object " + entry.getKey());
-                            return false;
-                        }
-                    }
-                    else if (value.getSetObjId() != null){
-                        // setObjId != null means that setObjId has at least 1 element
-                        for (String element:value.getSetObjId()){
-                            if (!objects.containsKey(element)){
-                                System.out.println("Invalid object id: " + element + ". Field " + key + " in object " + entry.getKey());
-                                return false;
-                            }
-                            String valueType = objects.get(element).getClass1();
-                            String parentClass = "";
-                            if (classes.get(valueType) != null && classes.get(valueType).getParentClass() != null){
-                                parentClass = classes.get(valueType).getParentClass().getClassName();
-                            }
-                            if (!correctType.equals(valueType) && !correctType.equals(parentClass)){
-                                System.out.println("Invalid value type: " + element + ". Field " + key + " in object " + entry.getKey());
-                                return false;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        // CHECK RULES
-        for (Rule r:config.getRuleModel()){
-            // Check subjectType and resourceType
-            if (!classes.containsKey(r.getSubjectType().getClassName()) || !classes.containsKey(r.getResourceType().getClassName())){
-                System.out.println("Rule Error: Invalid Type");
-                return false;
-            }
-            // Check subject and resrouce conditions
-            for (AtomicCondition sc:r.getSubjectCondition()){
-                Triple<Boolean, Boolean, String> validity = Parser.checkValidPath(r.getSubjectType().getClassName(), sc.getPath(), classes);
-                if (!validity.getFirst()){
-                    System.out.println("Rule Error: Invalid subject path " + sc.getPath());
-                    return false;
-                }
-                if (sc.getConditionOperator() != ConditionOperator.IN && sc.getConditionOperator() != ConditionOperator.CONTAINS){
-                    System.out.println("Invalid subject condition operator" + sc.getPath());
-                    return false;
-                }
-                if (sc.getConditionOperator() == ConditionOperator.IN && validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + sc.getPath());
-                    return false;
-                }
-                if (sc.getConditionOperator() == ConditionOperator.CONTAINS && !validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + sc.getPath());
-                    return false;
-                }
-            }
-            for (AtomicCondition rc:r.getResourceCondition()){
-                Triple<Boolean, Boolean, String> validity = Parser.checkValidPath(r.getResourceType().getClassName(), rc.getPath(), classes);
-                if (!validity.getFirst()){
-                    System.out.println("Rule Error: Invalid resource path");
-                    return false;
-                }
-                if (rc.getConditionOperator() != ConditionOperator.IN && rc.getConditionOperator() != ConditionOperator.CONTAINS){
-                    System.out.println("Invalid resource condition operator");
-                    return false;
-                }
-                if (rc.getConditionOperator() == ConditionOperator.IN && validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + rc.getPath());
-                    return false;
-                }
-                if (rc.getConditionOperator() == ConditionOperator.CONTAINS && !validity.getSecond()){
-                    System.out.println("Inconsistency in subject condition operator and multiplicity" + rc.getPath());
-                    return false;
-                }
-            }
-            // Check constraints
-            for (AtomicConstraint c:r.getConstraint()){
-                Triple<Boolean, Boolean, String> validity = Parser.checkValidPath(r.getSubjectType().getClassName(), c.getSubPath(), classes);
-                if (!validity.getFirst()){
-                    System.out.println("Rule Error: Invalid subject path - constraint");
-                    return false;
-                }
-                Triple<Boolean, Boolean, String> validity1 = Parser.checkValidPath(r.getResourceType().getClassName(), c.getResPath(), classes);
-                if (!validity1.getFirst()){
-                    System.out.println("Rule Error: Invalid resource path - constraint");
-                    return false;
-                }
-                if (!validity.getSecond() && !validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.EQUALS_VALUE){
-                    System.out.println("Invalid constraint operator, it should be EQUALS_VALUE");
-                    System.out.println("Sub Type: " + r.getSubjectType().getClassName() + "\nRes Type: " + r.getResourceType().getClassName());
-                    System.out.println(c);
-                    return false;
-                }
-                if (!validity.getSecond() && validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.IN){
-                    System.out.println("Invalid constraint operator, it should be IN");
-                    return false;
-                }
-                if (validity.getSecond() && !validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.CONTAINS){
-                    System.out.println("Invalid constraint operator, it should be CONTAINS");
-                    return false;
-                }
-                if (validity.getSecond() && validity1.getSecond() && c.getConstraintOperator() != ConstraintOperator.SUPSETEQ
-                        && c.getConstraintOperator() != ConstraintOperator.SUBSETEQ && c.getConstraintOperator() != ConstraintOperator.EQUALS_SET){
-                    System.out.println(c);
-                    System.out.println("Invalid constraint operator");
-                    return false;
-                }
-                if (!validity.getThird().equals(validity1.getThird()) && 
-                        (classes.get(validity.getThird()).getParentClass() != null && !classes.get(validity.getThird()).getParentClass().equals(validity1.getThird())) &&
-                        (classes.get(validity1.getThird()).getParentClass() != null && !classes.get(validity1.getThird()).getParentClass().equals(validity.getThird()))
-                        ){
-                    System.out.println("Inconsistency constraint types");
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-    
-    /**
-     * this method check if a path in a atomic condition or atomic constraint is valid
-     * @param type
-     * @param path
-     * @param classes
-     * @return an triple value, consist of 2 boolean values and a string
-     * return value 1: boolean indicate if the path is valid
-     * return value 2: boolean indicate if the path has MULTIPLE multiplicity
-     * return value 3: string indicate the type of the path (type of last attribute other than id)
-     */
-    public static Triple<Boolean, Boolean, String> checkValidPath(String type, ArrayList<String> path, Map<String, Class1> classes){
-        boolean validPath = true; 
-        boolean isManyMultiplicity = false;
-        String currentClassName  = type;
-        for (int i = 0; i < path.size(); i++){
-            String attr = path.get(i);
-            if (i != path.size() - 1 && attr.equals("id")){
-                validPath = false;
-            }
-            if (attr.equals("id")){
-                continue;
-            }
-            if (!classes.get(currentClassName).getAllAttributes().containsKey(attr)){
-                validPath = false;
-            }
-            if (classes.get(currentClassName).getAllAttributes().get(attr) == null){
-                validPath = false;
-                return new Triple(validPath, null, null);
-            }
-            if (classes.get(currentClassName).getAllAttributes().get(attr).getMultiplicity() == FieldType.Multiplicity.MANY){
-                isManyMultiplicity = true;
-            }
-            if (classes.get(currentClassName).getAllAttributes().get(attr).getIsBoolean()){
-                continue;
-            }
-            currentClassName = classes.get(currentClassName).getAllAttributes().get(attr).getType().getClassName();
-        }
-        return new Triple(validPath, isManyMultiplicity, currentClassName);
-    }
-    
     /**
      * This method generates set of UP tuples from object model and rule model
      * @param config configuration contains object model and rule model
@@ -885,10 +378,10 @@ public class Parser {
             ArrayList<Object1> satisfiedResObjects = new ArrayList<Object1>();
             // get all objects satisfy subject Condition
             for (Object1 obj:objects.values()){
-                if (Parser.checkSatisfyAtomicConditions(obj,r, true, objects, classes, config)){
+                if (ConditionEvaluator.checkSatisfyAtomicConditions(obj,r, true, objects, classes, config.getClassAttributes())){
                     satisfiedSubObjects.add(obj);
                 }
-                if (Parser.checkSatisfyAtomicConditions(obj,r, false, objects, classes, config)){
+                if (ConditionEvaluator.checkSatisfyAtomicConditions(obj,r, false, objects, classes, config.getClassAttributes())){
                     satisfiedResObjects.add(obj);
                 }              
             }            
@@ -998,62 +491,12 @@ public class Parser {
      */
     public static boolean checkSatisfyConstraints(Object1 subObj, Object1 resObj, Rule r, Config config){
         for (AtomicConstraint ac:r.getConstraint()){
-            if (!LearningDataGenerator.checkSatisfyConstraint(subObj, resObj, ac, config)){
-                return false;
-            }
-        }
-        return true;
-    }
-    /**
-     * This method check if an object satisfy an a atomic conditions. It can be
-     * both subject conditions or resource conditions
-     * @param obj the object need to check
-     * @param rule the rule contains the atomic conditions
-     * @param isSubject true if checking with subject condition, false if checking 
-     * @param objects object model
-     * @param classes class model
-     * resource condition
-     * @return 
-     */
-    public static boolean checkSatisfyAtomicConditions(Object1 obj, Rule rule, boolean isSubject, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
-        // Note that in our current case study, we only have 1-level inheritance.
-        if (isSubject){
-            if (classes.get(obj.getClass1()).getParentClass() != null){
-                if (!obj.getClass1().equals(rule.getSubjectType().getClassName()) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(rule.getSubjectType().getClassName())){
-                    return false;
-                }
-            }
-            else {
-                if (!obj.getClass1().equals(rule.getSubjectType().getClassName())){
-                    return false;
-                }
-            }
-        }
-        else {
-            if (classes.get(obj.getClass1()).getParentClass() != null){
-                if (!obj.getClass1().equals(rule.getResourceType().getClassName()) && !classes.get(obj.getClass1()).getParentClass().getClassName().equals(rule.getResourceType().getClassName())){
-                    return false;
-                }
-            }
-            else { 
-                if (!obj.getClass1().equals(rule.getResourceType().getClassName())){
-                    return false;
-                }
-            }
-        }
-        ArrayList<AtomicCondition> conditions;
-        if (isSubject){
-            conditions = rule.getSubjectCondition();
-        }
-        else conditions = rule.getResourceCondition();
-        for (AtomicCondition ac:conditions){
-            if (!LearningDataGenerator.checkSatisfyAtomicCondition(obj, ac, objects, classes, config)){
+            if (!ConditionEvaluator.checkSatisfyConstraint(subObj, resObj, ac, config.getObjectModel(), config.getClassAttributes())){
                 return false;
             }
         }
         return true;
     }
-    
     /**
      * This method returns attribute values of an object from a given path.
      * @param obj1 the object need to be checked
@@ -1064,64 +507,6 @@ public class Parser {
      * false with list of objects' ids.
      */
     public static Triple<Boolean, ArrayList<String>, Boolean> getAttributePathValues(Object1 obj1, ArrayList<String> path, Map<String, Object1> objects, Map<String, Class1> classes, Config config){
-        ArrayList<String> results = new ArrayList<String>();
-        boolean isBoolean = false;
-        boolean isUnknown = false;
-        ArrayList<Object1> currentObjects = new ArrayList<Object1>();
-        currentObjects.add(obj1);
-        String currentClassName = obj1.getClass1();
-        for (String s:path){
-            if (!isUnknown && !s.equals("id")){
-                for (Object1 obj: currentObjects){
-                    if (obj.getData().get(s).getIsUnknown()){
-                        isUnknown = true;
-                        break;
-                    }
-                }
-                
-            }
-            if (s.equals("id")){
-                for (Object1 obj:currentObjects){
-                    results.add(obj.getId());
-                }
-                break;
-            }
-            else if (config.getClassAttributes().get(currentClassName).get(s).getIsBoolean()){
-                isBoolean = true;
-                if (!currentObjects.isEmpty()){
-                    for (Object1 obj : currentObjects) {
-                        if (obj.getData().get(s).getBool()) {
-                            results.add("true");
-                        }
-                        else{
-                            results.add("false");
-                        }
-                    }
-                }
-                break;
-            }
-            else {
-                ArrayList<Object1> oldObjects = new ArrayList<Object1>(currentObjects);
-                currentObjects.clear();
-                if (config.getClassAttributes().get(currentClassName).get(s).getMultiplicity() == FieldType.Multiplicity.ONE || config.getClassAttributes().get(currentClassName).get(s).getMultiplicity() == FieldType.Multiplicity.OPTIONAL){
-                    for (Object1 obj:oldObjects){
-                        if (obj.getData().get(s).getObjId() != null){
-                            currentObjects.add(objects.get(obj.getData().get(s).getObjId()));
-                        }
-                    }
-                }
-                else if (config.getClassAttributes().get(currentClassName).get(s).getMultiplicity() == FieldType.Multiplicity.MANY){
-                    for (Object1 obj:oldObjects){
-                        if (obj.getData().get(s).getSetObjId() != null){
-                            for (String id:obj.getData().get(s).getSetObjId()){
-                                currentObjects.add(objects.get(id));
-                            }
-                        }
-                    }
-                }
-                currentClassName = config.getClassAttributes().get(currentClassName).get(s).getType().getClassName();
-            } 
-        }
-        return new Triple(isBoolean, results, isUnknown);
+        return PathEvaluator.getAttributePathValues(obj1, path, objects, config.getClassAttributes());
     }
 }
@@ -0,0 +1,378 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package learningdatagenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import core.ConditionEvaluator;
+import core.Pair;
+import core.AtomicCondition;
+import core.AtomicConstraint;
+import core.Object1;
+
+/**
+ * RowSchema is the compiled column layout of the attribute data rows of a pair of
+ * subject and resource classes: the candidate constraints, then the atomic
+ * conditions of the subject, then the atomic conditions of the resource. The
+ * value of a condition column for an object is read from bitsets indexed by the
+ * position of the object in the object list of its class, so writing a row only
+ * evaluates the constraints. A schema returned by prune holds the values of its
+ * constraints on all rows, so writing a row of it evaluates no constraint.
+ * @author Thang Bui
+ */
+public class RowSchema {
+    private final AtomicConstraint[] constraints;
+    private final String[] constraintNames;
+    private final ConditionColumns subColumns;
+    private final ConditionColumns resColumns;
+    // values of the constraints on the rows, indexed by subject position * resNum + resource position, null if not computed
+    private final BitSet[] constraintSatisfied;
+    private final BitSet[] constraintUnknown;
+    private final int resNum;
+    
+    /**
+     * @param constraints candidate constraints of the pair of classes, in column order
+     * @param subColumns condition columns of the subject class
+     * @param resColumns condition columns of the resource class
+     */
+    public RowSchema(Set<AtomicConstraint> constraints, ConditionColumns subColumns, ConditionColumns resColumns){
+        this.constraints = constraints.toArray(new AtomicConstraint[constraints.size()]);
+        this.constraintNames = new String[this.constraints.length];
+        for (int i = 0; i < this.constraints.length; i++){
+            this.constraintNames[i] = this.constraints[i].getFeatureName();
+        }
+        this.subColumns = subColumns;
+        this.resColumns = resColumns;
+        this.constraintSatisfied = null;
+        this.constraintUnknown = null;
+        this.resNum = 0;
+    }
+    
+    private RowSchema(AtomicConstraint[] constraints, String[] constraintNames, ConditionColumns subColumns, ConditionColumns resColumns,
+            BitSet[] constraintSatisfied, BitSet[] constraintUnknown, int resNum){
+        this.constraints = constraints;
+        this.constraintNames = constraintNames;
+        this.subColumns = subColumns;
+        this.resColumns = resColumns;
+        this.constraintSatisfied = constraintSatisfied;
+        this.constraintUnknown = constraintUnknown;
+        this.resNum = resNum;
+    }
+    
+    /**
+     * This method writes the row of a subject and a resource
+     * @param attrWriter
+     * @param sub
+     * @param subIndex position of sub in the object list of its class
+     * @param res
+     * @param resIndex position of res in the object list of its class
+     * @param config
+     * @throws IOException
+     */
+    public void writeRow(AttributeRowWriter attrWriter, Object1 sub, int subIndex, Object1 res, int resIndex, Config config) throws IOException{
+        attrWriter.startRow(sub.getId(), res.getId());
+        if (this.constraintSatisfied != null){
+            int row = subIndex * this.resNum + resIndex;
+            for (int i = 0; i < this.constraints.length; i++){
+                attrWriter.writeCell(this.constraintNames[i], getCellValue(this.constraintSatisfied[i].get(row), this.constraintUnknown[i].get(row)));
+            }
+        }
+        else{
+            for (int i = 0; i < this.constraints.length; i++){
+                Pair<Boolean, Boolean> checkValid = ConditionEvaluator.checkSatisfyConstraintWithUnknown(sub, res, this.constraints[i], config.getObjectModel(), config.getClassAttributes());
+                attrWriter.writeCell(this.constraintNames[i], getCellValue(checkValid.getFirst(), checkValid.getSecond()));
+            }
+        }
+        this.subColumns.writeCells(attrWriter, subIndex);
+        this.resColumns.writeCells(attrWriter, resIndex);
+        attrWriter.endRow();
+    }
+    
+    /**
+     * @return number of entries of a row, where the true and false conditions of a boolean path count as one
+     */
+    public int getEntryNum(){
+        return 2 + this.constraints.length + this.subColumns.entryNum + this.resColumns.entryNum;
+    }
+    
+    /**
+     * @return number of columns of a row
+     */
+    public int getColumnNum(){
+        return this.constraints.length + this.subColumns.names.length + this.resColumns.names.length;
+    }
+    
+    /**
+     * This method evaluates the constraints on all rows of the pair of classes, and returns
+     * the schema without the columns that have the same value on all rows and, if
+     * dropUnauthorized, without the columns that are not true on any authorized row. The
+     * second criterion is not applied if no row is authorized.
+     * @param subObjects objects of the subject class
+     * @param resObjects objects of the resource class
+     * @param authorizedRows authorized rows, indexed by subject position * number of resources + resource position
+     * @param dropUnauthorized
+     * @param config
+     * @param prunedColumns receives the name of each dropped column and the reason
+     * @return pruned schema holding the values of its constraints on all rows
+     */
+    public RowSchema prune(ArrayList<Object1> subObjects, ArrayList<Object1> resObjects, BitSet authorizedRows, boolean dropUnauthorized,
+            Config config, List<String[]> prunedColumns){
+        int resNum = resObjects.size();
+        int rowNum = subObjects.size() * resNum;
+        BitSet[] satisfied = new BitSet[this.constraints.length];
+        BitSet[] unknown = new BitSet[this.constraints.length];
+        for (int i = 0; i < this.constraints.length; i++){
+            satisfied[i] = new BitSet(rowNum);
+            unknown[i] = new BitSet(rowNum);
+        }
+        for (int s = 0; s < subObjects.size(); s++){
+            Object1 sub = subObjects.get(s);
+            for (int r = 0; r < resNum; r++){
+                Object1 res = resObjects.get(r);
+                int row = s * resNum + r;
+                for (int i = 0; i < this.constraints.length; i++){
+                    Pair<Boolean, Boolean> checkValid = ConditionEvaluator.checkSatisfyConstraintWithUnknown(sub, res, this.constraints[i], config.getObjectModel(), config.getClassAttributes());
+                    if (checkValid.getFirst()){
+                        satisfied[i].set(row);
+                    }
+                    else if (checkValid.getSecond()){
+                        unknown[i].set(row);
+                    }
+                }
+            }
+        }
+        
+        dropUnauthorized = dropUnauthorized && !authorizedRows.isEmpty();
+        ArrayList<AtomicConstraint> keptConstraints = new ArrayList<AtomicConstraint>();
+        ArrayList<String> keptNames = new ArrayList<String>();
+        ArrayList<BitSet> keptSatisfied = new ArrayList<BitSet>();
+        ArrayList<BitSet> keptUnknown = new ArrayList<BitSet>();
+        for (int i = 0; i < this.constraints.length; i++){
+            String reason = getPruneReason(satisfied[i], unknown[i], rowNum, authorizedRows, dropUnauthorized);
+            if (reason != null){
+                prunedColumns.add(new String[]{this.constraintNames[i], reason});
+            }
+            else{
+                keptConstraints.add(this.constraints[i]);
+                keptNames.add(this.constraintNames[i]);
+                keptSatisfied.add(satisfied[i]);
+                keptUnknown.add(unknown[i]);
+            }
+        }
+        
+        // a row is authorized for a subject and a resource if one of their rows is authorized
+        BitSet authorizedSubs = new BitSet(subObjects.size());
+        BitSet authorizedRess = new BitSet(resNum);
+        for (int row = authorizedRows.nextSetBit(0); row >= 0; row = authorizedRows.nextSetBit(row + 1)){
+            authorizedSubs.set(row / resNum);
+            authorizedRess.set(row % resNum);
+        }
+        ConditionColumns subColumns = this.subColumns.prune(subObjects.size(), authorizedSubs, dropUnauthorized, prunedColumns);
+        ConditionColumns resColumns = this.resColumns.prune(resNum, authorizedRess, dropUnauthorized, prunedColumns);
+        return new RowSchema(keptConstraints.toArray(new AtomicConstraint[keptConstraints.size()]), keptNames.toArray(new String[keptNames.size()]),
+                subColumns, resColumns, keptSatisfied.toArray(new BitSet[keptSatisfied.size()]), keptUnknown.toArray(new BitSet[keptUnknown.size()]), resNum);
+    }
+    
+    /**
+     * This method computes the values of all columns on all rows of the pair of classes
+     * @param subObjects objects of the subject class
+     * @param resObjects objects of the resource class
+     * @param config
+     * @return feature matrix of the rows, with the columns in schema order
+     */
+    public FeatureMatrix getFeatureMatrix(ArrayList<Object1> subObjects, ArrayList<Object1> resObjects, Config config){
+        int resNum = resObjects.size();
+        FeatureMatrix matrix = new FeatureMatrix(subObjects, resObjects, getColumnNum());
+        if (this.constraintSatisfied != null){
+            for (int i = 0; i < this.constraints.length; i++){
+                matrix.addColumn(FeatureMatrix.CONSTRAINT, this.constraintNames[i], this.constraints[i], this.constraintSatisfied[i], this.constraintUnknown[i]);
+            }
+        }
+        else{
+            BitSet[] satisfied = new BitSet[this.constraints.length];
+            BitSet[] unknown = new BitSet[this.constraints.length];
+            for (int i = 0; i < this.constraints.length; i++){
+                satisfied[i] = new BitSet(matrix.getRowNum());
+                unknown[i] = new BitSet(matrix.getRowNum());
+            }
+            for (int s = 0; s < subObjects.size(); s++){
+                for (int r = 0; r < resNum; r++){
+                    for (int i = 0; i < this.constraints.length; i++){
+                        Pair<Boolean, Boolean> checkValid = ConditionEvaluator.checkSatisfyConstraintWithUnknown(subObjects.get(s), resObjects.get(r), this.constraints[i], config.getObjectModel(), config.getClassAttributes());
+                        if (checkValid.getFirst()){
+                            satisfied[i].set(s * resNum + r);
+                        }
+                        else if (checkValid.getSecond()){
+                            unknown[i].set(s * resNum + r);
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < this.constraints.length; i++){
+                matrix.addColumn(FeatureMatrix.CONSTRAINT, this.constraintNames[i], this.constraints[i], satisfied[i], unknown[i]);
+            }
+        }
+        this.subColumns.addColumns(matrix, FeatureMatrix.SUBJECT_CONDITION, subObjects.size(), resNum);
+        this.resColumns.addColumns(matrix, FeatureMatrix.RESOURCE_CONDITION, subObjects.size(), resNum);
+        return matrix;
+    }
+    
+    /**
+     * @param satisfied positions with the value true
+     * @param unknown positions with the value unknown and not true
+     * @param size number of positions
+     * @param authorized authorized positions
+     * @param dropUnauthorized
+     * @return reason to drop the column, null to keep it
+     */
+    private static String getPruneReason(BitSet satisfied, BitSet unknown, int size, BitSet authorized, boolean dropUnauthorized){
+        int trueNum = satisfied.cardinality();
+        int unknownNum = unknown.cardinality();
+        if (trueNum == size){
+            return "constant true";
+        }
+        else if (unknownNum == size){
+            return "constant unknown";
+        }
+        else if (trueNum == 0 && unknownNum == 0){
+            return "constant false";
+        }
+        else if (dropUnauthorized && !satisfied.intersects(authorized)){
+            return "never true for an authorized pair";
+        }
+        return null;
+    }
+    
+    private static int getCellValue(boolean satisfied, boolean unknown){
+        if (satisfied){
+            return AttributeRowWriter.TRUE;
+        }
+        else if (unknown){
+            return AttributeRowWriter.UNKNOWN;
+        }
+        return AttributeRowWriter.FALSE;
+    }
+    
+    /**
+     * ConditionColumns holds the atomic condition columns of a class, with the
+     * objects of the class that satisfy each condition and the objects whose value
+     * for the condition is unknown.
+     */
+    public static class ConditionColumns {
+        private final String[] names;
+        private final AtomicCondition[] conditions;
+        private final BitSet[] satisfied;
+        private final BitSet[] unknown;
+        private final int entryNum;
+        
+        /**
+         * @param names column names, in column order
+         * @param conditions atomic condition of each column
+         * @param satisfied positions of the objects satisfying each condition
+         * @param unknown positions of the objects with an unknown value for each condition
+         * @param entryNum number of entries of the columns, where the true and false conditions of a boolean path count as one
+         */
+        public ConditionColumns(ArrayList<String> names, ArrayList<AtomicCondition> conditions, ArrayList<BitSet> satisfied, ArrayList<BitSet> unknown, int entryNum){
+            this.names = names.toArray(new String[names.size()]);
+            this.conditions = conditions.toArray(new AtomicCondition[conditions.size()]);
+            this.satisfied = satisfied.toArray(new BitSet[satisfied.size()]);
+            this.unknown = unknown.toArray(new BitSet[unknown.size()]);
+            this.entryNum = entryNum;
+        }
+        
+        /**
+         * This method returns the columns without the columns that have the same value for
+         * all objects and, if dropUnauthorized, without the columns that are not true for any
+         * authorized object
+         * @param objectNum number of objects of the class
+         * @param authorized positions of the objects in authorized rows
+         * @param dropUnauthorized
+         * @param prunedColumns receives the name of each dropped column and the reason
+         * @return pruned columns, whose number of entries is their number of columns
+         */
+        private ConditionColumns prune(int objectNum, BitSet authorized, boolean dropUnauthorized, List<String[]> prunedColumns){
+            ArrayList<String> keptNames = new ArrayList<String>();
+            ArrayList<AtomicCondition> keptConditions = new ArrayList<AtomicCondition>();
+            ArrayList<BitSet> keptSatisfied = new ArrayList<BitSet>();
+            ArrayList<BitSet> keptUnknown = new ArrayList<BitSet>();
+            for (int i = 0; i < this.names.length; i++){
+                // the unknown objects of a column may be shared with other columns and include satisfied objects
+                BitSet unknownOnly = (BitSet) this.unknown[i].clone();
+                unknownOnly.andNot(this.satisfied[i]);
+                String reason = getPruneReason(this.satisfied[i], unknownOnly, objectNum, authorized, dropUnauthorized);
+                if (reason != null){
+                    prunedColumns.add(new String[]{this.names[i], reason});
+                }
+                else{
+                    keptNames.add(this.names[i]);
+                    keptConditions.add(this.conditions[i]);
+                    keptSatisfied.add(this.satisfied[i]);
+                    keptUnknown.add(this.unknown[i]);
+                }
+            }
+            return new ConditionColumns(keptNames, keptConditions, keptSatisfied, keptUnknown, keptNames.size());
+        }
+        
+        /**
+         * This method adds the columns to a feature matrix, expanding the values of the
+         * objects to the rows of the objects
+         * @param matrix
+         * @param kind FeatureMatrix.SUBJECT_CONDITION or FeatureMatrix.RESOURCE_CONDITION
+         * @param subNum number of subjects of the rows
+         * @param resNum number of resources of the rows
+         */
+        private void addColumns(FeatureMatrix matrix, int kind, int subNum, int resNum){
+            for (int i = 0; i < this.names.length; i++){
+                BitSet satisfiedRows = new BitSet(subNum * resNum);
+                BitSet unknownRows = new BitSet(subNum * resNum);
+                if (kind == FeatureMatrix.SUBJECT_CONDITION){
+                    for (int s = 0; s < subNum; s++){
+                        if (this.satisfied[i].get(s)){
+                            satisfiedRows.set(s * resNum, (s + 1) * resNum);
+                        }
+                        else if (this.unknown[i].get(s)){
+                            unknownRows.set(s * resNum, (s + 1) * resNum);
+                        }
+                    }
+                }
+                else{
+                    for (int r = 0; r < resNum; r++){
+                        BitSet rows = this.satisfied[i].get(r) ? satisfiedRows : this.unknown[i].get(r) ? unknownRows : null;
+                        if (rows != null){
+                            for (int s = 0; s < subNum; s++){
+                                rows.set(s * resNum + r);
+                            }
+                        }
+                    }
+                }
+                matrix.addColumn(kind, this.names[i], this.conditions[i], satisfiedRows, unknownRows);
+            }
+        }
+        
+        private void writeCells(AttributeRowWriter attrWriter, int index) throws IOException{
+            for (int i = 0; i < this.names.length; i++){
+                attrWriter.writeCell(this.names[i], getCellValue(this.satisfied[i].get(index), this.unknown[i].get(index)));
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/**
+ * Mining Relationship-Based Access Control Policies
+ * Copyright (C) 2020 Thang Bui
+ * Copyright (C) 2020 Scott D. Stoller
+ * Copyright (c) 2020 Stony Brook University
+ * Copyright (c) 2020 Research Foundation of SUNY
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses/.
+ */
+
+
+package pipeline;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Properties;
+import core.Pair;
+import core.Rule;
+import core.Time;
+import learningdatagenerator.DecisionTreeLearner;
+import learningdatagenerator.LearningDataGenerator;
+import learningdatagenerator.RowSchema;
+
+/**
+ * Pipeline runs DTRM and DTRMU end to end in one JVM: for each policy, it parses the attribute
+ * data file, computes the learning data, learns the rules of phase 1 with the decision tree
+ * learner of the learning data generator, and improves them with phase 2 of ReBACMiner. The
+ * learning data and the learned rules are passed in memory, and written to files only if
+ * writeIntermediateFiles is true. The wall time and the CPU time of each stage are reported.
+ *
+ * The attribute data file is parsed once, by ReBACMiner, and the learning data generator uses
+ * the parsed object model, which is shared by both programs.
+ * @author Thang Bui
+ */
+public class Pipeline {
+    private static final String[] STAGES = {"parse", "generate", "learn", "improve"};
+    
+    public static void main(String[] args){
+        if (args.length != 1){
+            System.out.println("Missing config file argument");
+            System.exit(0);
+        }
+        Properties inputProperties = new Properties();
+        try{
+            FileInputStream in = new FileInputStream(args[0]);
+            try{
+                inputProperties.load(in);
+            }
+            finally{
+                in.close();
+            }
+        }
+        catch (FileNotFoundException e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
+        }
+        String generatorConfigFile = inputProperties.getProperty("generatorConfig");
+        String improverConfigFile = inputProperties.getProperty("improverConfig");
+        if (generatorConfigFile == null || improverConfigFile == null){
+            System.out.println("Missing generatorConfig or improverConfig");
+            System.exit(0);
+        }
+        boolean writeIntermediateFiles = Boolean.parseBoolean(inputProperties.getProperty("writeIntermediateFiles", "false").trim());
+        String timingFile = inputProperties.getProperty("timingFile");
+        
+        // the policies to run are given by the improver configuration, as in ReBACMiner
+        util.Config improverConfig = new util.Config();
+        algo.ReBACMiner.readConfiguration(improverConfigFile.trim(), improverConfig);
+        int[] sizes = improverConfig.getPolicySize();
+        int policyNum = improverConfig.getNumPoliciesPerSize();
+        StageTimes times = new StageTimes();
+        for (int size:sizes){
+            int[] runPolicies = new int[policyNum];
+            if (policyNum == 1){
+                runPolicies[0] = improverConfig.getRunPolicy();
+            }
+            else{
+                for (int j = 0; j < policyNum; j++){
+                    runPolicies[j] = j;
+                }
+            }
+            for (int j:runPolicies){
+                runPolicy(generatorConfigFile.trim(), improverConfigFile.trim(), size, j, writeIntermediateFiles, times);
+            }
+        }
+        times.print();
+        if (timingFile != null){
+            times.write(timingFile.trim());
+        }
+    }
+    
+    /**
+     * This method runs all stages on a policy
+     * @param generatorConfigFile configuration of the learning data generator
+     * @param improverConfigFile configuration of ReBACMiner
+     * @param size
+     * @param j
+     * @param writeIntermediateFiles whether the learning data files and the rules file are written
+     * @param times stage times, to which the times of the policy are added
+     */
+    public static void runPolicy(String generatorConfigFile, String improverConfigFile, int size, int j,
+            boolean writeIntermediateFiles, StageTimes times){
+        learningdatagenerator.Config generatorConfig = new learningdatagenerator.Config();
+        LearningDataGenerator.readConfiguration(generatorConfigFile, generatorConfig);
+        util.Config improverConfig = new util.Config();
+        algo.ReBACMiner.readConfiguration(improverConfigFile, improverConfig);
+        String sizeName = improverConfig.getPolicyName() + "_" + size;
+        String policyName = sizeName + "_" + j;
+        String inputFile = improverConfig.getAttributeDataPath() + policyName + ".abac_txt";
+        String dataPath = generatorConfig.getOutputPath() + "/" + sizeName + "/" + policyName + "/";
+        System.out.println("Running pipeline on: " + inputFile);
+        
+        times.start(policyName, STAGES[0]);
+        util.Parser.parseInputFile(inputFile, improverConfig);
+        LearningDataGenerator.setPolicy(improverConfig.getClassModel(), improverConfig.getObjectModel(),
+                improverConfig.getObjectList(), improverConfig.getUPList(), generatorConfig);
+        times.stop();
+        
+        times.start(policyName, STAGES[1]);
+        if (writeIntermediateFiles){
+            new File(dataPath).mkdirs();
+            LearningDataGenerator.writeListFiles(dataPath, policyName, generatorConfig);
+        }
+        Map<Pair<String, String>, RowSchema> pairSchemas =
+                LearningDataGenerator.compileRowSchemas(dataPath, policyName, generatorConfig);
+        if (writeIntermediateFiles){
+            LearningDataGenerator.writeAttributeDataFiles(dataPath, policyName, pairSchemas, generatorConfig);
+        }
+        times.stop();
+        
+        times.start(policyName, STAGES[2]);
+        ArrayList<Rule> learnedRules;
+        DecisionTreeLearner learner = new DecisionTreeLearner(generatorConfig, generatorConfig.getLearningThreads());
+        try{
+            learnedRules = learner.learnRules(pairSchemas);
+        }
+        finally{
+            learner.shutdown();
+        }
+        if (writeIntermediateFiles){
+            DecisionTreeLearner.writeRulesFile(dataPath + policyName + ".rules", learnedRules);
+        }
+        times.stop();
+        System.out.println("Learned rules: " + learnedRules.size());
+        
+        times.start(policyName, STAGES[3]);
+        // the learned rules are copied, so that their condition constants are hash sets as in parsed rules
+        for (Rule r:learnedRules){
+            improverConfig.getMinedRulesFromDT().add(new Rule(r));
+        }
+        new File(improverConfig.getOutputPath() + sizeName + "/").mkdirs();
+        algo.ReBACMiner.improvePolicy(improverConfig, policyName,
+                improverConfig.getOutputPath() + sizeName + "/" + policyName + ".output", Time.getCpuTime());
+        times.stop();
+        System.out.println("FINISH RUNNING PIPELINE WITH: " + policyName);
+    }
+    
+    /**
+     * @return CPU time of the process in nanoseconds, including the worker threads, or of the
+     * current thread if the JVM does not report the CPU time of the process
+     */
+    private static long getProcessCpuTime(){
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean){
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        }
+        return Time.getCpuTime();
+    }
+    
+    /**
+     * StageTimes records the wall time and the CPU time of the stages of each policy
+     */
+    public static class StageTimes {
+        private final ArrayList<String> policies = new ArrayList<String>();
+        private final ArrayList<String> stages = new ArrayList<String>();
+        private final ArrayList<Long> wallTimes = new ArrayList<Long>();
+        private final ArrayList<Long> cpuTimes = new ArrayList<Long>();
+        private long startWallTime;
+        private long startCpuTime;
+        
+        /**
+         * This method starts timing a stage
+         * @param policy
+         * @param stage
+         */
+        public void start(String policy, String stage){
+            this.policies.add(policy);
+            this.stages.add(stage);
+            this.startWallTime = System.nanoTime();
+            this.startCpuTime = getProcessCpuTime();
+        }
+        
+        /**
+         * This method stops timing the current stage
+         */
+        public void stop(){
+            this.wallTimes.add(System.nanoTime() - this.startWallTime);
+            this.cpuTimes.add(getProcessCpuTime() - this.startCpuTime);
+        }
+        
+        /**
+         * This method prints the times of each stage, in milliseconds, summed over the policies
+         */
+        public void print(){
+            System.out.println("============== STAGE TIMES (ms) ==============");
+            System.out.println(String.format("%-10s %12s %12s", "Stage", "Wall", "CPU"));
+            long totalWallTime = 0;
+            long totalCpuTime = 0;
+            for (String stage:STAGES){
+                long wallTime = 0;
+                long cpuTime = 0;
+                for (int i = 0; i < this.stages.size(); i++){
+                    if (this.stages.get(i).equals(stage)){
+                        wallTime += this.wallTimes.get(i);
+                        cpuTime += this.cpuTimes.get(i);
+                    }
+                }
+                totalWallTime += wallTime;
+                totalCpuTime += cpuTime;
+                System.out.println(String.format("%-10s %12d %12d", stage, wallTime / 1000000, cpuTime / 1000000));
+            }
+            System.out.println(String.format("%-10s %12d %12d", "total", totalWallTime / 1000000, totalCpuTime / 1000000));
+        }
+        
+        /**
+         * This method writes the times of each stage of each policy, in milliseconds, to a csv file
+         * @param fileName
+         */
+        public void write(String fileName){
+            try{
+                BufferedWriter outputWriter = new BufferedWriter(new FileWriter(fileName));
+                try{
+                    outputWriter.write("Policy,Stage,Wall_ms,CPU_ms\n");
+                    for (int i = 0; i < this.stages.size(); i++){
+                        outputWriter.write(this.policies.get(i) + "," + this.stages.get(i) + ","
+                                + this.wallTimes.get(i) / 1000000 + "," + this.cpuTimes.get(i) / 1000000 + "\n");
+                    }
+                }
+                finally{
+                    outputWriter.close();
+                }
+            }
+            catch (IOException e){
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+}